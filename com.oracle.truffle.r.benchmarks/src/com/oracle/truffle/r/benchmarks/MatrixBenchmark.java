@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.benchmarks;
+
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Matrix product and binding of rows and columns of square matrices.
+ */
+public class MatrixBenchmark extends RBenchmarkBase {
+
+    @Param({"10", "100", "500"}) public int dim;
+
+    @Param({"integer", "double"}) public String type;
+
+    private Value m;
+    private Value rows;
+
+    private Value matmul;
+    private Value rbind;
+    private Value cbind;
+    private Value rbindRows;
+
+    @Override
+    protected void setUp() {
+        m = eval(String.format("matrix(.bench.input(%dL, '%s'), %dL)", dim * dim, type, dim));
+        rows = eval(String.format("{ m <- matrix(.bench.input(%dL, '%s'), %dL); lapply(seq_len(%dL), function(i) m[i, ]) }", dim * dim, type, dim, dim));
+        matmul = eval("function(m) m %*% m");
+        rbind = eval("function(m) rbind(m, m)");
+        cbind = eval("function(m) cbind(m, m)");
+        rbindRows = eval("function(rows) do.call(rbind, rows)");
+    }
+
+    @Benchmark
+    public Value matmul() {
+        return matmul.execute(m);
+    }
+
+    @Benchmark
+    public Value rbind() {
+        return rbind.execute(m);
+    }
+
+    @Benchmark
+    public Value cbind() {
+        return cbind.execute(m);
+    }
+
+    @Benchmark
+    public Value rbindRows() {
+        return rbindRows.execute(rows);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Common setup of the FastR micro-benchmarks. Every trial runs in a fresh polyglot context in
+ * which the subclass creates its inputs and the R functions under test, so the benchmark methods
+ * only execute an already parsed function and the measured time does not include parsing or input
+ * construction.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class RBenchmarkBase {
+
+    /**
+     * Defines {@code .bench.input(n, type, naDensity, representation)}, which creates a vector of
+     * given length and type. A {@code "sequence"} representation gives a compact sequence, which
+     * cannot contain {@code NA}, otherwise the values are shuffled and materialized.
+     */
+    private static final String INPUT_FUNCTIONS = "" +
+                    ".bench.input <- function(n, type, naDensity = 0, representation = 'materialized') {\n" +
+                    "    set.seed(42L)\n" +
+                    "    if (representation == 'sequence') {\n" +
+                    "        x <- if (type == 'double') seq(1, n, by = 1) else seq_len(n)\n" +
+                    "        return(if (type == 'character') as.character(x) else x)\n" +
+                    "    }\n" +
+                    "    x <- sample.int(n)\n" +
+                    "    x <- switch(type, integer = x, double = x + 0.5, character = paste0('s', x %% 1000L), logical = x %% 2L == 0L, stop('unknown type'))\n" +
+                    "    if (naDensity > 0) x[sample.int(n, as.integer(n * naDensity))] <- NA\n" +
+                    "    x\n" +
+                    "}\n";
+
+    protected Context context;
+
+    @Setup(Level.Trial)
+    public void setUpContext() {
+        context = Context.newBuilder("R").allowAllAccess(true).build();
+        context.eval("R", INPUT_FUNCTIONS);
+        setUp();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownContext() {
+        context.close();
+    }
+
+    /**
+     * Creates the inputs and the functions under test, called once per trial after the context has
+     * been created.
+     */
+    protected abstract void setUp();
+
+    protected final Value eval(String code) {
+        return context.eval("R", code);
+    }
+
+    protected final Value input(int size, String type, double naDensity, String representation) {
+        return eval(String.format(".bench.input(%dL, '%s', %s, '%s')", size, type, Double.toString(naDensity), representation));
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.benchmarks;
+
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Unserialization of vectors and of a list of mixed vectors, the input is serialized in XDR format
+ * during the setup.
+ */
+public class SerializeBenchmark extends RBenchmarkBase {
+
+    @Param({"1000", "1000000"}) public int size;
+
+    @Param({"integer", "double", "character", "list"}) public String type;
+
+    @Param({"0", "0.1"}) public double naDensity;
+
+    private Value bytes;
+    private Value unserialize;
+
+    @Override
+    protected void setUp() {
+        if (type.equals("list")) {
+            bytes = eval(String.format("serialize(lapply(c('integer', 'double', 'character', 'logical'), function(t) .bench.input(%dL, t, %s)), NULL)",
+                            Math.max(size / 4, 1), Double.toString(naDensity)));
+        } else {
+            bytes = eval(String.format("serialize(.bench.input(%dL, '%s', %s), NULL)", size, type, Double.toString(naDensity)));
+        }
+        unserialize = eval("function(bytes) unserialize(bytes)");
+    }
+
+    @Benchmark
+    public Value unserialize() {
+        return unserialize.execute(bytes);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.benchmarks;
+
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * String builtins on character vectors with short, partially repeated elements.
+ */
+public class StringBuiltinsBenchmark extends RBenchmarkBase {
+
+    @Param({"1000", "100000"}) public int size;
+
+    @Param({"0", "0.1"}) public double naDensity;
+
+    @Param({"materialized", "sequence"}) public String representation;
+
+    private Value x;
+
+    private Value paste;
+    private Value pasteCollapse;
+    private Value gsub;
+    private Value gsubFixed;
+
+    @Override
+    protected void setUp() {
+        x = input(size, "character", naDensity, representation);
+        paste = eval("function(x) paste(x, 'suffix', sep = '_')");
+        pasteCollapse = eval("function(x) paste(x, collapse = ',')");
+        gsub = eval("function(x) gsub('[0-9]+', '#', x)");
+        gsubFixed = eval("function(x) gsub('1', 'one', x, fixed = TRUE)");
+    }
+
+    @Benchmark
+    public Value paste() {
+        return paste.execute(x);
+    }
+
+    @Benchmark
+    public Value pasteCollapse() {
+        return pasteCollapse.execute(x);
+    }
+
+    @Benchmark
+    public Value gsub() {
+        return gsub.execute(x);
+    }
+
+    @Benchmark
+    public Value gsubFixed() {
+        return gsubFixed.execute(x);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.benchmarks;
+
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Builtins that iterate over a single atomic vector, parameterized by the length, the type, the
+ * proportion of {@code NA} values and the representation of the input.
+ */
+public class VectorBuiltinsBenchmark extends RBenchmarkBase {
+
+    @Param({"1000", "1000000"}) public int size;
+
+    @Param({"integer", "double"}) public String type;
+
+    @Param({"0", "0.1"}) public double naDensity;
+
+    /**
+     * Sequences cannot contain {@code NA} values, {@link #naDensity} is ignored for them.
+     */
+    @Param({"materialized", "sequence"}) public String representation;
+
+    private Value x;
+    private Value table;
+    private Value index;
+
+    private Value sum;
+    private Value mean;
+    private Value match;
+    private Value unique;
+    private Value order;
+    private Value subassign;
+    private Value lapply;
+
+    @Override
+    protected void setUp() {
+        x = input(size, type, naDensity, representation);
+        table = eval(String.format(".bench.input(%dL, '%s')", Math.max(size / 10, 1), type));
+        index = eval(String.format("sample.int(%dL, %dL)", size, Math.max(size / 100, 1)));
+        sum = eval("function(x) sum(x, na.rm = TRUE)");
+        mean = eval("function(x) mean(x, na.rm = TRUE)");
+        match = eval("function(x, table) match(x, table)");
+        unique = eval("function(x) unique(x)");
+        order = eval("function(x) order(x)");
+        subassign = eval("function(x, i) { x[i] <- x[1L]; x }");
+        lapply = eval("function(x) lapply(x, function(e) e + 1L)");
+    }
+
+    @Benchmark
+    public Value sum() {
+        return sum.execute(x);
+    }
+
+    @Benchmark
+    public Value mean() {
+        return mean.execute(x);
+    }
+
+    @Benchmark
+    public Value match() {
+        return match.execute(x, table);
+    }
+
+    @Benchmark
+    public Value unique() {
+        return unique.execute(x);
+    }
+
+    @Benchmark
+    public Value order() {
+        return order.execute(x);
+    }
+
+    @Benchmark
+    public Value subassign() {
+        return subassign.execute(x, index);
+    }
+
+    @Benchmark
+    public Value lapply() {
+        return lapply.execute(x);
+    }
+}
@@ -23,6 +23,8 @@
 package com.oracle.truffle.r.engine;
 
 import static com.oracle.truffle.r.runtime.context.FastROptions.LoadProfiles;
+import static com.oracle.truffle.r.runtime.context.FastROptions.SyntaxImage;
+import static com.oracle.truffle.r.runtime.context.FastROptions.WriteSyntaxImage;
 
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -38,6 +40,7 @@ import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.TruffleFile;
 import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.dsl.UnsupportedSpecializationException;
 import com.oracle.truffle.api.frame.Frame;
@@ -115,6 +118,7 @@ import com.oracle.truffle.r.runtime.interop.R2Foreign;
 import com.oracle.truffle.r.runtime.nodes.RBaseNode;
 import com.oracle.truffle.r.runtime.nodes.RNode;
 import com.oracle.truffle.r.runtime.nodes.RSourceSectionNode;
+import com.oracle.truffle.r.runtime.nodes.RSyntaxImage;
 import com.oracle.truffle.r.runtime.nodes.RSyntaxLookup;
 import com.oracle.truffle.r.runtime.nodes.RSyntaxNode;
 
@@ -269,7 +273,19 @@ final class REngine implements Engine, Engine.Timings {
 
     @Override
     public Object parseAndEval(Source source, MaterializedFrame frame, boolean printResult) throws ParseException {
-        List<RSyntaxNode> list = parseSource(source);
+        return evalStatements(parseSource(source), frame, printResult);
+    }
+
+    @Override
+    public Object parseAndEvalWithImage(Source source, TruffleFile imageFile, MaterializedFrame frame) throws ParseException {
+        if (!context.getOption(SyntaxImage)) {
+            return parseAndEval(source, frame, false);
+        }
+        List<RSyntaxNode> list = RSyntaxImage.parse(source, imageFile, context.getOption(WriteSyntaxImage), () -> new RASTBuilder(true), context.getLanguage());
+        return evalStatements(list, frame, false);
+    }
+
+    private Object evalStatements(List<RSyntaxNode> list, MaterializedFrame frame, boolean printResult) {
         try {
             Object lastValue = RNull.instance;
             for (RSyntaxNode node : list) {
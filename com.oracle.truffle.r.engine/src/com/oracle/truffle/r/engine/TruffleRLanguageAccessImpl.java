@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2019, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -36,8 +36,11 @@ import com.oracle.truffle.r.nodes.function.PromiseHelperNode;
 import com.oracle.truffle.r.nodes.function.RMissingHelper;
 import com.oracle.truffle.r.runtime.ArgumentsSignature;
 import com.oracle.truffle.r.runtime.RCaller;
+import com.oracle.truffle.r.runtime.builtins.RBuiltinDescriptor;
+import com.oracle.truffle.r.runtime.builtins.RBuiltinLookup;
 import com.oracle.truffle.r.runtime.conn.StdConnections.ContextStateImpl;
 import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.context.TruffleRLanguage;
 import com.oracle.truffle.r.runtime.context.TruffleRLanguageAccess;
 import com.oracle.truffle.r.runtime.data.RFunction;
 import com.oracle.truffle.r.runtime.data.RInteropNA;
@@ -52,6 +55,42 @@ public final class TruffleRLanguageAccessImpl implements TruffleRLanguageAccess
         RContext.initializeGlobalState(new RASTBuilder(false), new RRuntimeASTAccessImpl(), RBuiltinPackages.getInstance());
     }
 
+    @Override
+    public void preInitializeContext(RContext context) {
+        // the AST builder is only installed for the warm-up, so that the first context created at
+        // run time initializes the global state as usual
+        RContext.initializeGlobalState(new RASTBuilder(false), new RRuntimeASTAccessImpl(), NoBuiltinsLookup.INSTANCE);
+        try {
+            RBuiltinPackages.preInitialize(context);
+        } finally {
+            RContext.initializeGlobalState(null, null, null);
+        }
+    }
+
+    /**
+     * The base package is not loaded in a pre-initialized context. Without builtins the trees use
+     * generic calls instead of specials, which does not matter, as only the syntax images, i.e. the
+     * calls made by the parser, are kept.
+     */
+    private static final class NoBuiltinsLookup implements RBuiltinLookup {
+        private static final NoBuiltinsLookup INSTANCE = new NoBuiltinsLookup();
+
+        @Override
+        public boolean isPrimitiveBuiltin(String name) {
+            return false;
+        }
+
+        @Override
+        public RFunction lookupBuiltin(TruffleRLanguage language, String methodName) {
+            return null;
+        }
+
+        @Override
+        public RBuiltinDescriptor lookupBuiltinDescriptor(String methodName) {
+            return null;
+        }
+    }
+
     @Override
     public String toDisplayString(RContext context, Object value, boolean sideEffects) {
         // these types implement their own toDisplayString method
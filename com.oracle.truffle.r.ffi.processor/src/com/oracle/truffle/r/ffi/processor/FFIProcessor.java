@@ -313,6 +313,7 @@ public final class FFIProcessor extends AbstractProcessor {
         }
         w.append("import com.oracle.truffle.r.runtime.ffi.RFFIContext;\n");
         w.append("import com.oracle.truffle.r.runtime.ffi.RFFILog;\n");
+        w.append("import com.oracle.truffle.r.runtime.ffi.RFFIProfile;\n");
         w.append("import com.oracle.truffle.api.interop.InteropLibrary;\n");
         w.append("import com.oracle.truffle.api.library.ExportLibrary;\n");
         w.append("import com.oracle.truffle.api.library.ExportMessage;\n");
@@ -421,6 +422,10 @@ public final class FFIProcessor extends AbstractProcessor {
         w.append("        UpCallsRFFI impl = upCallProfile.profile(upCallsImpl);\n");
         w.append("        rffiCtx.beforeUpcall(ctx, " + canRunGc + ", impl.getRFFIType());\n");
         w.append(unwrappedArgs);
+        w.append("        RFFIProfile profile = RFFIProfile.get(ctx);\n");
+        w.append("        if (profile != null) {\n");
+        w.append("            profile.enter();\n");
+        w.append("        }\n");
         w.append("        try {\n");
 
         w.append("            ");
@@ -468,6 +473,10 @@ public final class FFIProcessor extends AbstractProcessor {
         w.append("            RFFILog.logException(ex);\n");
         w.append("            handleExceptionNode.execute(ex);\n");
         appendCreateDummyResultObj(returnKind, needsReturnWrap, w);
+        w.append("        } finally {\n");
+        w.append("            if (profile != null) {\n");
+        w.append("                profile.exitUpCall(\"" + name + "\");\n");
+        w.append("            }\n");
         w.append("        }\n");
         w.append("        rffiCtx.afterUpcall(" + canRunGc + ", impl.getRFFIType());\n");
         if (returnKind == TypeKind.VOID) {
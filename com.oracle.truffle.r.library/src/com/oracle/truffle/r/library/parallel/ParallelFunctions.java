@@ -24,7 +24,11 @@ package com.oracle.truffle.r.library.parallel;
 
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.r.nodes.builtin.RExternalBuiltinNode;
+import com.oracle.truffle.r.runtime.RError.Message;
 import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RIntVector;
+import com.oracle.truffle.r.runtime.rng.lecuyer.LecuyerCMRG;
 
 /**
  * The .Call support for the parallel package.
@@ -36,4 +40,40 @@ public class ParallelFunctions {
             return RRuntime.asLogical(getRContext().getParent() != null);
         }
     }
+
+    /**
+     * Java version of {@code nextStream} from rngstream.c, used by {@code nextRNGStream}.
+     */
+    public abstract static class NextStream extends RExternalBuiltinNode.Arg1 {
+        static {
+            Casts casts = new Casts(NextStream.class);
+            casts.arg(0).mustNotBeMissing().asIntegerVector();
+        }
+
+        @Specialization
+        protected RIntVector nextStream(RIntVector seed) {
+            if (seed.getLength() < 7) {
+                throw error(Message.INVALID_ARGUMENT, "seed");
+            }
+            return RDataFactory.createIntVector(LecuyerCMRG.nextStream(seed.getReadonlyData()), RDataFactory.INCOMPLETE_VECTOR);
+        }
+    }
+
+    /**
+     * Java version of {@code nextSubStream} from rngstream.c, used by {@code nextRNGSubStream}.
+     */
+    public abstract static class NextSubStream extends RExternalBuiltinNode.Arg1 {
+        static {
+            Casts casts = new Casts(NextSubStream.class);
+            casts.arg(0).mustNotBeMissing().asIntegerVector();
+        }
+
+        @Specialization
+        protected RIntVector nextSubStream(RIntVector seed) {
+            if (seed.getLength() < 7) {
+                throw error(Message.INVALID_ARGUMENT, "seed");
+            }
+            return RDataFactory.createIntVector(LecuyerCMRG.nextSubStream(seed.getReadonlyData()), RDataFactory.INCOMPLETE_VECTOR);
+        }
+    }
 }
@@ -34,6 +34,7 @@ import com.oracle.truffle.r.runtime.data.nodes.attributes.SpecialAttributesFunct
 import com.oracle.truffle.r.runtime.data.nodes.attributes.SpecialAttributesFunctionsFactory.SetDimNamesAttributeNodeGen;
 import com.oracle.truffle.r.nodes.builtin.RExternalBuiltinNode;
 import com.oracle.truffle.r.nodes.unary.IsFactorNode;
+import com.oracle.truffle.r.runtime.ParallelKernels;
 import com.oracle.truffle.r.runtime.RError;
 import com.oracle.truffle.r.runtime.RError.Message;
 import com.oracle.truffle.r.runtime.RRuntime;
@@ -158,9 +159,23 @@ public abstract class Covcor extends RExternalBuiltinNode.Arg4 {
         }
     }
 
+    /*
+     * The pairwise and complete computations are split by the columns of x when the kernels are
+     * given: each column i writes only elements (i, j) and (j, i) of ans for j <= i, resp. j < ncy,
+     * and sd_0 is only ever set to true.
+     */
+
     @TruffleBoundary
-    private static void cov_pairwise1(int n, int ncx, double[] x, double[] ans, boolean[] sd_0, boolean cor, boolean kendall) {
-        for (int i = 0; i < ncx; i++) {
+    private static void cov_pairwise1(ParallelKernels kernels, int n, int ncx, double[] x, double[] ans, boolean[] sd_0, boolean cor, boolean kendall) {
+        if (kernels != null) {
+            kernels.parallelFor(ncx, (from, to) -> cov_pairwise1(from, to, n, ncx, x, ans, sd_0, cor, kendall));
+        } else {
+            cov_pairwise1(0, ncx, n, ncx, x, ans, sd_0, cor, kendall);
+        }
+    }
+
+    private static void cov_pairwise1(int fromCol, int toCol, int n, int ncx, double[] x, double[] ans, boolean[] sd_0, boolean cor, boolean kendall) {
+        for (int i = fromCol; i < toCol; i++) {
             int xx = i * n;
             for (int j = 0; j <= i; j++) {
                 int yy = j * n;
@@ -173,8 +188,16 @@ public abstract class Covcor extends RExternalBuiltinNode.Arg4 {
     }
 
     @TruffleBoundary
-    private static void cov_pairwise2(int n, int ncx, int ncy, double[] x, double[] y, double[] ans, boolean[] sd_0, boolean cor, boolean kendall) {
-        for (int i = 0; i < ncx; i++) {
+    private static void cov_pairwise2(ParallelKernels kernels, int n, int ncx, int ncy, double[] x, double[] y, double[] ans, boolean[] sd_0, boolean cor, boolean kendall) {
+        if (kernels != null) {
+            kernels.parallelFor(ncx, (from, to) -> cov_pairwise2(from, to, n, ncx, ncy, x, y, ans, sd_0, cor, kendall));
+        } else {
+            cov_pairwise2(0, ncx, n, ncx, ncy, x, y, ans, sd_0, cor, kendall);
+        }
+    }
+
+    private static void cov_pairwise2(int fromCol, int toCol, int n, int ncx, int ncy, double[] x, double[] y, double[] ans, boolean[] sd_0, boolean cor, boolean kendall) {
+        for (int i = fromCol; i < toCol; i++) {
             int xx = i * n;
             for (int j = 0; j < ncy; j++) {
                 int yy = j * n;
@@ -239,9 +262,7 @@ public abstract class Covcor extends RExternalBuiltinNode.Arg4 {
         }
     }
 
-    private static void cov_complete1(int n, int ncx, double[] x, double[] xm, boolean[] ind, double[] ans, boolean[] sd_0, boolean cor, boolean kendall) {
-        int n1 = -1;
-
+    private static void cov_complete1(ParallelKernels kernels, int n, int ncx, double[] x, double[] xm, boolean[] ind, double[] ans, boolean[] sd_0, boolean cor, boolean kendall) {
         /* total number of complete observations */
         int nobs = 0;
         for (int k = 0; k < n; k++) {
@@ -260,9 +281,42 @@ public abstract class Covcor extends RExternalBuiltinNode.Arg4 {
 
         if (!kendall) {
             MEAN(n, ncx, x, xm, ind, nobs); /* -> xm[] */
-            n1 = nobs - 1;
         }
-        for (int i = 0; i < ncx; i++) {
+        int n1 = kendall ? -1 : nobs - 1;
+        if (kernels != null) {
+            kernels.parallelFor(ncx, (from, to) -> cov_complete1(from, to, n, ncx, x, xm, ind, ans, n1, kendall));
+        } else {
+            cov_complete1(0, ncx, n, ncx, x, xm, ind, ans, n1, kendall);
+        }
+
+        if (cor) {
+            for (int i = 0; i < ncx; i++) {
+                xm[i] = Math.sqrt(ANS(ans, ncx, i, i));
+            }
+            for (int i = 0; i < ncx; i++) {
+                for (int j = 0; j < i; j++) {
+                    double result;
+                    if (xm[i] == 0 || xm[j] == 0) {
+                        sd_0[0] = true;
+                        result = RRuntime.DOUBLE_NA;
+                    } else {
+                        double current = ANS(ans, ncx, i, j);
+                        if (RRuntime.isNA(current)) {
+                            result = RRuntime.DOUBLE_NA;
+                        } else {
+                            result = CLAMP(current / (xm[i] * xm[j]));
+                        }
+                    }
+                    ANS(ans, ncx, j, i, result);
+                    ANS(ans, ncx, i, j, result);
+                }
+                ANS(ans, ncx, i, i, 1);
+            }
+        }
+    }
+
+    private static void cov_complete1(int fromCol, int toCol, int n, int ncx, double[] x, double[] xm, boolean[] ind, double[] ans, int n1, boolean kendall) {
+        for (int i = fromCol; i < toCol; i++) {
             int xx = i * n;
 
             if (!kendall) {
@@ -286,9 +340,9 @@ public abstract class Covcor extends RExternalBuiltinNode.Arg4 {
                     double sum = 0;
                     for (int k = 0; k < n; k++) {
                         if (ind[k]) {
-                            for (n1 = 0; n1 < n; n1++) {
-                                if (ind[n1]) {
-                                    sum += RMath.sign(x[xx + k] - x[xx + n1]) * RMath.sign(x[yy + k] - x[yy + n1]);
+                            for (int l = 0; l < n; l++) {
+                                if (ind[l]) {
+                                    sum += RMath.sign(x[xx + k] - x[xx + l]) * RMath.sign(x[yy + k] - x[yy + l]);
                                 }
                             }
                         }
@@ -298,31 +352,6 @@ public abstract class Covcor extends RExternalBuiltinNode.Arg4 {
                 }
             }
         }
-
-        if (cor) {
-            for (int i = 0; i < ncx; i++) {
-                xm[i] = Math.sqrt(ANS(ans, ncx, i, i));
-            }
-            for (int i = 0; i < ncx; i++) {
-                for (int j = 0; j < i; j++) {
-                    double result;
-                    if (xm[i] == 0 || xm[j] == 0) {
-                        sd_0[0] = true;
-                        result = RRuntime.DOUBLE_NA;
-                    } else {
-                        double current = ANS(ans, ncx, i, j);
-                        if (RRuntime.isNA(current)) {
-                            result = RRuntime.DOUBLE_NA;
-                        } else {
-                            result = CLAMP(current / (xm[i] * xm[j]));
-                        }
-                    }
-                    ANS(ans, ncx, j, i, result);
-                    ANS(ans, ncx, i, j, result);
-                }
-                ANS(ans, ncx, i, i, 1);
-            }
-        }
     }
 
     private static void cov_na_1(int n, int ncx, double[] x, double[] xm, boolean[] has_na, double[] ans, boolean[] sd_0, boolean cor, boolean kendall) {
@@ -837,12 +866,21 @@ public abstract class Covcor extends RExternalBuiltinNode.Arg4 {
     private void evaluate(RDoubleVector y, boolean kendall, boolean cor, int n, int ncx, int ncy, boolean na_fail, boolean everything, boolean empty_err, boolean pair, double[] xData,
                     double[] ans, boolean[] sd_0) {
         if (y == null) {
-            evaluateXOnly(kendall, cor, n, ncx, na_fail, everything, empty_err, pair, xData, ans, sd_0);
+            evaluateXOnly(getParallelKernels((long) n * ncx * ncx / 2), kendall, cor, n, ncx, na_fail, everything, empty_err, pair, xData, ans, sd_0);
         } else { /* Co[vr] (x, y) */
             evaluateWithY(y, kendall, cor, n, ncx, ncy, na_fail, everything, empty_err, pair, xData, ans, sd_0);
         }
     }
 
+    /**
+     * Returns the kernels to split a computation consisting of given number of steps among threads
+     * or {@code null} if it should run serially.
+     */
+    private ParallelKernels getParallelKernels(long work) {
+        ParallelKernels kernels = ParallelKernels.get(getRContext());
+        return kernels.isParallel(work) ? kernels : null;
+    }
+
     private void evaluateWithY(RDoubleVector y, boolean kendall, boolean cor, int n, int ncx, int ncy, boolean na_fail, boolean everything, boolean empty_err, boolean pair, double[] xData,
                     double[] ans, boolean[] sd_0) {
         double[] yData = getReadonlyDataNode.execute(y);
@@ -851,7 +889,7 @@ public abstract class Covcor extends RExternalBuiltinNode.Arg4 {
         } else if (!pair) { /* all | complete */
             evaluateWithYAllOrComplete(kendall, cor, n, ncx, ncy, na_fail, empty_err, xData, ans, sd_0, yData);
         } else { /* pairwise */
-            cov_pairwise2(n, ncx, ncy, xData, yData, ans, sd_0, cor, kendall);
+            cov_pairwise2(getParallelKernels((long) n * ncx * ncy), n, ncx, ncy, xData, yData, ans, sd_0, cor, kendall);
         }
     }
 
@@ -887,23 +925,23 @@ public abstract class Covcor extends RExternalBuiltinNode.Arg4 {
         cov_na_2(n, ncx, ncy, xData, yData, xm, ym, ind, has_na_y, ans, sd_0, cor, kendall);
     }
 
-    private static void evaluateXOnly(boolean kendall, boolean cor, int n, int ncx, boolean na_fail, boolean everything, boolean empty_err, boolean pair, double[] xData, double[] ans,
+    private static void evaluateXOnly(ParallelKernels kernels, boolean kendall, boolean cor, int n, int ncx, boolean na_fail, boolean everything, boolean empty_err, boolean pair, double[] xData, double[] ans,
                     boolean[] sd_0) {
         if (everything) { /* NA's are propagated */
             evaluateXOnlyEverything(kendall, cor, n, ncx, xData, ans, sd_0);
         } else if (!pair) { /* all | complete "var" */
-            evaluateXOnlyAllOrComplete(kendall, cor, n, ncx, na_fail, empty_err, xData, ans, sd_0);
+            evaluateXOnlyAllOrComplete(kernels, kendall, cor, n, ncx, na_fail, empty_err, xData, ans, sd_0);
         } else { /* pairwise "var" */
-            cov_pairwise1(n, ncx, xData, ans, sd_0, cor, kendall);
+            cov_pairwise1(kernels, n, ncx, xData, ans, sd_0, cor, kendall);
         }
     }
 
     @TruffleBoundary
-    private static void evaluateXOnlyAllOrComplete(boolean kendall, boolean cor, int n, int ncx, boolean na_fail, boolean empty_err, double[] xData, double[] ans, boolean[] sd_0) {
+    private static void evaluateXOnlyAllOrComplete(ParallelKernels kernels, boolean kendall, boolean cor, int n, int ncx, boolean na_fail, boolean empty_err, double[] xData, double[] ans, boolean[] sd_0) {
         double[] xm = new double[ncx];
         boolean[] ind = new boolean[n];
         complete1(n, ncx, xData, ind, na_fail);
-        cov_complete1(n, ncx, xData, xm, ind, ans, sd_0, cor, kendall);
+        cov_complete1(kernels, n, ncx, xData, xm, ind, ans, sd_0, cor, kendall);
         if (empty_err) {
             boolean indany = false;
             for (int i = 0; i < n; i++) {
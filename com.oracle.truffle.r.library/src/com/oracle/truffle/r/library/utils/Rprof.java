@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2023, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -27,11 +27,12 @@ import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.singleElemen
 import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.stringValue;
 import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.toBoolean;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
@@ -39,12 +40,12 @@ import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.Frame;
 import com.oracle.truffle.api.frame.FrameInstance.FrameAccess;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.instrumentation.EventBinding;
 import com.oracle.truffle.api.instrumentation.EventContext;
 import com.oracle.truffle.api.instrumentation.ExecutionEventListener;
 import com.oracle.truffle.api.instrumentation.SourceSectionFilter;
 import com.oracle.truffle.api.instrumentation.StandardTags;
 import com.oracle.truffle.api.nodes.RootNode;
-import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.r.common.SuppressFBWarnings;
 import com.oracle.truffle.r.nodes.builtin.RExternalBuiltinNode;
 import com.oracle.truffle.r.nodes.function.FunctionDefinitionNode;
@@ -55,6 +56,7 @@ import com.oracle.truffle.r.runtime.RError;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.RSource;
 import com.oracle.truffle.r.runtime.Utils;
+import com.oracle.truffle.r.runtime.context.FastROptions;
 import com.oracle.truffle.r.runtime.context.RContext;
 import com.oracle.truffle.r.runtime.data.MemoryCopyTracer;
 import com.oracle.truffle.r.runtime.data.RBaseObject;
@@ -81,6 +83,13 @@ import com.oracle.truffle.r.runtime.nodes.RSyntaxNode;
  * and then the {@code N} is used in line number references of the form {@code N#L},which precede
  * the function name.
  *
+ * Alternatively, the output can be in the collapsed stacks or pprof format, see
+ * {@link FastROptions#RprofFormat} and {@link RprofOutput}. The samples are not retained in memory,
+ * they are either written out or aggregated as they come and the output is flushed every
+ * {@link FastROptions#RprofFlushInterval} seconds.
+ *
+ * All the threads evaluating R code in the engine, i.e., also the {@code EvalThread}s of the child
+ * contexts, are sampled.
  */
 public abstract class Rprof extends RExternalBuiltinNode.Arg9 implements MemoryCopyTracer.Listener {
 
@@ -114,23 +123,35 @@ public abstract class Rprof extends RExternalBuiltinNode.Arg9 implements MemoryC
             if (profState != null && profState.out() != null) {
                 endProfiling();
             }
+            RprofOutput.Format format = RprofOutput.Format.fromString(getRContext().getOption(FastROptions.RprofFormat));
+            if (format == null) {
+                throw error(RError.Message.GENERIC, String.format("Rprof: unknown output format '%s'", getRContext().getOption(FastROptions.RprofFormat)));
+            }
             try {
-                PrintStream out = new PrintStream(
-                                getRContext().getSafeTruffleFile(filename).newOutputStream(append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING));
+                PrintStream out = new PrintStream(new BufferedOutputStream(
+                                getRContext().getSafeTruffleFile(filename).newOutputStream(append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING)));
                 if (gcProfiling) {
                     warning(RError.Message.GENERIC, "Rprof: gc profiling not supported");
                 }
-                if (memProfiling) {
-                    RDataFactory.addListener(LISTENER);
-                    MemoryCopyTracer.addListener(this);
-                    MemoryCopyTracer.setTracingState(true);
+                boolean memoryProfiling = memProfiling;
+                if (memoryProfiling) {
+                    if (format != RprofOutput.Format.RPROF) {
+                        warning(RError.Message.GENERIC, "Rprof: memory profiling is only supported in the Rprof output format");
+                        memoryProfiling = false;
+                    } else {
+                        RDataFactory.addListener(LISTENER);
+                        MemoryCopyTracer.addListener(this);
+                        MemoryCopyTracer.setTracingState(true);
+                    }
                 }
                 // interval is in seconds, we convert to millis
-                long intervalInMillis = (long) (1E3 * intervalD);
-                StatementListener statementListener = new StatementListener();
-                ProfileThread profileThread = new ProfileThread(intervalInMillis, statementListener);
+                long intervalInMillis = Math.max(1, (long) (1E3 * intervalD));
+                long flushIntervalInMillis = (long) (1E3 * getRContext().getOption(FastROptions.RprofFlushInterval));
+                RprofOutput output = RprofOutput.create(format, out, intervalInMillis, lineProfiling, memoryProfiling);
+                StatementListener statementListener = new StatementListener(output, lineProfiling, memoryProfiling ? profState : null);
+                ProfileThread profileThread = new ProfileThread(intervalInMillis, flushIntervalInMillis, statementListener, output);
                 profileThread.setDaemon(true);
-                profState.initialize(out, profileThread, statementListener, intervalInMillis, lineProfiling, memProfiling);
+                profState.initialize(out, profileThread, statementListener, output, memoryProfiling);
                 profileThread.start();
             } catch (IOException ex) {
                 throw error(RError.Message.GENERIC, String.format("Rprof: cannot open profile file '%s'", filename));
@@ -164,7 +185,9 @@ public abstract class Rprof extends RExternalBuiltinNode.Arg9 implements MemoryC
     @TruffleBoundary
     public void reportCopying(RAbstractVector source, RAbstractVector dest) {
         RprofState profState = RprofState.get();
-        profState.memoryQuad.copied += RObjectSize.getObjectSize(source);
+        if (profState.memoryQuad != null) {
+            profState.memoryQuad.copied += RObjectSize.getObjectSize(source);
+        }
     }
 
     private static void endProfiling() {
@@ -174,27 +197,30 @@ public abstract class Rprof extends RExternalBuiltinNode.Arg9 implements MemoryC
         }
     }
 
-    private static String getPath(RSyntaxElement node) {
-        Source source = node.getSourceSection().getSource();
-        return RSource.getPath(source);
-    }
-
     private static final class ProfileThread extends Thread {
         private final long interval;
+        private final long flushTicks;
         private final StatementListener statementListener;
+        private final RprofOutput output;
         private volatile boolean running = true;
 
-        private ProfileThread(long interval, StatementListener statementListener) {
+        private ProfileThread(long interval, long flushInterval, StatementListener statementListener, RprofOutput output) {
             this.interval = interval;
+            this.flushTicks = flushInterval <= 0 ? 0 : Math.max(1, flushInterval / interval);
             this.statementListener = statementListener;
+            this.output = output;
         }
 
         @Override
         public void run() {
+            long ticks = 0;
             while (running) {
                 try {
                     Thread.sleep(interval);
                     statementListener.intervalElapsed();
+                    if (flushTicks > 0 && ++ticks % flushTicks == 0 && running) {
+                        output.flush();
+                    }
                 } catch (InterruptedException ex) {
 
                 }
@@ -203,48 +229,84 @@ public abstract class Rprof extends RExternalBuiltinNode.Arg9 implements MemoryC
     }
 
     /**
-     * Emulates a sampling timer by checking when the sample interval rolls over and at that point
-     * collects the stack of functions.
+     * Emulates a sampling timer: the {@link ProfileThread} starts a new sampling epoch every
+     * interval and every context collects the stack of functions at the first statement it executes
+     * in the new epoch. A context is evaluated by one thread at a time, so every thread running R
+     * code takes one sample of its own stack per interval, while threads that are not running R code
+     * (e.g. idle {@code EvalThread}s) take none. The epoch in which a context was last sampled is
+     * kept in its {@link InstrumentationState}, so the check does not leave the compiled code.
      */
-    private final class StatementListener implements ExecutionEventListener {
-        private final ArrayList<ArrayList<RSyntaxElement>> intervalStacks = new ArrayList<>();
-        private final ArrayList<RprofState.MemoryQuad> intervalMemory = new ArrayList<>();
-        private volatile boolean newInterval;
+    private static final class StatementListener implements ExecutionEventListener {
+        /**
+         * Source of the epochs of all profiling sessions. If more sessions sample the same context,
+         * it is sampled by the session whose epoch is the newest.
+         */
+        private static final AtomicLong EPOCHS = new AtomicLong();
 
-        private StatementListener() {
+        private final RprofOutput output;
+        private final boolean lineProfiling;
+        private final RprofState memoryProfilingState;
+        private final EventBinding<StatementListener> binding;
+        /**
+         * The current sampling epoch, {@code 0} until the first interval elapses.
+         */
+        private volatile long epoch;
+
+        private StatementListener(RprofOutput output, boolean lineProfiling, RprofState memoryProfilingState) {
+            this.output = output;
+            this.lineProfiling = lineProfiling;
+            this.memoryProfilingState = memoryProfilingState;
             SourceSectionFilter.Builder builder = SourceSectionFilter.newBuilder();
             builder.tagIs(StandardTags.StatementTag.class);
             SourceSectionFilter filter = builder.build();
-            RInstrumentation.getInstrumenter().attachExecutionEventListener(filter, this);
+            this.binding = RInstrumentation.getInstrumenter().attachExecutionEventListener(filter, this);
         }
 
         private void intervalElapsed() {
-            newInterval = true;
+            epoch = EPOCHS.incrementAndGet();
         }
 
         @Override
         public void onEnter(EventContext context, VirtualFrame frame) {
-            if (newInterval) {
+            if (RContext.getInstance().stateInstrumentation.getRprofSampledEpoch() < epoch) {
                 onEnter(context);
-                newInterval = false;
             }
         }
 
         @TruffleBoundary
         private void onEnter(EventContext context) {
+            InstrumentationState state = RContext.getInstance().stateInstrumentation;
+            long current = epoch;
+            if (state.getRprofSampledEpoch() >= current) {
+                return;
+            }
+            state.setRprofSampledEpoch(current);
             /* context tells here we are now, frame provides callers. */
             ArrayList<RSyntaxElement> stack = new ArrayList<>();
             stack.add((RSyntaxElement) context.getInstrumentedNode());
             collectStack(stack);
-            intervalStacks.add(stack);
-            RprofState profState = RprofState.get();
-            if (profState.memoryProfiling) {
-                intervalMemory.add(profState.memoryQuad.copyAndClear());
+            ArrayList<RprofOutput.StackFrame> frames = new ArrayList<>(stack.size());
+            for (RSyntaxElement node : stack) {
+                RootNode rootNode = ((RSyntaxNode) node).asRNode().getRootNode();
+                if (rootNode instanceof FunctionDefinitionNode) {
+                    String path = null;
+                    int line = 0;
+                    if (lineProfiling) {
+                        path = RSource.getPath(node.getSourceSection().getSource());
+                        line = node.getSourceSection().getStartLine();
+                    }
+                    frames.add(new RprofOutput.StackFrame(rootNode.getName(), path, line));
+                }
+            }
+            RprofOutput.MemoryQuad memory = null;
+            if (memoryProfilingState != null) {
+                memory = memoryProfilingState.memoryQuad.copyAndClear();
             }
+            output.addSample(frames, memory);
         }
 
         @TruffleBoundary
-        private void collectStack(final ArrayList<RSyntaxElement> stack) {
+        private static void collectStack(final ArrayList<RSyntaxElement> stack) {
             Utils.iterateRFrames(FrameAccess.READ_ONLY, new Function<Frame, Object>() {
 
                 @Override
@@ -275,30 +337,9 @@ public abstract class Rprof extends RExternalBuiltinNode.Arg9 implements MemoryC
     private static final class RprofState extends InstrumentationState.RprofState {
         private ProfileThread profileThread;
         private StatementListener statementListener;
-        private long intervalInMillis;
-        private boolean lineProfiling;
+        private RprofOutput output;
         private boolean memoryProfiling;
-        private MemoryQuad memoryQuad;
-
-        public static final class MemoryQuad {
-            public long smallV;
-            public long largeV;
-            public long nodes;
-            public long copied;
-
-            public MemoryQuad copyAndClear() {
-                MemoryQuad result = new MemoryQuad();
-                result.copied = copied;
-                result.largeV = largeV;
-                result.smallV = smallV;
-                result.nodes = nodes;
-                copied = 0;
-                largeV = 0;
-                smallV = 0;
-                nodes = 0;
-                return result;
-            }
-        }
+        private RprofOutput.MemoryQuad memoryQuad;
 
         private static RprofState get() {
             RprofState state = (RprofState) RContext.getInstance().stateInstrumentation.getRprofState("prof");
@@ -309,70 +350,25 @@ public abstract class Rprof extends RExternalBuiltinNode.Arg9 implements MemoryC
             return state;
         }
 
-        public void initialize(PrintStream outA, ProfileThread profileThreadA, StatementListener statementListenerA, long intervalInMillisA,
-                        boolean lineProfilingA, boolean memoryProfilingA) {
+        public void initialize(PrintStream outA, ProfileThread profileThreadA, StatementListener statementListenerA, RprofOutput outputA, boolean memoryProfilingA) {
             setOut(outA);
             this.profileThread = profileThreadA;
             this.statementListener = statementListenerA;
-            this.intervalInMillis = intervalInMillisA;
-            this.lineProfiling = lineProfilingA;
+            this.output = outputA;
             this.memoryProfiling = memoryProfilingA;
-            this.memoryQuad = memoryProfilingA ? new MemoryQuad() : null;
+            this.memoryQuad = memoryProfilingA ? new RprofOutput.MemoryQuad() : null;
         }
 
         @Override
         public void cleanup(int status) {
             profileThread.running = false;
-            HashMap<String, Integer> fileMap = null;
-            PrintStream out = this.out();
-            if (this.memoryProfiling) {
-                out.print("memory profiling: ");
-            }
-            if (this.lineProfiling) {
-                out.print("line profiling: ");
-            }
-            out.printf("sample.interval=%d\n", this.intervalInMillis * 1000);
-            if (this.lineProfiling) {
-                // scan stacks to find files
-                fileMap = new HashMap<>();
-                int fileIndex = 0;
-                for (ArrayList<RSyntaxElement> intervalStack : statementListener.intervalStacks) {
-                    for (RSyntaxElement node : intervalStack) {
-                        String path = getPath(node);
-                        if (path != null && fileMap.get(path) == null) {
-                            fileMap.put(path, ++fileIndex);
-                            out.printf("#File %d: %s\n", fileIndex, path);
-                        }
-                    }
-                }
-            }
-            int index = 0;
-            for (ArrayList<RSyntaxElement> intervalStack : statementListener.intervalStacks) {
-                if (this.memoryProfiling) {
-                    RprofState.MemoryQuad mq = statementListener.intervalMemory.get(index);
-                    out.printf(":%d:%d:%d:%d:", mq.largeV, mq.smallV, mq.nodes, mq.copied);
-                }
-                for (RSyntaxElement node : intervalStack) {
-                    RootNode rootNode = ((RSyntaxNode) node).asRNode().getRootNode();
-                    if (rootNode instanceof FunctionDefinitionNode) {
-                        String name = rootNode.getName();
-                        if (this.lineProfiling) {
-                            Integer fileIndex = fileMap.get(getPath(node));
-                            if (fileIndex != null) {
-                                out.printf("%d#%d ", fileIndex, node.getSourceSection().getStartLine());
-                            }
-                        }
-                        out.printf("\"%s\" ", name);
-                    }
-                }
-                out.println();
-                index++;
-            }
-            out.close();
+            statementListener.binding.dispose();
+            output.close();
             this.setOut(null);
             if (this.memoryProfiling) {
                 RDataFactory.removeListener(LISTENER);
                 MemoryCopyTracer.setTracingState(false);
+                this.memoryQuad = null;
             }
         }
     }
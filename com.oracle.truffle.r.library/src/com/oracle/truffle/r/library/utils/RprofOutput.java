@@ -0,0 +1,360 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.library.utils;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+
+import com.oracle.truffle.r.runtime.RError;
+import com.oracle.truffle.r.runtime.RInternalError;
+import com.oracle.truffle.r.runtime.instrument.PProfWriter;
+
+/**
+ * The sinks of the samples collected by {@code Rprof}. The samples are written out as they come
+ * (GNU-R text format), or aggregated into an interned call tree (collapsed stacks and pprof
+ * formats), so that the memory needed by a profiling session does not grow with its length.
+ *
+ * All the methods are synchronized: the samples may come from several threads, and
+ * {@link #flush()} is invoked periodically from the profiling thread.
+ */
+abstract class RprofOutput {
+
+    enum Format {
+        /**
+         * The GNU-R {@code Rprof} format understood by {@code summaryRprof}.
+         */
+        RPROF,
+        /**
+         * The "collapsed stacks" format, one line per unique stack with the number of samples, as
+         * consumed by the FlameGraph tools.
+         */
+        COLLAPSED,
+        /**
+         * The <a href="https://github.com/google/pprof/blob/main/proto/profile.proto">pprof</a>
+         * protocol buffer format (uncompressed).
+         */
+        PPROF;
+
+        /**
+         * Returns the format with given (case insensitive) name or {@code null} if there is no such
+         * format.
+         */
+        static Format fromString(String name) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Memory allocated in one sampling interval.
+     */
+    static final class MemoryQuad {
+        long smallV;
+        long largeV;
+        long nodes;
+        long copied;
+
+        MemoryQuad copyAndClear() {
+            MemoryQuad result = new MemoryQuad();
+            result.copied = copied;
+            result.largeV = largeV;
+            result.smallV = smallV;
+            result.nodes = nodes;
+            copied = 0;
+            largeV = 0;
+            smallV = 0;
+            nodes = 0;
+            return result;
+        }
+    }
+
+    /**
+     * One element of a sampled stack: the function and, if line profiling, the source location.
+     */
+    static final class StackFrame {
+        final String name;
+        final String path;
+        final int line;
+
+        StackFrame(String name, String path, int line) {
+            this.name = name;
+            this.path = path;
+            this.line = line;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof StackFrame)) {
+                return false;
+            }
+            StackFrame other = (StackFrame) obj;
+            return line == other.line && name.equals(other.name) && Objects.equals(path, other.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, path, line);
+        }
+    }
+
+    protected final PrintStream out;
+    protected final long intervalInMillis;
+    protected final boolean lineProfiling;
+
+    protected RprofOutput(PrintStream out, long intervalInMillis, boolean lineProfiling) {
+        this.out = out;
+        this.intervalInMillis = intervalInMillis;
+        this.lineProfiling = lineProfiling;
+    }
+
+    static RprofOutput create(Format format, PrintStream out, long intervalInMillis, boolean lineProfiling, boolean memoryProfiling) {
+        switch (format) {
+            case RPROF:
+                return new Text(out, intervalInMillis, lineProfiling, memoryProfiling);
+            case COLLAPSED:
+                return new Collapsed(out, intervalInMillis, lineProfiling);
+            case PPROF:
+                return new PProf(out, intervalInMillis, lineProfiling);
+            default:
+                throw RInternalError.shouldNotReachHere();
+        }
+    }
+
+    /**
+     * Records one sample.
+     *
+     * @param stack the frames from the innermost to the outermost one
+     * @param memory memory allocated since the last sample or {@code null} if not memory profiling
+     */
+    abstract void addSample(List<StackFrame> stack, MemoryQuad memory);
+
+    /**
+     * Writes out everything that can be written out before the end of the profiling session.
+     */
+    abstract void flush();
+
+    /**
+     * Writes out the remaining data and closes the output.
+     */
+    synchronized void close() {
+        flush();
+        out.close();
+    }
+
+    /**
+     * GNU-R text format, the samples are written out immediately, only the output buffer is
+     * retained between two flushes.
+     */
+    private static final class Text extends RprofOutput {
+        private final boolean memoryProfiling;
+        private final HashMap<String, Integer> fileMap = new HashMap<>();
+
+        Text(PrintStream out, long intervalInMillis, boolean lineProfiling, boolean memoryProfiling) {
+            super(out, intervalInMillis, lineProfiling);
+            this.memoryProfiling = memoryProfiling;
+            if (memoryProfiling) {
+                out.print("memory profiling: ");
+            }
+            if (lineProfiling) {
+                out.print("line profiling: ");
+            }
+            out.printf("sample.interval=%d\n", intervalInMillis * 1000);
+        }
+
+        @Override
+        synchronized void addSample(List<StackFrame> stack, MemoryQuad memory) {
+            if (lineProfiling) {
+                for (StackFrame frame : stack) {
+                    if (frame.path != null && !fileMap.containsKey(frame.path)) {
+                        int fileIndex = fileMap.size() + 1;
+                        fileMap.put(frame.path, fileIndex);
+                        out.printf("#File %d: %s\n", fileIndex, frame.path);
+                    }
+                }
+            }
+            if (memoryProfiling) {
+                out.printf(":%d:%d:%d:%d:", memory.largeV, memory.smallV, memory.nodes, memory.copied);
+            }
+            for (StackFrame frame : stack) {
+                if (lineProfiling && frame.path != null) {
+                    out.printf("%d#%d ", fileMap.get(frame.path), frame.line);
+                }
+                out.printf("\"%s\" ", frame.name);
+            }
+            out.println();
+        }
+
+        @Override
+        synchronized void flush() {
+            out.flush();
+        }
+    }
+
+    /**
+     * A node of the interned call tree, identified by its frame and its parent node.
+     */
+    private static final class CallTreeNode {
+        final StackFrame frame;
+        final CallTreeNode parent;
+        final HashMap<StackFrame, CallTreeNode> children = new HashMap<>();
+        /**
+         * Number of samples for which this node was the innermost frame.
+         */
+        long selfSamples;
+
+        CallTreeNode(StackFrame frame, CallTreeNode parent) {
+            this.frame = frame;
+            this.parent = parent;
+        }
+
+        CallTreeNode child(StackFrame childFrame) {
+            CallTreeNode result = children.get(childFrame);
+            if (result == null) {
+                result = new CallTreeNode(childFrame, this);
+                children.put(childFrame, result);
+            }
+            return result;
+        }
+    }
+
+    private abstract static class Aggregating extends RprofOutput {
+        protected final CallTreeNode root = new CallTreeNode(null, null);
+
+        Aggregating(PrintStream out, long intervalInMillis, boolean lineProfiling) {
+            super(out, intervalInMillis, lineProfiling);
+        }
+
+        @Override
+        synchronized void addSample(List<StackFrame> stack, MemoryQuad memory) {
+            CallTreeNode node = root;
+            for (int i = stack.size() - 1; i >= 0; i--) {
+                node = node.child(stack.get(i));
+            }
+            node.selfSamples++;
+        }
+
+        protected String label(StackFrame frame) {
+            if (lineProfiling && frame.path != null) {
+                return frame.name + " (" + frame.path + ":" + frame.line + ")";
+            }
+            return frame.name;
+        }
+    }
+
+    /**
+     * Collapsed stacks format. Each flush writes the stacks sampled since the previous flush, tools
+     * consuming this format sum the counts of repeated stacks.
+     */
+    private static final class Collapsed extends Aggregating {
+        Collapsed(PrintStream out, long intervalInMillis, boolean lineProfiling) {
+            super(out, intervalInMillis, lineProfiling);
+        }
+
+        @Override
+        synchronized void flush() {
+            StringBuilder sb = new StringBuilder();
+            for (CallTreeNode child : root.children.values()) {
+                writeStacks(child, sb);
+            }
+            out.flush();
+        }
+
+        private void writeStacks(CallTreeNode node, StringBuilder prefix) {
+            int prefixLength = prefix.length();
+            if (prefixLength > 0) {
+                prefix.append(';');
+            }
+            prefix.append(label(node.frame).replace(';', ':').replace(' ', '_'));
+            if (node.selfSamples > 0) {
+                out.print(prefix);
+                out.print(' ');
+                out.println(node.selfSamples);
+                node.selfSamples = 0;
+            }
+            for (CallTreeNode child : node.children.values()) {
+                writeStacks(child, prefix);
+            }
+            prefix.setLength(prefixLength);
+        }
+    }
+
+    /**
+     * pprof format, which is a single protocol buffer message and so can only be written at the end
+     * of the profiling session.
+     */
+    private static final class PProf extends Aggregating {
+        private final long startNanos = System.currentTimeMillis() * 1000000L;
+
+        PProf(PrintStream out, long intervalInMillis, boolean lineProfiling) {
+            super(out, intervalInMillis, lineProfiling);
+        }
+
+        @Override
+        synchronized void flush() {
+            // nothing can be written before the end
+        }
+
+        @Override
+        synchronized void close() {
+            long periodNanos = intervalInMillis * 1000000L;
+            PProfWriter writer = new PProfWriter(2);
+            writer.addSampleType("samples", "count");
+            writer.addSampleType("cpu", "nanoseconds");
+            for (CallTreeNode child : root.children.values()) {
+                writeSamples(child, writer, periodNanos);
+            }
+            try {
+                writer.writeTo(out, startNanos, System.currentTimeMillis() * 1000000L - startNanos, "cpu", "nanoseconds", periodNanos);
+            } catch (IOException ex) {
+                throw RError.error(RError.NO_CALLER, RError.Message.GENERIC, ex.getMessage());
+            }
+            out.close();
+        }
+
+        private void writeSamples(CallTreeNode node, PProfWriter writer, long periodNanos) {
+            if (node.selfSamples > 0) {
+                int depth = 0;
+                for (CallTreeNode n = node; n != root; n = n.parent) {
+                    depth++;
+                }
+                // leaf first
+                int[] locationIds = new int[depth];
+                int i = 0;
+                for (CallTreeNode n = node; n != root; n = n.parent) {
+                    locationIds[i++] = writer.location(n.frame.name, n.frame.path, n.frame.line);
+                }
+                writer.addSample(locationIds, node.selfSamples, node.selfSamples * periodNanos);
+            }
+            for (CallTreeNode child : node.children.values()) {
+                writeSamples(child, writer, periodNanos);
+            }
+        }
+    }
+}
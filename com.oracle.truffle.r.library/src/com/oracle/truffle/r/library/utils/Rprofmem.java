@@ -38,6 +38,7 @@ import com.oracle.truffle.r.runtime.RArguments;
 import com.oracle.truffle.r.runtime.RError;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.Utils;
+import com.oracle.truffle.r.runtime.context.FastROptions;
 import com.oracle.truffle.r.runtime.context.RContext;
 import com.oracle.truffle.r.runtime.data.RBaseObject;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
@@ -48,6 +49,7 @@ import com.oracle.truffle.r.runtime.data.RObjectSize;
 import com.oracle.truffle.r.runtime.data.RStringVector;
 import com.oracle.truffle.r.runtime.data.model.RAbstractVector;
 import com.oracle.truffle.r.runtime.instrument.InstrumentationState.RprofState;
+import com.oracle.truffle.r.runtime.instrument.memprof.MemAllocSampler;
 
 public abstract class Rprofmem extends RExternalBuiltinNode.Arg3 {
 
@@ -67,13 +69,25 @@ public abstract class Rprofmem extends RExternalBuiltinNode.Arg3 {
             endProfiling();
         } else {
             // enable after ending any previous session
+            endProfiling();
             RprofmemState profmemState = RprofmemState.get();
-            if (profmemState != null && profmemState.out() != null) {
-                endProfiling();
-            }
             boolean append = RRuntime.fromLogical(appendL);
+            int sampleInterval = getRContext().getOption(FastROptions.RprofmemSampleInterval);
+            MemAllocSampler.Format sampleFormat = null;
+            if (sampleInterval > 0) {
+                String formatName = getRContext().getOption(FastROptions.RprofFormat);
+                sampleFormat = "rprof".equals(formatName) ? MemAllocSampler.Format.TEXT : MemAllocSampler.Format.fromString(formatName);
+                if (sampleFormat == null) {
+                    throw error(RError.Message.GENERIC, String.format("Rprofmem: unknown output format '%s'", formatName));
+                }
+            }
             try {
                 PrintStream out = new PrintStream(getRContext().getSafeTruffleFile(filename).newOutputStream(append ? StandardOpenOption.APPEND : StandardOpenOption.WRITE));
+                if (sampleFormat != null) {
+                    // the sampler writes the whole profile when it stops
+                    MemAllocSampler.get().start(sampleInterval * 1024L, out, sampleFormat);
+                    return RNull.instance;
+                }
                 assert thresholdVec != null;
                 profmemState.initialize(out, thresholdVec.getDataAt(0));
                 RDataFactory.addListener(LISTENER);
@@ -85,6 +99,7 @@ public abstract class Rprofmem extends RExternalBuiltinNode.Arg3 {
     }
 
     private static void endProfiling() {
+        MemAllocSampler.get().stop();
         RprofmemState profmemState = RprofmemState.get();
         if (profmemState.out() != null) {
             profmemState.cleanup(0);
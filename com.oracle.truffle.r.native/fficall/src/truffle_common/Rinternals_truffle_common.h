@@ -73,6 +73,9 @@
 
 typedef void * FASTR_GlobalVar_t;
 
+// defined by the backend that includes this file, invalidates any element data cached for x
+static void elt_cache_invalidate(SEXP x);
+
 // these two functions are here just to handle casting void* to void function pointers...
 DL_FUNC R_ExternalPtrAddrFn(SEXP s) {
     return (DL_FUNC) R_ExternalPtrAddr(s);
@@ -1257,6 +1260,7 @@ R_xlen_t TRUELENGTH(SEXP x) {
 
 void SETLENGTH(SEXP x, R_xlen_t v) {
     TRACE0();
+    elt_cache_invalidate(x);
     ((call_SETLENGTH) callbacks[SETLENGTH_x])(x, v);
 }
 
@@ -1407,14 +1411,14 @@ const char * R_CHAR(SEXP x) {
     return (const char *) result;
 }
 
-SEXP STRING_ELT(SEXP x, R_xlen_t i) {
+SEXP FASTR_STRING_ELT(SEXP x, R_xlen_t i) {
     TRACE0();
     SEXP result = ((call_STRING_ELT) callbacks[STRING_ELT_x])(x, i);
     checkExitCall();
     return result;
 }
 
-SEXP VECTOR_ELT(SEXP x, R_xlen_t i) {
+SEXP FASTR_VECTOR_ELT(SEXP x, R_xlen_t i) {
     TRACE0();
     SEXP result = ((call_VECTOR_ELT) callbacks[VECTOR_ELT_x])(x, i);
     checkExitCall();
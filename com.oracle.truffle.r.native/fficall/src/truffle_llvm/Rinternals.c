@@ -91,6 +91,17 @@ double *REAL(SEXP x){
 	return (double*) ((call_REAL) callbacks[REAL_x])(x);
 }
 
+static void elt_cache_invalidate(SEXP x) {
+}
+
+SEXP STRING_ELT(SEXP x, R_xlen_t i) {
+	return FASTR_STRING_ELT(x, i);
+}
+
+SEXP VECTOR_ELT(SEXP x, R_xlen_t i) {
+	return FASTR_VECTOR_ELT(x, i);
+}
+
 /* Unwind-protect mechanism to support C++ stack unwinding. */
 
 // NB: It cannot be properly implemented until Sulong supports setjmp and longjmp.
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -129,6 +129,96 @@ double *REAL(SEXP x){
     return result;
 }
 
+/*
+ * STRING_ELT and VECTOR_ELT are up-calls for short vectors or vectors that are accessed only a few
+ * times. Once a vector is accessed ELT_BULK_THRESHOLD times, its elements are transferred to native
+ * memory as a whole: the data pointer of a string vector or list is an array of the handles of the
+ * (interned) CHARSXPs or the elements, which is then read directly. The array is kept up to date
+ * by SET_STRING_ELT and SET_VECTOR_ELT. The cache is cleared when a down-call returns, so that a
+ * handle of a vector collected afterwards cannot hit a stale entry.
+ */
+
+#define ELT_CACHE_SIZE 5
+#define ELT_BULK_THRESHOLD 16
+
+typedef struct elt_cache_entry {
+	SEXP key;
+	SEXP *data;
+	R_xlen_t length;
+	unsigned int hits;
+} EltCacheEntry;
+
+static __thread EltCacheEntry elt_cache[ELT_CACHE_SIZE];
+
+static inline EltCacheEntry *elt_cache_lookup(SEXP x, int type) {
+	for (int i = 0; i < ELT_CACHE_SIZE; i++) {
+		if (elt_cache[i].key == x) {
+			EltCacheEntry *entry = &elt_cache[i];
+			if (entry->data == NULL && entry->length == 0 && ++(entry->hits) >= ELT_BULK_THRESHOLD) {
+				if (TYPEOF(x) == type) {
+					entry->length = XLENGTH(x);
+					entry->data = (SEXP *) FASTR_DATAPTR(x);
+				} else {
+					// other list-like types are left to the up-call
+					entry->length = -1;
+				}
+			}
+			return entry;
+		}
+	}
+	// replace the least accessed entry
+	int idx = 0;
+	for (int i = 1; i < ELT_CACHE_SIZE && elt_cache[idx].hits != 0; i++) {
+		if (elt_cache[i].hits < elt_cache[idx].hits) {
+			idx = i;
+		}
+	}
+	elt_cache[idx].key = x;
+	elt_cache[idx].data = NULL;
+	elt_cache[idx].length = 0;
+	elt_cache[idx].hits = 1;
+	return &elt_cache[idx];
+}
+
+static void elt_cache_invalidate(SEXP x) {
+	for (int i = 0; i < ELT_CACHE_SIZE; i++) {
+		if (elt_cache[i].key == x) {
+			elt_cache[i].key = NULL;
+			elt_cache[i].data = NULL;
+			elt_cache[i].length = 0;
+			elt_cache[i].hits = 0;
+		}
+	}
+}
+
+// called when a down-call returns, the cached vectors are not protected anymore
+void elt_cache_clear() {
+	for (int i = 0; i < ELT_CACHE_SIZE; i++) {
+		elt_cache[i].key = NULL;
+		elt_cache[i].data = NULL;
+		elt_cache[i].length = 0;
+		elt_cache[i].hits = 0;
+	}
+}
+
+SEXP STRING_ELT(SEXP x, R_xlen_t i) {
+	TRACE0();
+	EltCacheEntry *entry = elt_cache_lookup(x, STRSXP);
+	if (entry->data != NULL && (size_t) i < (size_t) entry->length) {
+		return entry->data[i];
+	}
+	return FASTR_STRING_ELT(x, i);
+}
+
+SEXP VECTOR_ELT(SEXP x, R_xlen_t i) {
+	TRACE0();
+	EltCacheEntry *entry = elt_cache_lookup(x, VECSXP);
+	if (entry->data != NULL && (size_t) i < (size_t) entry->length) {
+		return entry->data[i];
+	}
+	return FASTR_VECTOR_ELT(x, i);
+}
+
 /* Unwind-protect mechanism to support C++ stack unwinding. */
 
 typedef struct {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -37,7 +37,8 @@
     if (!setjmp(error_jmpbuf)) {    \
         call;                       \
     }                               \
-    popJmpBuf();
+    popJmpBuf();                    \
+    elt_cache_clear();
 
 #define DO_CALL(call)               \
     jmp_buf error_jmpbuf;           \
@@ -47,6 +48,7 @@
         result = call;              \
     }                               \
     popJmpBuf();                    \
+    elt_cache_clear();              \
     return result;
 
 #define DO_CALL_INT(call)           \
@@ -57,6 +59,7 @@
         result = call;              \
     }                               \
     popJmpBuf();                    \
+    elt_cache_clear();              \
     return result;
 
 extern int initEventLoop(char* fifoInPathParam, char* fifoOutPathParam);
@@ -92,6 +95,9 @@ jmp_buf * peekJmpBuf();
 
 void popJmpBuf();
 
+// clears the STRING_ELT/VECTOR_ELT cache, see Rinternals.c
+void elt_cache_clear();
+
 // use for any fatal error
 void fatalError(const char *msg) __attribute__((noreturn));
 
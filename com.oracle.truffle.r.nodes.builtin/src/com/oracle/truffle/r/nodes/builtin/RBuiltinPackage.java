@@ -138,7 +138,7 @@ public abstract class RBuiltinPackage {
         if (sources != null) {
             for (Source source : sources) {
                 try {
-                    RContext.getEngine().parseAndEval(source, baseFrame, false);
+                    RContext.getEngine().parseAndEvalWithImage(source, null, baseFrame);
                 } catch (ParseException e) {
                     throw new RInternalError(e, "error while parsing overrides from %s", source.getName());
                 }
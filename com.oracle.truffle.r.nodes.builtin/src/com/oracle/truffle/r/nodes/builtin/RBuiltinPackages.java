@@ -35,6 +35,7 @@ import com.oracle.truffle.api.TruffleFile;
 import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.MaterializedFrame;
 import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.r.nodes.RASTBuilder;
 import com.oracle.truffle.r.nodes.builtin.base.BasePackage;
 import com.oracle.truffle.r.nodes.builtin.base.BaseVariables;
 import com.oracle.truffle.r.runtime.RDeparse;
@@ -56,6 +57,7 @@ import com.oracle.truffle.r.runtime.env.REnvironment;
 import com.oracle.truffle.r.runtime.env.REnvironment.PutException;
 import com.oracle.truffle.r.runtime.env.frame.FrameIndex;
 import com.oracle.truffle.r.runtime.env.frame.FrameSlotChangeMonitor;
+import com.oracle.truffle.r.runtime.nodes.RSyntaxImage;
 
 /**
  * Support for loading the base package and also optional overrides for the packages provided with
@@ -113,7 +115,8 @@ public final class RBuiltinPackages implements RBuiltinLookup {
         try {
             RContext.getInstance().setLoadingBase(true);
             try {
-                RContext.getEngine().parseAndEval(baseSource, baseFrame, false);
+                TruffleFile imageFile = baseDirPath.resolve("R").resolve("base.image");
+                RContext.getEngine().parseAndEvalWithImage(baseSource, imageFile, baseFrame);
             } catch (ParseException e) {
                 throw new RInternalError(e, "error while parsing base source from %s", baseSource.getName());
             }
@@ -128,6 +131,48 @@ public final class RBuiltinPackages implements RBuiltinLookup {
         pkg.loadOverrides(baseFrame);
     }
 
+    /**
+     * The packages with R code in the {@code <pkg>/R} resource directories, see
+     * {@link RBuiltinPackage#getRFiles(RContext, String)}.
+     */
+    private static final String[] OVERRIDE_PACKAGES = {"base", "compiler", "methods", "parallel", "snow", "tools", "utils"};
+
+    /**
+     * Invoked when a context is pre-initialized at native image build time. Parses the R code of
+     * the base package and of the package overrides, so that the R sources and their
+     * {@link RSyntaxImage syntax images} cached in static fields become part of the image heap and
+     * the contexts created at run time do not need to run the parser. Nothing context specific is
+     * retained.
+     */
+    public static void preInitialize(RContext context) {
+        TruffleRLanguage language = context.getLanguage();
+        ArrayList<Source> sources = new ArrayList<>();
+        TruffleFile imageFile = null;
+        String languageHome = language.getRHome();
+        if (languageHome != null) {
+            TruffleFile baseR = context.getEnv().getInternalTruffleFile(languageHome).resolve("library").resolve("base").resolve("R");
+            TruffleFile basePathbase = baseR.resolve("base");
+            try {
+                if (basePathbase.exists()) {
+                    sources.add(Source.newBuilder(RRuntime.R_LANGUAGE_ID, basePathbase).internal(true).build());
+                    imageFile = baseR.resolve("base.image");
+                }
+            } catch (IOException | SecurityException e) {
+                // parsed at run time
+            }
+        }
+        for (String pkg : OVERRIDE_PACKAGES) {
+            sources.addAll(RBuiltinPackage.getRFiles(context, pkg));
+        }
+        for (int i = 0; i < sources.size(); i++) {
+            try {
+                RSyntaxImage.parse(sources.get(i), i == 0 ? imageFile : null, false, () -> new RASTBuilder(true), language);
+            } catch (ParseException | RuntimeException e) {
+                // the source is simply parsed again at run time
+            }
+        }
+    }
+
     public static void loadDefaultPackageOverrides(RContext context) {
         ArrayList<Source> componentList = RBuiltinPackage.getRFiles(context, context.getNamespaceName());
         if (componentList.size() > 0) {
@@ -137,7 +182,7 @@ public final class RBuiltinPackages implements RBuiltinLookup {
             REnvironment env = REnvironment.baseEnv(context);
             for (Source source : componentList) {
                 try {
-                    RContext.getEngine().parseAndEval(source, env.getFrame(), false);
+                    RContext.getEngine().parseAndEvalWithImage(source, null, env.getFrame());
                 } catch (ParseException e) {
                     throw new RInternalError(e, "error while parsing default package override from %s", source.getName());
                 }
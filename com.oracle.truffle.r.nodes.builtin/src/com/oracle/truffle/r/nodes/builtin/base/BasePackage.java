@@ -729,6 +729,7 @@ import com.oracle.truffle.r.nodes.builtin.fastr.FastRContext.ChannelPoll;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRContext.ChannelReceive;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRContext.ChannelSelect;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRContext.ChannelSend;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRContext.ChannelStats;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRContext.CloseChannel;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRContext.CreateChannel;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRContext.CreateForkChannel;
@@ -744,6 +745,7 @@ import com.oracle.truffle.r.nodes.builtin.fastr.FastRContextFactory.ChannelPollN
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRContextFactory.ChannelReceiveNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRContextFactory.ChannelSelectNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRContextFactory.ChannelSendNodeGen;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRContextFactory.ChannelStatsNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRContextFactory.CloseChannelNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRContextFactory.CreateChannelNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRContextFactory.CreateForkChannelNodeGen;
@@ -756,6 +758,10 @@ import com.oracle.truffle.r.nodes.builtin.fastr.FastRDebugNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRDispatchNativeHandlers;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastREmbedded;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastREmbeddedFactory;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRFFIProfile;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRFFIProfileNodeGen;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRFusedArithmetic;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRFusedArithmeticNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRGDSetGraphics;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRGDSetGraphicsNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRGetExecutor;
@@ -839,6 +845,8 @@ import com.oracle.truffle.r.nodes.builtin.fastr.FastRSavePlot;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRSavePlotNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRSetConsoleHandler;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRSetConsoleHandlerNodeGen;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRSetThreads;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRSetThreadsNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRSetToolchain;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRSetToolchainNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRSlotAssign;
@@ -868,6 +876,8 @@ import com.oracle.truffle.r.nodes.builtin.fastr.FastrDqrls;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastrDqrlsNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.memprof.FastRprofmem;
 import com.oracle.truffle.r.nodes.builtin.fastr.memprof.FastRprofmemNodeGen;
+import com.oracle.truffle.r.nodes.builtin.fastr.memprof.FastRprofmemSample;
+import com.oracle.truffle.r.nodes.builtin.fastr.memprof.FastRprofmemSampleNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.memprof.FastRprofmemShow;
 import com.oracle.truffle.r.nodes.builtin.fastr.memprof.FastRprofmemShowNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.memprof.FastRprofmemSnapshot;
@@ -1190,6 +1200,7 @@ public final class BasePackage extends RBuiltinPackage {
         add(ChannelReceive.class, ChannelReceiveNodeGen::create);
         add(ChannelSelect.class, ChannelSelectNodeGen::create);
         add(ChannelSend.class, ChannelSendNodeGen::create);
+        add(ChannelStats.class, ChannelStatsNodeGen::create);
         add(Spawn.class, SpawnNodeGen::create);
         add(Interrupt.class, InterruptNodeGen::create);
         add(Join.class, JoinNodeGen::create);
@@ -1232,6 +1243,9 @@ public final class BasePackage extends RBuiltinPackage {
         add(ToLong.class, ToLongNodeGen::create);
         add(ToShort.class, ToShortNodeGen::create);
         add(FastRRefCountInfo.class, FastRRefCountInfoNodeGen::create);
+        add(FastRFFIProfile.class, FastRFFIProfileNodeGen::create);
+        add(FastRFusedArithmetic.class, FastRFusedArithmeticNodeGen::create);
+        add(FastRSetThreads.class, FastRSetThreadsNodeGen::create);
         add(FastRPkgSource.class, FastRPkgSourceNodeGen::create);
         add(FastRPrintError.class, FastRPrintErrorNodeGen::create);
         add(FastRRCallerTrace.class, FastRRCallerTrace::create);
@@ -1261,6 +1275,7 @@ public final class BasePackage extends RBuiltinPackage {
         add(FastRprofmemShow.class, FastRprofmemShowNodeGen::create);
         add(FastRprofmemSource.class, FastRprofmemSourceNodeGen::create);
         add(FastRprofmemSnapshot.class, FastRprofmemSnapshotNodeGen::create);
+        add(FastRprofmemSample.class, FastRprofmemSampleNodeGen::create);
         add(FastRLibPaths.class, FastRLibPathsNodeGen::create);
         add(BaseName.class, BaseNameNodeGen::create);
         add(DirCreate.class, DirCreateNodeGen::create);
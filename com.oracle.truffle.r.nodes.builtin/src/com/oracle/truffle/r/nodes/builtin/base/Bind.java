@@ -63,8 +63,11 @@ import com.oracle.truffle.r.runtime.Utils;
 import com.oracle.truffle.r.runtime.builtins.RBuiltin;
 import com.oracle.truffle.r.runtime.data.RArgsValuesAndNames;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RDoubleVector;
 import com.oracle.truffle.r.runtime.data.RFunction;
+import com.oracle.truffle.r.runtime.data.RIntVector;
 import com.oracle.truffle.r.runtime.data.RList;
+import com.oracle.truffle.r.runtime.data.RLogicalVector;
 import com.oracle.truffle.r.runtime.data.RNull;
 import com.oracle.truffle.r.runtime.data.RPromise;
 import com.oracle.truffle.r.runtime.data.RStringVector;
@@ -115,6 +118,7 @@ public abstract class Bind extends RBaseNodeWithWarnings {
     private final ConditionProfile allEmptyVectorProfile = ConditionProfile.createBinaryProfile();
     private final BranchProfile nonNullNames = BranchProfile.create();
     private final ConditionProfile dimNamesInComplete = ConditionProfile.createBinaryProfile();
+    private final ConditionProfile bulkBindProfile = ConditionProfile.createBinaryProfile();
     private final NACheck naCheck = NACheck.create();
     protected final ValueProfile resultProfile = ValueProfile.createClassProfile();
     protected final ValueProfile vectorProfile = ValueProfile.createClassProfile();
@@ -206,18 +210,89 @@ public abstract class Bind extends RBaseNodeWithWarnings {
         int[] resultDimensions = new int[2];
         boolean rowsAndColumnsNotEqual = getResultDimensions(vectors, resultDimensions, bindDims);
         RAbstractVector resultVec;
-        if (fromNotNullArgVector != null) {
-            resultVec = resultProfile.profile(vectorProfile.profile(fromNotNullArgVector).createEmptySameType(resultDimensions[0] * resultDimensions[1], complete));
+        RAbstractVector typeVector = fromNotNullArgVector != null ? fromNotNullArgVector : vectors[0];
+        boolean valuesCopied = bulkBindProfile.profile(isBulkBindable(typeVector, vectors, resultDimensions, bindDims));
+        if (valuesCopied) {
+            resultVec = resultProfile.profile(bulkBind(typeVector, vectors, resultDimensions, bindDims, complete, dispatchedDataLib));
         } else {
-            resultVec = resultProfile.profile(vectorProfile.profile(vectors[0]).createEmptySameType(resultDimensions[0] * resultDimensions[1], complete));
+            resultVec = resultProfile.profile(vectorProfile.profile(typeVector).createEmptySameType(resultDimensions[0] * resultDimensions[1], complete));
         }
 
         if (type == BindType.cbind) {
             return genericCBind(promiseArgs, vectors, resultVec, resultDimensions, bindDims, rowsAndColumnsNotEqual, allEmpty, vecNames, deparseLevel, setDimNode, getDimNamesNode,
-                            extractNamesNode);
+                            extractNamesNode, valuesCopied);
         } else {
             return genericRBind(promiseArgs, vectors, resultVec, resultDimensions, bindDims, rowsAndColumnsNotEqual, allEmpty, vecNames, deparseLevel, setDimNode, getDimNamesNode,
-                            extractNamesNode);
+                            extractNamesNode, valuesCopied);
+        }
+    }
+
+    /**
+     * Determines whether the values of all {@code vectors} can be copied into the result as whole
+     * regions, i.e. the result is a logical, integer or double vector and no vector needs to be
+     * recycled or truncated.
+     */
+    private boolean isBulkBindable(RAbstractVector typeVector, RAbstractVector[] vectors, int[] resultDimensions, int[] bindDims) {
+        if (!(typeVector instanceof RDoubleVector || typeVector instanceof RIntVector || typeVector instanceof RLogicalVector)) {
+            return false;
+        }
+        int boundDimLength = type == BindType.cbind ? resultDimensions[0] : resultDimensions[1];
+        for (int i = 0; i < vectors.length; i++) {
+            RAbstractVector vec = vectors[i];
+            if (vec.getClass() != typeVector.getClass() || vec.getLength() != bindDims[i] * boundDimLength) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates the result of binding {@code vectors} with one {@link System#arraycopy} per vector
+     * (cbind) or per vector and column (rbind) instead of transferring the values element by
+     * element.
+     */
+    private RAbstractVector bulkBind(RAbstractVector typeVector, RAbstractVector[] vectors, int[] resultDimensions, int[] bindDims, boolean complete, VectorDataLibrary dataLib) {
+        int resultLength = resultDimensions[0] * resultDimensions[1];
+        if (typeVector instanceof RDoubleVector) {
+            double[] result = new double[resultLength];
+            int offset = 0;
+            for (int i = 0; i < vectors.length; i++) {
+                copyRegions(dataLib.getReadonlyDoubleData(vectors[i].getData()), result, offset, bindDims[i], resultDimensions);
+                offset += bindDims[i];
+            }
+            return RDataFactory.createDoubleVector(result, complete);
+        } else if (typeVector instanceof RIntVector) {
+            int[] result = new int[resultLength];
+            int offset = 0;
+            for (int i = 0; i < vectors.length; i++) {
+                copyRegions(dataLib.getReadonlyIntData(vectors[i].getData()), result, offset, bindDims[i], resultDimensions);
+                offset += bindDims[i];
+            }
+            return RDataFactory.createIntVector(result, complete);
+        } else {
+            assert typeVector instanceof RLogicalVector;
+            byte[] result = new byte[resultLength];
+            int offset = 0;
+            for (int i = 0; i < vectors.length; i++) {
+                copyRegions(dataLib.getReadonlyLogicalData(vectors[i].getData()), result, offset, bindDims[i], resultDimensions);
+                offset += bindDims[i];
+            }
+            return RDataFactory.createLogicalVector(result, complete);
+        }
+    }
+
+    /**
+     * Copies the values of one bound vector, which fills {@code bindDim} columns (cbind) or rows
+     * (rbind) starting at {@code offset}, into the column-major {@code result} array.
+     */
+    private void copyRegions(Object src, Object result, int offset, int bindDim, int[] resultDimensions) {
+        int resultRows = resultDimensions[0];
+        if (type == BindType.cbind) {
+            System.arraycopy(src, 0, result, offset * resultRows, bindDim * resultRows);
+        } else {
+            for (int col = 0; col < resultDimensions[1]; col++) {
+                System.arraycopy(src, col * bindDim, result, col * resultRows + offset, bindDim);
+            }
         }
     }
 
@@ -527,7 +602,7 @@ public abstract class Bind extends RBaseNodeWithWarnings {
 
     public RAbstractVector genericCBind(RArgsValuesAndNames promiseArgs, RAbstractVector[] vectors, RAbstractVector result, int[] resultDimensions, int[] secondDims, boolean rowsAndColumnsNotEqual,
                     boolean allEmpty, String[] vecNames, int deparseLevel, SetDimAttributeNode setDimNode,
-                    GetDimNamesAttributeNode getDimNamesNode, ExtractNamesAttributeNode extractNamesNode) {
+                    GetDimNamesAttributeNode getDimNamesNode, ExtractNamesAttributeNode extractNamesNode, boolean valuesCopied) {
 
         int ind = 0;
         Object rowDimResultNames = RNull.instance;
@@ -550,6 +625,10 @@ public abstract class Bind extends RBaseNodeWithWarnings {
                 colInd = newColInd;
             }
 
+            if (valuesCopied) {
+                continue;
+            }
+
             // compute result vector values
             int[] dims = getDimensions(vec, getVectorDimensions(vec));
             assert dims.length == 2;
@@ -710,7 +789,7 @@ public abstract class Bind extends RBaseNodeWithWarnings {
 
     public RAbstractVector genericRBind(RArgsValuesAndNames promiseArgs, RAbstractVector[] vectors, RAbstractVector result, int[] resultDimensions, int[] firstDims, boolean rowsAndColumnsNotEqual,
                     boolean allEmpty, String[] vecNames, int deparseLevel, SetDimAttributeNode setDimNode,
-                    GetDimNamesAttributeNode getDimNamesNode, ExtractNamesAttributeNode extractNamesNode) {
+                    GetDimNamesAttributeNode getDimNamesNode, ExtractNamesAttributeNode extractNamesNode, boolean valuesCopied) {
 
         Object colDimResultNames = RNull.instance;
         String[] rowDimNamesArray = new String[resultDimensions[0]];
@@ -736,6 +815,11 @@ public abstract class Bind extends RBaseNodeWithWarnings {
                 rowInd = newRowInd;
             }
 
+            if (valuesCopied) {
+                dstRowInd += firstDims[i];
+                continue;
+            }
+
             // compute result vector values
             int vecLength = vec.getLength();
             int srcInd = 0;
@@ -25,9 +25,11 @@ package com.oracle.truffle.r.nodes.builtin.base;
 import static com.oracle.truffle.r.runtime.builtins.RBehavior.PURE;
 import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.INTERNAL;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.r.runtime.ParallelKernels;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.builtins.RBuiltin;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
@@ -55,9 +57,12 @@ public abstract class ColSums extends ColSumsBase {
                     @CachedLibrary("x.getData()") VectorDataLibrary xDataLib) {
         checkVectorLength(xDataLib, x, rowNum, colNum);
 
+        final boolean rna = removeNA.profile(rnaParam);
+        if (isParallel(rowNum, colNum)) {
+            return colSumsParallel(getParallelKernels(), xDataLib.getReadonlyDoubleData(x.getData()), rowNum, colNum, rna);
+        }
         double[] result = new double[colNum];
         boolean isComplete = true;
-        final boolean rna = removeNA.profile(rnaParam);
 
         int pos = 0;
         Object xData = x.getData();
@@ -91,6 +96,34 @@ public abstract class ColSums extends ColSumsBase {
         return RDataFactory.createDoubleVector(result, isComplete);
     }
 
+    /**
+     * Computes the columns in parallel, the sum of each column is computed in the same order as in
+     * the serial code.
+     */
+    @TruffleBoundary
+    private static RDoubleVector colSumsParallel(ParallelKernels kernels, double[] x, int rowNum, int colNum, boolean rna) {
+        double[] result = new double[colNum];
+        kernels.parallelFor(colNum, (from, to) -> {
+            nextCol: for (int c = from; c < to; c++) {
+                double sum = 0;
+                int pos = c * rowNum;
+                for (int i = 0; i < rowNum; i++) {
+                    double el = x[pos + i];
+                    if (RRuntime.isNA(el) || Double.isNaN(el)) {
+                        if (!rna) {
+                            result[c] = RRuntime.isNA(el) ? RRuntime.DOUBLE_NA : Double.NaN;
+                            continue nextCol;
+                        }
+                    } else {
+                        sum += el;
+                    }
+                }
+                result[c] = sum;
+            }
+        });
+        return RDataFactory.createDoubleVector(result, !hasNA(result));
+    }
+
     @Specialization(limit = "getTypedVectorDataLibraryCacheSize()")
     protected RDoubleVector colSums(RLogicalVector x, int rowNum, int colNum, boolean rnaParam,
                     @CachedLibrary("x.getData()") VectorDataLibrary xDataLib) {
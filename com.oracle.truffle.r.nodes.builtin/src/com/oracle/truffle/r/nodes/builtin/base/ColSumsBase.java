@@ -31,6 +31,7 @@ import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.r.nodes.builtin.RBuiltinNode;
+import com.oracle.truffle.r.runtime.ParallelKernels;
 import com.oracle.truffle.r.runtime.RError;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
@@ -46,6 +47,7 @@ import com.oracle.truffle.r.runtime.data.model.RAbstractVector;
 public abstract class ColSumsBase extends RBuiltinNode.Arg4 {
 
     private final ConditionProfile vectorLengthProfile = ConditionProfile.createBinaryProfile();
+    private final ConditionProfile parallelProfile = ConditionProfile.createBinaryProfile();
 
     protected static Casts createCasts(Class<? extends ColSumsBase> extCls) {
         Casts casts = new Casts(extCls);
@@ -66,6 +68,27 @@ public abstract class ColSumsBase extends RBuiltinNode.Arg4 {
         }
     }
 
+    /**
+     * Determines whether a matrix with given dimensions is large enough to be processed by
+     * {@link ParallelKernels}.
+     */
+    protected final boolean isParallel(int rowNum, int colNum) {
+        return parallelProfile.profile(ParallelKernels.get(getRContext()).isParallel((long) rowNum * colNum));
+    }
+
+    protected final ParallelKernels getParallelKernels() {
+        return ParallelKernels.get(getRContext());
+    }
+
+    protected static boolean hasNA(double[] values) {
+        for (double value : values) {
+            if (RRuntime.isNA(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Specialization(guards = {"rowNum == 0", "colNum == 0"})
     @SuppressWarnings("unused")
     protected static RDoubleVector doEmptyMatrix(Object x, int rowNum, int colNum, boolean naRm) {
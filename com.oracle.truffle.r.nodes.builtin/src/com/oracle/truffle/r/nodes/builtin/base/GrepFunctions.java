@@ -57,8 +57,9 @@ import com.oracle.truffle.r.runtime.RError;
 import com.oracle.truffle.r.runtime.RError.Message;
 import com.oracle.truffle.r.runtime.RInternalError;
 import com.oracle.truffle.r.runtime.RRuntime;
-import com.oracle.truffle.r.runtime.RegExp;
+import com.oracle.truffle.r.runtime.RegExpCache;
 import com.oracle.truffle.r.runtime.builtins.RBuiltin;
+import com.oracle.truffle.r.runtime.context.RContext;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
 import com.oracle.truffle.r.runtime.data.RDoubleVector;
 import com.oracle.truffle.r.runtime.data.RIntVector;
@@ -143,7 +144,6 @@ public class GrepFunctions {
         @Child protected PCRE2RFFI.CompileNode pcre2CompileNode = RFFIFactory.getPCRE2RFFI().createCompileNode();
         @Child protected PCRE2RFFI.MatchNode pcre2MatchNode = RFFIFactory.getPCRE2RFFI().createMatchNode();
         @Child protected PCRE2RFFI.GetCaptureCountNode pcre2CaptureCountNode = RFFIFactory.getPCRE2RFFI().createGetCaptureCountNode();
-        @Child protected PCRE2RFFI.MemoryReleaseNode pcre2MemoryReleaseNode = RFFIFactory.getPCRE2RFFI().createMemoryReleaseNode();
         @Child private InteropLibrary interop = InteropLibrary.getFactory().createDispatched(DSLConfig.getInteropLibraryCacheSize());
 
         /**
@@ -230,22 +230,38 @@ public class GrepFunctions {
             return RDataFactory.createIntVector(naData, RDataFactory.INCOMPLETE_VECTOR);
         }
 
+        /**
+         * Returns the compiled PCRE2 pattern from the context's {@link RegExpCache}, compiling it
+         * on a cache miss. The cache owns the native memory of the result, which must not be
+         * released by the caller and which stays valid only until the end of the caller's
+         * {@link RegExpCache#beginUse()} scope.
+         */
         protected PCRE2RFFI.CompileResult compilePerlPattern(String pattern, boolean ignoreCase) {
             int options = ignoreCase ? PCRE2RFFI.Option.CASELESS.value : 0;
-            PCRE2RFFI.CompileResult pcre = pcre2CompileNode.execute(pattern, options);
-            if (interop.isNull(pcre.compiledPattern)) {
-                assert pcre.errorMessage != null;
-                throw error(Message.INVALID_REGEXP_REASON, pattern, pcre.errorMessage);
+            RegExpCache cache = getRegExpCache();
+            PCRE2RFFI.CompileResult pcre = cache.getPerlPattern(pattern, options);
+            if (pcre == null) {
+                pcre = pcre2CompileNode.execute(pattern, options);
+                if (interop.isNull(pcre.compiledPattern)) {
+                    assert pcre.errorMessage != null;
+                    throw error(Message.INVALID_REGEXP_REASON, pattern, pcre.errorMessage);
+                }
+                cache.putPerlPattern(pattern, options, pcre);
             }
             return pcre;
         }
+
+        protected RegExpCache getRegExpCache() {
+            return getRContext().stateRegExpCache.getCache();
+        }
     }
 
     protected static final class GrepCommonCodeNode extends CommonCodeNode {
-        @Child private InteropLibrary interop = InteropLibrary.getFactory().createDispatched(DSLConfig.getInteropLibraryCacheSize());
 
         protected Object doGrep(String patternArg, RStringVector vector, boolean ignoreCase, boolean value, boolean perlPar, boolean fixed,
                         @SuppressWarnings("unused") boolean useBytes, boolean invert, boolean grepl) {
+            RegExpCache cache = getRegExpCache();
+            cache.beginUse();
             try {
                 boolean perl = perlPar;
                 perl = checkPerlFixed(perlPar, fixed);
@@ -260,23 +276,17 @@ public class GrepFunctions {
                 if (!perl) {
                     // TODO case
                     if (!fixed) {
-                        pattern = RegExp.transformPatternToGnurCompatible(pattern);
+                        pattern = getRegExpCache().getTransformedPattern(pattern);
                     }
                     findAllMatches(matches, pattern, vector, fixed, ignoreCase);
                 } else {
-                    PCRE2RFFI.CompileResult compileResult = pcre2CompileNode.execute(pattern, 0);
-                    if (interop.isNull(compileResult.compiledPattern)) {
-                        assert compileResult.errorMessage != null;
-                        throw error(Message.INVALID_REGEXP_REASON, pattern, compileResult.errorMessage);
-                    }
+                    PCRE2RFFI.CompileResult compileResult = compilePerlPattern(pattern, false);
                     int captureCount = pcre2CaptureCountNode.execute(compileResult.compiledPattern);
-                    assert !interop.isNull(compileResult.compiledPattern);
                     for (int i = 0; i < vector.getLength(); i++) {
                         String text = vector.getDataAt(i);
                         PCRE2RFFI.MatchData matchData = pcre2MatchNode.execute(compileResult.compiledPattern, text, 0, true, captureCount);
                         matches[i] = matchData.getMatchCount() > 0;
                     }
-                    pcre2MemoryReleaseNode.execute(compileResult.compiledPattern);
                 }
 
                 if (grepl) {
@@ -327,6 +337,8 @@ public class GrepFunctions {
                 }
             } catch (PatternSyntaxException e) {
                 throw error(Message.INVALID_REGEXP_REASON, patternArg, e.getMessage());
+            } finally {
+                cache.endUse();
             }
         }
 
@@ -453,6 +465,8 @@ public class GrepFunctions {
 
         protected RStringVector doSub(String patternArg, String replacementArg, RStringVector vector, VectorDataLibrary vectorDataLib, boolean ignoreCase, boolean perlPar,
                         boolean fixedPar, @SuppressWarnings("unused") boolean useBytes, boolean gsub) {
+            RegExpCache cache = getRegExpCache();
+            cache.beginUse();
             try {
 
                 // This is a workaround for the incorrect evaluation of the pattern that
@@ -495,7 +509,15 @@ public class GrepFunctions {
                     pcre = compilePerlPattern(pattern, ignoreCase);
                     captureCount = pcre2CaptureCountNode.execute(pcre.compiledPattern);
                 } else {
-                    pattern = RegExp.transformPatternToGnurCompatible(pattern);
+                    pattern = getRegExpCache().getTransformedPattern(pattern);
+                }
+                Pattern compiledPattern = null;
+                if (fixed) {
+                    if (gsub) {
+                        compiledPattern = getRegExpCache().getJavaPattern(pattern, Pattern.LITERAL);
+                    }
+                } else if (!perl) {
+                    compiledPattern = getRegExpCache().getJavaPattern(pattern, Pattern.DOTALL);
                 }
                 String preparedReplacement = null;
                 String[] result = new String[len];
@@ -513,7 +535,7 @@ public class GrepFunctions {
                                 preparedReplacement = replacement.replace("$", "\\$");
                                 preparedReplacement = convertGroups(preparedReplacement, 0);
                             }
-                            value = Pattern.compile(pattern, Pattern.LITERAL).matcher(input).replaceAll(preparedReplacement);
+                            value = compiledPattern.matcher(input).replaceAll(preparedReplacement);
                         } else {
                             int ix = input.indexOf(pattern);
                             if (preparedReplacement == null) {
@@ -557,7 +579,7 @@ public class GrepFunctions {
                         sb.append(input, lastMatchEndIdx, input.length());
                         value = sb.toString();
                     } else {
-                        Matcher matcher = Pattern.compile(pattern, Pattern.DOTALL).matcher(input);
+                        Matcher matcher = compiledPattern.matcher(input);
                         if (preparedReplacement == null) {
                             preparedReplacement = replacement.replace("$", "\\$");
                             // matcher.groupCount() only depends on the pattern (not on the input)
@@ -571,16 +593,14 @@ public class GrepFunctions {
                     }
                     result[i] = value;
                 }
-                if (perl) {
-                    assert pcre != null;
-                    pcre2MemoryReleaseNode.execute(pcre.compiledPattern);
-                }
                 boolean isVectorComplete = vectorDataLib.isComplete(vector.getData());
                 RStringVector ret = RDataFactory.createStringVector(result, isVectorComplete);
                 ret.copyAttributesFrom(vector);
                 return ret;
             } catch (PatternSyntaxException e) {
                 throw error(Message.INVALID_REGEXP_REASON, patternArg, e.getMessage());
+            } finally {
+                cache.endUse();
             }
         }
 
@@ -914,6 +934,8 @@ public class GrepFunctions {
         @TruffleBoundary
         protected Object regexp(RStringVector patternArg, RStringVector vector, boolean ignoreCase, boolean perl, boolean fixed, boolean useBytesL,
                         @Cached("createCommon()") CommonCodeNode common) {
+            RegExpCache cache = common.getRegExpCache();
+            cache.beginUse();
             try {
                 common.checkExtraArgs(false, false, false, useBytesL, false);
                 if (patternArg.getLength() > 1) {
@@ -921,7 +943,7 @@ public class GrepFunctions {
                 }
                 String pattern = patternArg.getDataAt(0);
                 if (!perl && !fixed) {
-                    pattern = RegExp.transformPatternToGnurCompatible(pattern);
+                    pattern = common.getRegExpCache().getTransformedPattern(pattern);
                 }
                 // TODO: useBytes normally depends on the value of the parameter and (if false) on
                 // whether the string is ASCII
@@ -1001,6 +1023,8 @@ public class GrepFunctions {
                 return ret;
             } catch (PatternSyntaxException e) {
                 throw error(Message.INVALID_REGEXP_REASON, patternArg, e.getMessage());
+            } finally {
+                cache.endUse();
             }
         }
 
@@ -1109,7 +1133,7 @@ public class GrepFunctions {
             if (pattern.length() > 0 && pattern.charAt(0) == '*') {
                 actualPattern = pattern.substring(1);
             }
-            return Pattern.compile(actualPattern, Pattern.DOTALL | (ignoreCase ? Pattern.CASE_INSENSITIVE : 0)).matcher(text);
+            return RContext.getInstance().stateRegExpCache.getCache().getJavaPattern(actualPattern, Pattern.DOTALL | (ignoreCase ? Pattern.CASE_INSENSITIVE : 0)).matcher(text);
         }
     }
 
@@ -1168,7 +1192,7 @@ public class GrepFunctions {
                 }
                 RList ret = RDataFactory.createList(vector.getLength());
                 String pattern = patternArg.getDataAt(0);
-                pattern = RegExp.transformPatternToGnurCompatible(pattern);
+                pattern = common.getRegExpCache().getTransformedPattern(pattern);
                 // TODO: useBytes normally depends on the value of the parameter and (if false) on
                 // whether the string is ASCII
                 boolean useBytes = true;
@@ -1264,7 +1288,7 @@ public class GrepFunctions {
 
         @TruffleBoundary
         private static Matcher getPatternMatcher(String pattern, String text, boolean ignoreCase) {
-            return Pattern.compile(pattern, Pattern.DOTALL | (ignoreCase ? Pattern.CASE_INSENSITIVE : 0)).matcher(text);
+            return RContext.getInstance().stateRegExpCache.getCache().getJavaPattern(pattern, Pattern.DOTALL | (ignoreCase ? Pattern.CASE_INSENSITIVE : 0)).matcher(text);
         }
     }
 
@@ -1310,6 +1334,8 @@ public class GrepFunctions {
         @Override
         protected Object regexp(RStringVector patternArg, RStringVector vector, boolean ignoreCaseL, boolean perlL, boolean fixedL, boolean useBytesL,
                         @Cached("createCommon()") CommonCodeNode common) {
+            RegExpCache cache = common.getRegExpCache();
+            cache.beginUse();
             try {
                 common.checkExtraArgs(false, false, false, useBytesL, false);
                 boolean ignoreCase = ignoreCaseL;
@@ -1320,7 +1346,7 @@ public class GrepFunctions {
                 }
                 String pattern = patternArg.getDataAt(0);
                 if (!perl && !fixed) {
-                    pattern = RegExp.transformPatternToGnurCompatible(pattern);
+                    pattern = common.getRegExpCache().getTransformedPattern(pattern);
                 }
                 // TODO: useBytes normally depends on the value of the parameter and (if false) on
                 // whether the string is ASCII
@@ -1380,6 +1406,8 @@ public class GrepFunctions {
                 return RDataFactory.createList(result);
             } catch (PatternSyntaxException e) {
                 throw error(Message.INVALID_REGEXP_REASON, patternArg, e.getMessage());
+            } finally {
+                cache.endUse();
             }
         }
 
@@ -1589,7 +1617,7 @@ public class GrepFunctions {
         }
     }
 
-    @ImportStatic({GrepFunctions.class, DSLConfig.class})
+    @ImportStatic(GrepFunctions.class)
     @RBuiltin(name = "strsplit", kind = INTERNAL, parameterNames = {"x", "split", "fixed", "perl", "useBytes"}, behavior = PURE)
     public abstract static class Strsplit extends RBuiltinNode.Arg5 {
 
@@ -1607,8 +1635,18 @@ public class GrepFunctions {
         @Specialization
         @TruffleBoundary
         protected RList split(RStringVector x, RStringVector splitArg, boolean fixed, boolean perlLogical, @SuppressWarnings("unused") boolean useBytes,
-                        @Cached("createCommon()") CommonCodeNode commonNode,
-                        @CachedLibrary("getInteropLibraryCacheSize()") InteropLibrary interop) {
+                        @Cached("createCommon()") CommonCodeNode commonNode) {
+            // all the split patterns are compiled before they are used
+            RegExpCache cache = commonNode.getRegExpCache();
+            cache.beginUse();
+            try {
+                return doSplit(x, splitArg, fixed, perlLogical, commonNode);
+            } finally {
+                cache.endUse();
+            }
+        }
+
+        private RList doSplit(RStringVector x, RStringVector splitArg, boolean fixed, boolean perlLogical, CommonCodeNode commonNode) {
             boolean perl = commonNode.checkPerlFixed(perlLogical, fixed);
             Object[] result = new Object[x.getLength()];
             // treat split = NULL as split = ""
@@ -1619,14 +1657,10 @@ public class GrepFunctions {
             na.enable(x);
             for (int i = 0; i < splits.length; i++) {
                 String currentSplit = split.getDataAt(i);
-                splits[i] = fixed || perl ? split.getDataAt(i) : RegExp.transformPatternToGnurCompatible(split.getDataAt(i));
+                splits[i] = fixed || perl ? split.getDataAt(i) : commonNode.getRegExpCache().getTransformedPattern(split.getDataAt(i));
                 if (perl) {
                     if (!currentSplit.isEmpty()) {
-                        pcrePatterns[i] = commonNode.pcre2CompileNode.execute(currentSplit, 0);
-                        if (interop.isNull(pcrePatterns[i].compiledPattern)) {
-                            assert pcrePatterns[i].errorMessage != null;
-                            throw error(RError.Message.INVALID_REGEXP_REASON, currentSplit, pcrePatterns[i].errorMessage);
-                        }
+                        pcrePatterns[i] = commonNode.compilePerlPattern(currentSplit, false);
                     }
                 }
             }
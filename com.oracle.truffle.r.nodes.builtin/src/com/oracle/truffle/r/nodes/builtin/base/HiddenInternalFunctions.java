@@ -238,14 +238,13 @@ public class HiddenInternalFunctions {
                         CallRFunctionCachedNode callCache) {
             String dbPath = datafile.getDataAt(0);
             String packageName = context.getSafeTruffleFile(dbPath).getName();
-            byte[] dbData = getRContext().stateLazyDBCache.getData(context, dbPath);
+            ByteBuffer dbData = context.stateLazyDBCache.getData(context, dbPath);
             int dotIndex;
             if ((dotIndex = packageName.lastIndexOf('.')) > 0) {
                 packageName = packageName.substring(0, dotIndex);
             }
             int offset = key.getDataAt(0);
             int length = key.getDataAt(1);
-            int outlen = getOutlen(dbData, offset); // length of uncompressed data
             byte[] udata = null;
             boolean rc = true;
             /*
@@ -254,25 +253,28 @@ public class HiddenInternalFunctions {
              * " and the data starts at "offset + 5". The type field is 'Z' for lzma, '2' for bzip,
              * '1' for zip and '0' for no compression. From GnuR code, the only difference between
              * compression=2 and compression=3 is that type='Z' is only possible for the latter.
+             *
+             * The database may be memory-mapped, only the requested slice is copied to the heap.
              */
             if (compression == 0) {
                 udata = new byte[length];
-                System.arraycopy(dbData, offset, udata, 0, length);
+                dbData.get(offset, udata);
             } else {
+                int outlen = dbData.getInt(offset); // length of uncompressed data
                 udata = new byte[outlen];
                 if (compression == 2 || compression == 3) {
-                    RCompression.Type type = RCompression.Type.fromTypeChar(dbData[4]);
+                    RCompression.Type type = RCompression.Type.fromTypeChar(dbData.get(offset + 4));
                     if (type == null) {
                         warning(RError.Message.GENERIC, "unknown compression type");
                         return RNull.instance;
                     }
                     byte[] data = new byte[length - 5];
-                    System.arraycopy(dbData, offset + 5, data, 0, data.length);
+                    dbData.get(offset + 5, data);
                     rc = RCompression.uncompress(type, udata, data);
                 } else {
                     // GnuR treats any other value as 1
                     byte[] data = new byte[length - 4];
-                    System.arraycopy(dbData, offset + 4, data, 0, data.length);
+                    dbData.get(offset + 4, data);
                     rc = RCompression.uncompress(RCompression.Type.GZIP, udata, data);
                 }
             }
@@ -305,13 +307,6 @@ public class HiddenInternalFunctions {
             }
         }
 
-        private static int getOutlen(byte[] dbData, int offset) {
-            ByteBuffer dataLengthBuf = ByteBuffer.allocate(4);
-            dataLengthBuf.put(dbData, offset, 4);
-            dataLengthBuf.position(0);
-            return dataLengthBuf.getInt();
-        }
-
         private static final class EvaluateAndSharePromiseNode extends Node {
             @Child private PromiseHelperNode promiseHelperNode;
             @Child private ShareObjectNode shareObjectNode;
@@ -533,7 +528,8 @@ public class HiddenInternalFunctions {
         @Specialization
         @TruffleBoundary
         protected RNull doLazyLoadDBFlush(RStringVector dbPath) {
-            getRContext().stateLazyDBCache.remove(dbPath.getDataAt(0));
+            RContext context = getRContext();
+            context.stateLazyDBCache.remove(context, dbPath.getDataAt(0));
             return RNull.instance;
         }
     }
@@ -56,14 +56,19 @@ public abstract class IsUnsorted extends RBuiltinNode.Arg2 {
     @Child private BinaryMapBooleanFunctionNode gt = new BinaryMapBooleanFunctionNode(BinaryCompare.GREATER_THAN.createOperation());
 
     private final ConditionProfile strictlyProfile = ConditionProfile.createBinaryProfile();
+    private final ConditionProfile knownSortedProfile = ConditionProfile.createBinaryProfile();
 
     static {
         Casts casts = new Casts(IsUnsorted.class);
         casts.arg("strictly").asLogicalVector().findFirst().mustNotBeNA().map(toBoolean());
     }
 
-    @Specialization
-    protected byte isUnsorted(RDoubleVector x, boolean strictly) {
+    @Specialization(limit = "getTypedVectorDataLibraryCacheSize()")
+    protected byte isUnsorted(RDoubleVector x, boolean strictly,
+                    @CachedLibrary("x.getData()") VectorDataLibrary dataLib) {
+        if (knownSortedProfile.profile(!strictly && dataLib.isSorted(x.getData(), false, true))) {
+            return RRuntime.LOGICAL_FALSE;
+        }
         double last = x.getDataAt(0);
         for (int k = 1; k < x.getLength(); k++) {
             double current = x.getDataAt(k);
@@ -81,8 +86,12 @@ public abstract class IsUnsorted extends RBuiltinNode.Arg2 {
         return RRuntime.LOGICAL_FALSE;
     }
 
-    @Specialization
-    protected byte isUnsorted(RIntVector x, boolean strictly) {
+    @Specialization(limit = "getTypedVectorDataLibraryCacheSize()")
+    protected byte isUnsorted(RIntVector x, boolean strictly,
+                    @CachedLibrary("x.getData()") VectorDataLibrary dataLib) {
+        if (knownSortedProfile.profile(!strictly && dataLib.isSorted(x.getData(), false, true))) {
+            return RRuntime.LOGICAL_FALSE;
+        }
         int last = x.getDataAt(0);
         for (int k = 1; k < x.getLength(); k++) {
             int current = x.getDataAt(k);
@@ -100,8 +109,12 @@ public abstract class IsUnsorted extends RBuiltinNode.Arg2 {
         return RRuntime.LOGICAL_FALSE;
     }
 
-    @Specialization
-    protected byte isUnsorted(RStringVector x, boolean strictly) {
+    @Specialization(limit = "getTypedVectorDataLibraryCacheSize()")
+    protected byte isUnsorted(RStringVector x, boolean strictly,
+                    @CachedLibrary("x.getData()") VectorDataLibrary dataLib) {
+        if (knownSortedProfile.profile(!strictly && dataLib.isSorted(x.getData(), false, true))) {
+            return RRuntime.LOGICAL_FALSE;
+        }
         String last = x.getDataAt(0);
         for (int k = 1; k < x.getLength(); k++) {
             String current = x.getDataAt(k);
@@ -34,6 +34,7 @@ import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.profiles.LoopConditionProfile;
 import com.oracle.truffle.r.runtime.DSLConfig;
+import com.oracle.truffle.r.runtime.ParallelKernels;
 import com.oracle.truffle.r.runtime.data.VectorDataLibrary;
 import com.oracle.truffle.r.runtime.data.VectorDataLibrary.RandomAccessIterator;
 import com.oracle.truffle.r.runtime.data.nodes.attributes.SpecialAttributesFunctions.GetDimAttributeNode;
@@ -629,6 +630,7 @@ public abstract class MatMult extends RBuiltinNode.Arg2 {
         private final boolean promoteDimNames;
 
         private final ConditionProfile bigProfile = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile parallelProfile = ConditionProfile.createBinaryProfile();
         private final BranchProfile incompleteProfile = BranchProfile.create();
         @CompilationFinal private boolean seenLargeMatrix;
 
@@ -798,7 +800,10 @@ public abstract class MatMult extends RBuiltinNode.Arg2 {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 seenLargeMatrix = true;
             }
-            if (seenLargeMatrix) {
+            ParallelKernels kernels = ParallelKernels.get(getRContext());
+            if (seenLargeMatrix && parallelProfile.profile(kernels.isParallel((long) aRows * aCols * bCols))) {
+                multiplyBlocksParallel(kernels, dataA, dataB, aRows, aCols, bCols, result, aRowStride, aColStride, bRowStride, bColStride, mirrored);
+            } else if (seenLargeMatrix) {
                 for (int row = 0; row < aRows; row += BLOCK_SIZE) {
                     for (int col = mirrored ? row : 0; col < bCols; col += BLOCK_SIZE) {
                         for (int k = 0; k < aCols; k += BLOCK_SIZE) {
@@ -861,6 +866,31 @@ public abstract class MatMult extends RBuiltinNode.Arg2 {
             return resultVec;
         }
 
+        /**
+         * Blocked multiplication with the blocks of rows of the result distributed among the
+         * threads. Every element of the result accumulates the blocks of {@code k} in the same
+         * order as the serial code, so the result does not depend on the number of threads.
+         */
+        @TruffleBoundary
+        private static void multiplyBlocksParallel(ParallelKernels kernels, double[] dataA, double[] dataB, int aRows, int aCols, int bCols, double[] result, int aRowStride, int aColStride,
+                        int bRowStride, int bColStride, boolean mirrored) {
+            int rowBlocks = (aRows + BLOCK_SIZE - 1) / BLOCK_SIZE;
+            kernels.parallelFor(rowBlocks, (from, to) -> {
+                LoopConditionProfile loopProfile = LoopConditionProfile.getUncached();
+                for (int rowBlock = from; rowBlock < to; rowBlock++) {
+                    int row = rowBlock * BLOCK_SIZE;
+                    for (int col = mirrored ? row : 0; col < bCols; col += BLOCK_SIZE) {
+                        for (int k = 0; k < aCols; k += BLOCK_SIZE) {
+                            int remainingCols = Math.min(BLOCK_SIZE, bCols - col);
+                            int remainingRows = Math.min(BLOCK_SIZE, aRows - row);
+                            int remainingK = Math.min(BLOCK_SIZE, aCols - k);
+                            multiplyBlock(dataA, dataB, aRows, result, row, col, k, aRowStride, aColStride, bRowStride, bColStride, remainingCols, remainingRows, remainingK, loopProfile);
+                        }
+                    }
+                }
+            });
+        }
+
         private static void fixNARows(double[] dataA, int aRows, int aCols, int bCols, int aRowStride, int aColStride, double[] result) {
             // NA's in a cause the whole row to be NA in the result
             outer: for (int row = 0; row < aRows; row++) {
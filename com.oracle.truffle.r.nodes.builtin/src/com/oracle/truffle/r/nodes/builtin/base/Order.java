@@ -58,6 +58,7 @@ import com.oracle.truffle.r.runtime.data.RDataFactory;
 import com.oracle.truffle.r.runtime.data.RDoubleVector;
 import com.oracle.truffle.r.runtime.data.RIntVector;
 import com.oracle.truffle.r.runtime.data.RList;
+import com.oracle.truffle.r.runtime.data.RLogicalVector;
 import com.oracle.truffle.r.runtime.data.RNull;
 import com.oracle.truffle.r.runtime.data.RStringVector;
 import com.oracle.truffle.r.runtime.data.VectorDataLibrary;
@@ -78,6 +79,7 @@ public abstract class Order extends RPrecedenceBuiltinNode {
     private final BranchProfile error = BranchProfile.create();
     private final ConditionProfile notRemoveNAs = ConditionProfile.createBinaryProfile();
     private final ValueProfile vectorProfile = ValueProfile.createClassProfile();
+    private final ConditionProfile radixProfile = ConditionProfile.createBinaryProfile();
 
     /**
      * For use by {@link RadixSort}.
@@ -91,6 +93,10 @@ public abstract class Order extends RPrecedenceBuiltinNode {
         Object vData = v.getData();
         int n = vecDataLib.getLength(vData);
         reportWork(n);
+        if (radixProfile.profile(n >= RadixOrder.AUTO_THRESHOLD && (v instanceof RIntVector || v instanceof RDoubleVector))) {
+            // the Shell sort below is stable too, so the result is the same
+            return RadixOrder.order(new RAbstractVector[]{v}, naLast, new boolean[]{dec}, false, true);
+        }
 
         int[] indx = createIndexes(v, vecDataLib, n, naLast);
         initOrderVector1().execute(indx, vData, vecDataLib, naLast, dec, true);
@@ -273,6 +279,9 @@ public abstract class Order extends RPrecedenceBuiltinNode {
                     @CachedLibrary(limit = "getGenericVectorAccessCacheSize()") VectorDataLibrary vecDataLib,
                     @Cached("createEqualityProfile()") PrimitiveValueProfile lengthProfile) {
         int n = preprocessVectors(args, vecDataLib, lengthProfile);
+        if (radixProfile.profile(n >= RadixOrder.AUTO_THRESHOLD && !decreasing && !RRuntime.isNA(naLast) && allNumeric(args))) {
+            return RadixOrder.order(toVectors(args), naLast, new boolean[args.getLength()], false, true);
+        }
 
         int[] indx = new int[n];
         for (int i = 0; i < indx.length; i++) {
@@ -289,6 +298,23 @@ public abstract class Order extends RPrecedenceBuiltinNode {
         return RDataFactory.createIntVector(indx, RDataFactory.COMPLETE_VECTOR);
     }
 
+    private static boolean allNumeric(RArgsValuesAndNames args) {
+        for (Object arg : args.getArguments()) {
+            if (!(arg instanceof RIntVector || arg instanceof RDoubleVector || arg instanceof RLogicalVector)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static RAbstractVector[] toVectors(RArgsValuesAndNames args) {
+        RAbstractVector[] result = new RAbstractVector[args.getLength()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (RAbstractVector) args.getArgument(i);
+        }
+        return result;
+    }
+
     private boolean greaterSub(int i, int j, Object[] vecData, VectorDataLibrary dataLib, boolean naLast, boolean dec) {
         int c = -1;
         for (int k = 0; k < vecData.length; k++) {
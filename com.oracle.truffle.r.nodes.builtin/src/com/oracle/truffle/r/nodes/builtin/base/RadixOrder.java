@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.nodes.builtin.base;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.r.runtime.RInternalError;
+import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RDoubleVector;
+import com.oracle.truffle.r.runtime.data.RIntVector;
+import com.oracle.truffle.r.runtime.data.RLogicalVector;
+import com.oracle.truffle.r.runtime.data.RStringVector;
+import com.oracle.truffle.r.runtime.data.model.RAbstractVector;
+
+/**
+ * Stable LSD radix ordering of one or more keys, used by {@code radixsort} and by {@link Order}
+ * for large numeric inputs.
+ *
+ * Every key is first mapped to unsigned 64-bit values that compare in the requested order: integers
+ * are offset, doubles have their bits twiddled so that the unsigned comparison matches the numeric
+ * one, and strings are replaced by the rank of the unique string. The {@code NA} values (and
+ * {@code NaN}s, which tie with {@code NA} like in GNU R) get the smallest or the largest value
+ * depending on {@code na.last} only, so that {@code decreasing} does not move them. The keys are
+ * then sorted from the last to the first one with 8-bit counting passes over the bytes of the
+ * range actually used by the key, each pass being stable.
+ */
+final class RadixOrder {
+
+    /**
+     * Inputs of at least this length are ordered by radix sort in {@link Order}, where the result
+     * is the same as with the Shell sort.
+     */
+    static final int AUTO_THRESHOLD = 1 << 14;
+
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    private RadixOrder() {
+        // no instances
+    }
+
+    static boolean isSupported(RAbstractVector v) {
+        return v instanceof RIntVector || v instanceof RDoubleVector || v instanceof RLogicalVector || v instanceof RStringVector;
+    }
+
+    /**
+     * Orders the rows of given keys, which must all be {@link #isSupported(RAbstractVector)
+     * supported} and of the same length.
+     *
+     * @param naLast {@code TRUE}, {@code FALSE} or {@code NA} to remove rows with {@code NA} in any
+     *            key
+     * @param decreasing the direction of each key
+     * @param retgrp whether to add the {@code "ends"} and {@code "maxgrpn"} attributes describing
+     *            the groups of equal rows
+     * @param sortstr {@code false} to order strings by their first appearance, which is enough
+     *            for grouping
+     * @return one-based indexes of the rows
+     */
+    @TruffleBoundary
+    static RIntVector order(RAbstractVector[] keys, byte naLast, boolean[] decreasing, boolean retgrp, boolean sortstr) {
+        int n = keys[0].getLength();
+        int[] idx = initialIndexes(keys, n, naLast);
+        int m = idx.length;
+        long[] cur = new long[m];
+        long[] tmpKeys = new long[m];
+        int[] tmpIdx = new int[m];
+        int[] counts = new int[RADIX];
+        boolean nasFirst = naLast == RRuntime.LOGICAL_FALSE;
+        for (int k = keys.length - 1; k >= 0 && m > 1; k--) {
+            long[] rowKeys = rowKeys(keys[k], nasFirst, decreasing[k], sortstr);
+            long min = -1L;
+            long max = 0L;
+            for (int i = 0; i < m; i++) {
+                long v = rowKeys[idx[i]];
+                cur[i] = v;
+                if (Long.compareUnsigned(v, min) < 0) {
+                    min = v;
+                }
+                if (Long.compareUnsigned(v, max) > 0) {
+                    max = v;
+                }
+            }
+            long range = max - min;
+            int bits = 64 - Long.numberOfLeadingZeros(range);
+            for (int shift = 0; shift < bits; shift += RADIX_BITS) {
+                Arrays.fill(counts, 0);
+                for (int i = 0; i < m; i++) {
+                    counts[(int) (((cur[i] - min) >>> shift) & (RADIX - 1))]++;
+                }
+                if (counts[(int) (((cur[0] - min) >>> shift) & (RADIX - 1))] == m) {
+                    // all rows have the same digit
+                    continue;
+                }
+                int pos = 0;
+                for (int d = 0; d < RADIX; d++) {
+                    int c = counts[d];
+                    counts[d] = pos;
+                    pos += c;
+                }
+                for (int i = 0; i < m; i++) {
+                    int d = (int) (((cur[i] - min) >>> shift) & (RADIX - 1));
+                    int p = counts[d]++;
+                    tmpKeys[p] = cur[i];
+                    tmpIdx[p] = idx[i];
+                }
+                long[] swapKeys = cur;
+                cur = tmpKeys;
+                tmpKeys = swapKeys;
+                int[] swapIdx = idx;
+                idx = tmpIdx;
+                tmpIdx = swapIdx;
+            }
+        }
+        RIntVector groupEnds = retgrp ? groupEnds(keys, idx, nasFirst, decreasing, sortstr) : null;
+        for (int i = 0; i < m; i++) {
+            idx[i]++;
+        }
+        RIntVector result = RDataFactory.createIntVector(idx, RDataFactory.COMPLETE_VECTOR);
+        if (retgrp) {
+            int maxgrpn = 0;
+            int start = 0;
+            int[] ends = groupEnds.getReadonlyData();
+            for (int end : ends) {
+                maxgrpn = Math.max(maxgrpn, end - start);
+                start = end;
+            }
+            result.setAttr("ends", groupEnds);
+            result.setAttr("maxgrpn", maxgrpn);
+        }
+        return result;
+    }
+
+    private static int[] initialIndexes(RAbstractVector[] keys, int n, byte naLast) {
+        boolean[] na = null;
+        int naCount = 0;
+        if (RRuntime.isNA(naLast)) {
+            for (RAbstractVector key : keys) {
+                // with NAs first, only NA maps to zero
+                long[] rowKeys = rowKeys(key, true, false, false);
+                for (int i = 0; i < n; i++) {
+                    if (rowKeys[i] == 0L && (na == null || !na[i])) {
+                        if (na == null) {
+                            na = new boolean[n];
+                        }
+                        na[i] = true;
+                        naCount++;
+                    }
+                }
+            }
+        }
+        int[] idx = new int[n - naCount];
+        for (int i = 0, j = 0; i < n; i++) {
+            if (na == null || !na[i]) {
+                idx[j++] = i;
+            }
+        }
+        return idx;
+    }
+
+    /**
+     * Maps the values of a key to unsigned values, the result is indexed by the row.
+     */
+    private static long[] rowKeys(RAbstractVector key, boolean nasFirst, boolean decreasing, boolean sortstr) {
+        if (key instanceof RIntVector) {
+            return intKeys(((RIntVector) key).getReadonlyData(), nasFirst, decreasing);
+        } else if (key instanceof RLogicalVector) {
+            byte[] data = ((RLogicalVector) key).getReadonlyData();
+            int[] values = new int[data.length];
+            for (int i = 0; i < data.length; i++) {
+                values[i] = RRuntime.isNA(data[i]) ? RRuntime.INT_NA : data[i];
+            }
+            return intKeys(values, nasFirst, decreasing);
+        } else if (key instanceof RDoubleVector) {
+            return doubleKeys(((RDoubleVector) key).getReadonlyData(), nasFirst, decreasing);
+        } else if (key instanceof RStringVector) {
+            return stringKeys(((RStringVector) key).getReadonlyStringData(), nasFirst, decreasing, sortstr);
+        }
+        throw RInternalError.shouldNotReachHere();
+    }
+
+    private static long[] intKeys(int[] data, boolean nasFirst, boolean decreasing) {
+        // INT_NA is Integer.MIN_VALUE, so the other values are in [1, 2^32 - 1]
+        long naKey = nasFirst ? 0L : 1L << 32;
+        long[] result = new long[data.length];
+        for (int i = 0; i < data.length; i++) {
+            int v = data[i];
+            if (RRuntime.isNA(v)) {
+                result[i] = naKey;
+            } else {
+                long u = (long) v - Integer.MIN_VALUE;
+                result[i] = decreasing ? (1L << 32) - u : u;
+            }
+        }
+        return result;
+    }
+
+    private static long[] doubleKeys(double[] data, boolean nasFirst, boolean decreasing) {
+        // no non-NaN double maps to 0 or to all ones
+        long naKey = nasFirst ? 0L : -1L;
+        long[] result = new long[data.length];
+        for (int i = 0; i < data.length; i++) {
+            double v = data[i];
+            if (RRuntime.isNAorNaN(v)) {
+                result[i] = naKey;
+            } else {
+                // -0.0 and 0.0 are equal
+                long bits = Double.doubleToRawLongBits(v == 0 ? 0.0 : v);
+                long u = bits < 0 ? ~bits : bits ^ Long.MIN_VALUE;
+                result[i] = decreasing ? ~u : u;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Strings are replaced by the rank of the unique string in the C locale, which is what GNU R
+     * stores in the CHARSXP cache for the same purpose. If not sorting strings, the rank is the
+     * order of the first appearance.
+     */
+    private static long[] stringKeys(String[] data, boolean nasFirst, boolean decreasing, boolean sortstr) {
+        HashMap<String, Integer> ranks = new HashMap<>();
+        for (String s : data) {
+            if (!RRuntime.isNA(s)) {
+                ranks.putIfAbsent(s, ranks.size() + 1);
+            }
+        }
+        int unique = ranks.size();
+        if (sortstr) {
+            String[] sorted = ranks.keySet().toArray(new String[unique]);
+            Arrays.sort(sorted, RadixOrder::compareCodePoints);
+            for (int i = 0; i < unique; i++) {
+                ranks.put(sorted[i], i + 1);
+            }
+        }
+        long naKey = nasFirst ? 0L : unique + 1;
+        long[] result = new long[data.length];
+        for (int i = 0; i < data.length; i++) {
+            String s = data[i];
+            if (RRuntime.isNA(s)) {
+                result[i] = naKey;
+            } else {
+                int rank = ranks.get(s);
+                result[i] = decreasing ? unique + 1 - rank : rank;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Compares by Unicode code points, which is the byte order of the UTF-8 encoding in the C
+     * locale. {@link String#compareTo} compares UTF-16 code units, which would put supplementary
+     * characters before the characters {@code U+E000} to {@code U+FFFF}.
+     */
+    private static int compareCodePoints(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < length) {
+            int ca = a.codePointAt(i);
+            int cb = b.codePointAt(i);
+            if (ca != cb) {
+                return Integer.compare(ca, cb);
+            }
+            i += Character.charCount(ca);
+        }
+        return Integer.compare(a.length(), b.length());
+    }
+
+    /**
+     * Computes the one-based positions in the ordered rows where the groups of equal rows end.
+     */
+    private static RIntVector groupEnds(RAbstractVector[] keys, int[] idx, boolean nasFirst, boolean[] decreasing, boolean sortstr) {
+        int m = idx.length;
+        boolean[] newGroup = new boolean[m];
+        for (int k = 0; k < keys.length; k++) {
+            long[] rowKeys = rowKeys(keys[k], nasFirst, decreasing[k], sortstr);
+            for (int i = 1; i < m; i++) {
+                newGroup[i] |= rowKeys[idx[i]] != rowKeys[idx[i - 1]];
+            }
+        }
+        int groups = m == 0 ? 0 : 1;
+        for (int i = 1; i < m; i++) {
+            if (newGroup[i]) {
+                groups++;
+            }
+        }
+        int[] ends = new int[groups];
+        int g = 0;
+        for (int i = 1; i < m; i++) {
+            if (newGroup[i]) {
+                ends[g++] = i;
+            }
+        }
+        if (m > 0) {
+            ends[g] = m;
+        }
+        return RDataFactory.createIntVector(ends, RDataFactory.COMPLETE_VECTOR);
+    }
+}
@@ -42,6 +42,11 @@ public abstract class RowMeans extends RowSumsBase {
     @Specialization(limit = "getTypedVectorDataLibraryCacheSize()")
     protected RDoubleVector rowMeans(RDoubleVector x, int rowNum, int colNum, boolean naRm,
                     @CachedLibrary("x.getData()") VectorDataLibrary dataLib) {
+        if (isParallel(rowNum, colNum)) {
+            checkVectorLength(dataLib, x, rowNum, colNum);
+            Object data = x.getData();
+            return accumulateRowsParallel(getParallelKernels(), dataLib.getReadonlyDoubleData(data), dataLib.isComplete(data), rowNum, colNum, naRm, TransformMean.INSTANCE);
+        }
         return accumulateRows(dataLib, x.getData(), rowNum, colNum, naRm, TransformMean.INSTANCE);
     }
 
@@ -41,6 +41,11 @@ public abstract class RowSums extends RowSumsBase {
     @Specialization(limit = "getTypedVectorDataLibraryCacheSize()")
     protected RDoubleVector rowSums(RDoubleVector x, int rowNum, int colNum, boolean naRm,
                     @CachedLibrary("x.getData()") VectorDataLibrary dataLib) {
+        if (isParallel(rowNum, colNum)) {
+            checkVectorLength(dataLib, x, rowNum, colNum);
+            Object data = x.getData();
+            return accumulateRowsParallel(getParallelKernels(), dataLib.getReadonlyDoubleData(data), dataLib.isComplete(data), rowNum, colNum, naRm, SelectSum.INSTANCE);
+        }
         return accumulateRows(dataLib, x.getData(), rowNum, colNum, naRm, SelectSum.INSTANCE);
     }
 
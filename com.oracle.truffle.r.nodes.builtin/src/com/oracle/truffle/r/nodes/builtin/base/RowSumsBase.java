@@ -22,8 +22,10 @@
  */
 package com.oracle.truffle.r.nodes.builtin.base;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.profiles.LoopConditionProfile;
+import com.oracle.truffle.r.runtime.ParallelKernels;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
 import com.oracle.truffle.r.runtime.data.RDoubleVector;
@@ -107,4 +109,51 @@ public abstract class RowSumsBase extends ColSumsBase {
         }
         return RDataFactory.createDoubleVector(result, dataLib.getNACheck(data).neverSeenNA());
     }
+
+    /**
+     * Parallel version of {@link #accumulateRows} for double data, the rows are distributed among
+     * the threads. Each row is accumulated in the same order and with the same treatment of NA and
+     * NaN values as in {@link #accumulateRows}, including the unrolled part, so the result is the
+     * same as in the serial code.
+     */
+    @TruffleBoundary
+    protected static RDoubleVector accumulateRowsParallel(ParallelKernels kernels, double[] x, boolean complete, int rowNum, int colNum, boolean naRm, FinalTransform finalTransform) {
+        double[] result = new double[rowNum];
+        int unrolledRows = complete ? rowNum - rowNum % UNROLL : 0;
+        kernels.parallelFor(rowNum, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                double sum = 0;
+                int pos = i;
+                if (i < unrolledRows) {
+                    for (int c = 0; c < colNum; c++) {
+                        sum += x[pos];
+                        pos += rowNum;
+                    }
+                    result[i] = finalTransform.get(sum, colNum);
+                    continue;
+                }
+                int notNACount = 0;
+                for (int c = 0; c < colNum; c++) {
+                    double el = x[pos];
+                    pos += rowNum;
+                    if (RRuntime.isNA(el)) {
+                        if (!naRm) {
+                            sum = RRuntime.DOUBLE_NA;
+                            break;
+                        }
+                    } else if (Double.isNaN(el)) {
+                        if (!naRm) {
+                            sum = Double.NaN;
+                            break;
+                        }
+                    } else {
+                        sum += el;
+                        notNACount++;
+                    }
+                }
+                result[i] = finalTransform.get(sum, notNACount);
+            }
+        });
+        return RDataFactory.createDoubleVector(result, !hasNA(result));
+    }
 }
@@ -89,11 +89,12 @@ public class SerializeFunctions {
     @TruffleBoundary
     protected static Object doSerializeToConnBase(RBaseNode node, Object object, int connIndex, int type, int version) {
         // xdr is only relevant if ascii is false
-        try (RConnection openConn = RConnection.fromIndex(connIndex).forceOpen(type != RSerialize.XDR ? "wt" : "wb")) {
+        boolean binary = type == RSerialize.XDR || type == RSerialize.BINARY;
+        try (RConnection openConn = RConnection.fromIndex(connIndex).forceOpen(binary ? "wb" : "wt")) {
             if (!openConn.canWrite()) {
                 throw node.error(RError.Message.CONNECTION_NOT_OPEN_WRITE);
             }
-            if (type == RSerialize.XDR && openConn.isTextMode()) {
+            if (binary && openConn.isTextMode()) {
                 throw node.error(RError.Message.BINARY_CONNECTION_REQUIRED);
             }
             RSerialize.serialize(RContext.getInstance(), openConn, object, type, version, null);
@@ -213,12 +214,12 @@ public class SerializeFunctions {
 
         @Specialization
         protected Object serialize(Object object, int conn, int type, @SuppressWarnings("unused") int version, @SuppressWarnings("unused") RNull refhook) {
-            return doSerializeToConnBase(this, object, conn, type, version);
+            return doSerializeToConnBase(this, object, conn, toFormat(type), version);
         }
 
         @Specialization
         protected Object serialize(Object object, int conn, int type, @SuppressWarnings("unused") RNull version, @SuppressWarnings("unused") RNull refhook) {
-            return doSerializeToConnBase(this, object, conn, type, RSerialize.DEFAULT_VERSION);
+            return doSerializeToConnBase(this, object, conn, toFormat(type), RSerialize.DEFAULT_VERSION);
         }
 
         @Specialization
@@ -232,9 +233,26 @@ public class SerializeFunctions {
         }
 
         private Object serialize(Object object, int type, int version) {
-            byte[] data = RSerialize.serialize(getRContext(), object, type, version, null);
+            byte[] data = RSerialize.serialize(getRContext(), object, toFormat(type), version, null);
             return RDataFactory.createRawVector(data);
         }
+
+        /**
+         * Maps the type computed by {@code serialize} from its {@code ascii} and {@code xdr}
+         * arguments to the format constant of {@link RSerialize}.
+         */
+        private static int toFormat(int type) {
+            switch (type) {
+                case 1:
+                    return RSerialize.ASCII;
+                case 2:
+                    return RSerialize.ASCII_HEX;
+                case 3:
+                    return RSerialize.BINARY;
+                default:
+                    return RSerialize.XDR;
+            }
+        }
     }
 
     @RBuiltin(name = "serializeb", kind = INTERNAL, parameterNames = {"object", "con", "xdr", "version", "refhook"}, behavior = IO)
@@ -259,7 +277,7 @@ public class SerializeFunctions {
 
         private Object serialize(byte xdrLogical, Object object, int conn, int version) throws RError {
             if (!RRuntime.fromLogical(xdrLogical)) {
-                throw RError.nyi(this, "xdr==FALSE");
+                return doSerializeToConnBase(this, object, conn, RSerialize.BINARY, version);
             }
             return doSerializeToConnBase(this, object, conn, RRuntime.LOGICAL_FALSE, version);
         }
@@ -60,6 +60,9 @@ import com.oracle.truffle.r.runtime.data.RNull;
 import com.oracle.truffle.r.runtime.data.RStringVector;
 import com.oracle.truffle.r.runtime.data.VectorDataLibrary;
 import com.oracle.truffle.r.runtime.data.model.RAbstractListVector;
+import com.oracle.truffle.r.runtime.data.model.RAbstractVector;
+import com.oracle.truffle.r.runtime.nodes.unary.CastToVectorNode;
+import com.oracle.truffle.r.runtime.nodes.unary.CastToVectorNodeGen;
 
 /**
  * The internal functions mandated by {@code base/sort.R}. N.B. We use the standard JDK sorting
@@ -129,19 +132,37 @@ public class SortFunctions {
         return data;
     }
 
+    /**
+     * Records the sort order in the result so that later {@code sorted_fpass}, {@code is.unsorted},
+     * {@code match} and {@code unique} calls do not have to look at the elements again. Only results
+     * without {@code NA} and {@code NaN} values are marked, their position is not defined by the JDK
+     * sort.
+     */
+    private static <T extends RAbstractVector> T markSorted(T result, boolean decreasing, boolean noNA, VectorDataLibrary dataLib) {
+        if (noNA) {
+            dataLib.setSorted(result.getData(), decreasing, true);
+        }
+        return result;
+    }
+
     protected static RDoubleVector jdkSort(RDoubleVector vec, boolean decreasing, VectorDataLibrary vecDataLib) {
-        double[] data = vec.materialize().getDataCopy();
-        return RDataFactory.createDoubleVector(sort(data, decreasing), vecDataLib.isComplete(vec.getData()));
+        double[] data = sort(vec.materialize().getDataCopy(), decreasing);
+        boolean complete = vecDataLib.isComplete(vec.getData());
+        // NaN values end up at one of the ends
+        boolean noNA = complete && (data.length == 0 || !(Double.isNaN(data[0]) || Double.isNaN(data[data.length - 1])));
+        return markSorted(RDataFactory.createDoubleVector(data, complete), decreasing, noNA, vecDataLib);
     }
 
     protected static RIntVector jdkSort(RIntVector vec, boolean decreasing, VectorDataLibrary vecDataLib) {
         int[] data = vec.materialize().getDataCopy();
-        return RDataFactory.createIntVector(sort(data, decreasing), vecDataLib.isComplete(vec.getData()));
+        boolean complete = vecDataLib.isComplete(vec.getData());
+        return markSorted(RDataFactory.createIntVector(sort(data, decreasing), complete), decreasing, complete, vecDataLib);
     }
 
     protected static RStringVector jdkSort(RStringVector vec, boolean decreasing, VectorDataLibrary vecDataLib) {
         String[] data = vec.materialize().getDataCopy();
-        return RDataFactory.createStringVector(sort(data, decreasing), vecDataLib.isComplete(vec.getData()));
+        boolean complete = vecDataLib.isComplete(vec.getData());
+        return markSorted(RDataFactory.createStringVector(sort(data, decreasing), complete), decreasing, complete, vecDataLib);
     }
 
     protected static RLogicalVector jdkSort(RLogicalVector vec, boolean decreasing, VectorDataLibrary vecDataLib) {
@@ -270,12 +291,14 @@ public class SortFunctions {
     /**
      * This a helper function for the code in sort.R. It does NOT return the input vectors sorted,
      * but returns an {@link RIntVector} of indices (positions) indicating the sort order (Or
-     * {@link RNull#instance} if no vectors). In short it is a special variant of {@code order}. For
-     * now we delegate to {@code order} and do not implement the {@code retgrp} argument.
+     * {@link RNull#instance} if no vectors). In short it is a special variant of {@code order}.
+     * Integer, logical, double and character vectors are ordered by {@link RadixOrder}, other
+     * vectors are delegated to {@code order}, which does not implement the {@code retgrp} argument.
      */
     @RBuiltin(name = "radixsort", kind = INTERNAL, parameterNames = {"na.last", "decreasing", "retgrp", "sortstr", "..."}, behavior = PURE)
     public abstract static class RadixSort extends RBuiltinNode.Arg5 {
         @Child private Order orderNode = OrderNodeGen.create();
+        @Child private CastToVectorNode castVector = CastToVectorNodeGen.create(false);
 
         static {
             Casts casts = new Casts(RadixSort.class);
@@ -285,16 +308,10 @@ public class SortFunctions {
             casts.arg("sortstr").asLogicalVector().findFirst().map(toBoolean());
         }
 
-        @SuppressWarnings("unused")
         @Specialization(limit = "getVectorAccessCacheSize()")
         protected Object radixSort(byte naLast, RLogicalVector decreasingVec, boolean retgrp, boolean sortstr, RArgsValuesAndNames zz,
                         @Bind("decreasingVec.getData()") Object decreasingVecData,
                         @CachedLibrary("decreasingVecData") VectorDataLibrary decreasingDataLib) {
-            // Partial implementation just to get startup to work
-            if (retgrp) {
-                // sortstr only has an effect when retrgrp == true
-                throw RError.nyi(this, "radixsort: retgrp == TRUE not implemented");
-            }
             int nargs = zz.getLength();
             if (nargs == 0) {
                 return RNull.instance;
@@ -302,26 +319,41 @@ public class SortFunctions {
             if (nargs != decreasingDataLib.getLength(decreasingVecData)) {
                 throw error(RError.Message.RADIX_SORT_DEC_MATCH);
             }
-            /*
-             * Order takes a single decreasing argument that applies to all the vectors. We
-             * potentially have a different value for each vector, so we have to process one by one.
-             * However, OrderNode can't yet handle that, so we abort if nargs > 1 and the decreasing
-             * values don't match.
-             */
-            byte lastdb = RRuntime.LOGICAL_NA;
+            boolean[] decreasing = new boolean[nargs];
+            boolean sameDecreasing = true;
             for (int i = 0; i < nargs; i++) {
                 byte db = decreasingDataLib.getLogicalAt(decreasingVecData, i);
                 if (RRuntime.isNA(db)) {
                     throw error(RError.Message.RADIX_SORT_DEC_NOT_LOGICAL);
                 }
-                if (lastdb != RRuntime.LOGICAL_NA && db != lastdb) {
-                    throw RError.nyi(this, "radixsort: args > 1 with differing 'decreasing' values not implemented");
+                decreasing[i] = RRuntime.fromLogical(db);
+                sameDecreasing &= decreasing[i] == decreasing[0];
+            }
+            RAbstractVector[] keys = new RAbstractVector[nargs];
+            boolean supported = true;
+            for (int i = 0; i < nargs; i++) {
+                Object arg = castVector.doCast(zz.getArgument(i));
+                if (arg instanceof RAbstractVector && RadixOrder.isSupported((RAbstractVector) arg)) {
+                    keys[i] = (RAbstractVector) arg;
+                    if (keys[i].getLength() != keys[0].getLength()) {
+                        throw error(RError.Message.ARGUMENT_LENGTHS_DIFFER);
+                    }
+                } else {
+                    supported = false;
                 }
-                lastdb = db;
             }
-            boolean decreasing = RRuntime.fromLogical(decreasingDataLib.getLogicalAt(decreasingVecData, 0));
-            Object result = orderNode.execute(naLast, decreasing, zz);
-            return result;
+            if (supported) {
+                return RadixOrder.order(keys, naLast, decreasing, retgrp, sortstr);
+            }
+            if (retgrp) {
+                // sortstr only has an effect when retrgrp == true
+                throw RError.nyi(this, "radixsort: retgrp == TRUE not implemented");
+            }
+            if (!sameDecreasing) {
+                // Order takes a single decreasing argument that applies to all the vectors
+                throw RError.nyi(this, "radixsort: args > 1 with differing 'decreasing' values not implemented");
+            }
+            return orderNode.execute(naLast, decreasing[0], zz);
         }
     }
 }
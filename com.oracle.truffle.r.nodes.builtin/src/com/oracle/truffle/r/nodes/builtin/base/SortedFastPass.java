@@ -36,12 +36,14 @@ import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.r.nodes.builtin.RBuiltinNode;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.builtins.RBuiltin;
+import com.oracle.truffle.r.runtime.data.RDoubleVector;
 import com.oracle.truffle.r.runtime.data.RIntVector;
 import com.oracle.truffle.r.runtime.data.VectorDataLibrary;
 
 /**
- * Fast path check if a vector is already sorted. For now we simply return {@code FALSE}. This
- * should be improved.
+ * Fast path check if a vector is already sorted. The check does not look at the elements, it
+ * returns {@code TRUE} only if the vector data remember being sorted, e.g. sequences or results of
+ * {@code sort} that were not modified since.
  */
 @RBuiltin(name = "sorted_fpass", kind = INTERNAL, parameterNames = {"x", "decr", "nalast"}, behavior = PURE)
 public abstract class SortedFastPass extends RBuiltinNode.Arg3 {
@@ -56,11 +58,24 @@ public abstract class SortedFastPass extends RBuiltinNode.Arg3 {
     @Specialization(limit = "getTypedVectorDataLibraryCacheSize()")
     protected byte isSorted(RIntVector x, boolean decr, byte nalast,
                     @CachedLibrary("x.getData()") VectorDataLibrary dataLib) {
+        return RRuntime.asLogical(isSorted(x.getData(), decr, nalast, dataLib));
+    }
+
+    @Specialization(limit = "getTypedVectorDataLibraryCacheSize()")
+    protected byte isSorted(RDoubleVector x, boolean decr, byte nalast,
+                    @CachedLibrary("x.getData()") VectorDataLibrary dataLib) {
+        return RRuntime.asLogical(isSorted(x.getData(), decr, nalast, dataLib));
+    }
+
+    /**
+     * {@code na.last = NA}, the default of {@code sort.int}, removes the {@code NA}s before sorting,
+     * so data without {@code NA}s are sorted with respect to it if they are sorted at all.
+     */
+    private static boolean isSorted(Object data, boolean decr, byte nalast, VectorDataLibrary dataLib) {
         if (RRuntime.isNA(nalast)) {
-            // TODO: we may add support for this into the library
-            return RRuntime.LOGICAL_FALSE;
+            return dataLib.isComplete(data) && dataLib.isSorted(data, decr, true);
         }
-        return RRuntime.asLogical(dataLib.isSorted(x.getData(), decr, RRuntime.fromLogical(nalast)));
+        return dataLib.isSorted(data, decr, RRuntime.fromLogical(nalast));
     }
 
     @Fallback
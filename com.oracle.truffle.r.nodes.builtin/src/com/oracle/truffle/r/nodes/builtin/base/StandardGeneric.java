@@ -65,7 +65,7 @@ import com.oracle.truffle.r.runtime.nodes.unary.CastNode;
 @RBuiltin(name = "standardGeneric", visibility = CUSTOM, kind = PRIMITIVE, parameterNames = {"f", "fdef"}, behavior = COMPLEX)
 public abstract class StandardGeneric extends RBuiltinNode.Arg2 {
 
-    // TODO: for now, we always go through generic dispatch
+    // the methods selected for the argument classes are cached per call site in DispatchGeneric
 
     @Child private GetFixedPropertyNode genericAttrAccess;
     @Child private FrameFunctions.SysFunction sysFunction;
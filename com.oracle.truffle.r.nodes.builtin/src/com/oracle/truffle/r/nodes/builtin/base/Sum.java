@@ -29,6 +29,7 @@ import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.PRIMITIVE;
 import static com.oracle.truffle.r.runtime.context.FastROptions.FullPrecisionSum;
 
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -41,10 +42,13 @@ import com.oracle.truffle.r.nodes.profile.VectorLengthProfile;
 import com.oracle.truffle.r.nodes.unary.UnaryArithmeticReduceNode;
 import com.oracle.truffle.r.nodes.unary.UnaryArithmeticReduceNode.ReduceSemantics;
 import com.oracle.truffle.r.nodes.unary.UnaryArithmeticReduceNodeGen;
+import com.oracle.truffle.r.runtime.ParallelKernels;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.builtins.RBuiltin;
 import com.oracle.truffle.r.runtime.data.RArgsValuesAndNames;
 import com.oracle.truffle.r.runtime.data.RDoubleVector;
+import com.oracle.truffle.r.runtime.data.RIntArrayVectorData;
+import com.oracle.truffle.r.runtime.data.RIntVector;
 import com.oracle.truffle.r.runtime.data.VectorDataLibrary;
 import com.oracle.truffle.r.runtime.data.altrep.AltrepUtilities;
 import com.oracle.truffle.r.runtime.data.nodes.GetReadonlyData;
@@ -140,6 +144,66 @@ public abstract class Sum extends RBuiltinNode.Arg2 {
         return sumNode.execute(args.getArgument(0), naRm);
     }
 
+    protected boolean isParallelIntSum(Object value) {
+        if (!(value instanceof RIntVector)) {
+            return false;
+        }
+        RIntVector vector = (RIntVector) value;
+        return vector.getData() instanceof RIntArrayVectorData && ParallelKernels.get(getRContext()).isParallel(vector.getLength());
+    }
+
+    /**
+     * Integer sums of long vectors are computed by {@link ParallelKernels#reduce}. Integer
+     * arithmetic is exact, so the chunked sum equals the serial one as long as no prefix of the
+     * vector overflows. The partial results also track the extremes of the prefix sums to detect
+     * that, the rare cases of an overflow or of no values at all are left to the serial code.
+     */
+    @Specialization(guards = {"args.getLength() == 1", "isParallelIntSum(args.getArgument(0))"})
+    protected Object sumLengthOneIntParallel(RArgsValuesAndNames args, boolean naRm) {
+        RIntVector vector = (RIntVector) args.getArgument(0);
+        int[] data = ((RIntArrayVectorData) vector.getData()).getReadonlyIntData();
+        Object result = sumIntParallel(ParallelKernels.get(getRContext()), data, vector.getLength(), naRm);
+        return result != null ? result : reduce.executeReduce(vector, naRm, false);
+    }
+
+    // indices into the partial results of sumIntParallel
+    private static final int PARTIAL_SUM = 0;
+    private static final int PARTIAL_MIN_PREFIX = 1;
+    private static final int PARTIAL_MAX_PREFIX = 2;
+    private static final int PARTIAL_COUNT = 3;
+    private static final int PARTIAL_NA = 4;
+
+    @TruffleBoundary
+    private static Object sumIntParallel(ParallelKernels kernels, int[] data, int length, boolean naRm) {
+        long[] total = kernels.reduce(length, (from, to) -> {
+            long sum = 0;
+            long min = 0;
+            long max = 0;
+            long count = 0;
+            long na = 0;
+            for (int i = from; i < to; i++) {
+                int value = data[i];
+                if (RRuntime.isNA(value)) {
+                    na = 1;
+                    continue;
+                }
+                sum += value;
+                min = Math.min(min, sum);
+                max = Math.max(max, sum);
+                count++;
+            }
+            return new long[]{sum, min, max, count, na};
+        }, (left, right) -> new long[]{left[PARTIAL_SUM] + right[PARTIAL_SUM], Math.min(left[PARTIAL_MIN_PREFIX], left[PARTIAL_SUM] + right[PARTIAL_MIN_PREFIX]),
+                        Math.max(left[PARTIAL_MAX_PREFIX], left[PARTIAL_SUM] + right[PARTIAL_MAX_PREFIX]), left[PARTIAL_COUNT] + right[PARTIAL_COUNT], left[PARTIAL_NA] | right[PARTIAL_NA]});
+        if (total[PARTIAL_NA] != 0 && !naRm) {
+            return RRuntime.INT_NA;
+        }
+        if (total[PARTIAL_COUNT] == 0 || total[PARTIAL_MIN_PREFIX] < -Integer.MAX_VALUE || total[PARTIAL_MAX_PREFIX] > Integer.MAX_VALUE) {
+            return null;
+        }
+        return (int) total[PARTIAL_SUM];
+    }
+
     @Specialization(replaces = {"sumLengthOneRDoubleVector", "sumLengthOneAltrep"}, guards = "args.getLength() == 1")
     protected Object sumLengthOne(RArgsValuesAndNames args, boolean naRm) {
         return reduce.executeReduce(args.getArgument(0), naRm, false);
@@ -67,6 +67,23 @@ public abstract class Unique extends RBuiltinNode.Arg4 {
     private static final long BIG_THRESHOLD = 100;
 
     private final ConditionProfile bigProfile = ConditionProfile.createBinaryProfile();
+    private final ConditionProfile sortedProfile = ConditionProfile.createBinaryProfile();
+
+    /**
+     * Data that remember being sorted keep the duplicates next to each other, so that they can be
+     * dropped in a single pass without hashing.
+     */
+    protected static boolean isKnownSorted(VectorDataLibrary dataLib, Object data) {
+        return dataLib.isSorted(data, false, true) || dataLib.isSorted(data, false, false) || dataLib.isSorted(data, true, true) || dataLib.isSorted(data, true, false);
+    }
+
+    /**
+     * Unique values of sorted data are sorted in the same way.
+     */
+    private static void copySortedness(VectorDataLibrary dataLib, Object data, VectorDataLibrary resultDataLib, Object resultData) {
+        boolean descending = !dataLib.isSorted(data, false, true) && !dataLib.isSorted(data, false, false);
+        resultDataLib.setSorted(resultData, descending, dataLib.isSorted(data, descending, true));
+    }
 
     static {
         Casts casts = new Casts(Unique.class);
@@ -256,11 +273,25 @@ public abstract class Unique extends RBuiltinNode.Arg4 {
     @SuppressWarnings("unused")
     @Specialization(limit = "getTypedVectorDataLibraryCacheSize()")
     protected RIntVector doUniqueCached(RIntVector vec, byte incomparables, byte fromLast, int nmax,
-                    @CachedLibrary("vec.getData()") VectorDataLibrary vecLib) {
+                    @CachedLibrary("vec.getData()") VectorDataLibrary vecLib,
+                    @CachedLibrary(limit = "1") VectorDataLibrary resultDataLib) {
         Object vecData = vec.getData();
         int vecLength = vecLib.getLength(vecData);
         reportWork(vecLength);
-        if (bigProfile.profile(vecLength * (long) vecLength > BIG_THRESHOLD)) {
+        if (sortedProfile.profile(isKnownSorted(vecLib, vecData))) {
+            int[] data = new int[vecLength];
+            int ind = 0;
+            SeqIterator it = vecLib.iterator(vecData);
+            while (vecLib.nextLoopCondition(vecData, it)) {
+                int val = vecLib.getNextInt(vecData, it);
+                if (ind == 0 || val != data[ind - 1]) {
+                    data[ind++] = val;
+                }
+            }
+            RIntVector result = RDataFactory.createIntVector(Arrays.copyOf(data, ind), vecLib.isComplete(vecData));
+            copySortedness(vecLib, vecData, resultDataLib, result.getData());
+            return result;
+        } else if (bigProfile.profile(vecLength * (long) vecLength > BIG_THRESHOLD)) {
             NonRecursiveHashSetInt set = new NonRecursiveHashSetInt();
             int[] data = new int[16];
             int ind = 0;
@@ -388,12 +419,27 @@ public abstract class Unique extends RBuiltinNode.Arg4 {
     @SuppressWarnings("unused")
     @Specialization(limit = "getTypedVectorDataLibraryCacheSize()")
     protected RDoubleVector doUnique(RDoubleVector vec, byte incomparables, byte fromLast, int nmax,
-                    @CachedLibrary("vec.getData()") VectorDataLibrary vecDataLib) {
+                    @CachedLibrary("vec.getData()") VectorDataLibrary vecDataLib,
+                    @CachedLibrary(limit = "1") VectorDataLibrary resultDataLib) {
         Object vecData = vec.getData();
         int vecLen = vecDataLib.getLength(vecData);
         boolean isVecComplete = vecDataLib.isComplete(vecData);
         reportWork(vecLen);
-        if (bigProfile.profile(vecLen * (long) vecLen > BIG_THRESHOLD)) {
+        if (sortedProfile.profile(isKnownSorted(vecDataLib, vecData))) {
+            double[] data = new double[vecLen];
+            int ind = 0;
+            SeqIterator vecIter = vecDataLib.iterator(vecData);
+            while (vecDataLib.nextLoopCondition(vecData, vecIter)) {
+                double val = vecDataLib.getNextDouble(vecData, vecIter);
+                // NA and NaN are told apart by their bits, 0 and -0 are the same value
+                if (ind == 0 || (val != data[ind - 1] && Double.doubleToRawLongBits(val) != Double.doubleToRawLongBits(data[ind - 1]))) {
+                    data[ind++] = val;
+                }
+            }
+            RDoubleVector result = RDataFactory.createDoubleVector(Arrays.copyOf(data, ind), isVecComplete);
+            copySortedness(vecDataLib, vecData, resultDataLib, result.getData());
+            return result;
+        } else if (bigProfile.profile(vecLen * (long) vecLen > BIG_THRESHOLD)) {
             NonRecursiveHashSetDouble set = new NonRecursiveHashSetDouble(vecLen);
             double[] data = new double[vecLen];
             int ind = 0;
@@ -49,6 +49,8 @@ import com.oracle.truffle.r.library.methods.SlotFactory.R_hasSlotNodeGen;
 import com.oracle.truffle.r.library.methods.SlotFactory.R_setSlotNodeGen;
 import com.oracle.truffle.r.library.methods.SubstituteDirectNodeGen;
 import com.oracle.truffle.r.library.parallel.ParallelFunctionsFactory.MCIsChildNodeGen;
+import com.oracle.truffle.r.library.parallel.ParallelFunctionsFactory.NextStreamNodeGen;
+import com.oracle.truffle.r.library.parallel.ParallelFunctionsFactory.NextSubStreamNodeGen;
 import com.oracle.truffle.r.library.stats.Approx;
 import com.oracle.truffle.r.library.stats.ApproxTest;
 import com.oracle.truffle.r.library.stats.BinDist;
@@ -118,6 +120,7 @@ import com.oracle.truffle.r.runtime.ffi.MiscRFFI.AbstractAfterGraphicsOpNode;
 import com.oracle.truffle.r.runtime.ffi.MiscRFFI.AbstractBeforeGraphicsOpNode;
 import com.oracle.truffle.r.runtime.ffi.NativeCallInfo;
 import com.oracle.truffle.r.runtime.ffi.RFFIFactory;
+import com.oracle.truffle.r.runtime.ffi.RFFIProfile;
 import com.oracle.truffle.r.runtime.nmath.distr.Cauchy;
 import com.oracle.truffle.r.runtime.nmath.distr.Cauchy.DCauchy;
 import com.oracle.truffle.r.runtime.nmath.distr.Cauchy.PCauchy;
@@ -254,7 +257,16 @@ public class CallAndExternalFunctions {
         @Child private InvokeCallNode callRFFINode = RFFIFactory.getCallRFFI().createInvokeCallNode();
 
         protected Object dispatch(VirtualFrame frame, NativeCallInfo nativeCallInfo, Object[] args) {
-            return callRFFINode.dispatch(frame, nativeCallInfo, args);
+            RFFIProfile profile = RFFIProfile.get(getRContext());
+            if (profile == null) {
+                return callRFFINode.dispatch(frame, nativeCallInfo, args);
+            }
+            profile.enter();
+            try {
+                return callRFFINode.dispatch(frame, nativeCallInfo, args);
+            } finally {
+                profile.exitDownCall(nativeCallInfo);
+            }
         }
 
         protected static void applyCommonCasts(Casts casts) {
@@ -801,6 +813,10 @@ public class CallAndExternalFunctions {
                 // parallel
                 case "mc_is_child":
                     return MCIsChildNodeGen.create();
+                case "nextStream":
+                    return NextStreamNodeGen.create();
+                case "nextSubStream":
+                    return NextSubStreamNodeGen.create();
                 default:
                     return null;
             }
@@ -53,6 +53,7 @@ import com.oracle.truffle.r.runtime.context.RContext;
 import com.oracle.truffle.r.runtime.context.RContext.ConsoleIO;
 import com.oracle.truffle.r.runtime.context.RContext.ContextKind;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RDoubleVector;
 import com.oracle.truffle.r.runtime.data.RIntVector;
 import com.oracle.truffle.r.runtime.data.RList;
 import com.oracle.truffle.r.runtime.data.RMissing;
@@ -481,6 +482,21 @@ public class FastRContext {
         }
     }
 
+    @RBuiltin(name = ".fastr.channel.stats", kind = PRIMITIVE, parameterNames = {"id"}, behavior = READS_STATE)
+    public abstract static class ChannelStats extends RBuiltinNode.Arg1 {
+
+        static {
+            Casts casts = new Casts(ChannelStats.class);
+            CastsHelper.id(casts);
+        }
+
+        @Specialization
+        @TruffleBoundary
+        protected RDoubleVector stats(int id) {
+            return RDataFactory.createDoubleVector(RChannel.getStatistics(id), RDataFactory.COMPLETE_VECTOR, RDataFactory.createStringVector(RChannel.STATISTICS_NAMES, RDataFactory.COMPLETE_VECTOR));
+        }
+    }
+
     @RBuiltin(name = ".fastr.channel.select", kind = PRIMITIVE, parameterNames = {"ids"}, behavior = COMPLEX)
     public abstract static class ChannelSelect extends RBuiltinNode.Arg1 {
 
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.nodes.builtin.fastr;
+
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.toBoolean;
+import static com.oracle.truffle.r.runtime.builtins.RBehavior.COMPLEX;
+import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.PRIMITIVE;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.r.nodes.builtin.RBuiltinNode;
+import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.builtins.RBuiltin;
+import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RList;
+import com.oracle.truffle.r.runtime.ffi.RFFIProfile;
+
+/**
+ * Controls the {@link RFFIProfile RFFI profiler} and returns the collected data as a list of
+ * columns: routine name, type ("call" for {@code .Call}/{@code .External} routines, "upcall" for R
+ * API functions), number of calls, total and self time in seconds and the number of bytes copied to
+ * native memory. {@code enable = NA} leaves the profiler as it is, {@code reset = TRUE} discards the
+ * data collected so far (after returning them).
+ */
+@RBuiltin(name = ".fastr.ffi.profile", kind = PRIMITIVE, parameterNames = {"enable", "reset"}, behavior = COMPLEX)
+public abstract class FastRFFIProfile extends RBuiltinNode.Arg2 {
+
+    private static final String[] EMPTY = new String[0];
+
+    @Override
+    public Object[] getDefaultParameterValues() {
+        return new Object[]{RRuntime.LOGICAL_NA, RRuntime.LOGICAL_FALSE};
+    }
+
+    static {
+        Casts casts = new Casts(FastRFFIProfile.class);
+        casts.arg("enable").asLogicalVector().findFirst(RRuntime.LOGICAL_NA);
+        casts.arg("reset").asLogicalVector().findFirst().mustNotBeNA().map(toBoolean());
+    }
+
+    @TruffleBoundary
+    @Specialization
+    protected RList profile(byte enable, boolean reset) {
+        RContext context = getRContext();
+        RFFIProfile profile = RFFIProfile.getCollected(context);
+        RList result = createResult(profile);
+        if (reset) {
+            RFFIProfile.reset(context);
+        }
+        if (!RRuntime.isNA(enable)) {
+            RFFIProfile.setEnabled(context, RRuntime.fromLogical(enable));
+        }
+        return result;
+    }
+
+    private static RList createResult(RFFIProfile profile) {
+        Object[] columns = profile == null ? new Object[]{EMPTY, EMPTY, new double[0], new double[0], new double[0], new double[0]} : profile.getColumns();
+        Object[] data = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] instanceof String[]) {
+                data[i] = RDataFactory.createStringVector((String[]) columns[i], RDataFactory.COMPLETE_VECTOR);
+            } else {
+                data[i] = RDataFactory.createDoubleVector((double[]) columns[i], RDataFactory.COMPLETE_VECTOR);
+            }
+        }
+        return RDataFactory.createList(data, RDataFactory.createStringVector(RFFIProfile.COLUMN_NAMES, RDataFactory.COMPLETE_VECTOR));
+    }
+}
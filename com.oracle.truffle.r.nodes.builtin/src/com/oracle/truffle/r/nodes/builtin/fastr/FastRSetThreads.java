@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.nodes.builtin.fastr;
+
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.gt;
+import static com.oracle.truffle.r.runtime.RVisibility.OFF;
+import static com.oracle.truffle.r.runtime.builtins.RBehavior.COMPLEX;
+import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.PRIMITIVE;
+
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.r.nodes.builtin.RBuiltinNode;
+import com.oracle.truffle.r.runtime.ParallelKernels;
+import com.oracle.truffle.r.runtime.RError.Message;
+import com.oracle.truffle.r.runtime.builtins.RBuiltin;
+
+/**
+ * Sets the number of threads used by the builtins that split the processing of large vectors among
+ * threads, see {@link ParallelKernels}. One thread disables the parallel processing. Returns the
+ * previous number of threads invisibly. The initial value is given by the
+ * {@code --R.KernelThreads} option.
+ */
+@RBuiltin(name = ".fastr.setThreads", visibility = OFF, kind = PRIMITIVE, parameterNames = {"n"}, behavior = COMPLEX)
+public abstract class FastRSetThreads extends RBuiltinNode.Arg1 {
+
+    static {
+        Casts casts = new Casts(FastRSetThreads.class);
+        casts.arg("n").asIntegerVector().findFirst().mustNotBeNA().mustBe(gt(0), Message.MUST_BE_POSITIVE_INT, "n");
+    }
+
+    @Specialization
+    protected int setThreads(int n) {
+        return ParallelKernels.get(getRContext()).setThreads(n);
+    }
+}
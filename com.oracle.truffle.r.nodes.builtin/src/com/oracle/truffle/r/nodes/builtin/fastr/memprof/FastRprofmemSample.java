@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.nodes.builtin.fastr.memprof;
+
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.eq;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.gte;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.notDoubleNA;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.nullValue;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.singleElement;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.stringValue;
+import static com.oracle.truffle.r.runtime.RVisibility.OFF;
+import static com.oracle.truffle.r.runtime.builtins.RBehavior.IO;
+import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.PRIMITIVE;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.r.nodes.builtin.RBuiltinNode;
+import com.oracle.truffle.r.runtime.RError.Message;
+import com.oracle.truffle.r.runtime.builtins.RBuiltin;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RList;
+import com.oracle.truffle.r.runtime.data.RNull;
+import com.oracle.truffle.r.runtime.instrument.memprof.MemAllocSampler;
+import com.oracle.truffle.r.runtime.instrument.memprof.MemAllocSampler.Site;
+
+/**
+ * Controls the sampling allocation profiler {@link MemAllocSampler}:
+ * <ul>
+ * <li>a positive {@code interval} starts a session sampling every {@code interval} kilobytes, the
+ * profile is written to {@code file} (if given) in {@code format} once the session stops,</li>
+ * <li>{@code interval = 0} stops the session and returns its call sites,</li>
+ * <li>{@code interval = NULL} returns the call sites of the running session, and writes them to
+ * {@code file} if given.</li>
+ * </ul>
+ * The call sites are returned as a list with the {@code stack}, and the {@code allocated} and
+ * {@code live} bytes, sorted by the live bytes. Since the live bytes are only updated once the
+ * sampled objects are garbage collected, {@code gc()} should be called before taking a snapshot.
+ */
+@RBuiltin(name = ".fastr.profmem.sample", visibility = OFF, kind = PRIMITIVE, parameterNames = {"interval", "file", "format"}, behavior = IO)
+public abstract class FastRprofmemSample extends RBuiltinNode.Arg3 {
+
+    static {
+        Casts casts = new Casts(FastRprofmemSample.class);
+        casts.arg("interval").returnIf(nullValue()).asDoubleVector().mustBe(singleElement()).findFirst().mustBe(notDoubleNA()).mustBe(gte(0.0));
+        casts.arg("file").returnIf(nullValue()).mustBe(stringValue()).asStringVector().mustBe(singleElement()).findFirst();
+        casts.arg("format").asStringVector().mustBe(singleElement()).findFirst().mustBe(eq("pprof").or(eq("collapsed")).or(eq("text")));
+    }
+
+    @Override
+    public Object[] getDefaultParameterValues() {
+        return new Object[]{RNull.instance, RNull.instance, "pprof"};
+    }
+
+    @Specialization
+    @TruffleBoundary
+    protected Object snapshot(@SuppressWarnings("unused") RNull interval, Object file, String format) {
+        MemAllocSampler sampler = MemAllocSampler.get();
+        if (!sampler.isActive()) {
+            throw error(Message.GENERIC, "allocation sampling is not running");
+        }
+        if (file instanceof String) {
+            PrintStream out = openFile((String) file);
+            try {
+                sampler.writeSnapshot(out, MemAllocSampler.Format.fromString(format));
+            } finally {
+                out.close();
+            }
+        }
+        return toList(sampler.snapshot());
+    }
+
+    @Specialization
+    @TruffleBoundary
+    protected Object sample(double interval, Object file, String format) {
+        MemAllocSampler sampler = MemAllocSampler.get();
+        if (interval == 0) {
+            return toList(sampler.stop());
+        }
+        PrintStream out = file instanceof String ? openFile((String) file) : null;
+        sampler.start(Math.max(1, (long) (interval * 1024)), out, MemAllocSampler.Format.fromString(format));
+        return RNull.instance;
+    }
+
+    private PrintStream openFile(String file) {
+        try {
+            return new PrintStream(new BufferedOutputStream(getRContext().getSafeTruffleFile(file).newOutputStream(StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)));
+        } catch (IOException ex) {
+            throw error(Message.GENERIC, String.format("cannot open profile file '%s'", file));
+        }
+    }
+
+    private static RList toList(List<Site> sites) {
+        String[] stacks = new String[sites.size()];
+        double[] allocated = new double[sites.size()];
+        double[] live = new double[sites.size()];
+        for (int i = 0; i < stacks.length; i++) {
+            Site site = sites.get(i);
+            stacks[i] = site.getStackString();
+            allocated[i] = site.getAllocatedBytes();
+            live[i] = site.getLiveBytes();
+        }
+        Object[] data = new Object[]{RDataFactory.createStringVector(stacks, true), RDataFactory.createDoubleVector(allocated, true), RDataFactory.createDoubleVector(live, true)};
+        return RDataFactory.createList(data, RDataFactory.createStringVector(new String[]{"stack", "allocated", "live"}, true));
+    }
+}
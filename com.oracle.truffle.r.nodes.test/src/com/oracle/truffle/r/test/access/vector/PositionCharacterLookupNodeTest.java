@@ -128,4 +128,33 @@ public class PositionCharacterLookupNodeTest extends TestBase {
             return null;
         });
     }
+
+    /**
+     * Tests v["n5"] on a vector with names long enough to be indexed, including an update of the
+     * names.
+     */
+    @Test
+    public void vectorSubsetWithIndexedNamesTest() {
+        NodeHandle<PositionCharacterLookupNode> handle = createNodeHandle(1, 0);
+
+        execInContext(() -> {
+            int length = RStringVector.NAME_INDEX_THRESHOLD * 2;
+            String[] namesData = new String[length];
+            for (int i = 0; i < length; i++) {
+                namesData[i] = "n" + i;
+            }
+            // duplicate name, the first occurrence is found
+            namesData[length - 1] = "n5";
+            RStringVector names = RDataFactory.createStringVector(namesData, true);
+            RIntVector vec = RDataFactory.createIntVector(new int[length], true, names);
+
+            Assert.assertEquals(6, ((RIntVector) handle.call(vec, RDataFactory.createStringVector("n5"))).getDataAt(0));
+            Assert.assertEquals(11, ((RIntVector) handle.call(vec, RDataFactory.createStringVector("n10"))).getDataAt(0));
+
+            names.setDataAt(names.getInternalStore(), 10, "x");
+            Assert.assertEquals(11, ((RIntVector) handle.call(vec, RDataFactory.createStringVector("x"))).getDataAt(0));
+            Assert.assertEquals(length + 1, ((RIntVector) handle.call(vec, RDataFactory.createStringVector("n10"))).getDataAt(0));
+            return null;
+        });
+    }
 }
@@ -133,6 +133,17 @@ public final class SearchFirstStringNode extends Node {
             return false;
         }
 
+        NonRecursiveHashMapCharacter nameIndex = target.getNameIndex();
+        if (nameIndexProfile.profile(nameIndex != null)) {
+            for (int i = 0; i < cachedLength; i++) {
+                if (nameIndex.get(elements.getDataAt(i)) != cached[i] - 1) {
+                    seenInvalid.enter();
+                    return false;
+                }
+            }
+            return true;
+        }
+
         for (int i = 0; i < cachedLength; i++) {
             int cachedIndex = cached[i];
             String cachedElement = elements.getDataAt(i);
@@ -180,6 +191,7 @@ public final class SearchFirstStringNode extends Node {
     }
 
     private final BranchProfile notFoundProfile = BranchProfile.create();
+    private final ConditionProfile nameIndexProfile = ConditionProfile.createBinaryProfile();
     private final ConditionProfile hashingProfile = ConditionProfile.createBinaryProfile();
 
     private RIntVector searchGeneric(RStringVector target, int targetLength, RStringVector elements, int elementsLength, int notFoundStartIndex, boolean nullOnNotFound,
@@ -190,17 +202,17 @@ public final class SearchFirstStringNode extends Node {
         long hashingCost = targetLength * 10L + 10 /* constant overhead */;
         long lookupCost = elementsLength * 2L;
         long nestedLoopCost = targetLength * (long) elementsLength;
-        NonRecursiveHashMapCharacter map;
-        if (hashingProfile.profile(nestedLoopCost > hashingCost + lookupCost)) {
+        // long names vectors carry a persistent index, see RStringVector.getNameIndex
+        NonRecursiveHashMapCharacter map = target.getNameIndex();
+        if (nameIndexProfile.profile(map == null) && hashingProfile.profile(nestedLoopCost > hashingCost + lookupCost)) {
             map = new NonRecursiveHashMapCharacter(targetLength);
-            for (int i = 0; i < targetLength; i++) {
+            // backwards, so that the first occurrence wins like in findIndex
+            for (int i = targetLength - 1; i >= 0; i--) {
                 String name = target.getDataAt(i);
                 if (!targetNACheck.check(name)) {
                     map.put(name, i);
                 }
             }
-        } else {
-            map = null;
         }
         int notFoundIndex = notFoundStartIndex;
         for (int i = 0; i < elementsLength; i++) {
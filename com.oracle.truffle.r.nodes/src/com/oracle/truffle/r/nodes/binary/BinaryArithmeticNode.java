@@ -22,7 +22,11 @@
  */
 package com.oracle.truffle.r.nodes.binary;
 
+import java.util.ArrayList;
+
 import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Fallback;
@@ -35,13 +39,19 @@ import com.oracle.truffle.r.nodes.profile.TruffleBoundaryNode;
 import com.oracle.truffle.r.nodes.unary.UnaryArithmeticNode;
 import com.oracle.truffle.r.nodes.unary.UnaryArithmeticNodeGen;
 import com.oracle.truffle.r.runtime.DSLConfig;
+import com.oracle.truffle.r.runtime.ParallelKernels;
 import com.oracle.truffle.r.runtime.RError;
 import com.oracle.truffle.r.runtime.RError.Message;
 import com.oracle.truffle.r.runtime.RType;
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.context.RContext;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RDoubleArrayVectorData;
+import com.oracle.truffle.r.runtime.data.RDoubleFusedVectorData;
 import com.oracle.truffle.r.runtime.data.RDoubleVector;
 import com.oracle.truffle.r.runtime.data.RMissing;
 import com.oracle.truffle.r.runtime.data.RNull;
+import com.oracle.truffle.r.runtime.data.RSharingAttributeStorage;
 import com.oracle.truffle.r.runtime.data.RComplexVector;
 import com.oracle.truffle.r.runtime.data.RIntVector;
 import com.oracle.truffle.r.runtime.data.RLogicalVector;
@@ -66,6 +76,9 @@ public abstract class BinaryArithmeticNode extends RBuiltinNode.Arg2 {
 
     @Child private BinaryArithmetic operation;
 
+    protected final byte fusedOperation;
+    @CompilationFinal private int fusionThreshold = -1;
+
     static {
         Casts casts = new Casts(BinaryArithmeticNode.class);
         casts.arg(0).boxPrimitive();
@@ -76,6 +89,20 @@ public abstract class BinaryArithmeticNode extends RBuiltinNode.Arg2 {
         this.binary = binaryFactory;
         this.operation = binaryFactory.createOperation();
         this.unary = unaryFactory;
+        this.fusedOperation = getFusedOperation(operation);
+    }
+
+    private static byte getFusedOperation(BinaryArithmetic operation) {
+        if (operation instanceof BinaryArithmetic.Add) {
+            return RDoubleFusedVectorData.ADD;
+        } else if (operation instanceof BinaryArithmetic.Subtract) {
+            return RDoubleFusedVectorData.SUBTRACT;
+        } else if (operation instanceof BinaryArithmetic.Multiply) {
+            return RDoubleFusedVectorData.MULTIPLY;
+        } else if (operation instanceof BinaryArithmetic.Div) {
+            return RDoubleFusedVectorData.DIVIDE;
+        }
+        return -1;
     }
 
     public abstract Object execute(Object left, Object right);
@@ -89,6 +116,117 @@ public abstract class BinaryArithmeticNode extends RBuiltinNode.Arg2 {
         return BinaryArithmeticNodeGen.create(binary, unary);
     }
 
+    /**
+     * Arithmetic on long double vectors without attributes is deferred, see
+     * {@link RDoubleFusedVectorData}. Neither {@code + - * /} on doubles nor the recycling of a
+     * scalar can produce warnings, so the deferral is not observable.
+     */
+    @Specialization(guards = {"fusedOperation >= 0", "isFusable(left, right)"})
+    @TruffleBoundary
+    protected RDoubleVector doFused(RDoubleVector left, RDoubleVector right) {
+        int length = Math.max(left.getLength(), right.getLength());
+        ArrayList<RSharingAttributeStorage> retained = new ArrayList<>(2);
+        Object leftOperand = getFusedOperand(left, length, retained);
+        Object rightOperand = getFusedOperand(right, length, retained);
+        boolean complete = left.isComplete() && right.isComplete();
+        RSharingAttributeStorage[] retainedArray = retained.toArray(new RSharingAttributeStorage[retained.size()]);
+        return RDoubleVector.createFused(RDoubleFusedVectorData.create(fusedOperation, leftOperand, rightOperand, retainedArray, length, complete, ParallelKernels.get(RContext.getInstance(this))));
+    }
+
+    protected boolean isFusable(RDoubleVector left, RDoubleVector right) {
+        int threshold = getFusionThreshold();
+        if (threshold == 0 || left.getAttributes() != null || right.getAttributes() != null) {
+            return false;
+        }
+        int leftLength = left.getLength();
+        int rightLength = right.getLength();
+        int length = Math.max(leftLength, rightLength);
+        if (length < Math.max(threshold, 2)) {
+            return false;
+        }
+        return isFusableOperand(left, length) && isFusableOperand(right, length);
+    }
+
+    private static boolean isFusableOperand(RDoubleVector operand, int length) {
+        if (operand.getLength() == 1) {
+            return true;
+        }
+        Object data = operand.getData();
+        return operand.getLength() == length && (data instanceof RDoubleArrayVectorData || data instanceof RDoubleFusedVectorData);
+    }
+
+    /**
+     * Returns the scalar value of recycled operands, otherwise the operand array or the fused data.
+     * The reference count of the operand is incremented so that any later update copies the vector
+     * instead of changing the operand of the deferred expression, it is decremented again when the
+     * fused data are evaluated. Only temporary fused vectors are nested, the deferred expression of
+     * a vector that may be used again, e.g., a variable, is evaluated once and its values are used.
+     */
+    private static Object getFusedOperand(RDoubleVector operand, int length, ArrayList<RSharingAttributeStorage> retained) {
+        if (operand.getLength() != length) {
+            return operand.getDataAt(0);
+        }
+        boolean temporary = operand.isTemporary();
+        if (!operand.isSharedPermanent()) {
+            operand.incRefCount();
+            retained.add(operand);
+        }
+        Object data = operand.getData();
+        if (data instanceof RDoubleFusedVectorData) {
+            RDoubleFusedVectorData fused = (RDoubleFusedVectorData) data;
+            // keep the expressions short, e.g., when a loop keeps updating a variable
+            if (temporary && !fused.isEvaluated() && fused.getOperationCount() < RDoubleFusedVectorData.MAX_OPERATIONS / 2) {
+                return fused;
+            }
+            return fused.getValues();
+        }
+        return ((RDoubleArrayVectorData) data).getReadonlyDoubleData();
+    }
+
+    /**
+     * Long element-wise {@code + - * /} on double vectors without attributes that are not deferred
+     * is split among threads by {@link ParallelKernels}.
+     */
+    @Specialization(guards = {"fusedOperation >= 0", "isParallel(left, right)"})
+    @TruffleBoundary
+    protected RDoubleVector doParallel(RDoubleVector left, RDoubleVector right) {
+        int length = Math.max(left.getLength(), right.getLength());
+        boolean complete = left.isComplete() && right.isComplete();
+        double[] result = RDoubleFusedVectorData.compute(fusedOperation, getParallelOperand(left, length), getParallelOperand(right, length), length, complete,
+                        ParallelKernels.get(RContext.getInstance(this)));
+        return RDataFactory.createDoubleVector(result, complete);
+    }
+
+    protected boolean isParallel(RDoubleVector left, RDoubleVector right) {
+        if (left.getAttributes() != null || right.getAttributes() != null) {
+            return false;
+        }
+        int length = Math.max(left.getLength(), right.getLength());
+        if (length < 2 || !ParallelKernels.get(RContext.getInstance(this)).isParallel(length)) {
+            return false;
+        }
+        return isParallelOperand(left, length) && isParallelOperand(right, length);
+    }
+
+    private static boolean isParallelOperand(RDoubleVector operand, int length) {
+        return operand.getLength() == 1 || (operand.getLength() == length && operand.getData() instanceof RDoubleArrayVectorData);
+    }
+
+    private static Object getParallelOperand(RDoubleVector operand, int length) {
+        if (operand.getLength() != length) {
+            return operand.getDataAt(0);
+        }
+        return ((RDoubleArrayVectorData) operand.getData()).getReadonlyDoubleData();
+    }
+
+    private int getFusionThreshold() {
+        if (fusionThreshold < 0) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            fusionThreshold = RContext.getInstance(this).getNonNegativeIntOption(FastROptions.LazyArithmeticThreshold);
+        }
+        return fusionThreshold;
+    }
+
     @Specialization(limit = "getCacheSize(CACHE_LIMIT)", guards = {"cached != null", "cached.isSupported(left, right)"})
     protected Object doNumericVectorCached(RAbstractVector left, RAbstractVector right,
                     @Cached("createFastCached(left, right)") BinaryMapNode cached) {
@@ -33,6 +33,7 @@ import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.r.nodes.unary.CastStringNode;
 import com.oracle.truffle.r.runtime.DSLConfig;
+import com.oracle.truffle.r.runtime.Collections;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.RType;
 import com.oracle.truffle.r.runtime.data.CharSXPWrapper;
@@ -104,6 +105,51 @@ public abstract class MatchInternalNode extends AbstractMatchNode {
         return RDataFactory.createIntVector(result, setCompleteState(matchAll, nomatch));
     }
 
+    /**
+     * Tables known to be sorted and free of {@code NA} values are searched by bisection, which
+     * avoids building the hash table of all the table elements.
+     */
+    protected static boolean isSortedComplete(VectorDataLibrary dataLib, Object data) {
+        return dataLib.isComplete(data) && (dataLib.isSorted(data, false, true) || dataLib.isSorted(data, true, true));
+    }
+
+    @Specialization(guards = {"!isSequence(table)", "isSortedComplete(tableDataLib, table.getData())"}, limit = "getTypedVectorDataLibraryCacheSize()")
+    @CompilerDirectives.TruffleBoundary
+    protected RIntVector matchInSorted(RIntVector x, RIntVector table, int nomatch,
+                    @CachedLibrary("x.getData()") VectorDataLibrary xDataLib,
+                    @CachedLibrary("table.getData()") VectorDataLibrary tableDataLib) {
+        Object xData = x.getData();
+        Object tableData = table.getData();
+        int tableLength = tableDataLib.getLength(tableData);
+        boolean descending = !tableDataLib.isSorted(tableData, false, true);
+        int[] result = initResult(xDataLib.getLength(xData), nomatch);
+        boolean matchAll = true;
+
+        RandomAccessIterator tableIt = tableDataLib.randomAccessIterator(tableData);
+        SeqIterator it = xDataLib.iterator(xData);
+        while (xDataLib.nextLoopCondition(xData, it)) {
+            int xx = xDataLib.getNextInt(xData, it);
+            // find the first element that is not before xx in the sort order
+            int low = 0;
+            int high = tableLength;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int value = tableDataLib.getInt(tableData, tableIt, mid);
+                if (descending ? value > xx : value < xx) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            if (low < tableLength && !RRuntime.isNA(xx) && tableDataLib.getInt(tableData, tableIt, low) == xx) {
+                result[it.getIndex()] = low + 1;
+            } else {
+                matchAll = false;
+            }
+        }
+        return RDataFactory.createIntVector(result, setCompleteState(matchAll, nomatch));
+    }
+
     @Specialization(guards = {"xDataLib.getLength(x.getData()) == 1", "!isSequence(table)"}, limit = "getTypedVectorDataLibraryCacheSize()")
     @CompilerDirectives.TruffleBoundary
     protected int matchSizeOne(RIntVector x, RIntVector table, int nomatch,
@@ -239,6 +285,43 @@ public abstract class MatchInternalNode extends AbstractMatchNode {
         return RDataFactory.createIntVector(result, setCompleteState(matchAll, nomatch));
     }
 
+    @Specialization(guards = "isSortedComplete(tableDataLib, table.getData())", limit = "getTypedVectorDataLibraryCacheSize()")
+    @CompilerDirectives.TruffleBoundary
+    protected RIntVector matchInSorted(RDoubleVector x, RDoubleVector table, int nomatch,
+                    @CachedLibrary("x.getData()") VectorDataLibrary xDataLib,
+                    @CachedLibrary("table.getData()") VectorDataLibrary tableDataLib) {
+        Object xData = x.getData();
+        Object tableData = table.getData();
+        int tableLength = tableDataLib.getLength(tableData);
+        boolean descending = !tableDataLib.isSorted(tableData, false, true);
+        int[] result = initResult(xDataLib.getLength(xData), nomatch);
+        boolean matchAll = true;
+
+        RandomAccessIterator tableIt = tableDataLib.randomAccessIterator(tableData);
+        SeqIterator it = xDataLib.iterator(xData);
+        while (xDataLib.nextLoopCondition(xData, it)) {
+            double xx = xDataLib.getNextDouble(xData, it);
+            // NA and NaN compare false with everything and therefore never match
+            int low = 0;
+            int high = tableLength;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                double value = tableDataLib.getDouble(tableData, tableIt, mid);
+                if (descending ? value > xx : value < xx) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            if (low < tableLength && tableDataLib.getDouble(tableData, tableIt, low) == xx) {
+                result[it.getIndex()] = low + 1;
+            } else {
+                matchAll = false;
+            }
+        }
+        return RDataFactory.createIntVector(result, setCompleteState(matchAll, nomatch));
+    }
+
     @Specialization(guards = "xDataLib.getLength(x.getData()) == 1", limit = "getTypedVectorDataLibraryCacheSize()")
     @CompilerDirectives.TruffleBoundary
     protected int matchSizeOne(RDoubleVector x, RDoubleVector table, int nomatch,
@@ -707,6 +790,17 @@ public abstract class MatchInternalNode extends AbstractMatchNode {
                     @Cached("create()") BranchProfile foundProfile,
                     @Cached("create()") BranchProfile notFoundProfile) {
         String element = xDataLib.getStringAt(x.getData(), 0);
+        // a names vector may already be indexed by lookups by name, plain tables are never indexed
+        Collections.NonRecursiveHashMapCharacter nameIndex = table.getExistingNameIndex();
+        if (nameIndex != null) {
+            int index = nameIndex.get(element);
+            if (index != -1) {
+                foundProfile.enter();
+                return index + 1;
+            }
+            notFoundProfile.enter();
+            return nomatch;
+        }
         Object tableData = table.getData();
         SeqIterator it = tableDataLib.iterator(tableData);
         if (naProfile.isNA(element)) {
@@ -985,6 +1079,20 @@ public abstract class MatchInternalNode extends AbstractMatchNode {
             int tableLength = tableDataLib.getLength(tableData);
             int[] result = initResult(xLength, nomatch);
             boolean matchAll = true;
+            // only re-use an existing index, a temporary hash table is built below otherwise
+            Collections.NonRecursiveHashMapCharacter nameIndex = table instanceof RStringVector ? ((RStringVector) table).getExistingNameIndex() : null;
+            if (nameIndex != null) {
+                SeqIterator it = xDataLib.iterator(xData);
+                while (xDataLib.nextLoopCondition(xData, it)) {
+                    int index = nameIndex.get(xDataLib.getNextString(xData, it));
+                    if (index != -1) {
+                        result[it.getIndex()] = index + 1;
+                    } else {
+                        matchAll = false;
+                    }
+                }
+                return RDataFactory.createIntVector(result, setCompleteState(matchAll, nomatch));
+            }
             NonRecursiveHashMapCharacter hashTable;
             RandomAccessIterator rit = tableDataLib.randomAccessIterator(tableData);
             if (bigTableProfile.profile(tableLength > (xLength * TABLE_SIZE_FACTOR))) {
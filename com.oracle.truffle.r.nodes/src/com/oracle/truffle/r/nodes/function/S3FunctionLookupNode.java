@@ -46,6 +46,8 @@ import com.oracle.truffle.r.runtime.RDispatch;
 import com.oracle.truffle.r.runtime.RError;
 import com.oracle.truffle.r.runtime.RInternalError;
 import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.S3DispatchCache;
+import com.oracle.truffle.r.runtime.S3DispatchCache.Scope;
 import com.oracle.truffle.r.runtime.Utils;
 import com.oracle.truffle.r.runtime.context.RContext;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
@@ -449,23 +451,53 @@ public abstract class S3FunctionLookupNode extends RBaseNode {
 
         @TruffleBoundary
         private Result executeInternal(String genericName, RStringVector type, String group, MaterializedFrame callerFrame, MaterializedFrame genericDefFrame) {
-            LookupOperation op = (lookupFrame, name, inMethodsTable) -> {
-                return ReadVariableNode.lookupFunction(name, lookupFrame, inMethodsTable, true);
-            };
+            S3DispatchCache cache = getRContext().stateS3DispatchCache.getCache();
+            S3DispatchCache.Key key = null;
+            Object cached = S3DispatchCache.MISS;
+            if (cache.isEnabled()) {
+                key = new S3DispatchCache.Key(genericName, group, type, nextMethod, defaultMethod, callerFrame, genericDefFrame);
+                cached = cache.get(key, callerFrame, genericDefFrame);
+            }
 
-            GetMethodsTable getTable = () -> {
-                int frameIndex = genericDefFrame == null ? FrameIndex.UNITIALIZED_INDEX : FrameSlotChangeMonitor.getIndexOfIdentifier(genericDefFrame.getFrameDescriptor(), RRuntime.RS3MethodsTable);
-                if (FrameIndex.isUninitializedIndex(frameIndex)) {
-                    return null;
-                }
-                try {
-                    return FrameSlotChangeMonitor.getObject(genericDefFrame, frameIndex);
-                } catch (FrameSlotTypeException e) {
-                    throw RInternalError.shouldNotReachHere();
-                }
-            };
+            Result result;
+            if (cached != S3DispatchCache.MISS) {
+                result = (Result) cached;
+            } else {
+                S3DispatchCache.Recorder recorder = key == null ? null : new S3DispatchCache.Recorder();
+                LookupOperation op = (lookupFrame, name, inMethodsTable) -> {
+                    RFunction function = ReadVariableNode.lookupFunction(name, lookupFrame, inMethodsTable, true);
+                    if (recorder != null) {
+                        recorder.record(inMethodsTable ? Scope.METHODS_TABLE : Scope.CALLER, lookupFrame, name);
+                    }
+                    return function;
+                };
 
-            Result result = performLookup(callerFrame, genericName, group, type, nextMethod, defaultMethod, op, getTable);
+                GetMethodsTable getTable = () -> {
+                    if (genericDefFrame == null) {
+                        return null;
+                    }
+                    int frameIndex = FrameSlotChangeMonitor.getIndexOfIdentifier(genericDefFrame.getFrameDescriptor(), RRuntime.RS3MethodsTable);
+                    Object methodsTable;
+                    if (FrameIndex.isUninitializedIndex(frameIndex)) {
+                        methodsTable = null;
+                    } else {
+                        try {
+                            methodsTable = FrameSlotChangeMonitor.getObject(genericDefFrame, frameIndex);
+                        } catch (FrameSlotTypeException e) {
+                            throw RInternalError.shouldNotReachHere();
+                        }
+                    }
+                    if (recorder != null) {
+                        recorder.record(Scope.GENERIC_DEF, genericDefFrame, RRuntime.RS3MethodsTable);
+                    }
+                    return methodsTable;
+                };
+
+                result = performLookup(callerFrame, genericName, group, type, nextMethod, defaultMethod, op, getTable);
+                if (recorder != null) {
+                    cache.put(key, recorder, result);
+                }
+            }
 
             if (result == null) {
                 if (throwsError) {
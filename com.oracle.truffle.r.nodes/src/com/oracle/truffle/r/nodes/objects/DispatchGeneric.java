@@ -21,8 +21,10 @@
 package com.oracle.truffle.r.nodes.objects;
 
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.profiles.BranchProfile;
@@ -32,6 +34,7 @@ import com.oracle.truffle.r.nodes.RASTUtils;
 import com.oracle.truffle.r.nodes.access.variables.LocalReadVariableNode;
 import com.oracle.truffle.r.nodes.access.variables.ReadVariableNode;
 import com.oracle.truffle.r.nodes.helpers.InheritsCheckNode;
+import com.oracle.truffle.r.runtime.DSLConfig;
 import com.oracle.truffle.r.runtime.RCaller;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.Utils;
@@ -42,17 +45,58 @@ import com.oracle.truffle.r.runtime.env.REnvironment;
 import com.oracle.truffle.r.runtime.nodes.RBaseNode;
 
 // transcribed from /src/library/methods/src/methods_list_dispatch.c (R_dispatch_generic function)
+@ImportStatic(DSLConfig.class)
 public abstract class DispatchGeneric extends RBaseNode {
 
+    /**
+     * Maximum number of argument class tuples for which the selected method is cached, the call
+     * site then falls back to the generic lookup in the methods table.
+     */
+    protected static final int CACHE_SIZE = 8;
+
+    /**
+     * Number of times the method selected for one class tuple may change (e.g. by
+     * {@code setMethod} or {@code removeMethod}, or when the call site is shared by generics with
+     * different methods tables) before it is no longer cached.
+     */
+    private static final int MAX_METHOD_CHANGES = 3;
+
     public abstract Object executeObject(VirtualFrame frame, REnvironment mtable, RStringVector classes, RFunction fdef, String fname);
 
     private final ConditionProfile singleStringProfile = ConditionProfile.createBinaryProfile();
     private final ConditionProfile isDeferredProfile = ConditionProfile.createBinaryProfile();
+    private final ConditionProfile selectedMethodProfile = ConditionProfile.createBinaryProfile();
     private final BranchProfile equalsMethodRequired = BranchProfile.create();
     @Child private LoadMethod loadMethod = LoadMethodNodeGen.create();
     @Child private ExecuteMethod executeMethod = new ExecuteMethod();
     @Child private InheritsCheckNode inheritsInternalDispatchCheckNode;
 
+    /**
+     * The method last selected for one tuple of argument classes, together with the result of the
+     * checks done on it. The method is still read from the methods table on every call, which in
+     * compiled code amounts to checking the assumptions of the table binding, and as long as the
+     * table yields the same function, the checks are skipped and the method is called with a
+     * constant call target. Modifications of the table by {@code setMethod} or
+     * {@code removeMethod} invalidate these assumptions.
+     */
+    protected static final class SelectedMethod {
+        @CompilationFinal private RFunction method;
+        @CompilationFinal private boolean deferred;
+        private int changes;
+
+        void update(RFunction newMethod, boolean newDeferred) {
+            if (changes < MAX_METHOD_CHANGES) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                changes++;
+                method = newMethod;
+                deferred = newDeferred;
+            } else if (method != null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                method = null;
+            }
+        }
+    }
+
     @TruffleBoundary
     private static String createMultiDispatchString(RStringVector classes) {
         StringBuilder sb = new StringBuilder();
@@ -77,7 +121,7 @@ public abstract class DispatchGeneric extends RBaseNode {
         return LocalReadVariableNode.create(dispatchString, true);
     }
 
-    private Object dispatchInternal(VirtualFrame frame, REnvironment mtable, RStringVector classes, RFunction fdef, String fname, RFunction f) {
+    private RFunction selectMethod(VirtualFrame frame, REnvironment mtable, RStringVector classes, RFunction fdef, RFunction f) {
         RFunction method = f;
         if (method == null) {
             // if method has not been found, it will be retrieved by the following R function call
@@ -89,39 +133,54 @@ public abstract class DispatchGeneric extends RBaseNode {
             RFunction currentFunction = ReadVariableNode.lookupFunction(".InheritForDispatch", methodsEnv.getFrame(), true, true);
             method = (RFunction) context.getThisEngine().evalFunction(currentFunction, frame.materialize(), RCaller.create(frame, RASTUtils.getOriginalCall(this)), true, null, classes, fdef, mtable);
         }
-        if (isDeferredProfile.profile(method.isBuiltin() || getInheritsInternalDispatchCheckNode().execute(method))) {
-            return RRuntime.DEFERRED_DEFAULT_MARKER;
-        }
-        method = loadMethod.executeRFunction(frame, method, fname);
+        return method;
+    }
+
+    private boolean isDeferred(RFunction method) {
+        return isDeferredProfile.profile(method.isBuiltin() || getInheritsInternalDispatchCheckNode().execute(method));
+    }
+
+    private Object executeSelected(VirtualFrame frame, RFunction selected, String fname) {
+        RFunction method = loadMethod.executeRFunction(frame, selected, fname);
         return executeMethod.executeObject(frame, method, fname);
     }
 
     @SuppressWarnings("unused")
-    @Specialization(guards = "equalClasses(classes, cachedClasses)")
+    @Specialization(guards = "equalClasses(classes, cachedClasses)", limit = "getCacheSize(CACHE_SIZE)")
     protected Object dispatchCached(VirtualFrame frame, REnvironment mtable, RStringVector classes, RFunction fdef, String fname,
                     @Cached("classes") RStringVector cachedClasses,
                     @Cached("createDispatchString(cachedClasses)") String dispatchString,
                     @Cached("createTableRead(dispatchString)") LocalReadVariableNode tableRead,
-                    @Cached("createClassProfile()") ValueProfile frameAccessProfile) {
+                    @Cached("createClassProfile()") ValueProfile frameAccessProfile,
+                    @Cached("new()") SelectedMethod selected) {
         RFunction method = (RFunction) tableRead.execute(frame, mtable.getFrame(frameAccessProfile));
-        return dispatchInternal(frame, mtable, classes, fdef, fname, method);
+        if (selectedMethodProfile.profile(method != null && method == selected.method)) {
+            return selected.deferred ? RRuntime.DEFERRED_DEFAULT_MARKER : executeSelected(frame, selected.method, fname);
+        }
+        method = selectMethod(frame, mtable, classes, fdef, method);
+        boolean deferred = isDeferred(method);
+        selected.update(method, deferred);
+        return deferred ? RRuntime.DEFERRED_DEFAULT_MARKER : executeSelected(frame, method, fname);
     }
 
     @Specialization(replaces = "dispatchCached")
     protected Object dispatch(VirtualFrame frame, REnvironment mtable, RStringVector classes, RFunction fdef, String fname) {
         String dispatchString = createDispatchString(classes);
-        RFunction method = (RFunction) mtable.get(dispatchString);
-        return dispatchInternal(frame, mtable, classes, fdef, fname, method);
+        RFunction method = selectMethod(frame, mtable, classes, fdef, (RFunction) mtable.get(dispatchString));
+        if (isDeferred(method)) {
+            return RRuntime.DEFERRED_DEFAULT_MARKER;
+        }
+        return executeSelected(frame, method, fname);
     }
 
     protected boolean equalClasses(RStringVector classes, RStringVector cachedClasses) {
         if (cachedClasses.getLength() == classes.getLength()) {
             for (int i = 0; i < cachedClasses.getLength(); i++) {
-                // TODO: makes sure equality is good enough here, but it's for optimization only
-                // anwyay
                 if (!Utils.fastPathIdentityEquals(cachedClasses.getDataAt(i), classes.getDataAt(i))) {
                     equalsMethodRequired.enter();
-                    return cachedClasses.getDataAt(i).equals(classes.getDataAt(i));
+                    if (!cachedClasses.getDataAt(i).equals(classes.getDataAt(i))) {
+                        return false;
+                    }
                 }
             }
             return true;
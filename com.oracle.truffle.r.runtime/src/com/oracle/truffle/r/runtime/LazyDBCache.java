@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2015, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -23,33 +23,150 @@
 package com.oracle.truffle.r.runtime;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleFile;
 import com.oracle.truffle.r.runtime.context.RContext;
 
+/**
+ * Cache of the lazy-load databases ({@code .rdb} files). The content of a database is shared by
+ * all the contexts in the process: the files are memory-mapped read-only whenever the file system
+ * allows it and the mapping is identified by the path, the last modification time and the size of
+ * the file, so that a rewritten database is not served from a stale mapping. Only the most recently
+ * used databases are kept. Each context additionally remembers which databases it has already
+ * opened, {@code lazyLoadDBflush} makes both the context that invoked it and the contexts that open
+ * the database later read the file again.
+ */
 public class LazyDBCache {
 
+    private static final class Key {
+        private final String path;
+        private final long modified;
+        private final long size;
+
+        Key(String path, long modified, long size) {
+            this.path = path;
+            this.modified = modified;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return modified == other.modified && size == other.size && path.equals(other.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, modified, size);
+        }
+    }
+
+    private static final int MAX_SHARED_DBS = 64;
+
+    /*
+     * The least recently used databases are dropped once there are more than MAX_SHARED_DBS of
+     * them, the contexts that still use them keep their own references. Guarded by itself.
+     */
+    private static final LinkedHashMap<Key, ByteBuffer> sharedDBs = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, ByteBuffer> eldest) {
+            return size() > MAX_SHARED_DBS;
+        }
+    };
+
+    @TruffleBoundary
+    private static ByteBuffer getSharedData(TruffleFile file) throws IOException {
+        String path = file.getAbsoluteFile().getPath();
+        Key key = new Key(path, file.getLastModifiedTime().toMillis(), file.size());
+        ByteBuffer result;
+        synchronized (sharedDBs) {
+            result = sharedDBs.get(key);
+        }
+        if (result == null) {
+            ByteBuffer data = readDB(file);
+            synchronized (sharedDBs) {
+                result = sharedDBs.get(key);
+                if (result == null) {
+                    // drop the older versions of the file
+                    sharedDBs.keySet().removeIf(k -> k.path.equals(path));
+                    sharedDBs.put(key, data);
+                    result = data;
+                }
+            }
+        }
+        // each user gets its own position and limit
+        return result.duplicate();
+    }
+
+    /**
+     * Drops all the versions of given file, so that it is read again by the next context that opens
+     * it.
+     */
+    @TruffleBoundary
+    private static void removeSharedData(TruffleFile file) {
+        String path = file.getAbsoluteFile().getPath();
+        synchronized (sharedDBs) {
+            sharedDBs.keySet().removeIf(k -> k.path.equals(path));
+        }
+    }
+
+    private static ByteBuffer readDB(TruffleFile file) throws IOException {
+        try (SeekableByteChannel channel = file.newByteChannel(EnumSet.of(StandardOpenOption.READ))) {
+            if (channel instanceof FileChannel) {
+                FileChannel fileChannel = (FileChannel) channel;
+                // the mapping stays valid after the channel is closed
+                return fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+            }
+        }
+        // e.g., virtual file systems that cannot be mapped
+        return ByteBuffer.wrap(file.readAllBytes()).asReadOnlyBuffer();
+    }
+
     public static final class ContextStateImpl implements RContext.ContextState {
-        private final Map<String, byte[]> dbCache = new HashMap<>();
+        private final Map<String, ByteBuffer> dbCache = new HashMap<>();
 
-        public byte[] getData(RContext context, String dbPath) {
-            byte[] dbData = dbCache.get(dbPath);
+        /**
+         * Returns read-only view of the content of given database. The returned buffer is not
+         * shared with other users and so its position and limit can be freely modified.
+         */
+        @TruffleBoundary
+        public ByteBuffer getData(RContext context, String dbPath) {
+            ByteBuffer dbData = dbCache.get(dbPath);
             if (dbData == null) {
                 try {
-                    dbData = context.getSafeTruffleFile(dbPath).readAllBytes();
+                    dbData = getSharedData(context.getSafeTruffleFile(dbPath));
                 } catch (IOException ex) {
                     // unexpected
                     throw RInternalError.shouldNotReachHere(ex);
                 }
                 dbCache.put(dbPath, dbData);
             }
-            return dbData;
+            return dbData.duplicate();
         }
 
-        public void remove(String dbPath) {
+        /**
+         * Forgets given database, the file is read again on the next access from any context.
+         */
+        @TruffleBoundary
+        public void remove(RContext context, String dbPath) {
             // no an error if missing
             dbCache.remove(dbPath);
+            removeSharedData(context.getSafeTruffleFile(dbPath));
         }
 
         public static ContextStateImpl newContextState() {
@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.BinaryOperator;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.context.RContext;
+
+/**
+ * Intra-operation parallelism for builtins that process large vectors, e.g., {@code colSums},
+ * {@code %*%} or {@code cor}. The work is split into independent index ranges that are processed
+ * on a {@link ForkJoinPool} owned by the context while the calling thread waits for the result.
+ * <p>
+ * The kernels run outside of the context: they may only work on Java arrays extracted beforehand
+ * and must not call any node, allocate R objects or report warnings. Kernels passed to
+ * {@link #parallelFor} must write disjoint parts of the result, so the result does not depend on
+ * the number of threads. Reductions use {@link #reduce}, which splits the input into chunks of
+ * {@link #CHUNK_SIZE} elements regardless of the number of threads and combines the partial
+ * results from left to right. Callers have to make sure that such grouping yields the same result
+ * as the serial code where R requires it, e.g., exact integer arithmetic.
+ * <p>
+ * The parallelism is off by default, it is controlled by the {@code --R.KernelThreads} and
+ * {@code --R.KernelThreshold} options and by {@code .fastr.setThreads}. Changing the number of
+ * threads replaces the pool, the old one is shut down once the operations using it are finished.
+ * After the context is disposed, the kernels run on the calling thread.
+ */
+public final class ParallelKernels {
+
+    /**
+     * Number of elements of one chunk in {@link #reduce}.
+     */
+    public static final int CHUNK_SIZE = 1 << 16;
+
+    /**
+     * Processes the index range {@code [from, to)}.
+     */
+    @FunctionalInterface
+    public interface RangeKernel {
+        void compute(int from, int to);
+    }
+
+    /**
+     * Computes the partial result of the index range {@code [from, to)}.
+     */
+    @FunctionalInterface
+    public interface RangeReduction<T> {
+        T compute(int from, int to);
+    }
+
+    /**
+     * A pool together with the number of operations currently using it.
+     */
+    private static final class Pool {
+        private final ForkJoinPool executor;
+        private int users;
+        private boolean retired;
+
+        Pool(int parallelism) {
+            this.executor = new ForkJoinPool(parallelism);
+        }
+    }
+
+    private final int threshold;
+    private volatile int threads;
+    private Pool pool;
+    private boolean disposed;
+
+    private ParallelKernels(int threads, int threshold) {
+        this.threads = Math.max(1, threads);
+        this.threshold = threshold;
+    }
+
+    public static ParallelKernels get(RContext context) {
+        return context.stateParallelKernels.getKernels();
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Sets the number of threads, the pool is re-created with the new parallelism when needed.
+     * Operations running on the old pool finish on it.
+     *
+     * @return the previous number of threads
+     */
+    @TruffleBoundary
+    public synchronized int setThreads(int newThreads) {
+        int previous = threads;
+        threads = Math.max(1, newThreads);
+        if (pool != null && pool.executor.getParallelism() != threads) {
+            retire(pool);
+            pool = null;
+        }
+        return previous;
+    }
+
+    /**
+     * Determines whether an operation consisting of given number of elementary steps (e.g.,
+     * multiply-add operations of a matrix product) should be processed in parallel.
+     */
+    public boolean isParallel(long work) {
+        return threads > 1 && work >= threshold;
+    }
+
+    /**
+     * Runs {@code kernel} on disjoint ranges covering {@code [0, count)}, the ranges are processed
+     * in parallel.
+     */
+    @TruffleBoundary
+    public void parallelFor(int count, RangeKernel kernel) {
+        Pool p = acquirePool();
+        if (p == null) {
+            kernel.compute(0, count);
+            return;
+        }
+        try {
+            int tasks = Math.min(count, p.executor.getParallelism() * 4);
+            List<Callable<Object>> callables = new ArrayList<>(tasks);
+            for (int i = 0; i < tasks; i++) {
+                int from = (int) ((long) count * i / tasks);
+                int to = (int) ((long) count * (i + 1) / tasks);
+                callables.add(() -> {
+                    kernel.compute(from, to);
+                    return null;
+                });
+            }
+            invokeAll(p.executor, callables);
+        } finally {
+            releasePool(p);
+        }
+    }
+
+    /**
+     * Computes the partial results of consecutive chunks of {@link #CHUNK_SIZE} elements of
+     * {@code [0, length)} in parallel and combines them from left to right. The result depends
+     * only on {@code length}, not on the number of threads.
+     */
+    @TruffleBoundary
+    public <T> T reduce(int length, RangeReduction<T> kernel, BinaryOperator<T> combine) {
+        int chunks = (int) (((long) length + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        if (chunks <= 1) {
+            return kernel.compute(0, length);
+        }
+        List<Callable<T>> callables = new ArrayList<>(chunks);
+        for (int i = 0; i < chunks; i++) {
+            int from = i * CHUNK_SIZE;
+            int to = (int) Math.min((long) from + CHUNK_SIZE, length);
+            callables.add(() -> kernel.compute(from, to));
+        }
+        List<T> partials;
+        Pool p = acquirePool();
+        if (p == null) {
+            partials = new ArrayList<>(chunks);
+            for (int i = 0; i < chunks; i++) {
+                int from = i * CHUNK_SIZE;
+                partials.add(kernel.compute(from, (int) Math.min((long) from + CHUNK_SIZE, length)));
+            }
+        } else {
+            try {
+                partials = invokeAll(p.executor, callables);
+            } finally {
+                releasePool(p);
+            }
+        }
+        T result = partials.get(0);
+        for (int i = 1; i < partials.size(); i++) {
+            result = combine.apply(result, partials.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the current pool, which is not shut down before {@link #releasePool} is called, or
+     * {@code null} if the context is disposed.
+     */
+    private synchronized Pool acquirePool() {
+        if (disposed) {
+            return null;
+        }
+        if (pool == null) {
+            pool = new Pool(threads);
+        }
+        pool.users++;
+        return pool;
+    }
+
+    private synchronized void releasePool(Pool p) {
+        p.users--;
+        if (p.retired && p.users == 0) {
+            p.executor.shutdown();
+        }
+    }
+
+    private static void retire(Pool p) {
+        p.retired = true;
+        if (p.users == 0) {
+            p.executor.shutdown();
+        }
+    }
+
+    private static <T> List<T> invokeAll(ForkJoinPool p, List<Callable<T>> callables) {
+        List<T> results = new ArrayList<>(callables.size());
+        try {
+            for (Future<T> future : p.invokeAll(callables)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RInternalError(e, "interrupted while waiting for parallel kernel");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RInternalError(cause, "parallel kernel failed");
+        }
+        return results;
+    }
+
+    private synchronized void shutdown() {
+        disposed = true;
+        if (pool != null) {
+            retire(pool);
+            pool = null;
+        }
+    }
+
+    public static final class ContextStateImpl implements RContext.ContextState {
+        private ParallelKernels kernels;
+
+        private ContextStateImpl() {
+        }
+
+        @Override
+        public RContext.ContextState initialize(RContext context) {
+            kernels = new ParallelKernels(context.getNonNegativeIntOption(FastROptions.KernelThreads), context.getNonNegativeIntOption(FastROptions.KernelThreshold));
+            return this;
+        }
+
+        public ParallelKernels getKernels() {
+            return kernels;
+        }
+
+        @Override
+        public void beforeDispose(RContext context) {
+            kernels.shutdown();
+        }
+
+        public static ContextStateImpl newContextState() {
+            return new ContextStateImpl();
+        }
+    }
+}
@@ -24,6 +24,7 @@ package com.oracle.truffle.r.runtime;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.concurrent.Semaphore;
 
 /**
@@ -115,4 +116,64 @@ public class ProcessOutputManager {
             return data;
         }
     }
+
+    /**
+     * Copies the data to an {@link OutputStream} as it arrives, so that the amount of data held in
+     * memory is bounded by the buffer size. An {@link IOException} raised while writing is kept and
+     * can be queried with {@link #getError}. After a failed write the input is still drained until
+     * EOF, so that the producing process cannot block on a full pipe. The amount of copied data is
+     * not counted, {@link #getTotalRead} is not maintained for this thread.
+     */
+    public static final class OutputThreadStream extends OutputThread {
+        private final OutputStream os;
+        private volatile IOException error;
+
+        public OutputThreadStream(String name, InputStream is, OutputStream os) {
+            super(name, is);
+            this.os = os;
+        }
+
+        @Override
+        public void run() {
+            byte[] buffer = new byte[8192];
+            int n;
+            try {
+                while ((n = is.read(buffer)) != -1) {
+                    if (error == null) {
+                        try {
+                            os.write(buffer, 0, n);
+                        } catch (IOException ex) {
+                            error = ex;
+                        }
+                    }
+                }
+            } catch (IOException ex) {
+                if (error == null) {
+                    error = ex;
+                }
+            } finally {
+                exit.release();
+            }
+        }
+
+        /**
+         * Returns the error that stopped the copying so far, if any, without waiting for the
+         * copying to complete.
+         */
+        public IOException getCurrentError() {
+            return error;
+        }
+
+        /**
+         * Waits for the copying to complete and returns the error that stopped it, if any.
+         */
+        public IOException getError() {
+            try {
+                exit.acquire();
+            } catch (InterruptedException e) {
+
+            }
+            return error;
+        }
+    }
 }
@@ -25,12 +25,14 @@ package com.oracle.truffle.r.runtime;
 import static com.oracle.truffle.r.runtime.context.FastROptions.ChannelReceiveTimeout;
 import static com.oracle.truffle.r.runtime.env.frame.REnvTruffleFrameAccess.getStringIdentifiersAndValues;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.RootCallTarget;
@@ -46,14 +48,23 @@ import com.oracle.truffle.r.runtime.data.Closure;
 import com.oracle.truffle.r.runtime.data.RAttributable;
 import com.oracle.truffle.r.runtime.data.RAttributesLayout;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RDoubleArrayVectorData;
+import com.oracle.truffle.r.runtime.data.RDoubleVector;
 import com.oracle.truffle.r.runtime.data.RFunction;
+import com.oracle.truffle.r.runtime.data.RIntArrayVectorData;
+import com.oracle.truffle.r.runtime.data.RIntVector;
 import com.oracle.truffle.r.runtime.data.RList;
+import com.oracle.truffle.r.runtime.data.RLogicalArrayVectorData;
+import com.oracle.truffle.r.runtime.data.RLogicalVector;
 import com.oracle.truffle.r.runtime.data.RNull;
 import com.oracle.truffle.r.runtime.data.RPairList;
 import com.oracle.truffle.r.runtime.data.RPromise;
 import com.oracle.truffle.r.runtime.data.RPromise.PromiseState;
+import com.oracle.truffle.r.runtime.data.RRawArrayVectorData;
+import com.oracle.truffle.r.runtime.data.RRawVector;
 import com.oracle.truffle.r.runtime.data.RSharingAttributeStorage;
 import com.oracle.truffle.r.runtime.data.RUnboundValue;
+import com.oracle.truffle.r.runtime.data.model.RAbstractVector;
 import com.oracle.truffle.r.runtime.env.REnvironment;
 import com.oracle.truffle.r.runtime.env.frame.FrameSlotChangeMonitor;
 import com.oracle.truffle.r.runtime.nodes.RSyntaxElement;
@@ -61,11 +72,14 @@ import com.oracle.truffle.r.runtime.nodes.RSyntaxElement;
 /**
  * Implementation of a channel abstraction used for communication between parallel contexts in
  * shared memory space.
+ *
+ * Logical, integer, double and raw vectors are not copied: the receiver gets the very same data
+ * array, which is made permanently shared so that both sides copy it before any update. Objects
+ * that cannot be shared (e.g., language objects or connections) are serialized into buffers that
+ * are returned to a pool once the receiver has read them.
  */
 public class RChannel {
 
-    // TODO: cheaper way of serializing data (re-usable buffer?)
-
     private static final int INITIAL_CHANNEL_NUM = 4;
     private static final int CHANNEL_NUM_GROW_FACTOR = 2;
     private static final int QUEUE_CAPACITY = 1;
@@ -75,14 +89,81 @@ public class RChannel {
 
     private static final int CLOSED_CHANNEL_KEY = -1;
 
+    /**
+     * Names of the values returned by {@link #getStatistics(int)}.
+     */
+    public static final String[] STATISTICS_NAMES = new String[]{"sent", "received", "serializedBytes", "sharedBytes"};
+
     /*
      * Used to mediate access to the semaphore instances
      */
     private static final Semaphore create = new Semaphore(1, true);
 
+    private static final int BUFFER_POOL_CAPACITY = 8;
+    private static final int MAX_POOLED_BUFFER_SIZE = 1 << 22;
+
+    /*
+     * Serialization buffers shared by all channels, a buffer that grew over the limit is dropped
+     * rather than kept in the pool.
+     */
+    private static final ArrayBlockingQueue<SerializationBuffer> bufferPool = new ArrayBlockingQueue<>(BUFFER_POOL_CAPACITY);
+
     private final ArrayBlockingQueue<Object> primaryToWorker = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
     private final ArrayBlockingQueue<Object> workerToPrimary = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
 
+    private final Statistics primaryToWorkerStats = new Statistics();
+    private final Statistics workerToPrimaryStats = new Statistics();
+
+    /**
+     * Transfer statistics of one direction of a channel.
+     */
+    private static final class Statistics {
+        private final AtomicLong messagesSent = new AtomicLong();
+        private final AtomicLong messagesReceived = new AtomicLong();
+        private final AtomicLong serializedBytes = new AtomicLong();
+        private final AtomicLong sharedBytes = new AtomicLong();
+
+        void sent(Output out) {
+            messagesSent.incrementAndGet();
+            serializedBytes.addAndGet(out.serializedBytes);
+            sharedBytes.addAndGet(out.sharedBytes);
+        }
+
+        void received() {
+            messagesReceived.incrementAndGet();
+        }
+    }
+
+    /**
+     * Growable buffer that exposes its internal array so that the serialized data does not need
+     * to be copied.
+     */
+    private static final class SerializationBuffer extends ByteArrayOutputStream {
+
+        SerializationBuffer() {
+            super(8192);
+        }
+
+        byte[] getBuffer() {
+            return buf;
+        }
+
+        static SerializationBuffer acquire() {
+            SerializationBuffer buffer = bufferPool.poll();
+            if (buffer == null) {
+                return new SerializationBuffer();
+            }
+            return buffer;
+        }
+
+        void release() {
+            if (buf.length <= MAX_POOLED_BUFFER_SIZE) {
+                reset();
+                bufferPool.offer(this);
+            }
+        }
+    }
+
     public static int createChannel(int key) {
         if (key <= 0) {
             throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "channel's key must be positive");
@@ -217,6 +298,7 @@ public class RChannel {
         RChannel channel = getChannelFromId(id);
         try {
             (id > 0 ? channel.primaryToWorker : channel.workerToPrimary).put(msg);
+            (id > 0 ? channel.primaryToWorkerStats : channel.workerToPrimaryStats).sent(out);
         } catch (InterruptedException x) {
             throw RError.error(RError.SHOW_CALLER2, RError.Message.GENERIC, "error sending through the channel");
         }
@@ -236,6 +318,7 @@ public class RChannel {
                 msg = queue.take();
             }
             if (msg != null) {
+                (id < 0 ? channel.primaryToWorkerStats : channel.workerToPrimaryStats).received();
                 Input in = new Input();
                 return in.processedReceivedMessage(msg);
             }
@@ -249,12 +332,25 @@ public class RChannel {
         RChannel channel = getChannelFromId(id);
         Object msg = (id < 0 ? channel.primaryToWorker : channel.workerToPrimary).poll();
         if (msg != null) {
+            (id < 0 ? channel.primaryToWorkerStats : channel.workerToPrimaryStats).received();
             Input in = new Input();
             return in.processedReceivedMessage(msg);
         }
         return null;
     }
 
+    /**
+     * Returns the number of messages sent and received and the number of bytes transferred through
+     * the channel as seen from the side identified by {@code id}. The bytes of vectors handed over
+     * without copying are counted separately from the bytes of serialized objects.
+     */
+    public static double[] getStatistics(int id) {
+        RChannel channel = getChannelFromId(id);
+        Statistics out = id > 0 ? channel.primaryToWorkerStats : channel.workerToPrimaryStats;
+        Statistics in = id > 0 ? channel.workerToPrimaryStats : channel.primaryToWorkerStats;
+        return new double[]{out.messagesSent.get(), in.messagesReceived.get(), out.serializedBytes.get(), out.sharedBytes.get()};
+    }
+
     private static class TransmitterCommon extends RSerialize.RefCounter {
 
         protected static class SerializedRef {
@@ -404,9 +500,9 @@ public class RChannel {
         protected static class SerializedAttributable {
 
             private final DynamicObject attributes;
-            private final byte[] serializedAttributable;
+            private final SerializationBuffer serializedAttributable;
 
-            public SerializedAttributable(DynamicObject attributes, byte[] serializedAttributable) {
+            public SerializedAttributable(DynamicObject attributes, SerializationBuffer serializedAttributable) {
                 this.attributes = attributes;
                 this.serializedAttributable = serializedAttributable;
             }
@@ -415,7 +511,7 @@ public class RChannel {
                 return attributes;
             }
 
-            public byte[] getSerializedAttributable() {
+            public SerializationBuffer getSerializedAttributable() {
                 return serializedAttributable;
             }
         }
@@ -423,6 +519,9 @@ public class RChannel {
 
     private static class Output extends TransmitterCommon {
 
+        private long serializedBytes;
+        private long sharedBytes;
+
         private static Object makeShared(Object o) {
             if (RSharingAttributeStorage.isShareable(o)) {
                 RSharingAttributeStorage shareable = (RSharingAttributeStorage) o;
@@ -463,7 +562,8 @@ public class RChannel {
             DynamicObject attr = attributable.getAttributes();
             DynamicObject newAttr = createShareableSlow(attr, false);
             if (newAttr != attr && RSharingAttributeStorage.isShareable(attributable)) {
-                attributable = ((RSharingAttributeStorage) msg).copy();
+                RAbstractVector shallowCopy = msg instanceof RAbstractVector ? shareData((RAbstractVector) msg) : null;
+                attributable = shallowCopy != null ? shallowCopy : ((RSharingAttributeStorage) msg).copy();
             }
             // see convertListAttributesToPrivate() why it is OK to use initAttributes() here
             attributable.initAttributes(newAttr);
@@ -525,7 +625,14 @@ public class RChannel {
                 // them - should we define a new method to be used here?
                 attributable.initAttributes(null);
             }
-            byte[] serializedAttributable = RSerialize.serialize(RContext.getInstance(), attributable, RSerialize.XDR, RSerialize.DEFAULT_VERSION, null);
+            SerializationBuffer serializedAttributable = SerializationBuffer.acquire();
+            try {
+                RSerialize.serialize(RContext.getInstance(), serializedAttributable, attributable, RSerialize.XDR, RSerialize.DEFAULT_VERSION, null);
+            } catch (IOException | RuntimeException e) {
+                serializedAttributable.release();
+                throw e;
+            }
+            serializedBytes += serializedAttributable.size();
             if (attributes != null) {
                 attributable.initAttributes(attributes);
                 attributes = createShareableSlow(attributes, true);
@@ -551,8 +658,70 @@ public class RChannel {
             return o instanceof REnvironment || o instanceof RConnection || (o instanceof RPairList && ((RPairList) o).isLanguage());
         }
 
+        /**
+         * Creates a vector without attributes that uses the same data array as {@code v}, or
+         * returns {@code null} if the data are not held in a Java array. The original vector is made
+         * permanently shared, so that neither of them updates the array in place.
+         */
+        private static RAbstractVector shareData(RAbstractVector v) {
+            Object data = v.getData();
+            RAbstractVector result;
+            if (data instanceof RIntArrayVectorData && ((RIntArrayVectorData) data).getReadonlyIntData().length == v.getLength()) {
+                result = RDataFactory.createIntVector(((RIntArrayVectorData) data).getReadonlyIntData(), v.isComplete());
+            } else if (data instanceof RDoubleArrayVectorData && ((RDoubleArrayVectorData) data).getReadonlyDoubleData().length == v.getLength()) {
+                result = RDataFactory.createDoubleVector(((RDoubleArrayVectorData) data).getReadonlyDoubleData(), v.isComplete());
+            } else if (data instanceof RLogicalArrayVectorData && ((RLogicalArrayVectorData) data).getReadonlyLogicalData().length == v.getLength()) {
+                result = RDataFactory.createLogicalVector(((RLogicalArrayVectorData) data).getReadonlyLogicalData(), v.isComplete());
+            } else if (data instanceof RRawArrayVectorData && ((RRawArrayVectorData) data).getReadonlyRawData().length == v.getLength()) {
+                result = RDataFactory.createRawVector(((RRawArrayVectorData) data).getReadonlyRawData());
+            } else {
+                return null;
+            }
+            result.setTypedValueInfo(v.getTypedValueInfo());
+            makeShared(v);
+            return result;
+        }
+
+        private static int elementSize(RAbstractVector v) {
+            if (v instanceof RIntVector) {
+                return Integer.BYTES;
+            } else if (v instanceof RDoubleVector) {
+                return Double.BYTES;
+            } else {
+                return Byte.BYTES;
+            }
+        }
+
+        private Object convertAtomicVector(RAbstractVector vector) throws IOException {
+            RAbstractVector v = vector;
+            if (v.isAltRep() || v.isForeignWrapper()) {
+                // the data are provided by code running in the sending context, which must not be
+                // invoked from the receiving one
+                DynamicObject attributes = v.getAttributes();
+                v = v.copyDropAttributes();
+                if (attributes != null) {
+                    v.initAttributes(RAttributesLayout.copy(attributes));
+                }
+            }
+            sharedBytes += (long) v.getLength() * elementSize(v);
+            if (v.getAttributes() != null) {
+                Object newObj = convertObjectAttributesToPrivate(v);
+                if (newObj == v) {
+                    makeShared(v);
+                }
+                return newObj;
+            }
+            return makeShared(v);
+        }
+
+        private static boolean isAtomicVector(Object o) {
+            return o instanceof RIntVector || o instanceof RDoubleVector || o instanceof RLogicalVector || o instanceof RRawVector;
+        }
+
         private Object convertPrivate(Object o) throws IOException {
-            if (o instanceof RList) {
+            if (isAtomicVector(o)) {
+                return convertAtomicVector((RAbstractVector) o);
+            } else if (o instanceof RList) {
                 return convertPrivateListSlow(o);
             } else if (shareableEnv(o)) {
                 return convertPrivateEnv(o);
@@ -750,7 +919,13 @@ public class RChannel {
         @TruffleBoundary
         private static RAttributable unserializeAttributable(SerializedAttributable a) throws IOException {
             DynamicObject attributes = a.getAttributes();
-            RAttributable attributable = (RAttributable) RSerialize.unserialize(a.getSerializedAttributable(), null, null, null);
+            SerializationBuffer buffer = a.getSerializedAttributable();
+            RAttributable attributable;
+            try {
+                attributable = (RAttributable) RSerialize.unserialize(buffer.getBuffer(), buffer.size(), null, null, null);
+            } finally {
+                buffer.release();
+            }
             if (attributes != null) {
                 assert attributable.getAttributes() == null;
                 // attributes unserialized in caller methods
@@ -29,7 +29,6 @@ import java.io.OutputStream;
 import java.lang.ProcessBuilder.Redirect;
 import java.nio.file.OpenOption;
 import java.nio.file.StandardOpenOption;
-import java.util.Arrays;
 import java.util.zip.GZIPInputStream;
 
 import org.graalvm.shadowed.org.tukaani.xz.LZMA2InputStream;
@@ -199,55 +198,175 @@ public class RCompression {
         }
     }
 
-    public static byte[] bzipUncompressFromFile(TruffleFile path) throws IOException {
+    /**
+     * Returns a stream of the uncompressed content of the bzip2 file {@code path}. The data is
+     * decompressed by a {@code bzip2} sub-process while it is being read, so only the pipe buffer
+     * is held in memory. Closing the stream before the end of the data terminates the sub-process.
+     */
+    public static InputStream bzipUncompressStream(TruffleFile path) throws IOException {
         String[] command = new String[]{"bzip2", "-dc", path.getPath()};
         ProcessBuilder pb = new ProcessBuilder(command);
         pb.redirectError(Redirect.INHERIT);
         Process p = pb.start();
-        InputStream is = p.getInputStream();
-        ProcessOutputManager.OutputThreadVariable readThread = new ProcessOutputManager.OutputThreadVariable(command[0], is);
-        readThread.start();
-        try {
-            int rc = p.waitFor();
-            if (rc == 0) {
-                readThread.join();
-                return Arrays.copyOf(readThread.getData(), readThread.getTotalRead());
-            } else {
-                throw new IOException("bzip2 error code: " + rc);
-            }
-        } catch (InterruptedException ex) {
-            // fall through
-        }
-        throw new IOException();
+        p.getOutputStream().close();
+        return new BZip2ProcessInputStream(p);
     }
 
-    public static void bzipCompressToFile(byte[] data, TruffleFile path, boolean append) throws IOException {
+    /**
+     * Returns a stream that compresses the data written to it into the file {@code path}. The
+     * compression is done by a {@code bzip2} sub-process whose output is copied to the file as it
+     * is produced. The file is complete once the stream has been closed.
+     */
+    public static OutputStream bzipCompressStream(TruffleFile path, boolean append) throws IOException {
         String[] command = new String[]{"bzip2", "-zc"};
-        int rc;
+        OpenOption[] openOptions = append ? new OpenOption[]{StandardOpenOption.CREATE, StandardOpenOption.APPEND} : new OpenOption[0];
+        OutputStream fileStream = path.newOutputStream(openOptions);
         ProcessBuilder pb = new ProcessBuilder(command);
         pb.redirectError(Redirect.INHERIT);
-        Process p = pb.start();
-        InputStream is = p.getInputStream();
-        OutputStream os = p.getOutputStream();
-        ProcessOutputManager.OutputThreadVariable readThread = new ProcessOutputManager.OutputThreadVariable(command[0], is);
-        readThread.start();
-        os.write(data);
-        os.close();
+        Process p;
+        try {
+            p = pb.start();
+        } catch (IOException ex) {
+            fileStream.close();
+            throw ex;
+        }
+        ProcessOutputManager.OutputThreadStream copyThread = new ProcessOutputManager.OutputThreadStream(command[0], p.getInputStream(), fileStream);
+        copyThread.start();
+        return new BZip2ProcessOutputStream(p, copyThread, fileStream);
+    }
+
+    private static void checkBzipExitCode(Process p) throws IOException {
+        int rc;
         try {
             rc = p.waitFor();
-            if (rc == 0) {
-                readThread.join();
-                byte[] cData = Arrays.copyOf(readThread.getData(), readThread.getTotalRead());
-                OpenOption[] openOptions = append ? new OpenOption[]{StandardOpenOption.APPEND} : new OpenOption[0];
-                path.newOutputStream(openOptions).write(cData);
+        } catch (InterruptedException ex) {
+            throw new IOException(ex);
+        }
+        if (rc != 0) {
+            throw new IOException("bzip2 error code: " + rc);
+        }
+    }
+
+    private static final class BZip2ProcessInputStream extends InputStream {
+        private final Process process;
+        private final InputStream is;
+        private boolean eof;
+        private boolean closed;
+
+        BZip2ProcessInputStream(Process process) {
+            this.process = process;
+            this.is = process.getInputStream();
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            int n = read(b, 0, 1);
+            return n == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (eof) {
+                return -1;
+            }
+            int n = is.read(b, off, len);
+            if (n == -1) {
+                eof = true;
+                // a truncated or corrupt file is only detected by the exit code
+                checkBzipExitCode(process);
+            }
+            return n;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return eof ? 0 : is.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                if (!eof) {
+                    process.destroy();
+                }
+                is.close();
+            }
+        }
+    }
+
+    private static final class BZip2ProcessOutputStream extends OutputStream {
+        private final Process process;
+        private final OutputStream os;
+        private final ProcessOutputManager.OutputThreadStream copyThread;
+        private final OutputStream fileStream;
+        private boolean closed;
+
+        BZip2ProcessOutputStream(Process process, ProcessOutputManager.OutputThreadStream copyThread, OutputStream fileStream) {
+            this.process = process;
+            this.os = process.getOutputStream();
+            this.copyThread = copyThread;
+            this.fileStream = fileStream;
+        }
+
+        /**
+         * Once the compressed output can no longer be written to the file, the sub-process is
+         * terminated and the error reported, rather than feeding it more data.
+         */
+        private void checkCopyError() throws IOException {
+            IOException error = copyThread.getCurrentError();
+            if (error != null) {
+                process.destroy();
+                throw error;
+            }
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            checkCopyError();
+            os.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            checkCopyError();
+            os.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            checkCopyError();
+            os.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
                 return;
-            } else {
-                throw new IOException("bzip2 error code: " + rc);
             }
-        } catch (InterruptedException ex) {
-            // fall through
+            closed = true;
+            try {
+                IOException error = copyThread.getCurrentError();
+                if (error != null) {
+                    process.destroy();
+                    try {
+                        os.close();
+                    } catch (IOException ex) {
+                        // the pipe is broken by the terminated process
+                    }
+                    throw error;
+                }
+                os.close();
+                error = copyThread.getError();
+                if (error != null) {
+                    throw error;
+                }
+                checkBzipExitCode(process);
+            } finally {
+                fileStream.close();
+            }
         }
-        throw new IOException();
     }
 
     public static String getBz2Version() throws IOException {
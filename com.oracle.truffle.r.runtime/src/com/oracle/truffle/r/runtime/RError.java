@@ -1028,6 +1028,8 @@ public final class RError extends AbstractTruffleException {
         UNSUPPORTED_ENCODING_CONVERSION("unsupported conversion from '%s' to '%s'"),
         UNABLE_TO_RESOLVE("unable to resolve '%s'"),
         LINE_CONTAINS_EMBEDDED_NULLS("line %d appears to contain an embedded nul"),
+        EMBEDDED_NULS_FOUND("embedded nul(s) found in input"),
+        EOF_WITHIN_QUOTED_STRING("EOF within quoted string"),
         UNSUPPORTED_URL_METHOD("method = \"%s\" is not supported"),
         CANNOT_REPLICATE_NULL("cannot replicate NULL to a non-zero length"),
         TRUNCATE_ONLY_WRITE_CONNECTION("can only truncate connections open for writing"),
@@ -113,6 +113,11 @@ public class RLogger {
      */
     public static final String LOGGER_PCRE = "com.oracle.truffle.r.pcre";
 
+    /**
+     * Log the statistics of the S3 method resolution cache at the end of each context.
+     */
+    public static final String LOGGER_S3_DISPATCH = "com.oracle.truffle.r.s3Dispatch";
+
     public static final String LOGGER_FRAMES = "com.oracle.truffle.r.frames";
 
     public static final String LOGGER_AST = "com.oracle.truffle.r.ast";
@@ -27,11 +27,18 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Deque;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -60,7 +67,10 @@ import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.source.SourceSection;
 import com.oracle.truffle.r.common.RVersionNumber;
 import com.oracle.truffle.r.runtime.RError.Message;
+import com.oracle.truffle.r.runtime.conn.ConnectionSupport.BaseRConnection;
 import com.oracle.truffle.r.runtime.conn.RConnection;
+import com.oracle.truffle.r.runtime.conn.RConnection.SeekMode;
+import com.oracle.truffle.r.runtime.conn.RConnection.SeekRWMode;
 import com.oracle.truffle.r.runtime.context.FastROptions;
 import com.oracle.truffle.r.runtime.context.RContext;
 import com.oracle.truffle.r.runtime.data.Closure;
@@ -70,10 +80,12 @@ import com.oracle.truffle.r.runtime.data.RAttributesLayout;
 import com.oracle.truffle.r.runtime.data.RBaseObject;
 import com.oracle.truffle.r.runtime.data.RComplexVector;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RDoubleMappedVectorData;
 import com.oracle.truffle.r.runtime.data.RDoubleVector;
 import com.oracle.truffle.r.runtime.data.REmpty;
 import com.oracle.truffle.r.runtime.data.RExternalPtr;
 import com.oracle.truffle.r.runtime.data.RFunction;
+import com.oracle.truffle.r.runtime.data.RIntMappedVectorData;
 import com.oracle.truffle.r.runtime.data.RIntSeqVectorData;
 import com.oracle.truffle.r.runtime.data.RIntVector;
 import com.oracle.truffle.r.runtime.data.RList;
@@ -249,10 +261,18 @@ public class RSerialize {
             super(buf);
         }
 
+        public PByteArrayInputStream(byte[] buf, int length) {
+            super(buf, 0, length);
+        }
+
         byte[] getData() {
             return buf;
         }
 
+        int getCount() {
+            return count;
+        }
+
         int pos() {
             return pos;
         }
@@ -385,9 +405,16 @@ public class RSerialize {
 
     @TruffleBoundary
     public static Object unserialize(RConnection conn) throws IOException {
-        Input instance = trace() ? new TracingInput(conn) : new Input(conn);
-        Object result = instance.unserialize();
-        return result;
+        if (trace()) {
+            return new TracingInput(conn).unserialize();
+        }
+        Input instance = new Input(conn);
+        try {
+            instance.initMapping(conn);
+            return instance.unserialize();
+        } finally {
+            instance.closeMapping();
+        }
     }
 
     @TruffleBoundary
@@ -409,7 +436,16 @@ public class RSerialize {
      */
     @TruffleBoundary
     public static Object unserialize(byte[] data, CallHook hook, String packageName, String functionName) throws IOException {
-        InputStream is = new PByteArrayInputStream(data);
+        return unserialize(data, data.length, hook, packageName, functionName);
+    }
+
+    /**
+     * Like {@link #unserialize(byte[], CallHook, String, String)} but only the first {@code length}
+     * bytes of {@code data} are read, so that a re-used buffer can be passed.
+     */
+    @TruffleBoundary
+    public static Object unserialize(byte[] data, int length, CallHook hook, String packageName, String functionName) throws IOException {
+        InputStream is = new PByteArrayInputStream(data, length);
         Input instance = trace() ? new TracingInput(is, hook, packageName, functionName) : new Input(is, hook, packageName, functionName);
         Object result = instance.unserialize();
         return result;
@@ -437,6 +473,26 @@ public class RSerialize {
          */
         private int langDepth;
 
+        private final ByteOrder byteOrder;
+
+        /**
+         * Only set if large vectors are mapped from the file instead of being read, see
+         * {@link FastROptions#MappedUnserializeThreshold}.
+         */
+        private FileChannel mappedChannel;
+        private RConnection mappedConnection;
+        /**
+         * Anonymous temporary file to which the mapped vectors are copied, so that they do not
+         * depend on the read file, which may be overwritten or truncated while they are in use, e.g.
+         * by {@code saveRDS(readRDS(f), f)}. Created with the first mapped vector.
+         */
+        private FileChannel snapshotChannel;
+        /**
+         * The file offset corresponding to the start of {@link #stream}.
+         */
+        private long mappedStreamStart;
+        private long mappedThreshold;
+
         private Input(RConnection conn) throws IOException {
             this(conn.getInputStream(), null, null, null);
         }
@@ -453,10 +509,14 @@ public class RSerialize {
             is.read(buf);
             switch (buf[0]) {
                 case 'A':
-                case 'B':
                     throw formatError(buf[0], true);
+                case 'B':
+                    byteOrder = ByteOrder.nativeOrder();
+                    stream = new XdrInputFormat(is, byteOrder);
+                    break;
                 case 'X':
-                    stream = new XdrInputFormat(is);
+                    byteOrder = ByteOrder.BIG_ENDIAN;
+                    stream = new XdrInputFormat(is, byteOrder);
                     break;
                 case '\n':
                     // special case in 'A'
@@ -466,6 +526,102 @@ public class RSerialize {
             }
         }
 
+        /**
+         * Enables the mapping of large vectors if the option is set and the connection reads an
+         * uncompressed file. Must be called before anything but the format is read.
+         */
+        private void initMapping(RConnection conn) throws IOException {
+            int threshold = RContext.getInstance().getNonNegativeIntOption(FastROptions.MappedUnserializeThreshold);
+            if (threshold == 0 || !(conn instanceof BaseRConnection)) {
+                return;
+            }
+            TruffleFile file = ((BaseRConnection) conn).getUncompressedInputFile();
+            if (file == null) {
+                return;
+            }
+            SeekableByteChannel channel = file.newByteChannel(Collections.singleton(StandardOpenOption.READ));
+            if (!(channel instanceof FileChannel)) {
+                // not a file of the default file system
+                channel.close();
+                return;
+            }
+            mappedChannel = (FileChannel) channel;
+            mappedConnection = conn;
+            mappedStreamStart = conn.seek(0, SeekMode.ENQUIRE, SeekRWMode.READ);
+            mappedThreshold = (long) threshold << 20;
+        }
+
+        private void closeMapping() throws IOException {
+            if (mappedChannel != null) {
+                // the mappings stay valid
+                mappedChannel.close();
+                mappedChannel = null;
+            }
+            if (snapshotChannel != null) {
+                // deletes the snapshot file, the mappings stay valid
+                snapshotChannel.close();
+                snapshotChannel = null;
+            }
+        }
+
+        /**
+         * Copies {@code size} bytes at {@code offset} of the read file to the end of the snapshot
+         * file and returns their offset in the snapshot file. The copy is done by the file system,
+         * the data do not pass through the heap.
+         */
+        private long snapshot(long offset, long size) throws IOException {
+            long snapshotOffset = snapshotChannel.size();
+            long copied = 0;
+            while (copied < size) {
+                long n = mappedChannel.transferTo(offset + copied, size - copied, snapshotChannel);
+                if (n <= 0) {
+                    throw new IOException("unexpected end of file");
+                }
+                copied += n;
+            }
+            return snapshotOffset;
+        }
+
+        private boolean isMapped(int length, int elementSize) throws IOException {
+            if (mappedChannel == null || (long) length * elementSize < mappedThreshold) {
+                return false;
+            }
+            if (snapshotChannel == null) {
+                RContext context = RContext.getInstance();
+                String path = TempPathName.createNonExistingFilePath(context, "mapped", TempPathName.tempDirPathChecked(context), "");
+                SeekableByteChannel channel = context.getSafeTruffleFile(path).newByteChannel(
+                                EnumSet.of(StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW, StandardOpenOption.DELETE_ON_CLOSE));
+                if (!(channel instanceof FileChannel)) {
+                    // the temporary directory is not in the default file system
+                    channel.close();
+                    closeMapping();
+                    return false;
+                }
+                snapshotChannel = (FileChannel) channel;
+            }
+            return true;
+        }
+
+        /**
+         * Maps a snapshot of the elements of a vector at the current position and skips them in the
+         * connection.
+         */
+        private Object readMappedVector(SEXPTYPE type, int length) throws IOException {
+            long offset = mappedStreamStart + stream.getPosition();
+            long size = (long) length * (type == SEXPTYPE.INTSXP ? Integer.BYTES : Double.BYTES);
+            long snapshotOffset = snapshot(offset, size);
+            Object result;
+            if (type == SEXPTYPE.INTSXP) {
+                result = RIntVector.createMapped(RIntMappedVectorData.create(snapshotChannel, snapshotOffset, length, byteOrder));
+            } else {
+                assert type == SEXPTYPE.REALSXP;
+                result = RDoubleVector.createMapped(RDoubleMappedVectorData.create(snapshotChannel, snapshotOffset, length, byteOrder));
+            }
+            mappedConnection.seek(offset + size, SeekMode.START, SeekRWMode.READ);
+            stream.repositioned(size);
+            return result;
+        }
+
         private int inRefIndex(int flags) throws IOException {
             int i = unpackRefIndex(flags);
             if (i == 0) {
@@ -863,15 +1019,12 @@ public class RSerialize {
 
                 case INTSXP: {
                     int len = stream.readInt();
-                    int[] data = new int[len];
-                    boolean complete = RDataFactory.COMPLETE_VECTOR;
-                    for (int i = 0; i < len; i++) {
-                        int intVal = stream.readInt();
-                        if (intVal == RRuntime.INT_NA) {
-                            complete = false;
-                        }
-                        data[i] = intVal;
+                    if (isMapped(len, Integer.BYTES)) {
+                        result = readMappedVector(type, len);
+                        break;
                     }
+                    int[] data = new int[len];
+                    boolean complete = stream.readInts(data);
                     result = RDataFactory.createIntVector(data, complete);
                     break;
                 }
@@ -879,31 +1032,19 @@ public class RSerialize {
                 case LGLSXP: {
                     int len = stream.readInt();
                     byte[] data = new byte[len];
-                    boolean complete = RDataFactory.COMPLETE_VECTOR;
-                    for (int i = 0; i < len; i++) {
-                        int intVal = stream.readInt();
-                        if (intVal == RRuntime.INT_NA) {
-                            complete = false;
-                            data[i] = RRuntime.LOGICAL_NA;
-                        } else {
-                            data[i] = (byte) intVal;
-                        }
-                    }
+                    boolean complete = stream.readLogicals(data);
                     result = RDataFactory.createLogicalVector(data, complete);
                     break;
                 }
 
                 case REALSXP: {
                     int len = stream.readInt();
-                    double[] data = new double[len];
-                    boolean complete = RDataFactory.COMPLETE_VECTOR;
-                    for (int i = 0; i < len; i++) {
-                        double doubleVal = stream.readDouble();
-                        if (RRuntime.isNA(doubleVal)) {
-                            complete = false;
-                        }
-                        data[i] = doubleVal;
+                    if (isMapped(len, Double.BYTES)) {
+                        result = readMappedVector(type, len);
+                        break;
                     }
+                    double[] data = new double[len];
+                    boolean complete = stream.readDoubles(data);
                     result = RDataFactory.createDoubleVector(data, complete);
                     break;
                 }
@@ -911,23 +1052,13 @@ public class RSerialize {
                 case CPLXSXP: {
                     int len = stream.readInt();
                     double[] data = new double[2 * len];
-                    boolean complete = RDataFactory.COMPLETE_VECTOR;
-                    for (int i = 0; i < len; i++) {
-                        int ix = 2 * i;
-                        double reVal = stream.readDouble();
-                        if (RRuntime.isNA(reVal)) {
-                            complete = false;
-                        }
-                        double imVal = stream.readDouble();
-                        if (RRuntime.isNA(imVal)) {
-                            complete = false;
-                        }
-                        if (RRuntime.isNA(reVal) && RRuntime.isNA(imVal)) {
-                            data[ix] = RRuntime.COMPLEX_NA_REAL_PART;
-                            data[ix + 1] = RRuntime.COMPLEX_NA_IMAGINARY_PART;
-                        } else {
-                            data[ix] = reVal;
-                            data[ix + 1] = imVal;
+                    boolean complete = stream.readDoubles(data);
+                    if (!complete) {
+                        for (int ix = 0; ix < data.length; ix += 2) {
+                            if (RRuntime.isNA(data[ix]) && RRuntime.isNA(data[ix + 1])) {
+                                data[ix] = RRuntime.COMPLEX_NA_REAL_PART;
+                                data[ix + 1] = RRuntime.COMPLEX_NA_IMAGINARY_PART;
+                            }
                         }
                     }
                     result = RDataFactory.createComplexVector(data, complete);
@@ -1239,6 +1370,37 @@ public class RSerialize {
 
         abstract void readRaw(byte[] data) throws IOException;
 
+        /**
+         * Reads {@code data.length} integers.
+         *
+         * @return {@code true} if none of the values is {@code NA}
+         */
+        abstract boolean readInts(int[] data) throws IOException;
+
+        /**
+         * Reads {@code data.length} logicals, which are serialized as integers.
+         *
+         * @return {@code true} if none of the values is {@code NA}
+         */
+        abstract boolean readLogicals(byte[] data) throws IOException;
+
+        /**
+         * Reads {@code data.length} doubles.
+         *
+         * @return {@code true} if none of the values is {@code NA}
+         */
+        abstract boolean readDoubles(double[] data) throws IOException;
+
+        /**
+         * Returns the number of bytes consumed from the input stream so far.
+         */
+        abstract long getPosition();
+
+        /**
+         * Drops the buffered data after the input stream was moved {@code n} bytes after the
+         * current position.
+         */
+        abstract void repositioned(long n);
     }
 
     @SuppressWarnings("unused")
@@ -1248,34 +1410,45 @@ public class RSerialize {
         }
     }
 
-    @SuppressWarnings("unused")
-    private abstract static class BinaryInputFormat extends PInputStream {
-        BinaryInputFormat(InputStream is) {
-            super(is);
-        }
-    }
-
+    /**
+     * Reads the XDR format, which is big-endian, or the native binary format, which only differs
+     * in the byte order. Vectors are decoded in blocks through a {@link ByteBuffer} view of the
+     * read buffer, which does not need to swap the bytes if the order is the native one.
+     */
     private static final class XdrInputFormat extends PInputStream {
 
         private static final int READ_BUFFER_SIZE = 32 * 1024;
 
         private final class Buffer {
             private final byte[] buf;
+            private final ByteBuffer byteBuffer;
             private int size;
             private int offset;
 
             Buffer(byte[] buf) {
                 this.buf = buf;
+                this.byteBuffer = ByteBuffer.wrap(buf).order(order);
             }
 
             int readInt() {
-                return ((buf[offset++] & 0xff) << 24 | (buf[offset++] & 0xff) << 16 | (buf[offset++] & 0xff) << 8 | (buf[offset++] & 0xff));
+                int result = byteBuffer.getInt(offset);
+                offset += Integer.BYTES;
+                return result;
             }
 
             double readDouble() {
-                long val = ((long) (buf[offset++] & 0xff) << 56 | (long) (buf[offset++] & 0xff) << 48 | (long) (buf[offset++] & 0xff) << 40 | (long) (buf[offset++] & 0xff) << 32 |
-                                (long) (buf[offset++] & 0xff) << 24 | (long) (buf[offset++] & 0xff) << 16 | (long) (buf[offset++] & 0xff) << 8 | buf[offset++] & 0xff);
-                return Double.longBitsToDouble(val);
+                double result = byteBuffer.getDouble(offset);
+                offset += Double.BYTES;
+                return result;
+            }
+
+            /**
+             * Returns a view of the next {@code len} bytes and skips them.
+             */
+            ByteBuffer view(int len) {
+                ByteBuffer result = ByteBuffer.wrap(buf, offset, len).order(order);
+                offset += len;
+                return result;
             }
 
             @SuppressWarnings("deprecation")
@@ -1330,6 +1503,7 @@ public class RSerialize {
                             throw RInternalError.unimplemented("handle unexpected eof");
                         }
                         size += nread;
+                        totalRead += nread;
                     }
                 }
             }
@@ -1342,16 +1516,25 @@ public class RSerialize {
          */
         private final Buffer defaultBuffer;
 
+        private final ByteOrder order;
+
+        /**
+         * Number of bytes read from the input stream into the buffers.
+         */
+        private long totalRead;
+
         private final WeakHashMap<String, WeakReference<String>> strings = RContext.getInstance().stringMap;
 
-        XdrInputFormat(InputStream is) {
+        XdrInputFormat(InputStream is, ByteOrder order) {
             super(is);
+            this.order = order;
             if (is instanceof PByteArrayInputStream) {
                 // we already have the data and we have read the beginning
                 PByteArrayInputStream pbis = (PByteArrayInputStream) is;
                 defaultBuffer = new Buffer(pbis.getData());
-                defaultBuffer.size = pbis.getData().length;
+                defaultBuffer.size = pbis.getCount();
                 defaultBuffer.offset = pbis.pos();
+                totalRead = defaultBuffer.size - defaultBuffer.offset;
             } else {
                 defaultBuffer = new Buffer(new byte[READ_BUFFER_SIZE]);
                 defaultBuffer.size = 0;
@@ -1379,6 +1562,76 @@ public class RSerialize {
             ensureData(data.length).readRaw(data);
         }
 
+        @Override
+        long getPosition() {
+            return totalRead - (defaultBuffer.size - defaultBuffer.offset);
+        }
+
+        @Override
+        void repositioned(long n) {
+            totalRead = getPosition() + n;
+            defaultBuffer.offset = defaultBuffer.size = 0;
+        }
+
+        /**
+         * Number of elements of given size that are decoded at once, the blocks always fit into
+         * the default buffer.
+         */
+        private int blockLength(int elementSize) {
+            return Math.max(1, defaultBuffer.buf.length / elementSize);
+        }
+
+        @Override
+        boolean readInts(int[] data) throws IOException {
+            boolean complete = true;
+            int block = blockLength(Integer.BYTES);
+            for (int pos = 0; pos < data.length;) {
+                int n = Math.min(block, data.length - pos);
+                ensureData(n * Integer.BYTES).view(n * Integer.BYTES).asIntBuffer().get(data, pos, n);
+                for (int i = pos; i < pos + n; i++) {
+                    complete &= data[i] != RRuntime.INT_NA;
+                }
+                pos += n;
+            }
+            return complete;
+        }
+
+        @Override
+        boolean readLogicals(byte[] data) throws IOException {
+            boolean complete = true;
+            int[] values = new int[Math.min(blockLength(Integer.BYTES), data.length)];
+            for (int pos = 0; pos < data.length;) {
+                int n = Math.min(values.length, data.length - pos);
+                ensureData(n * Integer.BYTES).view(n * Integer.BYTES).asIntBuffer().get(values, 0, n);
+                for (int i = 0; i < n; i++) {
+                    int value = values[i];
+                    if (value == RRuntime.INT_NA) {
+                        complete = false;
+                        data[pos + i] = RRuntime.LOGICAL_NA;
+                    } else {
+                        data[pos + i] = (byte) value;
+                    }
+                }
+                pos += n;
+            }
+            return complete;
+        }
+
+        @Override
+        boolean readDoubles(double[] data) throws IOException {
+            boolean complete = true;
+            int block = blockLength(Double.BYTES);
+            for (int pos = 0; pos < data.length;) {
+                int n = Math.min(block, data.length - pos);
+                ensureData(n * Double.BYTES).view(n * Double.BYTES).asDoubleBuffer().get(data, pos, n);
+                for (int i = pos; i < pos + n; i++) {
+                    complete &= !RRuntime.isNA(data[i]);
+                }
+                pos += n;
+            }
+            return complete;
+        }
+
         private Buffer ensureData(int n) throws IOException {
             Buffer usedBuffer;
             if (n > defaultBuffer.buf.length) {
@@ -1474,28 +1727,37 @@ public class RSerialize {
 
         abstract void writeRaw(byte value) throws IOException;
 
+        abstract void writeInts(int[] data, int length) throws IOException;
+
+        abstract void writeDoubles(double[] data, int length) throws IOException;
+
         abstract void flush() throws IOException;
 
     }
 
+    /**
+     * Writes the XDR format, or the native binary format if the byte order is not big-endian.
+     */
     private static class XdrOutputFormat extends POutputStream {
         private final byte[] buf;
+        private final ByteBuffer byteBuffer;
+        private final ByteOrder order;
         private int offset;
 
-        XdrOutputFormat(OutputStream os) {
+        XdrOutputFormat(OutputStream os, byte format, ByteOrder order) {
             super(os);
+            this.order = order;
             buf = new byte[8192];
-            buf[offset++] = 'X';
+            byteBuffer = ByteBuffer.wrap(buf).order(order);
+            buf[offset++] = format;
             buf[offset++] = '\n';
         }
 
         @Override
         void writeInt(int value) throws IOException {
             ensureSpace(4);
-            buf[offset++] = (byte) (value >>> 24);
-            buf[offset++] = (byte) (value >> 16);
-            buf[offset++] = (byte) (value >> 8);
-            buf[offset++] = (byte) value;
+            byteBuffer.putInt(offset, value);
+            offset += 4;
         }
 
         @Override
@@ -1541,15 +1803,36 @@ public class RSerialize {
         @Override
         void writeDouble(double value) throws IOException {
             ensureSpace(8);
-            long valueBits = Double.doubleToRawLongBits(value);
-            buf[offset++] = (byte) (valueBits >>> 56);
-            buf[offset++] = (byte) ((valueBits >> 48) & 0xff);
-            buf[offset++] = (byte) ((valueBits >> 40) & 0xff);
-            buf[offset++] = (byte) ((valueBits >> 32) & 0xff);
-            buf[offset++] = (byte) ((valueBits >> 24) & 0xff);
-            buf[offset++] = (byte) ((valueBits >> 16) & 0xff);
-            buf[offset++] = (byte) ((valueBits >> 8) & 0xff);
-            buf[offset++] = (byte) (valueBits & 0xff);
+            byteBuffer.putDouble(offset, value);
+            offset += 8;
+        }
+
+        @Override
+        void writeInts(int[] data, int length) throws IOException {
+            for (int pos = 0; pos < length;) {
+                int n = Math.min(length - pos, (buf.length - offset) / Integer.BYTES);
+                if (n == 0) {
+                    flushBuffer();
+                    continue;
+                }
+                ByteBuffer.wrap(buf, offset, n * Integer.BYTES).order(order).asIntBuffer().put(data, pos, n);
+                offset += n * Integer.BYTES;
+                pos += n;
+            }
+        }
+
+        @Override
+        void writeDoubles(double[] data, int length) throws IOException {
+            for (int pos = 0; pos < length;) {
+                int n = Math.min(length - pos, (buf.length - offset) / Double.BYTES);
+                if (n == 0) {
+                    flushBuffer();
+                    continue;
+                }
+                ByteBuffer.wrap(buf, offset, n * Double.BYTES).order(order).asDoubleBuffer().put(data, pos, n);
+                offset += n * Double.BYTES;
+                pos += n;
+            }
         }
 
         private void ensureSpace(int n) throws IOException {
@@ -1593,7 +1876,10 @@ public class RSerialize {
             switch (format) {
                 case ANY:
                 case XDR:
-                    stream = new XdrOutputFormat(os);
+                    stream = new XdrOutputFormat(os, (byte) 'X', ByteOrder.BIG_ENDIAN);
+                    break;
+                case BINARY:
+                    stream = new XdrOutputFormat(os, (byte) 'B', ByteOrder.nativeOrder());
                     break;
                 default:
                     throw formatError((byte) format, true);
@@ -1620,6 +1906,31 @@ public class RSerialize {
             stream.flush();
         }
 
+        /**
+         * Returns the Java array holding the elements of the vector or {@code null} if the data
+         * are not in a Java array, e.g. in native memory or computed.
+         */
+        private static Object getArrayData(RAbstractVector vector) {
+            if (vector.isAltRep() || !vector.isMaterialized()) {
+                return null;
+            }
+            return vector.getInternalManagedData();
+        }
+
+        private void writeLogicals(byte[] data, int length) throws IOException {
+            stream.writeInt(length);
+            int[] values = new int[Math.min(length, 1024)];
+            for (int pos = 0; pos < length;) {
+                int n = Math.min(values.length, length - pos);
+                for (int i = 0; i < n; i++) {
+                    byte value = data[pos + i];
+                    values[i] = RRuntime.isNA(value) ? RRuntime.INT_NA : value;
+                }
+                stream.writeInts(values, n);
+                pos += n;
+            }
+        }
+
         private static SEXPTYPE saveSpecialHook(Object item) {
             if (item == RNull.instance) {
                 return SEXPTYPE.NILVALUE_SXP;
@@ -1787,6 +2098,16 @@ public class RSerialize {
                             case LGLSXP: {
                                 // logicals are written as ints
                                 RAbstractVector vector = (RAbstractVector) obj;
+                                Object managedData = getArrayData(vector);
+                                if (managedData instanceof int[]) {
+                                    int[] data = (int[]) managedData;
+                                    stream.writeInt(vector.getLength());
+                                    stream.writeInts(data, vector.getLength());
+                                    break;
+                                } else if (managedData instanceof byte[]) {
+                                    writeLogicals((byte[]) managedData, vector.getLength());
+                                    break;
+                                }
                                 VectorAccess access = vector.slowPathAccess();
                                 SequentialIterator iter = access.access(vector);
                                 stream.writeInt(access.getLength(iter));
@@ -1798,6 +2119,12 @@ public class RSerialize {
 
                             case REALSXP: {
                                 RDoubleVector vector = (RDoubleVector) obj;
+                                Object managedData = getArrayData(vector);
+                                if (managedData != null) {
+                                    stream.writeInt(vector.getLength());
+                                    stream.writeDoubles((double[]) managedData, vector.getLength());
+                                    break;
+                                }
                                 VectorAccess access = vector.slowPathAccess();
                                 SequentialIterator iter = access.access(vector);
                                 stream.writeInt(access.getLength(iter));
@@ -2461,6 +2788,15 @@ public class RSerialize {
         }
     }
 
+    /**
+     * Serializes into the given stream, which allows the caller to re-use the buffer.
+     */
+    @TruffleBoundary
+    public static void serialize(RContext context, OutputStream out, Object obj, int type, int version, Object refhook) throws IOException {
+        Output output = new Output(context, type, version, (CallHook) refhook, out);
+        output.serialize(obj);
+    }
+
     @TruffleBoundary
     public static void serialize(RContext context, RConnection conn, Object obj, int type, int version, Object refhook) throws IOException {
         Output output = new Output(context, type, version, (CallHook) refhook, conn.getOutputStream());
@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLogger;
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.ffi.PCRE2RFFI;
+import com.oracle.truffle.r.runtime.ffi.RFFIFactory;
+
+/**
+ * A size-bounded LRU cache of compiled regular expressions shared by {@code grep}, {@code sub},
+ * {@code regexpr} and friends. Three kinds of entries are cached, all keyed by the pattern text and
+ * the flags:
+ * <ul>
+ * <li>the result of {@link RegExp#transformPatternToGnurCompatible(String)},</li>
+ * <li>compiled {@link Pattern} instances for the Java regexp engine,</li>
+ * <li>compiled PCRE2 patterns ({@link PCRE2RFFI.CompileResult}).</li>
+ * </ul>
+ * The cache owns the native memory of the PCRE2 patterns it holds: callers must not release them,
+ * the memory is released when the entry is evicted or when the context is finalized. Callers that
+ * use PCRE2 patterns obtained from the cache must do so between {@link #beginUse()} and
+ * {@link #endUse()}: patterns evicted in the meantime, e.g. by compiling further patterns, are
+ * released only when the last such use ends.
+ */
+public final class RegExpCache {
+    private static final TruffleLogger logger = RLogger.getLogger(RLogger.LOGGER_PCRE);
+
+    private enum Kind {
+        TRANSFORMED,
+        JAVA,
+        PCRE
+    }
+
+    private static final class Key {
+        private final Kind kind;
+        private final String pattern;
+        private final int flags;
+
+        Key(Kind kind, String pattern, int flags) {
+            this.kind = kind;
+            this.pattern = pattern;
+            this.flags = flags;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return kind == other.kind && flags == other.flags && pattern.equals(other.pattern);
+        }
+
+        @Override
+        public int hashCode() {
+            return (pattern.hashCode() * 31 + flags) * 31 + kind.ordinal();
+        }
+    }
+
+    private final int maxSize;
+    private final Consumer<Object> pcreRelease;
+    private final LinkedHashMap<Key, Object> entries;
+    private final ArrayList<Object> pendingRelease = new ArrayList<>();
+    private int users;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param maxSize maximum number of entries (of all kinds together), at least one.
+     * @param pcreRelease invoked with {@link PCRE2RFFI.CompileResult#compiledPattern} of evicted
+     *            PCRE2 entries.
+     */
+    public RegExpCache(int maxSize, Consumer<Object> pcreRelease) {
+        this.maxSize = Math.max(1, maxSize);
+        this.pcreRelease = pcreRelease;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Cached version of {@link RegExp#transformPatternToGnurCompatible(String)}.
+     */
+    @TruffleBoundary
+    public synchronized String getTransformedPattern(String pattern) {
+        if (RRuntime.isNA(pattern)) {
+            // the NA string is compared by identity, which must be preserved
+            return pattern;
+        }
+        Key key = new Key(Kind.TRANSFORMED, pattern, 0);
+        String result = (String) lookup(key);
+        if (result == null) {
+            result = RegExp.transformPatternToGnurCompatible(pattern);
+            put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Cached version of {@link Pattern#compile(String, int)}. Syntax errors are propagated as
+     * {@link java.util.regex.PatternSyntaxException} and nothing is cached in such case.
+     */
+    @TruffleBoundary
+    public synchronized Pattern getJavaPattern(String pattern, int flags) {
+        Key key = new Key(Kind.JAVA, pattern, flags);
+        Pattern result = (Pattern) lookup(key);
+        if (result == null) {
+            result = Pattern.compile(pattern, flags);
+            put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the cached PCRE2 pattern compiled with given options or {@code null} if there is no
+     * such pattern in the cache.
+     */
+    @TruffleBoundary
+    public synchronized PCRE2RFFI.CompileResult getPerlPattern(String pattern, int options) {
+        return (PCRE2RFFI.CompileResult) lookup(new Key(Kind.PCRE, pattern, options));
+    }
+
+    /**
+     * Adds successfully compiled PCRE2 pattern to the cache, which takes over the ownership of its
+     * native memory.
+     */
+    @TruffleBoundary
+    public synchronized void putPerlPattern(String pattern, int options, PCRE2RFFI.CompileResult compileResult) {
+        assert compileResult.errorMessage == null;
+        Object previous = put(new Key(Kind.PCRE, pattern, options), compileResult);
+        if (previous != null) {
+            releasePerlPattern(((PCRE2RFFI.CompileResult) previous).compiledPattern);
+        }
+    }
+
+    /**
+     * Starts a use of PCRE2 patterns obtained from this cache, which must be ended by
+     * {@link #endUse()} in a {@code finally} block. Uses may be nested.
+     */
+    @TruffleBoundary
+    public synchronized void beginUse() {
+        users++;
+    }
+
+    /**
+     * Ends a use started by {@link #beginUse()}, the patterns evicted during the use are released
+     * once no use is in progress.
+     */
+    @TruffleBoundary
+    public synchronized void endUse() {
+        assert users > 0;
+        users--;
+        if (users == 0) {
+            releasePending();
+        }
+    }
+
+    /**
+     * Removes all the entries and releases the native memory of the PCRE2 patterns.
+     */
+    @TruffleBoundary
+    public synchronized void clear() {
+        for (Map.Entry<Key, Object> entry : entries.entrySet()) {
+            release(entry.getKey(), entry.getValue());
+        }
+        entries.clear();
+        releasePending();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private Object lookup(Key key) {
+        Object result = entries.get(key);
+        if (result == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return result;
+    }
+
+    private Object put(Key key, Object value) {
+        Object previous = entries.put(key, value);
+        if (entries.size() > maxSize) {
+            Iterator<Map.Entry<Key, Object>> it = entries.entrySet().iterator();
+            Map.Entry<Key, Object> eldest = it.next();
+            it.remove();
+            evictions++;
+            release(eldest.getKey(), eldest.getValue());
+        }
+        return previous;
+    }
+
+    private void release(Key key, Object value) {
+        if (key.kind == Kind.PCRE) {
+            releasePerlPattern(((PCRE2RFFI.CompileResult) value).compiledPattern);
+        }
+    }
+
+    private void releasePerlPattern(Object compiledPattern) {
+        if (users > 0) {
+            pendingRelease.add(compiledPattern);
+        } else {
+            pcreRelease.accept(compiledPattern);
+        }
+    }
+
+    private void releasePending() {
+        for (Object compiledPattern : pendingRelease) {
+            pcreRelease.accept(compiledPattern);
+        }
+        pendingRelease.clear();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("RegExpCache{size=%d, maxSize=%d, hits=%d, misses=%d, evictions=%d}", entries.size(), maxSize, hits, misses, evictions);
+    }
+
+    public static final class ContextStateImpl implements RContext.ContextState {
+        private RegExpCache cache;
+        private PCRE2RFFI.MemoryReleaseNode memoryReleaseNode;
+
+        private ContextStateImpl() {
+        }
+
+        @Override
+        public RContext.ContextState initialize(RContext context) {
+            cache = new RegExpCache(context.getOption(FastROptions.RegExpCacheSize), this::releasePerlPattern);
+            return this;
+        }
+
+        public RegExpCache getCache() {
+            return cache;
+        }
+
+        private void releasePerlPattern(Object compiledPattern) {
+            if (memoryReleaseNode == null) {
+                memoryReleaseNode = RFFIFactory.getPCRE2RFFI().createMemoryReleaseNode();
+            }
+            memoryReleaseNode.execute(compiledPattern);
+        }
+
+        @Override
+        public void beforeFinalize(RContext context) {
+            // native calls are still possible at this point
+            logger.fine(() -> "Context " + context.getId() + ": " + cache);
+            cache.clear();
+        }
+
+        public static ContextStateImpl newContextState() {
+            return new ContextStateImpl();
+        }
+    }
+}
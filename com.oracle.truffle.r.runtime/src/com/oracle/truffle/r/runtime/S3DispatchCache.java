@@ -0,0 +1,355 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLogger;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.MaterializedFrame;
+import com.oracle.truffle.api.nodes.InvalidAssumptionException;
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.data.RFunction;
+import com.oracle.truffle.r.runtime.data.RPromise;
+import com.oracle.truffle.r.runtime.data.RStringVector;
+import com.oracle.truffle.r.runtime.env.REnvironment;
+import com.oracle.truffle.r.runtime.env.frame.FrameSlotChangeMonitor;
+import com.oracle.truffle.r.runtime.env.frame.FrameSlotChangeMonitor.LookupResult;
+
+/**
+ * A size-bounded LRU cache of S3 method resolutions used by the dispatch call sites that are no
+ * longer specialized for their generics and classes. The key consists of the generic, the group,
+ * the class vector, the "next method" and "default method" flags and the frame descriptors of the
+ * caller and of the environment that defines the generic.
+ *
+ * The resolution reads a sequence of bindings: the methods table in the generic's defining
+ * environment and the {@code generic.class} (or {@code group.class}) candidates in the caller's
+ * environment chain and in the methods table. The cache entry records the value of each of these
+ * reads as seen by {@link FrameSlotChangeMonitor#lookup}, and a hit re-checks them by the same
+ * means, which is a hash lookup in the frame descriptor metadata per read as long as the lookup
+ * assumptions hold. Defining, removing or re-assigning any of the bindings, including the
+ * registration of a method in a methods table, therefore turns the next access into a miss.
+ * Resolutions that read a binding that cannot be checked this way, e.g. a local variable of a
+ * function or an unevaluated promise, are not cached.
+ *
+ * The cached values are opaque to this class, {@code null} is a valid value denoting that no method
+ * was found.
+ */
+public final class S3DispatchCache {
+    private static final TruffleLogger logger = RLogger.getLogger(RLogger.LOGGER_S3_DISPATCH);
+
+    /**
+     * Returned by {@link #get} if there is no valid entry for the key.
+     */
+    public static final Object MISS = new Object();
+
+    private static final Object NOT_CHECKABLE = new Object();
+
+    /**
+     * The environment in which a recorded binding was read.
+     */
+    public enum Scope {
+        /**
+         * The caller's frame and its enclosing frames.
+         */
+        CALLER,
+        /**
+         * The methods table binding in the frame of the environment that defines the generic.
+         */
+        GENERIC_DEF,
+        /**
+         * The methods table read in {@link #GENERIC_DEF}.
+         */
+        METHODS_TABLE
+    }
+
+    public static final class Key {
+        private final String generic;
+        private final String group;
+        private final String[] classes;
+        private final FrameDescriptor callerDescriptor;
+        private final FrameDescriptor genericDefDescriptor;
+        private final boolean nextMethod;
+        private final boolean defaultMethod;
+        private final int hash;
+
+        public Key(String generic, String group, RStringVector type, boolean nextMethod, boolean defaultMethod, MaterializedFrame callerFrame, MaterializedFrame genericDefFrame) {
+            this.generic = generic;
+            this.group = group;
+            this.classes = type.getDataCopy();
+            this.callerDescriptor = callerFrame.getFrameDescriptor();
+            this.genericDefDescriptor = genericDefFrame == null ? null : genericDefFrame.getFrameDescriptor();
+            this.nextMethod = nextMethod;
+            this.defaultMethod = defaultMethod;
+            this.hash = (generic.hashCode() * 31 + Arrays.hashCode(classes)) * 31 + System.identityHashCode(callerDescriptor);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hash == other.hash && callerDescriptor == other.callerDescriptor && genericDefDescriptor == other.genericDefDescriptor && nextMethod == other.nextMethod &&
+                            defaultMethod == other.defaultMethod && generic.equals(other.generic) && Objects.equals(group, other.group) && Arrays.equals(classes, other.classes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Read {
+        private final Scope scope;
+        /**
+         * Interned, so that the lookup results registered under this identifier in the frame
+         * descriptor metadata stay alive as long as this entry.
+         */
+        private final String identifier;
+        private final Object value;
+
+        Read(Scope scope, String identifier, Object value) {
+            this.scope = scope;
+            this.identifier = identifier;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Collects the bindings read by one resolution.
+     */
+    public static final class Recorder {
+        private final ArrayList<Read> reads = new ArrayList<>();
+        private boolean checkable = true;
+
+        /**
+         * Records a read of {@code identifier} in {@code frame}, which is the caller frame for
+         * {@link Scope#CALLER} reads, the frame of the generic's defining environment for
+         * {@link Scope#GENERIC_DEF} reads and the frame of the methods table for
+         * {@link Scope#METHODS_TABLE} reads. Must be invoked after the actual read so that
+         * promises forced by it are seen as evaluated.
+         */
+        @TruffleBoundary
+        public void record(Scope scope, MaterializedFrame frame, String identifier) {
+            if (checkable) {
+                String interned = Utils.intern(identifier);
+                Object value = currentValue(scope, frame, interned);
+                if (value == NOT_CHECKABLE) {
+                    checkable = false;
+                    reads.clear();
+                } else {
+                    reads.add(new Read(scope, interned, value));
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final Read[] reads;
+        private final Object value;
+
+        Entry(Read[] reads, Object value) {
+            this.reads = reads;
+            this.value = value;
+        }
+    }
+
+    private final int maxSize;
+    private final LinkedHashMap<Key, Entry> entries;
+
+    private long hits;
+    private long misses;
+    private long invalidations;
+
+    public S3DispatchCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * Returns the cached value for the key or {@link #MISS} if there is no entry or if any of the
+     * bindings read when the entry was created has changed since.
+     */
+    @TruffleBoundary
+    public synchronized Object get(Key key, MaterializedFrame callerFrame, MaterializedFrame genericDefFrame) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return MISS;
+        }
+        if (!isValid(entry, callerFrame, genericDefFrame)) {
+            entries.remove(key);
+            invalidations++;
+            misses++;
+            return MISS;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    /**
+     * Caches the value produced by a resolution, unless the recorder saw a binding that cannot be
+     * checked.
+     */
+    @TruffleBoundary
+    public synchronized void put(Key key, Recorder recorder, Object value) {
+        if (!recorder.checkable || maxSize <= 0) {
+            return;
+        }
+        entries.put(key, new Entry(recorder.reads.toArray(new Read[recorder.reads.size()]), value));
+        if (entries.size() > maxSize) {
+            Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+            it.next();
+            it.remove();
+        }
+    }
+
+    @TruffleBoundary
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Number of entries found to be stale and dropped, these are also counted as misses.
+     */
+    public synchronized long getInvalidations() {
+        return invalidations;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static boolean isValid(Entry entry, MaterializedFrame callerFrame, MaterializedFrame genericDefFrame) {
+        MaterializedFrame methodsTableFrame = null;
+        for (Read read : entry.reads) {
+            MaterializedFrame frame;
+            switch (read.scope) {
+                case CALLER:
+                    frame = callerFrame;
+                    break;
+                case GENERIC_DEF:
+                    frame = genericDefFrame;
+                    break;
+                case METHODS_TABLE:
+                    frame = methodsTableFrame;
+                    break;
+                default:
+                    throw RInternalError.shouldNotReachHere();
+            }
+            if (frame == null || currentValue(read.scope, frame, read.identifier) != read.value) {
+                return false;
+            }
+            if (read.scope == Scope.GENERIC_DEF && read.value != null) {
+                methodsTableFrame = ((REnvironment) read.value).getFrame();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The value of the first binding of {@code identifier} in {@code frame} and its enclosing
+     * frames according to {@link FrameSlotChangeMonitor#lookup}, or {@link #NOT_CHECKABLE} if
+     * there is no valid lookup result or if the binding is not of the type the resolution looks
+     * for, in which case the resolution would look further and the lookup result would not cover
+     * what it finds.
+     */
+    private static Object currentValue(Scope scope, MaterializedFrame frame, String identifier) {
+        LookupResult lookup = FrameSlotChangeMonitor.lookup(frame, identifier);
+        if (lookup == null) {
+            return NOT_CHECKABLE;
+        }
+        Object value;
+        try {
+            value = lookup.getValue();
+        } catch (InvalidAssumptionException e) {
+            return NOT_CHECKABLE;
+        }
+        if (value instanceof RPromise) {
+            RPromise promise = (RPromise) value;
+            if (!promise.isEvaluated()) {
+                return NOT_CHECKABLE;
+            }
+            value = promise.getValue();
+        }
+        if (value == null || (scope == Scope.GENERIC_DEF ? value instanceof REnvironment : value instanceof RFunction)) {
+            return value;
+        }
+        return NOT_CHECKABLE;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("S3DispatchCache{size=%d, maxSize=%d, hits=%d, misses=%d, invalidations=%d}", entries.size(), maxSize, hits, misses, invalidations);
+    }
+
+    public static final class ContextStateImpl implements RContext.ContextState {
+        private S3DispatchCache cache;
+
+        private ContextStateImpl() {
+        }
+
+        @Override
+        public RContext.ContextState initialize(RContext context) {
+            cache = new S3DispatchCache(context.getOption(FastROptions.S3DispatchCacheSize));
+            return this;
+        }
+
+        public S3DispatchCache getCache() {
+            return cache;
+        }
+
+        @Override
+        public void beforeFinalize(RContext context) {
+            logger.fine(() -> "Context " + context.getId() + ": " + cache);
+            cache.clear();
+        }
+
+        public static ContextStateImpl newContextState() {
+            return new ContextStateImpl();
+        }
+    }
+}
@@ -1058,6 +1058,41 @@ public class ConnectionSupport {
             pushBack = null;
         }
 
+        /**
+         * Removes the whole push back and returns it as one string in the order it would be read,
+         * or {@code null} if there is no push back.
+         */
+        @TruffleBoundary
+        final String takePushBack() {
+            if (pushBack == null || pushBack.isEmpty()) {
+                pushBack = null;
+                return null;
+            }
+            StringBuilder sb = new StringBuilder();
+            String s;
+            while ((s = pushBack.pollLast()) != null) {
+                sb.append(s);
+            }
+            pushBack = null;
+            return sb.toString();
+        }
+
+        /**
+         * Returns the delegate connection performing the actual I/O, {@code null} if the connection
+         * is not open or does not use a delegate.
+         */
+        final DelegateRConnection getDelegate() {
+            return theConnection;
+        }
+
+        /**
+         * Returns the file read by this connection if it is an uncompressed file open for binary
+         * reading, so that its content can be accessed directly, otherwise {@code null}.
+         */
+        public TruffleFile getUncompressedInputFile() {
+            return null;
+        }
+
         /**
          * Support for {@code seek} Internal. Also clears push back lines.
          */
@@ -1148,6 +1183,12 @@ public class ConnectionSupport {
             // Use 'description' and not 'path' since this may be different, e.g., on temp files.
             return description;
         }
+
+        @Override
+        public TruffleFile getUncompressedInputFile() {
+            // FileReadTextRConnection is a subclass
+            return theConnection != null && theConnection.getClass() == FileConnections.FileReadBinaryRConnection.class ? path : null;
+        }
     }
 
     public static ByteChannel newChannel(InputStream in) {
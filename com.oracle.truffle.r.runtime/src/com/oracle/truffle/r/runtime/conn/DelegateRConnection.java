@@ -538,6 +538,28 @@ abstract class DelegateRConnection extends RBaseObject implements RConnection, B
         return false;
     }
 
+    /**
+     * Returns the read cache if its contents may be consumed directly, i.e., by advancing its
+     * position, or {@code null} if there is no read cache or reading must go through
+     * {@link #readLines} or {@link #read(ByteBuffer)} (e.g. because the connection tracks the read
+     * offset). Used by {@link ScanTokenizer}.
+     */
+    ByteBuffer getReadCache() {
+        return readCache ? cache : null;
+    }
+
+    /**
+     * Discards the consumed bytes of the read cache and reads more data into it. Returns
+     * {@code false} if no more data is available.
+     */
+    boolean refillReadCache() throws IOException {
+        assert readCache && cache != null;
+        cache.compact();
+        getChannel().read(cache);
+        cache.flip();
+        return cache.hasRemaining();
+    }
+
     /**
      * Invalidates the read cache by dropping cached data.<br>
      * <p>
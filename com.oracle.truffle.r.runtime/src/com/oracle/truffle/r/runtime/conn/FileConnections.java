@@ -24,8 +24,6 @@ package com.oracle.truffle.r.runtime.conn;
 
 import static com.oracle.truffle.r.runtime.conn.ConnectionSupport.AbstractOpenMode.Lazy;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
@@ -233,14 +231,13 @@ public class FileConnections {
         switch (base.getOpenMode().abstractOpenMode) {
             case Read:
             case ReadBinary:
-                byte[] bzipUdata = RCompression.bzipUncompressFromFile(base.path);
-                return new ByteStreamCompressedInputRConnection(base, new ByteArrayInputStream(bzipUdata));
+                return new CompressedInputRConnection(base, RCompression.bzipUncompressStream(base.path));
             case Append:
             case AppendBinary:
-                return new BZip2OutputRConnection(base, new ByteArrayOutputStream(), true);
+                return new CompressedOutputRConnection(base, RCompression.bzipCompressStream(base.path, true), false);
             case Write:
             case WriteBinary:
-                return new BZip2OutputRConnection(base, new ByteArrayOutputStream(), false);
+                return new CompressedOutputRConnection(base, RCompression.bzipCompressStream(base.path, false), false);
             default:
                 throw RError.nyi(RError.SHOW_CALLER2, "open mode: " + base.getOpenMode());
         }
@@ -437,6 +434,12 @@ public class FileConnections {
             readOffset += nBytesConsumed;
         }
 
+        @Override
+        ByteBuffer getReadCache() {
+            // reads must update the read offset
+            return null;
+        }
+
         @Override
         public boolean isSeekable() {
             return true;
@@ -608,6 +611,12 @@ public class FileConnections {
             readOffset += nBytesConsumed;
         }
 
+        @Override
+        ByteBuffer getReadCache() {
+            // reads must update the read offset
+            return null;
+        }
+
         @Override
         public boolean isSeekable() {
             return true;
@@ -756,29 +765,4 @@ public class FileConnections {
             writeOffset = raf.getFilePointer();
         }
     }
-
-    private static class ByteStreamCompressedInputRConnection extends CompressedInputRConnection {
-        ByteStreamCompressedInputRConnection(BasePathRConnection base, ByteArrayInputStream is) {
-            super(base, is);
-        }
-    }
-
-    private static class BZip2OutputRConnection extends CompressedOutputRConnection {
-        private final ByteArrayOutputStream bos;
-        private final boolean append;
-
-        BZip2OutputRConnection(BasePathRConnection base, ByteArrayOutputStream os, boolean append) {
-            super(base, os, false);
-            this.bos = os;
-            this.append = append;
-        }
-
-        @Override
-        public void close() throws IOException {
-            flush();
-            // Now actually do the compression using sub-process
-            byte[] data = bos.toByteArray();
-            RCompression.bzipCompressToFile(data, ((BasePathRConnection) base).path, append);
-        }
-    }
 }
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.conn;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import com.oracle.truffle.r.runtime.RInternalError;
+import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.RType;
+import com.oracle.truffle.r.runtime.data.RComplex;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.model.RAbstractVector;
+
+/**
+ * Growable typed column filled with the fields of a {@link ScanTokenizer}. The values are kept in
+ * primitive arrays until {@link #build()} creates the vector.
+ */
+public abstract class ScanColumnBuilder {
+
+    private final RType type;
+    protected int size;
+    protected boolean complete = true;
+
+    protected ScanColumnBuilder(RType type) {
+        this.type = type;
+    }
+
+    /**
+     * Creates a column for values of given type, only the atomic vector types are supported.
+     */
+    public static ScanColumnBuilder create(RType type, int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        switch (type) {
+            case Logical:
+                return new LogicalColumn(capacity);
+            case Integer:
+                return new IntColumn(capacity);
+            case Double:
+                return new DoubleColumn(capacity);
+            case Complex:
+                return new ComplexColumn(capacity);
+            case Character:
+                return new StringColumn(capacity);
+            case Raw:
+                return new RawColumn(capacity);
+            default:
+                throw RInternalError.shouldNotReachHere();
+        }
+    }
+
+    public final RType getType() {
+        return type;
+    }
+
+    public final int size() {
+        return size;
+    }
+
+    /**
+     * Converts the current field of the tokenizer and appends the value.
+     *
+     * @throws NumberFormatException if the field cannot be converted
+     */
+    public abstract void add(ScanTokenizer tokenizer);
+
+    /**
+     * Creates the vector with the values added so far.
+     */
+    public abstract RAbstractVector build();
+
+    protected static int grow(int length) {
+        return length < Integer.MAX_VALUE / 2 ? length * 2 : Integer.MAX_VALUE - 8;
+    }
+
+    private static final class LogicalColumn extends ScanColumnBuilder {
+        private byte[] data;
+
+        LogicalColumn(int capacity) {
+            super(RType.Logical);
+            data = new byte[capacity];
+        }
+
+        @Override
+        public void add(ScanTokenizer tokenizer) {
+            byte value = tokenizer.isNAField(true) ? RRuntime.LOGICAL_NA : tokenizer.fieldToLogical();
+            complete &= !RRuntime.isNA(value);
+            if (size == data.length) {
+                data = Arrays.copyOf(data, grow(size));
+            }
+            data[size++] = value;
+        }
+
+        @Override
+        public RAbstractVector build() {
+            return RDataFactory.createLogicalVector(Arrays.copyOf(data, size), complete);
+        }
+    }
+
+    private static final class IntColumn extends ScanColumnBuilder {
+        private int[] data;
+
+        IntColumn(int capacity) {
+            super(RType.Integer);
+            data = new int[capacity];
+        }
+
+        @Override
+        public void add(ScanTokenizer tokenizer) {
+            int value = tokenizer.isNAField(true) ? RRuntime.INT_NA : tokenizer.fieldToInt();
+            complete &= !RRuntime.isNA(value);
+            if (size == data.length) {
+                data = Arrays.copyOf(data, grow(size));
+            }
+            data[size++] = value;
+        }
+
+        @Override
+        public RAbstractVector build() {
+            return RDataFactory.createIntVector(Arrays.copyOf(data, size), complete);
+        }
+    }
+
+    private static final class DoubleColumn extends ScanColumnBuilder {
+        private double[] data;
+
+        DoubleColumn(int capacity) {
+            super(RType.Double);
+            data = new double[capacity];
+        }
+
+        @Override
+        public void add(ScanTokenizer tokenizer) {
+            double value = tokenizer.isNAField(true) ? RRuntime.DOUBLE_NA : tokenizer.fieldToDouble();
+            complete &= !RRuntime.isNA(value);
+            if (size == data.length) {
+                data = Arrays.copyOf(data, grow(size));
+            }
+            data[size++] = value;
+        }
+
+        @Override
+        public RAbstractVector build() {
+            return RDataFactory.createDoubleVector(Arrays.copyOf(data, size), complete);
+        }
+    }
+
+    private static final class ComplexColumn extends ScanColumnBuilder {
+        private double[] data;
+
+        ComplexColumn(int capacity) {
+            super(RType.Complex);
+            data = new double[capacity * 2];
+        }
+
+        @Override
+        public void add(ScanTokenizer tokenizer) {
+            RComplex value = tokenizer.isNAField(true) ? RRuntime.COMPLEX_NA : RRuntime.string2complexNoCheck(tokenizer.fieldToString());
+            complete &= !RRuntime.isNA(value);
+            if (size * 2 == data.length) {
+                data = Arrays.copyOf(data, grow(data.length));
+            }
+            data[size * 2] = value.getRealPart();
+            data[size * 2 + 1] = value.getImaginaryPart();
+            size++;
+        }
+
+        @Override
+        public RAbstractVector build() {
+            return RDataFactory.createComplexVector(Arrays.copyOf(data, size * 2), complete);
+        }
+    }
+
+    private static final class StringColumn extends ScanColumnBuilder {
+        private final HashMap<String, String> stringTable = new HashMap<>();
+        private String[] data;
+
+        StringColumn(int capacity) {
+            super(RType.Character);
+            data = new String[capacity];
+        }
+
+        @Override
+        public void add(ScanTokenizer tokenizer) {
+            String value;
+            if (tokenizer.isNAField(false)) {
+                value = RRuntime.STRING_NA;
+                complete = false;
+            } else {
+                String s = tokenizer.fieldToString();
+                String oldEntry = stringTable.putIfAbsent(s, s);
+                value = oldEntry == null ? s : oldEntry;
+            }
+            if (size == data.length) {
+                data = Arrays.copyOf(data, grow(size));
+            }
+            data[size++] = value;
+        }
+
+        @Override
+        public RAbstractVector build() {
+            return RDataFactory.createStringVector(Arrays.copyOf(data, size), complete);
+        }
+    }
+
+    private static final class RawColumn extends ScanColumnBuilder {
+        private byte[] data;
+
+        RawColumn(int capacity) {
+            super(RType.Raw);
+            data = new byte[capacity];
+        }
+
+        @Override
+        public void add(ScanTokenizer tokenizer) {
+            byte value = tokenizer.isNAField(true) ? 0 : RRuntime.string2raw(tokenizer.fieldToString()).getValue();
+            if (size == data.length) {
+                data = Arrays.copyOf(data, grow(size));
+            }
+            data[size++] = value;
+        }
+
+        @Override
+        public RAbstractVector build() {
+            return RDataFactory.createRawVector(Arrays.copyOf(data, size));
+        }
+    }
+}
@@ -0,0 +1,732 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.conn;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.EnumSet;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.r.runtime.RError;
+import com.oracle.truffle.r.runtime.RError.Message;
+import com.oracle.truffle.r.runtime.RInternalError;
+import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.conn.ConnectionSupport.BaseRConnection;
+import com.oracle.truffle.r.runtime.conn.RConnection.ReadLineWarning;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RStringVector;
+
+/**
+ * A byte-level tokenizer of delimited text, used by {@code scan} and {@code readTableHead}.
+ * <p>
+ * If the connection is backed by a {@link DelegateRConnection} with a read cache and uses an ASCII
+ * compatible encoding, the tokenizer reads directly from the read cache and only advances its
+ * position, so no line strings are created. Otherwise it falls back to reading the connection line
+ * by line. The fields are accumulated in a reusable byte buffer and converted to the requested type
+ * directly from the bytes, a {@link String} is only created for character fields or when a number
+ * is not in the plain decimal notation.
+ * </p>
+ * <p>
+ * The fields are delimited as by {@code fillBuffer} and {@code scanchar} in GnuR scan.c: quotes are
+ * only recognized in character fields, with white space as the separator only at the start of a
+ * field and the closing quote ends the field, otherwise anywhere in the field and a doubled quote
+ * stands for the quote character. A backslash followed by the quote character inside a quoted
+ * string is unquoted. As GnuR reads the fields into C strings, a field is cut at an embedded nul.
+ * </p>
+ * <p>
+ * The tokenizer must be {@link #close() closed} when done: any input it has read, but not consumed,
+ * is given back to the connection, so that subsequent reads continue right after the last consumed
+ * byte.
+ * </p>
+ */
+public final class ScanTokenizer implements AutoCloseable {
+
+    public enum Token {
+        FIELD,
+        END_OF_LINE,
+        END_OF_INPUT
+    }
+
+    private enum Source {
+        /** The push back of the connection taken over by the tokenizer. */
+        PUSH_BACK,
+        /** The read cache of the delegate connection. */
+        CACHE,
+        /** Lines read by {@link RConnection#readLines}. */
+        LINES,
+        END
+    }
+
+    private static final int NONE = -1;
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+    private static final byte[][] TRUE_STRINGS = {bytes("TRUE"), bytes("T"), bytes("True"), bytes("true")};
+    private static final byte[][] FALSE_STRINGS = {bytes("FALSE"), bytes("F"), bytes("False"), bytes("false")};
+
+    private final BaseRConnection conn;
+    private final Charset charset;
+    private final DelegateRConnection delegate;
+    private final ByteBuffer cache;
+
+    private final int sepchar;
+    private final boolean[] quoteset = new boolean[256];
+    private final int comchar;
+    private final int decchar;
+    private final boolean skipNul;
+    private byte[][] naStrings = new byte[0][];
+    private boolean escapes;
+    private Charset fieldCharset;
+
+    private Source source;
+    private byte[] buf;
+    private int pos;
+    private int limit;
+
+    private byte[] field = new byte[64];
+    private int fieldLength;
+    /**
+     * Set when a nul was appended to the field, the rest of the field is dropped.
+     */
+    private boolean fieldCut;
+    private boolean afterSeparator;
+    private boolean nulFound;
+    private boolean eofWithinQuote;
+
+    /**
+     * @param conn an open connection
+     * @param sepchar the field separator, {@code 0} means any white space
+     * @param quotes the quote characters
+     * @param comchar the comment character or a negative value if there is none
+     * @param decchar the decimal point character
+     * @param skipNul whether embedded nuls should be skipped silently, they are returned by
+     *            {@link #read()} and reported by {@link #checkEmbeddedNul()} otherwise
+     */
+    @TruffleBoundary
+    public ScanTokenizer(RConnection conn, int sepchar, String quotes, int comchar, int decchar, boolean skipNul) {
+        if (!(conn instanceof BaseRConnection)) {
+            throw RInternalError.shouldNotReachHere("unexpected connection " + conn);
+        }
+        this.conn = (BaseRConnection) conn;
+        this.delegate = this.conn.getDelegate();
+        Charset encoding = this.conn.getEncoding();
+        boolean asciiCompatible = isAsciiCompatible(encoding);
+        ByteBuffer readCache = delegate != null && asciiCompatible && this.conn.isBlocking() ? delegate.getReadCache() : null;
+        this.cache = readCache;
+        this.charset = asciiCompatible ? encoding : StandardCharsets.UTF_8;
+        this.fieldCharset = charset;
+        this.sepchar = sepchar == 0 ? 0 : toByte(sepchar, Message.MUST_BE_ONE_BYTE, "'sep' value");
+        this.comchar = comchar < 0 ? NONE : toByte(comchar, Message.INVALID_ARGUMENT, "comment.char");
+        this.decchar = toByte(decchar, Message.MUST_BE_ONE_BYTE, "'dec' value");
+        this.skipNul = skipNul;
+        for (int i = 0; i < quotes.length(); i++) {
+            for (byte b : String.valueOf(quotes.charAt(i)).getBytes(charset)) {
+                quoteset[b & 0xFF] = true;
+            }
+        }
+
+        if (readCache == null) {
+            source = Source.LINES;
+            buf = new byte[0];
+        } else {
+            String pushBack = this.conn.takePushBack();
+            if (pushBack != null) {
+                source = Source.PUSH_BACK;
+                buf = pushBack.getBytes(charset);
+                limit = buf.length;
+            } else {
+                source = Source.CACHE;
+                setCacheWindow();
+            }
+        }
+    }
+
+    private int toByte(int c, Message message, String what) {
+        if (c < 0x80) {
+            return c;
+        }
+        byte[] encoded = new String(Character.toChars(c)).getBytes(charset);
+        if (encoded.length != 1) {
+            throw RError.error(RError.SHOW_CALLER, message, what);
+        }
+        return encoded[0] & 0xFF;
+    }
+
+    private static boolean isAsciiCompatible(Charset cs) {
+        String name = cs.name();
+        return cs.equals(StandardCharsets.UTF_8) || cs.equals(StandardCharsets.US_ASCII) || cs.equals(StandardCharsets.ISO_8859_1) || name.startsWith("ISO-8859-") || name.startsWith("windows-125");
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Sets the strings that are interpreted as {@code NA} by {@link #isNAField(boolean)}.
+     */
+    @TruffleBoundary
+    public void setNAStrings(RStringVector strings) {
+        naStrings = new byte[strings.getLength()][];
+        for (int i = 0; i < naStrings.length; i++) {
+            naStrings[i] = strings.getDataAt(i).getBytes(charset);
+        }
+    }
+
+    /**
+     * Enables the processing of C-style escapes ({@code allowEscapes} of {@code scan}). Unlike in
+     * GnuR, an escaped line end does not end the line, it becomes a part of the field.
+     */
+    public void setAllowEscapes(boolean allowEscapes) {
+        this.escapes = allowEscapes;
+    }
+
+    /**
+     * Sets the encoding the character fields are assumed to be in ({@code encoding} of
+     * {@code scan}), only {@code "latin1"} and {@code "UTF-8"} are recognized. GnuR merely marks the
+     * strings read from the input in the native encoding with it, so it is only taken into account
+     * if the input is decoded as UTF-8, input re-encoded by the connection is already decoded
+     * correctly.
+     */
+    public void setDeclaredEncoding(String encoding) {
+        if (charset.equals(StandardCharsets.UTF_8)) {
+            if ("latin1".equals(encoding)) {
+                fieldCharset = StandardCharsets.ISO_8859_1;
+            } else if ("UTF-8".equals(encoding)) {
+                fieldCharset = StandardCharsets.UTF_8;
+            }
+        }
+    }
+
+    // input
+
+    private void setCacheWindow() {
+        buf = cache.array();
+        pos = cache.arrayOffset() + cache.position();
+        limit = cache.arrayOffset() + cache.limit();
+    }
+
+    private boolean fill() throws IOException {
+        assert pos == limit;
+        if (source == Source.PUSH_BACK) {
+            source = Source.CACHE;
+            setCacheWindow();
+            if (pos < limit) {
+                return true;
+            }
+        }
+        switch (source) {
+            case CACHE:
+                cache.position(limit - cache.arrayOffset());
+                delegate.refillReadCache();
+                setCacheWindow();
+                return pos < limit;
+            case LINES:
+                String[] lines = conn.readLines(1, EnumSet.of(ReadLineWarning.EMBEDDED_NUL), skipNul);
+                if (lines == null || lines.length == 0) {
+                    source = Source.END;
+                    return false;
+                }
+                buf = (lines[0] + '\n').getBytes(charset);
+                pos = 0;
+                limit = buf.length;
+                return true;
+            case END:
+                return false;
+            default:
+                throw RInternalError.shouldNotReachHere();
+        }
+    }
+
+    /**
+     * Returns the next byte without consuming it, {@code -1} at the end of input. Nul bytes are
+     * skipped if {@code skipNul} was requested.
+     */
+    public int peek() throws IOException {
+        while (true) {
+            if (pos == limit && !fill()) {
+                return -1;
+            }
+            int c = buf[pos] & 0xFF;
+            if (c != 0) {
+                return c;
+            }
+            if (!skipNul) {
+                nulFound = true;
+                return c;
+            }
+            pos++;
+        }
+    }
+
+    /**
+     * Consumes and returns the next byte, {@code -1} at the end of input. Nul bytes are skipped if
+     * {@code skipNul} was requested.
+     */
+    public int read() throws IOException {
+        int c = peek();
+        if (c != -1) {
+            pos++;
+        }
+        return c;
+    }
+
+    /**
+     * Consumes the input up to and including the next line terminator, ignoring any quotes.
+     */
+    public void skipRestOfLine() throws IOException {
+        afterSeparator = false;
+        int c;
+        do {
+            c = read();
+        } while (c != -1 && c != '\n' && c != '\r');
+        if (c == '\r' && peek() == '\n') {
+            pos++;
+        }
+    }
+
+    /**
+     * Consumes {@code n} lines of input.
+     */
+    public void skipLines(int n) throws IOException {
+        for (int i = 0; i < n && peek() != -1; i++) {
+            skipRestOfLine();
+        }
+    }
+
+    /**
+     * Returns {@code true} if a nul byte was read since the last call, i.e., {@code skipNul} was
+     * not requested.
+     */
+    public boolean checkEmbeddedNul() {
+        boolean result = nulFound;
+        nulFound = false;
+        return result;
+    }
+
+    /**
+     * Returns {@code true} if the input ended within a quoted string.
+     */
+    public boolean isEOFWithinQuote() {
+        return eofWithinQuote;
+    }
+
+    // tokens
+
+    public boolean isQuote(int c) {
+        return c >= 0 && quoteset[c];
+    }
+
+    public boolean isCommentChar(int c) {
+        return c != -1 && c == comchar;
+    }
+
+    /**
+     * Returns {@code true} if {@code c} is the explicitly given separator.
+     */
+    public boolean isSeparatorChar(int c) {
+        return sepchar != 0 && c == sepchar;
+    }
+
+    private boolean isLineEnd(int c) {
+        return c == -1 || c == '\n' || c == '\r' || c == comchar;
+    }
+
+    private boolean isSeparator(int c) {
+        return sepchar == 0 ? (c == ' ' || c == '\t') : c == sepchar;
+    }
+
+    /**
+     * Reads the next token. After {@link Token#FIELD} the field contents are available via the
+     * {@code field*} methods. A comment is treated as a part of the line end.
+     * <p>
+     * With white space as the separator, leading and trailing white space is ignored and an empty
+     * line has no fields. Otherwise every separator delimits a field, even if the field is empty, and
+     * white space is dropped from non-character fields.
+     * </p>
+     *
+     * @param character whether the field is read as a character field, only then are quotes
+     *            recognized
+     */
+    @TruffleBoundary
+    public Token next(boolean character) throws IOException {
+        clearField();
+        int c = peek();
+        if (sepchar == 0) {
+            while (c == ' ' || c == '\t') {
+                pos++;
+                c = peek();
+            }
+        }
+        if (isLineEnd(c)) {
+            if (afterSeparator) {
+                // empty last field
+                afterSeparator = false;
+                return Token.FIELD;
+            }
+            if (c == -1) {
+                return Token.END_OF_INPUT;
+            }
+            skipRestOfLine();
+            return Token.END_OF_LINE;
+        }
+        afterSeparator = false;
+        boolean first = true;
+        while (true) {
+            if (isLineEnd(c)) {
+                return Token.FIELD;
+            }
+            pos++;
+            if (c == '\\' && escapes) {
+                c = readEscape(false);
+                if (c == -1) {
+                    return Token.FIELD;
+                }
+            }
+            if (isSeparator(c)) {
+                afterSeparator = sepchar != 0;
+                return Token.FIELD;
+            }
+            if (character && quoteset[c] && (sepchar != 0 || first)) {
+                readQuoted(c);
+                if (sepchar == 0) {
+                    // the closing quote ends the field
+                    return Token.FIELD;
+                }
+            } else if (character || sepchar == 0 || (c != ' ' && c != '\t')) {
+                // white space is dropped from non-character fields
+                appendField(c);
+            }
+            first = false;
+            c = peek();
+        }
+    }
+
+    private void readQuoted(int quote) throws IOException {
+        while (true) {
+            int c = readChar(true);
+            if (c == -1) {
+                eofWithinQuote = true;
+                return;
+            }
+            if (c == quote) {
+                if (sepchar == 0 || peek() != quote) {
+                    return;
+                }
+                pos++;
+            } else if (c == '\\') {
+                // an embedded quote is unquoted, other backslashes are kept
+                c = readChar(true);
+                if (c == -1) {
+                    eofWithinQuote = true;
+                    return;
+                }
+                if (c != quote) {
+                    appendField('\\');
+                }
+            }
+            appendField(c);
+        }
+    }
+
+    private int readChar(boolean inQuote) throws IOException {
+        int c = read();
+        if (c == '\\' && escapes) {
+            return readEscape(inQuote);
+        }
+        return c;
+    }
+
+    /**
+     * Decodes an escape sequence after a backslash as {@code scanchar} in GnuR scan.c.
+     */
+    private int readEscape(boolean inQuote) throws IOException {
+        int c = read();
+        if (c >= '0' && c <= '8') {
+            int octal = c - '0';
+            for (int i = 0; i < 2; i++) {
+                int digit = peek();
+                if (digit < '0' || digit > '8') {
+                    break;
+                }
+                pos++;
+                octal = 8 * octal + digit - '0';
+            }
+            return octal & 0xFF;
+        }
+        switch (c) {
+            case 'a':
+                return 0x07;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'v':
+                return 0x0B;
+            case 'x': {
+                int value = 0;
+                for (int i = 0; i < 2; i++) {
+                    int digit = Character.digit(peek(), 16);
+                    if (digit < 0) {
+                        break;
+                    }
+                    pos++;
+                    value = 16 * value + digit;
+                }
+                return value;
+            }
+            default:
+                if (inQuote && isQuote(c)) {
+                    // leave the quote to the quoted string handling
+                    pos--;
+                    return '\\';
+                }
+                return c;
+        }
+    }
+
+    // field
+
+    public void clearField() {
+        fieldLength = 0;
+        fieldCut = false;
+    }
+
+    /**
+     * Appends a byte to the field, the field is cut at a nul byte.
+     */
+    public void appendField(int c) {
+        if (fieldCut || c == 0) {
+            fieldCut = true;
+            return;
+        }
+        if (fieldLength == field.length) {
+            field = Arrays.copyOf(field, field.length * 2);
+        }
+        field[fieldLength++] = (byte) c;
+    }
+
+    public int getFieldLength() {
+        return fieldLength;
+    }
+
+    @TruffleBoundary
+    public String fieldToString() {
+        return new String(field, 0, fieldLength, fieldCharset);
+    }
+
+    /**
+     * Checks the field against the {@code NA} strings.
+     *
+     * @param emptyIsNA whether an empty field is {@code NA}, as it is for non-character fields
+     */
+    public boolean isNAField(boolean emptyIsNA) {
+        if (fieldLength == 0 && emptyIsNA) {
+            return true;
+        }
+        for (byte[] na : naStrings) {
+            if (Arrays.equals(field, 0, fieldLength, na, 0, na.length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Same as {@link RRuntime#parseInt(String)} on the field.
+     */
+    public int fieldToInt() {
+        if (fieldLength == 0) {
+            throw new NumberFormatException();
+        }
+        boolean negative = field[0] == '-';
+        if (negative && fieldLength == 1) {
+            throw new NumberFormatException();
+        }
+        long max = negative ? Integer.MAX_VALUE + 1L : Integer.MAX_VALUE;
+        long value = 0;
+        for (int i = negative ? 1 : 0; i < fieldLength; i++) {
+            int digit = field[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException();
+            }
+            value = value * 10 + digit;
+            if (value > max) {
+                return RRuntime.INT_NA;
+            }
+        }
+        return (int) (negative ? -value : value);
+    }
+
+    /**
+     * Same as {@link RRuntime#string2doubleNoCheck(String)} on the field, but the decimal point is
+     * the {@code dec} character.
+     */
+    @TruffleBoundary
+    public double fieldToDouble() {
+        double value = parseDecimal(field, fieldLength, decchar);
+        if (!Double.isNaN(value)) {
+            return value;
+        }
+        String s = fieldToString();
+        if (decchar != '.') {
+            s = s.replace((char) decchar, '.');
+        }
+        return RRuntime.string2doubleNoCheck(s);
+    }
+
+    /**
+     * Same as {@link RRuntime#string2logicalNoCheck(String)} on the field.
+     */
+    public byte fieldToLogical() {
+        for (byte[] s : TRUE_STRINGS) {
+            if (Arrays.equals(field, 0, fieldLength, s, 0, s.length)) {
+                return RRuntime.LOGICAL_TRUE;
+            }
+        }
+        for (byte[] s : FALSE_STRINGS) {
+            if (Arrays.equals(field, 0, fieldLength, s, 0, s.length)) {
+                return RRuntime.LOGICAL_FALSE;
+            }
+        }
+        return RRuntime.LOGICAL_NA;
+    }
+
+    /**
+     * Parses a number in the plain decimal notation, i.e., {@code [+-]digits[.digits][e[+-]digits]}
+     * surrounded by optional white space, if it can be converted exactly without a
+     * {@link String}: at most 15 significant digits and a decimal exponent within +/-22. Returns
+     * {@link Double#NaN} otherwise.
+     */
+    static double parseDecimal(byte[] b, int length, int dec) {
+        int i = 0;
+        int end = length;
+        while (i < end && (b[i] & 0xFF) <= ' ') {
+            i++;
+        }
+        while (end > i && (b[end - 1] & 0xFF) <= ' ') {
+            end--;
+        }
+        boolean negative = false;
+        if (i < end && (b[i] == '-' || b[i] == '+')) {
+            negative = b[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean anyDigit = false;
+        boolean fraction = false;
+        for (; i < end; i++) {
+            int c = b[i];
+            if (c == dec && !fraction) {
+                fraction = true;
+                continue;
+            }
+            int digit = c - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            anyDigit = true;
+            if (mantissa != 0 || digit != 0) {
+                if (digits == 15) {
+                    return Double.NaN;
+                }
+                mantissa = mantissa * 10 + digit;
+                digits++;
+            }
+            if (fraction) {
+                exponent--;
+            }
+        }
+        if (!anyDigit) {
+            return Double.NaN;
+        }
+        if (i < end && (b[i] == 'e' || b[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (b[i] == '-' || b[i] == '+')) {
+                negativeExponent = b[i] == '-';
+                i++;
+            }
+            int start = i;
+            int e = 0;
+            for (; i < end; i++) {
+                int digit = b[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                if (e < 10000) {
+                    e = e * 10 + digit;
+                }
+            }
+            if (i == start) {
+                return Double.NaN;
+            }
+            exponent += negativeExponent ? -e : e;
+        }
+        if (i != end) {
+            return Double.NaN;
+        }
+        double value;
+        if (mantissa == 0) {
+            value = 0;
+        } else if (exponent >= 0 && exponent < POWERS_OF_TEN.length) {
+            value = mantissa * POWERS_OF_TEN[exponent];
+        } else if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+            value = mantissa / POWERS_OF_TEN[-exponent];
+        } else {
+            return Double.NaN;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Gives the input read, but not consumed, back to the connection.
+     */
+    @Override
+    @TruffleBoundary
+    public void close() {
+        switch (source) {
+            case CACHE:
+                cache.position(pos - cache.arrayOffset());
+                break;
+            case PUSH_BACK:
+            case LINES:
+                if (pos < limit) {
+                    conn.pushBack(RDataFactory.createStringVectorFromScalar(new String(buf, pos, limit - pos, charset)), false);
+                }
+                break;
+            default:
+                break;
+        }
+        source = Source.END;
+        pos = limit = 0;
+    }
+}
@@ -30,6 +30,7 @@ import java.util.List;
 import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.TruffleFile;
 import com.oracle.truffle.api.exception.AbstractTruffleException;
 import com.oracle.truffle.api.frame.MaterializedFrame;
 import com.oracle.truffle.api.interop.ExceptionType;
@@ -288,6 +289,15 @@ public interface Engine {
      */
     Object parseAndEval(Source sourceDesc, MaterializedFrame frame, boolean printResult) throws ParseException;
 
+    /**
+     * Like {@link #parseAndEval(Source, MaterializedFrame, boolean)} without printing, but the
+     * syntax trees are rebuilt from a {@link com.oracle.truffle.r.runtime.nodes.RSyntaxImage} if
+     * one exists for {@code source}, either cached in this process or stored in {@code imageFile}
+     * (may be {@code null}). Otherwise the source is parsed and the image is created. Intended for
+     * the R code of the base package and the builtin packages, which is loaded in every context.
+     */
+    Object parseAndEvalWithImage(Source source, TruffleFile imageFile, MaterializedFrame frame) throws ParseException;
+
     default Object eval(RExpression expr, REnvironment envir, RCaller caller) {
         return eval(expr, envir, null, caller, null);
     }
@@ -130,6 +130,32 @@ public class FastROptions {
     public static final OptionKey<Boolean> RestrictForceSplitting = new OptionKey<>(true);
     @Option(category = OptionCategory.INTERNAL, help = "Turn on explicit GC via the gc built-in. Otherwise calls to gc are ignored.") //
     public static final OptionKey<Boolean> EnableExplicitGC = new OptionKey<>(false);
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "[1, inf)", help = "Maximum number of compiled regular expressions cached per context by grep, sub, regexpr and similar builtins.") //
+    public static final OptionKey<Integer> RegExpCacheSize = new OptionKey<>(64);
+    @Option(category = OptionCategory.USER, stability = OptionStability.EXPERIMENTAL, usageSyntax = "rprof|collapsed|pprof", help = "Output format of the Rprof profiler: GNU-R text format, collapsed stacks for flame graphs or pprof protocol buffers.") //
+    public static final OptionKey<String> RprofFormat = new OptionKey<>("rprof");
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "[0, inf)", help = "Interval in seconds in which Rprof flushes collected samples to the output file, 0 means only at the end of profiling.") //
+    public static final OptionKey<Double> RprofFlushInterval = new OptionKey<>(1.0);
+    @Option(category = OptionCategory.USER, stability = OptionStability.EXPERIMENTAL, usageSyntax = "[0, inf)", help = "If positive, Rprofmem samples one allocation every given number of kilobytes and writes a heap profile by call site in the RprofFormat format instead of tracing every allocation.") //
+    public static final OptionKey<Integer> RprofmemSampleInterval = new OptionKey<>(0);
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "[0, inf)", help = "Number of bindings after which environments created with new.env(hash = TRUE) switch to a layout optimized for many bindings.") //
+    public static final OptionKey<Integer> HashedEnvThreshold = new OptionKey<>(1024);
+    @Option(category = OptionCategory.EXPERT, help = "Rebuild the syntax trees of the base package and builtin package overrides from a pre-parsed image (library/base/R/base.image) instead of parsing them in every context.") //
+    public static final OptionKey<Boolean> SyntaxImage = new OptionKey<>(true);
+    @Option(category = OptionCategory.INTERNAL, help = "Parse the base package and write its syntax image to library/base/R/base.image. Used by the build, the image is never written otherwise.") //
+    public static final OptionKey<Boolean> WriteSyntaxImage = new OptionKey<>(false);
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "<path>", help = "Profile the native routines and the R API functions called by native code and write the profile to given file when the context exits.") //
+    public static final OptionKey<String> FFIProfile = new OptionKey<>("");
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "[0, inf)", help = "Minimal length of double vectors for which chains of + - * / are deferred and evaluated in a single fused pass when the result is first read, 0 disables the fusion.") //
+    public static final OptionKey<Integer> LazyArithmeticThreshold = new OptionKey<>(0);
+    @Option(category = OptionCategory.USER, stability = OptionStability.EXPERIMENTAL, usageSyntax = "[1, inf)", help = "Number of threads used by builtins such as colSums, %*% or cor to process large vectors, 1 disables the parallel processing.") //
+    public static final OptionKey<Integer> KernelThreads = new OptionKey<>(1);
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "[0, inf)", help = "Minimal number of elementary operations of a builtin call for which the work is split among the threads given by --R.KernelThreads.") //
+    public static final OptionKey<Integer> KernelThreshold = new OptionKey<>(1 << 20);
+    @Option(category = OptionCategory.USER, stability = OptionStability.EXPERIMENTAL, usageSyntax = "[0, inf)", help = "If positive, readRDS and unserialize from an uncompressed file map the integer and double vectors of at least the given number of megabytes into memory instead of reading them. The vectors are copied to a temporary file first, so the read file may be modified while they are in use.") //
+    public static final OptionKey<Integer> MappedUnserializeThreshold = new OptionKey<>(0);
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "[0, inf)", help = "Maximum number of S3 method resolutions cached per context for UseMethod, NextMethod and internal dispatch call sites that are no longer specialized, 0 disables the cache.") //
+    public static final OptionKey<Integer> S3DispatchCacheSize = new OptionKey<>(1024);
 
     // Discontinued since rc12
     // only a warning is printed to use the default logger mechanism
@@ -187,6 +213,22 @@ public class FastROptions {
         if (initialized) {
             return;
         }
+        initializeValues();
+        checkObsoleteJVMArgs();
+        DSLConfig.initialize(getValue(DSLCacheSizeFactor));
+        if (initializedFirstOptions && sharedContextsOptionValue != getValue(SharedContexts)) {
+            throw RError.error(RError.NO_CALLER, Message.GENERIC, "FastR option ShareContexts can be set only to a single value per JVM/native-image instance.");
+        }
+        sharedContextsOptionValue = getValue(SharedContexts);
+        initializedFirstOptions = true;
+        initialized = true;
+    }
+
+    /**
+     * Reads the option values without updating the JVM-wide state derived from them, which is
+     * sufficient for a context that is only pre-initialized.
+     */
+    void initializeValues() {
         Iterator<OptionDescriptor> it = descriptors.iterator();
         while (it.hasNext()) {
             OptionDescriptor d = it.next();
@@ -211,15 +253,6 @@ public class FastROptions {
             }
             values.put(key, value);
         }
-
-        checkObsoleteJVMArgs();
-        DSLConfig.initialize(getValue(DSLCacheSizeFactor));
-        if (initializedFirstOptions && sharedContextsOptionValue != getValue(SharedContexts)) {
-            throw RError.error(RError.NO_CALLER, Message.GENERIC, "FastR option ShareContexts can be set only to a single value per JVM/native-image instance.");
-        }
-        sharedContextsOptionValue = getValue(SharedContexts);
-        initializedFirstOptions = true;
-        initialized = true;
     }
 
     public static String getForwardedOptions(RContext context) {
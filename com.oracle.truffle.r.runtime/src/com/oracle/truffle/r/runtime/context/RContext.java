@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2023, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -83,6 +83,7 @@ import com.oracle.truffle.r.common.RCmdOptions;
 import com.oracle.truffle.r.common.RStartParams;
 import com.oracle.truffle.r.common.SuppressFBWarnings;
 import com.oracle.truffle.r.runtime.LazyDBCache;
+import com.oracle.truffle.r.runtime.ParallelKernels;
 import com.oracle.truffle.r.runtime.PrimitiveMethodsInfo;
 import com.oracle.truffle.r.runtime.RCaller;
 import com.oracle.truffle.r.runtime.REnvVars;
@@ -97,7 +98,9 @@ import com.oracle.truffle.r.runtime.RProfile;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.RRuntimeASTAccess;
 import com.oracle.truffle.r.runtime.RSerialize;
+import com.oracle.truffle.r.runtime.RegExpCache;
 import com.oracle.truffle.r.runtime.ReturnException;
+import com.oracle.truffle.r.runtime.S3DispatchCache;
 import com.oracle.truffle.r.runtime.TempPathName;
 import com.oracle.truffle.r.runtime.Utils;
 import com.oracle.truffle.r.runtime.builtins.RBuiltinDescriptor;
@@ -114,6 +117,7 @@ import com.oracle.truffle.r.runtime.env.REnvironment;
 import com.oracle.truffle.r.runtime.ffi.DLL;
 import com.oracle.truffle.r.runtime.ffi.RFFIContext;
 import com.oracle.truffle.r.runtime.ffi.RFFIFactory;
+import com.oracle.truffle.r.runtime.ffi.RFFIProfile;
 import com.oracle.truffle.r.runtime.instrument.InstrumentationState;
 import com.oracle.truffle.r.runtime.interop.FastrInteropTryContextState;
 import com.oracle.truffle.r.runtime.nodes.RCodeBuilder;
@@ -352,6 +356,7 @@ public final class RContext {
 
     private final Env env;
     private final boolean initial;
+    private boolean preInitialized;
     /**
      * State that is used to support interposing on loadNamespace() for overrides.
      */
@@ -376,6 +381,9 @@ public final class RContext {
     public final RRNG.ContextStateImpl stateRNG;
     public final RSerialize.ContextStateImpl stateRSerialize;
     public final LazyDBCache.ContextStateImpl stateLazyDBCache;
+    public final RegExpCache.ContextStateImpl stateRegExpCache;
+    public final S3DispatchCache.ContextStateImpl stateS3DispatchCache;
+    public final ParallelKernels.ContextStateImpl stateParallelKernels;
     public final InstrumentationState stateInstrumentation;
     public final ContextStateImpl stateInternalCode;
     public final DLL.ContextStateImpl stateDLL;
@@ -410,7 +418,7 @@ public final class RContext {
     private ContextState[] contextStates() {
         return new ContextState[]{stateREnvVars, stateRLocale, stateRProfile, stateTempPath, stateROptions, stateREnvironment, stateRErrorHandling, stateRConnection, stateStdConnections, stateRNG,
                         stateRFFI,
-                        stateRSerialize, stateLazyDBCache, stateInstrumentation, stateDLL, stateglobalNativeVar};
+                        stateRSerialize, stateLazyDBCache, stateRegExpCache, stateS3DispatchCache, stateParallelKernels, stateInstrumentation, stateDLL, stateglobalNativeVar};
     }
 
     /**
@@ -452,7 +460,8 @@ public final class RContext {
             this.startParameters = new RStartParams(cmdOptions, false);
             this.contextKind = ContextKind.SHARE_NOTHING;
             this.parentContext = null;
-            this.id = ChildContextInfo.contextInfoIds.incrementAndGet();
+            // a pre-initialized context is discarded, it must not use up the id of the first one
+            this.id = env.isPreInitialization() ? 0 : ChildContextInfo.contextInfoIds.incrementAndGet();
             this.multiSlotIndex = 0;
             this.truffleContext = null;
             this.executor = null;
@@ -471,7 +480,9 @@ public final class RContext {
             initialEnvVars = info.getEnv() == null ? Collections.emptyMap() : info.getEnv();
         }
 
-        outputWelcomeMessage(startParameters);
+        if (!env.isPreInitialization()) {
+            outputWelcomeMessage(startParameters);
+        }
 
         this.stdin = env.in();
         this.stdout = new OutputStreamWriter(env.out());
@@ -492,6 +503,9 @@ public final class RContext {
         this.stateRNG = RRNG.ContextStateImpl.newContextState();
         this.stateRSerialize = RSerialize.ContextStateImpl.newContextState();
         this.stateLazyDBCache = LazyDBCache.ContextStateImpl.newContextState();
+        this.stateRegExpCache = RegExpCache.ContextStateImpl.newContextState();
+        this.stateS3DispatchCache = S3DispatchCache.ContextStateImpl.newContextState();
+        this.stateParallelKernels = ParallelKernels.ContextStateImpl.newContextState();
         this.stateInstrumentation = InstrumentationState.newContextState(instrumenter);
         this.stateInternalCode = ContextStateImpl.newContextState();
         this.stateDLL = DLL.ContextStateImpl.newContextState();
@@ -501,7 +515,8 @@ public final class RContext {
         this.gcTorture = GCTortureState.newContextState();
         this.altRepContext = AltRepContext.newContextState();
         this.stateglobalNativeVar = GlobalNativeVarContext.newContextState(this);
-        this.engine = RContext.getRRuntimeASTAccess().createEngine(this);
+        // a pre-initialized context never runs R code, the global state is not even installed
+        this.engine = env.isPreInitialization() ? null : RContext.getRRuntimeASTAccess().createEngine(this);
         state.add(State.CONSTRUCTED);
 
         this.allocationReporter = env.lookup(AllocationReporter.class);
@@ -564,6 +579,10 @@ public final class RContext {
         }
         // separate in case initialize calls getStateRFFI()!
         getStateRFFI().initialize(this);
+        String ffiProfile = getOption(FastROptions.FFIProfile);
+        if (ffiProfile != null && !ffiProfile.isEmpty()) {
+            RFFIProfile.setEnabled(this, true);
+        }
 
         if (!embedded) {
             doEnvOptionsProfileInitialization();
@@ -577,6 +596,9 @@ public final class RContext {
         stateRNG.initialize(this);
         stateRSerialize.initialize(this);
         stateLazyDBCache.initialize(this);
+        stateRegExpCache.initialize(this);
+        stateS3DispatchCache.initialize(this);
+        stateParallelKernels.initialize(this);
         stateInstrumentation.initialize(this);
         stateInternalCode.initialize(this);
         gcTorture.initialize(this);
@@ -608,6 +630,22 @@ public final class RContext {
         return this;
     }
 
+    /**
+     * Invoked instead of {@link #initializeContext()} when the context is pre-initialized at native
+     * image build time. Only the option values are read, which the parser needs, the JVM-wide state
+     * and the context states are left untouched: a pre-initialized context only serves to warm up
+     * the syntax image cache and is never used for running R code, see
+     * {@code TruffleRLanguage#patchContext}.
+     */
+    public void preInitializeContext() {
+        fastrOptions.initializeValues();
+        preInitialized = true;
+    }
+
+    public boolean isPreInitialized() {
+        return preInitialized;
+    }
+
     /**
      * Factored out for embedded setup, where this initialization may be customized after the
      * context is initialized but before VM really starts execution.
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2023, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -140,6 +140,11 @@ public final class TruffleRLanguage extends TruffleLanguage<RContext> {
 
     @Override
     protected void initializeContext(RContext context) throws Exception {
+        if (context.getEnv().isPreInitialization()) {
+            context.preInitializeContext();
+            access.preInitializeContext(context);
+            return;
+        }
         activeContexts++;
         if (!systemInitialized) {
             initialize();
@@ -150,6 +155,10 @@ public final class TruffleRLanguage extends TruffleLanguage<RContext> {
 
     @Override
     protected RContext createContext(Env env) {
+        if (env.isPreInitialization()) {
+            // only used to warm up the syntax image cache, see initializeContext
+            return RContext.create(this, env, env.lookup(Instrumenter.class), false);
+        }
         boolean initialContext = !systemInitialized;
         if (initialContext) {
             access.onInitializeContext(env);
@@ -157,6 +166,18 @@ public final class TruffleRLanguage extends TruffleLanguage<RContext> {
         return RContext.create(this, env, env.lookup(Instrumenter.class), initialContext);
     }
 
+    /**
+     * A pre-initialized context is never patched: it is not initialized, it only serves to parse
+     * the R code of the base package and of the package overrides into the process-wide syntax
+     * image cache, which becomes part of the image heap (see
+     * {@link TruffleRLanguageAccess#preInitializeContext(RContext)}). Returning {@code false} makes
+     * Truffle discard it and create and initialize a new context for the actual environment.
+     */
+    @Override
+    protected boolean patchContext(RContext context, Env newEnv) {
+        return false;
+    }
+
     @Override
     protected OptionDescriptors getOptionDescriptors() {
         return FastROptions.getDescriptors();
@@ -169,7 +190,9 @@ public final class TruffleRLanguage extends TruffleLanguage<RContext> {
 
     @Override
     protected void disposeContext(RContext context) {
-        activeContexts--;
+        if (!context.isPreInitialized()) {
+            activeContexts--;
+        }
         context.dispose();
     }
 
@@ -28,6 +28,12 @@ public interface TruffleRLanguageAccess {
 
     void onInitializeContext(Env env);
 
+    /**
+     * Warms up the syntax image cache when {@code context} is pre-initialized at native image build
+     * time. Unlike {@link #onInitializeContext(Env)}, leaves no global state behind.
+     */
+    void preInitializeContext(RContext context);
+
     String toDisplayString(RContext context, Object value, boolean sideEffects);
 
 }
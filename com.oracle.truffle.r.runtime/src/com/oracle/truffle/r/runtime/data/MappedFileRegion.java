@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Read-only memory mapping of the elements of a vector stored in a file. A single
+ * {@link java.nio.MappedByteBuffer} cannot be larger than 2GB, so the region is mapped in chunks
+ * of {@link #CHUNK_SIZE} bytes, which is a multiple of the element size, so that no element spans
+ * two chunks.
+ *
+ * Reading single elements from the buffers cannot be partially evaluated, the element-wise
+ * accessors therefore copy blocks of {@link #BLOCK_LENGTH} elements to the heap behind a boundary
+ * and read the elements of the most recently copied block without one.
+ */
+final class MappedFileRegion {
+
+    private static final int CHUNK_SHIFT = 30;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private static final int BLOCK_LENGTH = 4096;
+
+    /**
+     * Elements {@code start} to {@code start + length - 1} of the region, never modified after
+     * construction so that concurrent readers see consistent blocks.
+     */
+    private static final class Block {
+        private final int start;
+        private final int[] ints;
+        private final double[] doubles;
+
+        Block(int start, int[] ints, double[] doubles) {
+            this.start = start;
+            this.ints = ints;
+            this.doubles = doubles;
+        }
+    }
+
+    private final ByteBuffer[] chunks;
+    private final long size;
+    private volatile Block block;
+
+    private MappedFileRegion(ByteBuffer[] chunks, long size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    /**
+     * Maps {@code size} bytes of the file starting at {@code offset}. The mapping stays valid after
+     * the channel is closed.
+     */
+    static MappedFileRegion map(FileChannel channel, long offset, long size, ByteOrder order) throws IOException {
+        ByteBuffer[] chunks = new ByteBuffer[(int) ((size + CHUNK_SIZE - 1) >>> CHUNK_SHIFT)];
+        for (int i = 0; i < chunks.length; i++) {
+            long chunkOffset = (long) i << CHUNK_SHIFT;
+            chunks[i] = channel.map(MapMode.READ_ONLY, offset + chunkOffset, Math.min(CHUNK_SIZE, size - chunkOffset)).order(order);
+        }
+        return new MappedFileRegion(chunks, size);
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    int getInt(int index) {
+        Block b = block;
+        if (b == null || index < b.start || index - b.start >= b.ints.length) {
+            b = loadBlock(index, Integer.BYTES);
+        }
+        return b.ints[index - b.start];
+    }
+
+    double getDouble(int index) {
+        Block b = block;
+        if (b == null || index < b.start || index - b.start >= b.doubles.length) {
+            b = loadBlock(index, Double.BYTES);
+        }
+        return b.doubles[index - b.start];
+    }
+
+    /**
+     * Copies the block containing element {@code index}. The blocks are aligned to their length,
+     * which divides the number of elements in a chunk, so a block never spans two chunks.
+     */
+    @TruffleBoundary
+    private Block loadBlock(int index, int elementSize) {
+        int start = index & -BLOCK_LENGTH;
+        int length = (int) Math.min(BLOCK_LENGTH, size / elementSize - start);
+        long pos = (long) start * elementSize;
+        ByteBuffer chunk = chunks[(int) (pos >>> CHUNK_SHIFT)];
+        ByteBuffer view = chunk.duplicate().order(chunk.order()).position((int) (pos & CHUNK_MASK));
+        Block b;
+        if (elementSize == Integer.BYTES) {
+            int[] ints = new int[length];
+            view.asIntBuffer().get(ints);
+            b = new Block(start, ints, null);
+        } else {
+            double[] doubles = new double[length];
+            view.asDoubleBuffer().get(doubles);
+            b = new Block(start, null, doubles);
+        }
+        block = b;
+        return b;
+    }
+
+    /**
+     * Copies all the elements, the buffer views copy in bulk.
+     */
+    @TruffleBoundary
+    int[] getInts(int length) {
+        int[] result = new int[length];
+        int pos = 0;
+        for (ByteBuffer chunk : chunks) {
+            int n = Math.min(length - pos, chunk.capacity() / Integer.BYTES);
+            chunk.duplicate().order(chunk.order()).position(0).asIntBuffer().get(result, pos, n);
+            pos += n;
+        }
+        return result;
+    }
+
+    @TruffleBoundary
+    double[] getDoubles(int length) {
+        double[] result = new double[length];
+        int pos = 0;
+        for (ByteBuffer chunk : chunks) {
+            int n = Math.min(length - pos, chunk.capacity() / Double.BYTES);
+            chunk.duplicate().order(chunk.order()).position(0).asDoubleBuffer().get(result, pos, n);
+            pos += n;
+        }
+        return result;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -65,6 +65,7 @@ import com.oracle.truffle.r.runtime.data.model.RAbstractContainer;
 import com.oracle.truffle.r.runtime.data.model.RAbstractVector;
 import com.oracle.truffle.r.runtime.data.nodes.ShareObjectNode;
 import com.oracle.truffle.r.runtime.ffi.FFIMaterializeNode;
+import com.oracle.truffle.r.runtime.ffi.RFFIProfile;
 import com.oracle.truffle.r.runtime.ffi.util.NativeMemory;
 import com.oracle.truffle.r.runtime.ffi.util.NativeMemory.ElementType;
 import com.oracle.truffle.r.runtime.ffi.util.NativeMemory.NativeMemoryWrapper;
@@ -344,6 +345,9 @@ public final class NativeDataAccess {
             if (vectorLength != 0) {
                 setDataAddress(NativeMemory.allocate(type, elementsCount, source));
                 NativeMemory.copyMemory(source, dataAddress, type, elementsCount);
+                if (RFFIProfile.isProfiling()) {
+                    RFFIProfile.addTransferredBytes(elementsCount * type.getSize());
+                }
             } else {
                 setExternalDataAddress(getEmptyDataAddress());
             }
@@ -367,6 +371,9 @@ public final class NativeDataAccess {
             assert getDataAddress() == 0;
             setDataAddress(NativeMemory.allocate(bytes.length + 1L, "NativeString"));
             NativeMemory.copyMemory(bytes, dataAddress, ElementType.BYTE, bytes.length);
+            if (RFFIProfile.isProfiling()) {
+                RFFIProfile.addTransferredBytes(bytes.length);
+            }
             // append C strings termination
             NativeMemory.putByte(dataAddress, bytes.length, (byte) 0);
             this.length = bytes.length + 1;
@@ -380,9 +387,15 @@ public final class NativeDataAccess {
             if (wrappers.length == 0) {
                 setExternalDataAddress(getEmptyDataAddress());
             } else {
-                NativeMemoryWrapper addr = setDataAddress(NativeMemory.allocate(wrappers.length * (long) Long.BYTES, "CharSXPWrapper"));
+                // the handles are collected first, so that the native array is filled by one copy
+                long[] handles = new long[wrappers.length];
                 for (int i = 0; i < wrappers.length; i++) {
-                    NativeMemory.putLong(addr, i, getPointer(wrappers[i]));
+                    handles[i] = getPointer(wrappers[i]);
+                }
+                NativeMemoryWrapper addr = setDataAddress(NativeMemory.allocate(ElementType.LONG, handles.length, "CharSXPWrapper"));
+                NativeMemory.copyMemory(handles, addr, ElementType.LONG, handles.length);
+                if (RFFIProfile.isProfiling()) {
+                    RFFIProfile.addTransferredBytes(handles.length * (long) Long.BYTES);
                 }
             }
         }
@@ -405,6 +418,9 @@ public final class NativeDataAccess {
                         throw RInternalError.shouldNotReachHere(materialized == null ? "null" : materialized.getClass().getSimpleName());
                     }
                 }
+                if (RFFIProfile.isProfiling()) {
+                    RFFIProfile.addTransferredBytes(elements.length * (long) Long.BYTES);
+                }
             }
         }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -23,8 +23,6 @@
 package com.oracle.truffle.r.runtime.data;
 
 import java.util.Arrays;
-import java.util.Deque;
-import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
@@ -60,6 +58,7 @@ import com.oracle.truffle.r.runtime.data.altrep.RAltRepData;
 import com.oracle.truffle.r.runtime.data.model.RAbstractVector;
 import com.oracle.truffle.r.runtime.env.REnvironment;
 import com.oracle.truffle.r.runtime.ffi.DLL.SymbolHandle;
+import com.oracle.truffle.r.runtime.instrument.InstrumentationState;
 import com.oracle.truffle.r.runtime.gnur.SEXPTYPE;
 
 public final class RDataFactory {
@@ -1364,10 +1363,12 @@ public final class RDataFactory {
     /*
      * Support for collecting information on allocations in this class. Rprofmem/Rprof register a
      * listener when active which, when memory profiling is enabled, is called with the object being
-     * allocated. Owing to the use of the Assumption, there should be no overhead when disabled.
+     * allocated. The listeners are kept per context, in its InstrumentationState, but the
+     * Assumption is global, it is enabled as long as any context has a listener. Owing to the use
+     * of the Assumption, there should be no overhead when disabled.
      */
 
-    private static final Deque<Listener> listeners = new ConcurrentLinkedDeque<>();
+    private static int listenerCount = 0;
     private static boolean allocationTracingEnabled = false;
 
     @CompilationFinal private static StateAssumption stateAssumption = new StateAssumption();
@@ -1405,7 +1406,7 @@ public final class RDataFactory {
     }
 
     private static synchronized void updateTracingState() {
-        boolean enabled = !listeners.isEmpty() || allocationTracingEnabled;
+        boolean enabled = listenerCount > 0 || allocationTracingEnabled;
         stateAssumption = stateAssumption.setState(enabled);
     }
 
@@ -1422,8 +1423,8 @@ public final class RDataFactory {
 
     @TruffleBoundary
     private static <T> T reportDataCreated(T data) {
+        RContext ctx = RContext.getInstance();
         if (allocationTracingEnabled) {
-            RContext ctx = RContext.getInstance();
             assert ctx != null;
             AllocationReporter allocationReporter = ctx.getAllocationReporter();
 
@@ -1432,8 +1433,12 @@ public final class RDataFactory {
             long size = data instanceof RBaseObject ? getSize((RBaseObject) data) : AllocationReporter.SIZE_UNKNOWN;
             allocationReporter.onReturnValue(data, 0, size);
         }
-        for (Listener listener : listeners) {
-            listener.reportAllocation((RBaseObject) data);
+        // the state does not exist yet while the context is being created
+        InstrumentationState instrumentation = ctx == null ? null : ctx.stateInstrumentation;
+        if (instrumentation != null) {
+            for (Listener listener : instrumentation.getAllocationListeners()) {
+                listener.reportAllocation((RBaseObject) data);
+            }
         }
         return data;
     }
@@ -1451,17 +1456,28 @@ public final class RDataFactory {
     }
 
     /**
-     * Sets the listener of memory tracing events. For the time being there can only be one
-     * listener. This can be extended to an array should we need more listeners.
+     * Adds a listener of the allocations in the current context, the allocations in other contexts
+     * are not reported to it.
      */
     public static synchronized void addListener(Listener listener) {
-        listeners.addLast(listener);
+        RContext.getInstance().stateInstrumentation.getAllocationListeners().addLast(listener);
+        listenerCount++;
         updateTracingState();
     }
 
-    public static synchronized void removeListener(Listener listener) {
-        listeners.remove(listener);
-        updateTracingState();
+    public static void removeListener(Listener listener) {
+        removeListener(RContext.getInstance(), listener);
+    }
+
+    /**
+     * Removes a listener added in given context, the listeners left are removed when the context
+     * is disposed.
+     */
+    public static synchronized void removeListener(RContext context, Listener listener) {
+        if (context.stateInstrumentation.getAllocationListeners().remove(listener)) {
+            listenerCount--;
+            updateTracingState();
+        }
     }
 
     private static Object[] createRNullArray(int size) {
@@ -47,6 +47,7 @@ import com.oracle.truffle.r.runtime.ops.na.NACheck;
 public class RDoubleArrayVectorData implements TruffleObject, ShareableVectorData {
     private final double[] data;
     private boolean complete;
+    private byte sorted = VectorSortedness.UNKNOWN;
 
     public RDoubleArrayVectorData(double[] data, boolean complete) {
         this.data = data;
@@ -83,7 +84,9 @@ public class RDoubleArrayVectorData implements TruffleObject, ShareableVectorDat
 
     @ExportMessage
     public RDoubleArrayVectorData copy(@SuppressWarnings("unused") boolean deep) {
-        return new RDoubleArrayVectorData(Arrays.copyOf(data, data.length), isComplete());
+        RDoubleArrayVectorData result = new RDoubleArrayVectorData(Arrays.copyOf(data, data.length), isComplete());
+        result.sorted = sorted;
+        return result;
     }
 
     @ExportMessage
@@ -91,6 +94,16 @@ public class RDoubleArrayVectorData implements TruffleObject, ShareableVectorDat
         return complete && ENABLE_COMPLETE;
     }
 
+    @ExportMessage
+    public boolean isSorted(boolean descending, boolean naLast) {
+        return VectorSortedness.isSorted(sorted, isComplete(), descending, naLast);
+    }
+
+    @ExportMessage
+    public void setSorted(boolean descending, boolean naLast) {
+        sorted = VectorSortedness.create(descending, naLast);
+    }
+
     @ExportMessage
     public double[] getReadonlyDoubleData() {
         return data;
@@ -159,11 +172,13 @@ public class RDoubleArrayVectorData implements TruffleObject, ShareableVectorDat
 
     @ExportMessage
     public SeqWriteIterator writeIterator() {
+        sorted = VectorSortedness.UNKNOWN;
         return new SeqWriteIterator(data, data.length);
     }
 
     @ExportMessage
     public RandomAccessWriteIterator randomAccessWriteIterator() {
+        sorted = VectorSortedness.UNKNOWN;
         return new RandomAccessWriteIterator(data);
     }
 
@@ -188,6 +203,7 @@ public class RDoubleArrayVectorData implements TruffleObject, ShareableVectorDat
     @ExportMessage
     public void setDoubleAt(int index, double value, @Shared("setCompleteProfile") @Cached BranchProfile setCompleteProfile) {
         data[index] = value;
+        sorted = VectorSortedness.UNKNOWN;
         if (RRuntime.isNA(value)) {
             setCompleteProfile.enter();
             complete = false;
@@ -0,0 +1,433 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.data;
+
+import static com.oracle.truffle.r.runtime.data.model.RAbstractVector.ENABLE_COMPLETE;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.api.profiles.LoopConditionProfile;
+import com.oracle.truffle.r.runtime.ParallelKernels;
+import com.oracle.truffle.r.runtime.RInternalError;
+import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.RType;
+import com.oracle.truffle.r.runtime.data.VectorDataLibrary.Iterator;
+import com.oracle.truffle.r.runtime.data.VectorDataLibrary.RandomAccessIterator;
+import com.oracle.truffle.r.runtime.data.VectorDataLibrary.SeqIterator;
+import com.oracle.truffle.r.runtime.ops.na.NACheck;
+
+/**
+ * Deferred result of a chain of element-wise {@code + - * /} operations on double vectors. The
+ * operands are either full length {@code double[]} arrays, scalars or other fused data. Nothing is
+ * computed until the first element is read, then the whole expression is evaluated in a single
+ * pass over blocks of {@link #BLOCK_SIZE} elements, so that the intermediate results of the chain
+ * never exist as full length vectors.
+ *
+ * The operand arrays must not change while the data are not evaluated. The node that creates the
+ * fused data is responsible for incrementing the reference count of the operand vectors, so that
+ * any later update of an operand copies it first. The vectors are passed to {@link #create} and
+ * their reference counts are decremented again once the values are computed. Fused data are used
+ * as an operand only by a single expression, otherwise they would be evaluated more than once.
+ *
+ * The values are computed at most once, the first thread that reads them computes them while
+ * holding the lock of the data. The evaluation of an enclosing expression may read the operands
+ * concurrently and uses the values instead once the operands are cleared.
+ */
+@ExportLibrary(VectorDataLibrary.class)
+public final class RDoubleFusedVectorData implements TruffleObject {
+
+    public static final byte ADD = 0;
+    public static final byte SUBTRACT = 1;
+    public static final byte MULTIPLY = 2;
+    public static final byte DIVIDE = 3;
+
+    /**
+     * Maximal number of operations in one expression. Longer chains, e.g. created by a loop
+     * updating the same variable, evaluate the operand first.
+     */
+    public static final int MAX_OPERATIONS = 32;
+
+    private static final int BLOCK_SIZE = 1024;
+
+    private static final LongAdder operations = new LongAdder();
+    private static final LongAdder avoidedTemporaries = new LongAdder();
+    private static final LongAdder evaluations = new LongAdder();
+
+    private final byte op;
+    private final int length;
+    private final int operationCount;
+    private final int depth;
+    private final boolean complete;
+
+    /*
+     * Operands: double[], Double or RDoubleFusedVectorData. Both are cleared once the values are
+     * computed so that the operand arrays can be collected, the values are published before.
+     */
+    private Object left;
+    private Object right;
+    private RSharingAttributeStorage[] retained;
+    private volatile double[] values;
+    /*
+     * The kernels of the context that created the data, the values may be read by any thread.
+     */
+    private final ParallelKernels kernels;
+
+    private RDoubleFusedVectorData(byte op, Object left, Object right, RSharingAttributeStorage[] retained, int length, boolean complete, ParallelKernels kernels) {
+        this.op = op;
+        this.kernels = kernels;
+        this.left = left;
+        this.right = right;
+        this.retained = retained;
+        this.length = length;
+        this.complete = complete && ENABLE_COMPLETE;
+        this.operationCount = 1 + getOperationCount(left) + getOperationCount(right);
+        this.depth = 1 + Math.max(getDepth(left), getDepth(right));
+    }
+
+    /**
+     * Creates the fused data for {@code left op right}. The operands must be {@code double[]} of
+     * given length, boxed {@code Double} scalars or fused data of given length. The result is
+     * complete if both operands are known not to contain {@code NA}, the arithmetic operations never
+     * introduce {@code NA} values. The reference counts of the {@code retained} vectors, which were
+     * incremented by the caller, are decremented once the values are computed. The values are
+     * computed using {@code kernels}.
+     */
+    public static RDoubleFusedVectorData create(byte op, Object left, Object right, RSharingAttributeStorage[] retained, int length, boolean complete, ParallelKernels kernels) {
+        assert isOperand(left, length) && isOperand(right, length);
+        operations.increment();
+        if (left instanceof RDoubleFusedVectorData) {
+            avoidedTemporaries.increment();
+        }
+        if (right instanceof RDoubleFusedVectorData) {
+            avoidedTemporaries.increment();
+        }
+        return new RDoubleFusedVectorData(op, left, right, retained, length, complete, kernels);
+    }
+
+    private static boolean isOperand(Object operand, int length) {
+        if (operand instanceof double[]) {
+            return ((double[]) operand).length == length;
+        } else if (operand instanceof RDoubleFusedVectorData) {
+            return ((RDoubleFusedVectorData) operand).length == length;
+        }
+        return operand instanceof Double;
+    }
+
+    private static int getOperationCount(Object operand) {
+        return operand instanceof RDoubleFusedVectorData ? ((RDoubleFusedVectorData) operand).operationCount : 0;
+    }
+
+    private static int getDepth(Object operand) {
+        return operand instanceof RDoubleFusedVectorData ? ((RDoubleFusedVectorData) operand).depth : 0;
+    }
+
+    public int getOperationCount() {
+        return values == null ? operationCount : 0;
+    }
+
+    public boolean isEvaluated() {
+        return values != null;
+    }
+
+    /**
+     * Returns the number of fused operations, the number of full length temporary vectors that
+     * were not allocated thanks to the fusion and the number of evaluated expressions.
+     */
+    public static long[] getCounters() {
+        return new long[]{operations.sum(), avoidedTemporaries.sum(), evaluations.sum()};
+    }
+
+    public static void resetCounters() {
+        operations.reset();
+        avoidedTemporaries.reset();
+        evaluations.reset();
+    }
+
+    /**
+     * Returns the values, computing them on the first call.
+     */
+    @TruffleBoundary
+    public double[] getValues() {
+        double[] result = values;
+        return result != null ? result : computeOnce();
+    }
+
+    private synchronized double[] computeOnce() {
+        if (values == null) {
+            values = computeValues(left, right);
+            left = null;
+            right = null;
+            if (retained != null) {
+                for (RSharingAttributeStorage vector : retained) {
+                    if (!vector.isSharedPermanent()) {
+                        vector.decRefCount();
+                    }
+                }
+                retained = null;
+            }
+            evaluations.increment();
+        }
+        return values;
+    }
+
+    /**
+     * Computes {@code left op right} right away, the operands are as in {@link #create}. Unlike
+     * {@link #create}, this is not counted as a fused operation.
+     */
+    @TruffleBoundary
+    public static double[] compute(byte op, Object left, Object right, int length, boolean complete, ParallelKernels kernels) {
+        assert isOperand(left, length) && isOperand(right, length);
+        return new RDoubleFusedVectorData(op, left, right, null, length, complete, kernels).computeValues(left, right);
+    }
+
+    /**
+     * Evaluates the blocks, in parallel if the expression is large enough for
+     * {@link ParallelKernels}. Every element is computed by the same operations regardless of the
+     * blocks being processed in parallel.
+     */
+    private double[] computeValues(Object l, Object r) {
+        double[] result = new double[length];
+        int blocks = (length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        if (blocks > 1 && kernels.isParallel((long) length * operationCount)) {
+            kernels.parallelFor(blocks, (fromBlock, toBlock) -> evaluateBlocks(fromBlock, toBlock, result, l, r));
+        } else {
+            evaluateBlocks(0, blocks, result, l, r);
+        }
+        return result;
+    }
+
+    private void evaluateBlocks(int fromBlock, int toBlock, double[] result, Object l, Object r) {
+        double[][] buffers = new double[depth][BLOCK_SIZE];
+        for (int block = fromBlock; block < toBlock; block++) {
+            int from = block * BLOCK_SIZE;
+            evaluate(from, Math.min(BLOCK_SIZE, length - from), result, from, buffers, 0, l, r);
+        }
+    }
+
+    /**
+     * Evaluates elements {@code [from, from + count)} of {@code leftOperand op rightOperand} into
+     * {@code target} starting at {@code targetOffset}. Nested fused operands use the buffer of the
+     * next level.
+     */
+    private void evaluate(int from, int count, double[] target, int targetOffset, double[][] buffers, int level, Object leftOperand, Object rightOperand) {
+        double[] leftArray = null;
+        int leftOffset = 0;
+        double leftScalar = 0;
+        if (leftOperand instanceof double[]) {
+            leftArray = (double[]) leftOperand;
+            leftOffset = from;
+        } else if (leftOperand instanceof RDoubleFusedVectorData) {
+            leftArray = buffers[level];
+            ((RDoubleFusedVectorData) leftOperand).evaluateOperand(from, count, leftArray, buffers, level + 1);
+        } else {
+            leftScalar = (Double) leftOperand;
+        }
+        double[] rightArray = null;
+        int rightOffset = 0;
+        double rightScalar = 0;
+        if (rightOperand instanceof double[]) {
+            rightArray = (double[]) rightOperand;
+            rightOffset = from;
+        } else if (rightOperand instanceof RDoubleFusedVectorData) {
+            // the leftOperand operand may already use the buffer of this level
+            rightArray = leftArray == buffers[level] ? target : buffers[level];
+            int offset = rightArray == target ? targetOffset : 0;
+            ((RDoubleFusedVectorData) rightOperand).evaluateOperand(from, count, rightArray, offset, buffers, level + 1);
+            rightOffset = offset;
+        } else {
+            rightScalar = (Double) rightOperand;
+        }
+        for (int i = 0; i < count; i++) {
+            double l = leftArray == null ? leftScalar : leftArray[leftOffset + i];
+            double r = rightArray == null ? rightScalar : rightArray[rightOffset + i];
+            target[targetOffset + i] = complete ? apply(op, l, r) : applyWithNA(op, l, r);
+        }
+    }
+
+    private void evaluateOperand(int from, int count, double[] target, double[][] buffers, int level) {
+        evaluateOperand(from, count, target, 0, buffers, level);
+    }
+
+    private void evaluateOperand(int from, int count, double[] target, int targetOffset, double[][] buffers, int level) {
+        double[] v = values;
+        if (v == null) {
+            Object l = left;
+            Object r = right;
+            if (l != null && r != null) {
+                evaluate(from, count, target, targetOffset, buffers, level, l, r);
+                return;
+            }
+            // computed concurrently
+            v = getValues();
+        }
+        System.arraycopy(v, from, target, targetOffset, count);
+    }
+
+    private static double apply(byte op, double left, double right) {
+        switch (op) {
+            case ADD:
+                return left + right;
+            case SUBTRACT:
+                return left - right;
+            case MULTIPLY:
+                return left * right;
+            case DIVIDE:
+                return left / right;
+            default:
+                throw RInternalError.shouldNotReachHere();
+        }
+    }
+
+    /**
+     * Same {@code NA} handling as the arithmetic nodes: {@code NA} on the left wins, {@code NaN op NA}
+     * gives {@code NaN}.
+     */
+    private static double applyWithNA(byte op, double left, double right) {
+        if (RRuntime.isNA(left)) {
+            return RRuntime.DOUBLE_NA;
+        } else if (RRuntime.isNA(right)) {
+            return Double.isNaN(left) ? left : RRuntime.DOUBLE_NA;
+        }
+        return apply(op, left, right);
+    }
+
+    @ExportMessage
+    public NACheck getNACheck(@Shared("naCheck") @Cached() NACheck na) {
+        na.enable(!isComplete());
+        return na;
+    }
+
+    @SuppressWarnings("static-method")
+    @ExportMessage
+    public RType getType() {
+        return RType.Double;
+    }
+
+    @ExportMessage
+    public int getLength() {
+        return length;
+    }
+
+    @ExportMessage
+    public boolean isComplete() {
+        return complete && ENABLE_COMPLETE;
+    }
+
+    /**
+     * The materialized data take over the computed values. This is safe, because a vector with
+     * fused data is only written to if it is not shared, i.e., no other fused data use it as an
+     * operand.
+     */
+    @ExportMessage
+    public RDoubleArrayVectorData materialize() {
+        return new RDoubleArrayVectorData(getValues(), isComplete());
+    }
+
+    @ExportMessage
+    public RDoubleArrayVectorData copy(@SuppressWarnings("unused") boolean deep) {
+        return new RDoubleArrayVectorData(getDoubleDataCopy(), isComplete());
+    }
+
+    @ExportMessage
+    public double[] getReadonlyDoubleData() {
+        return getValues();
+    }
+
+    @ExportMessage
+    public double[] getDoubleDataCopy() {
+        double[] result = getValues();
+        return Arrays.copyOf(result, result.length);
+    }
+
+    // Read access to the elements:
+
+    @ExportMessage
+    public SeqIterator iterator(@Shared("naCheck") @Cached() NACheck naCheck,
+                    @Shared("SeqItLoopProfile") @Cached("createCountingProfile()") LoopConditionProfile loopProfile) {
+        SeqIterator it = new SeqIterator(getValues(), length);
+        naCheck.enable(!isComplete());
+        it.initLoopConditionProfile(loopProfile);
+        return it;
+    }
+
+    @ExportMessage
+    @SuppressWarnings("static-method")
+    public boolean nextImpl(SeqIterator it, boolean loopCondition,
+                    @Shared("SeqItLoopProfile") @Cached("createCountingProfile()") LoopConditionProfile loopProfile) {
+        return it.next(loopCondition, loopProfile);
+    }
+
+    @ExportMessage
+    @SuppressWarnings("static-method")
+    public void nextWithWrap(SeqIterator it,
+                    @Cached("createBinaryProfile()") ConditionProfile wrapProfile) {
+        it.nextWithWrap(wrapProfile);
+    }
+
+    @ExportMessage
+    public RandomAccessIterator randomAccessIterator(@Shared("naCheck") @Cached() NACheck naCheck) {
+        naCheck.enable(!isComplete());
+        return new RandomAccessIterator(getValues());
+    }
+
+    @ExportMessage
+    public double getDoubleAt(int index, @Shared("naCheck") @Cached() NACheck naCheck) {
+        double value = getValues()[index];
+        naCheck.enable(!isComplete());
+        naCheck.check(value);
+        return value;
+    }
+
+    @ExportMessage
+    public double getNextDouble(SeqIterator it, @Shared("naCheck") @Cached() NACheck naCheck) {
+        double value = getStore(it)[it.getIndex()];
+        naCheck.check(value);
+        return value;
+    }
+
+    @ExportMessage
+    public double getDouble(RandomAccessIterator it, int index, @Shared("naCheck") @Cached() NACheck naCheck) {
+        double value = getStore(it)[index];
+        naCheck.check(value);
+        return value;
+    }
+
+    private static double[] getStore(Iterator it) {
+        return (double[]) it.getStore();
+    }
+
+    @Override
+    public String toString() {
+        CompilerAsserts.neverPartOfCompilation();
+        return values != null ? "fused[" + length + "]" : "fused[" + length + ", " + operationCount + " operations]";
+    }
+}
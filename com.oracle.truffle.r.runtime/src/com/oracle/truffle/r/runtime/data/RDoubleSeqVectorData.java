@@ -94,7 +94,10 @@ public class RDoubleSeqVectorData implements RSeq, TruffleObject {
 
     @ExportMessage
     public RDoubleArrayVectorData materialize() {
-        return new RDoubleArrayVectorData(getDoubleDataCopy(), isComplete());
+        RDoubleArrayVectorData result = new RDoubleArrayVectorData(getDoubleDataCopy(), isComplete());
+        // the materialized data keep the sortedness until they are written to
+        result.setSorted(stride < 0, true);
+        return result;
     }
 
     @ExportMessage
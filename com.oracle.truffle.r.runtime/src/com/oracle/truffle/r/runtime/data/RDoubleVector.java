@@ -89,6 +89,25 @@ public final class RDoubleVector extends RAbstractNumericVector implements RMate
         return new RDoubleVector(new RDoubleSeqVectorData(start, stride, length), length);
     }
 
+    /**
+     * Creates a vector over fused data. The vector is not verified, that would evaluate the data.
+     */
+    public static RDoubleVector createFused(RDoubleFusedVectorData fusedData) {
+        RDoubleVector vector = new RDoubleVector();
+        vector.setData(fusedData, fusedData.getLength());
+        return vector;
+    }
+
+    /**
+     * Creates a vector over mapped data. The vector is not verified, that would read the whole
+     * mapping.
+     */
+    public static RDoubleVector createMapped(RDoubleMappedVectorData mappedData) {
+        RDoubleVector vector = new RDoubleVector();
+        vector.setData(mappedData, mappedData.getLength());
+        return vector;
+    }
+
     public static RDoubleVector createClosure(RAbstractVector delegate, boolean keepAttrs) {
         RDoubleVector result = new RDoubleVector(VectorDataClosure.fromVector(delegate, RType.Double), delegate.getLength());
         if (keepAttrs) {
@@ -47,6 +47,7 @@ import com.oracle.truffle.r.runtime.ops.na.NACheck;
 public class RIntArrayVectorData implements TruffleObject, ShareableVectorData {
     private final int[] data;
     private boolean complete;
+    private byte sorted = VectorSortedness.UNKNOWN;
 
     public RIntArrayVectorData(int[] data, boolean complete) {
         this.data = data;
@@ -83,7 +84,9 @@ public class RIntArrayVectorData implements TruffleObject, ShareableVectorData {
 
     @ExportMessage
     public RIntArrayVectorData copy(@SuppressWarnings("unused") boolean deep) {
-        return new RIntArrayVectorData(Arrays.copyOf(data, data.length), isComplete());
+        RIntArrayVectorData result = new RIntArrayVectorData(Arrays.copyOf(data, data.length), isComplete());
+        result.sorted = sorted;
+        return result;
     }
 
     @ExportMessage
@@ -91,6 +94,16 @@ public class RIntArrayVectorData implements TruffleObject, ShareableVectorData {
         return complete && ENABLE_COMPLETE;
     }
 
+    @ExportMessage
+    public boolean isSorted(boolean descending, boolean naLast) {
+        return VectorSortedness.isSorted(sorted, isComplete(), descending, naLast);
+    }
+
+    @ExportMessage
+    public void setSorted(boolean descending, boolean naLast) {
+        sorted = VectorSortedness.create(descending, naLast);
+    }
+
     @ExportMessage
     public int[] getReadonlyIntData() {
         return data;
@@ -160,11 +173,13 @@ public class RIntArrayVectorData implements TruffleObject, ShareableVectorData {
 
     @ExportMessage
     public SeqWriteIterator writeIterator() {
+        sorted = VectorSortedness.UNKNOWN;
         return new SeqWriteIterator(data, data.length);
     }
 
     @ExportMessage
     public RandomAccessWriteIterator randomAccessWriteIterator() {
+        sorted = VectorSortedness.UNKNOWN;
         return new RandomAccessWriteIterator(data);
     }
 
@@ -189,6 +204,7 @@ public class RIntArrayVectorData implements TruffleObject, ShareableVectorData {
     @ExportMessage
     public void setIntAt(int index, int value, @Shared("setCompleteProfile") @Cached BranchProfile setCompleteProfile) {
         data[index] = value;
+        sorted = VectorSortedness.UNKNOWN;
         if (RRuntime.isNA(value)) {
             setCompleteProfile.enter();
             complete = false;
@@ -119,7 +119,10 @@ public class RIntSeqVectorData implements RSeq, TruffleObject {
 
     @ExportMessage
     public RIntArrayVectorData materialize(@Shared("naCheck") @Cached() NACheck naCheck) {
-        return new RIntArrayVectorData(getIntDataCopy(naCheck), isComplete());
+        RIntArrayVectorData result = new RIntArrayVectorData(getIntDataCopy(naCheck), isComplete());
+        // the materialized data keep the sortedness until they are written to
+        result.setSorted(stride < 0, true);
+        return result;
     }
 
     @ExportMessage
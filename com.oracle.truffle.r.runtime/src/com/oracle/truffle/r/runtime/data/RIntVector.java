@@ -106,6 +106,16 @@ public final class RIntVector extends RAbstractNumericVector {
         return vector;
     }
 
+    /**
+     * Creates a vector over mapped data. The vector is not verified, that would read the whole
+     * mapping.
+     */
+    public static RIntVector createMapped(RIntMappedVectorData mappedData) {
+        RIntVector vector = new RIntVector();
+        vector.setData(mappedData, mappedData.getLength());
+        return vector;
+    }
+
     public static RIntVector createClosure(RAbstractVector delegate, boolean keepAttrs) {
         RIntVector result = new RIntVector(VectorDataClosure.fromVector(delegate, RType.Integer), delegate.getLength());
         if (keepAttrs) {
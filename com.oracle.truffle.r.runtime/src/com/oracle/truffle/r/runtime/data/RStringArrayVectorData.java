@@ -22,6 +22,7 @@
  */
 package com.oracle.truffle.r.runtime.data;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.interop.TruffleObject;
@@ -30,6 +31,7 @@ import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.profiles.LoopConditionProfile;
+import com.oracle.truffle.r.runtime.Collections.NonRecursiveHashMapCharacter;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.RType;
 import com.oracle.truffle.r.runtime.data.VectorDataLibrary.Iterator;
@@ -47,6 +49,13 @@ import static com.oracle.truffle.r.runtime.data.model.RAbstractVector.ENABLE_COM
 class RStringArrayVectorData implements TruffleObject, ShareableVectorData {
     private final String[] data;
     private boolean complete;
+    private byte sorted = VectorSortedness.UNKNOWN;
+    /**
+     * Lazily built index of the first occurrence of each element, see
+     * {@link RStringVector#getNameIndex()}. Dropped on any write. Volatile, because vectors shared
+     * through channels may be read, and so indexed, by several contexts at a time.
+     */
+    private volatile NonRecursiveHashMapCharacter nameIndex;
 
     RStringArrayVectorData(String[] data, boolean complete) {
         this.data = data;
@@ -96,7 +105,9 @@ class RStringArrayVectorData implements TruffleObject, ShareableVectorData {
 
     @ExportMessage
     public RStringArrayVectorData copy(@SuppressWarnings("unused") boolean deep) {
-        return new RStringArrayVectorData(Arrays.copyOf(data, data.length), isComplete());
+        RStringArrayVectorData result = new RStringArrayVectorData(Arrays.copyOf(data, data.length), isComplete());
+        result.sorted = sorted;
+        return result;
     }
 
     @ExportMessage
@@ -104,6 +115,41 @@ class RStringArrayVectorData implements TruffleObject, ShareableVectorData {
         return complete && ENABLE_COMPLETE;
     }
 
+    @ExportMessage
+    public boolean isSorted(boolean descending, boolean naLast) {
+        return VectorSortedness.isSorted(sorted, isComplete(), descending, naLast);
+    }
+
+    @ExportMessage
+    public void setSorted(boolean descending, boolean naLast) {
+        sorted = VectorSortedness.create(descending, naLast);
+    }
+
+    @TruffleBoundary
+    NonRecursiveHashMapCharacter getNameIndex() {
+        NonRecursiveHashMapCharacter result = nameIndex;
+        if (result == null) {
+            result = new NonRecursiveHashMapCharacter(data.length);
+            // backwards, so that the first occurrence wins
+            for (int i = data.length - 1; i >= 0; i--) {
+                result.put(data[i], i);
+            }
+            nameIndex = result;
+        }
+        return result;
+    }
+
+    NonRecursiveHashMapCharacter getExistingNameIndex() {
+        return nameIndex;
+    }
+
+    private void dropNameIndex() {
+        // avoids the volatile write if there is no index, which is the common case
+        if (nameIndex != null) {
+            nameIndex = null;
+        }
+    }
+
     @ExportMessage
     public String[] getReadonlyStringData() {
         return data;
@@ -173,11 +219,15 @@ class RStringArrayVectorData implements TruffleObject, ShareableVectorData {
 
     @ExportMessage
     public SeqWriteIterator writeIterator() {
+        sorted = VectorSortedness.UNKNOWN;
+        dropNameIndex();
         return new SeqWriteIterator(data, data.length);
     }
 
     @ExportMessage
     public RandomAccessWriteIterator randomAccessWriteIterator() {
+        sorted = VectorSortedness.UNKNOWN;
+        dropNameIndex();
         return new RandomAccessWriteIterator(data);
     }
 
@@ -193,6 +243,7 @@ class RStringArrayVectorData implements TruffleObject, ShareableVectorData {
     }
 
     private void commitWrites(boolean neverSeenNA, @Cached BranchProfile setCompleteProfile) {
+        dropNameIndex();
         if (!neverSeenNA) {
             setCompleteProfile.enter();
             complete = false;
@@ -202,6 +253,8 @@ class RStringArrayVectorData implements TruffleObject, ShareableVectorData {
     @ExportMessage
     public void setStringAt(int index, String value, @Shared("setCompleteProfile") @Cached BranchProfile setCompleteProfile) {
         data[index] = value;
+        sorted = VectorSortedness.UNKNOWN;
+        dropNameIndex();
         if (RRuntime.isNA(value)) {
             setCompleteProfile.enter();
             complete = false;
@@ -32,6 +32,7 @@ import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.api.library.ExportMessage.Ignore;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.r.common.SuppressFBWarnings;
+import com.oracle.truffle.r.runtime.Collections.NonRecursiveHashMapCharacter;
 import com.oracle.truffle.r.runtime.RInternalError;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.RType;
@@ -57,6 +58,12 @@ import java.util.Arrays;
 @ExportLibrary(AbstractContainerLibrary.class)
 public final class RStringVector extends RAbstractAtomicVector implements RMaterializedVector, Shareable {
 
+    /**
+     * Minimal length of a vector for which {@link #getNameIndex()} builds the index, shorter
+     * vectors are scanned.
+     */
+    public static final int NAME_INDEX_THRESHOLD = 64;
+
     private int length;
 
     RStringVector(Object[] data, boolean complete) {
@@ -298,6 +305,33 @@ public final class RStringVector extends RAbstractAtomicVector implements RMater
         return getUncachedDataLib().getStringAt(data, i);
     }
 
+    /**
+     * Returns a hash index mapping each element of this vector to the (0-based) index of its first
+     * occurrence, or {@code null} if the vector is shorter than {@link #NAME_INDEX_THRESHOLD} or
+     * its data are not a plain {@code String} array. The index is built on the first call, kept
+     * with the data and dropped by any write to them, so that repeated lookups by name in the
+     * same names or dimnames vector are not linear in its length. To be called only on names and
+     * dimnames vectors, other character vectors should use {@link #getExistingNameIndex()} so that
+     * they do not retain an index.
+     */
+    public NonRecursiveHashMapCharacter getNameIndex() {
+        if (length >= NAME_INDEX_THRESHOLD && data instanceof RStringArrayVectorData) {
+            return ((RStringArrayVectorData) data).getNameIndex();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the index built by an earlier call to {@link #getNameIndex()}, or {@code null}, never
+     * builds one.
+     */
+    public NonRecursiveHashMapCharacter getExistingNameIndex() {
+        if (data instanceof RStringArrayVectorData) {
+            return ((RStringArrayVectorData) data).getExistingNameIndex();
+        }
+        return null;
+    }
+
     private RStringVector updateDataAt(int i, String right, NACheck rightNACheck) {
         if (this.isShared()) {
             throw RInternalError.shouldNotReachHere("update shared vector");
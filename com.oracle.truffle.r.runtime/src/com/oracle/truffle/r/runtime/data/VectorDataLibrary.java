@@ -126,6 +126,16 @@ public abstract class VectorDataLibrary extends Library {
         return false;
     }
 
+    /**
+     * Records that this data is sorted in a way specified by the arguments {@code descending} and
+     * {@code naLast}, so that {@link #isSorted} can answer {@code true} without looking at the
+     * elements. The information is dropped by the first write to the data. Data that do not track
+     * sortedness ignore this message.
+     */
+    @SuppressWarnings("unused")
+    public void setSorted(Object receiver, boolean descending, boolean naLast) {
+    }
+
     /**
      * Returns {@code true} is this data object can be written to.
      */
@@ -1923,6 +1933,12 @@ public abstract class VectorDataLibrary extends Library {
             return delegate.isSorted(receiver, descending, naLast);
         }
 
+        @Override
+        public void setSorted(Object receiver, boolean descending, boolean naLast) {
+            verifyIfSlowAssertsEnabled(receiver);
+            delegate.setSorted(receiver, descending, naLast);
+        }
+
         @Override
         public boolean isWriteable(Object data) {
             verifyIfSlowAssertsEnabled(data);
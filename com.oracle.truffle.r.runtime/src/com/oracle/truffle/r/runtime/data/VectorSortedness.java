@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.data;
+
+/**
+ * Encoding of the sortedness flag kept by the array backed vector data, see
+ * {@link VectorDataLibrary#setSorted(Object, boolean, boolean)}. The flag is a single byte so that
+ * it does not increase the footprint of the data objects.
+ */
+final class VectorSortedness {
+
+    static final byte UNKNOWN = 0;
+
+    private static final byte SORTED = 1;
+    private static final byte DESCENDING = 2;
+    private static final byte NA_LAST = 4;
+
+    private VectorSortedness() {
+    }
+
+    static byte create(boolean descending, boolean naLast) {
+        return (byte) (SORTED | (descending ? DESCENDING : 0) | (naLast ? NA_LAST : 0));
+    }
+
+    /**
+     * Returns {@code true} if the {@code flag} guarantees the sort order given by the arguments. The
+     * position of {@code NA} values does not matter if the data are {@code complete}.
+     */
+    static boolean isSorted(byte flag, boolean complete, boolean descending, boolean naLast) {
+        if ((flag & SORTED) == 0 || ((flag & DESCENDING) != 0) != descending) {
+            return false;
+        }
+        return complete || ((flag & NA_LAST) != 0) == naLast;
+    }
+}
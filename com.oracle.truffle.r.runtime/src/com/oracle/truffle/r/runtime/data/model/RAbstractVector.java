@@ -38,6 +38,7 @@ import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.DynamicObjectLibrary;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.r.common.SuppressFBWarnings;
+import com.oracle.truffle.r.runtime.Collections.NonRecursiveHashMapCharacter;
 import com.oracle.truffle.r.runtime.RError;
 import com.oracle.truffle.r.runtime.RInternalError;
 import com.oracle.truffle.r.runtime.RRuntime;
@@ -259,6 +260,10 @@ public abstract class RAbstractVector extends RAbstractContainer implements RFFI
             return -1;
         }
         RStringVector names = getNamesFromAttrs();
+        NonRecursiveHashMapCharacter nameIndex = RRuntime.isNA(name) ? null : names.getNameIndex();
+        if (nameIndex != null) {
+            return nameIndex.get(name);
+        }
         for (int i = 0; i < names.getLength(); i++) {
             if (names.getDataAt(i).equals(name)) {
                 return i;
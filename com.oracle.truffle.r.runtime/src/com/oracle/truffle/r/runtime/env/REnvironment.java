@@ -56,6 +56,7 @@ import com.oracle.truffle.r.runtime.RSuicide;
 import com.oracle.truffle.r.runtime.RType;
 import com.oracle.truffle.r.runtime.Utils;
 import com.oracle.truffle.r.runtime.VirtualEvalFrame;
+import com.oracle.truffle.r.runtime.context.FastROptions;
 import com.oracle.truffle.r.runtime.context.RContext;
 import com.oracle.truffle.r.runtime.context.RContext.ContextKind;
 import com.oracle.truffle.r.runtime.data.RAttributable;
@@ -1273,6 +1274,7 @@ public abstract class REnvironment extends RAttributable {
 
         public void setHashed(boolean hashed) {
             this.hashed = hashed;
+            updateFrameLayout();
         }
 
         public int getInitialSize() {
@@ -1281,6 +1283,17 @@ public abstract class REnvironment extends RAttributable {
 
         public void setInitialSize(int initialSize) {
             this.initialSize = initialSize;
+            updateFrameLayout();
+        }
+
+        /**
+         * Hashed environments are often used as dictionaries with many bindings, their frames
+         * switch to a layout suitable for that once they grow over a threshold.
+         */
+        @TruffleBoundary
+        private void updateFrameLayout() {
+            int threshold = hashed ? RContext.getInstance().getOption(FastROptions.HashedEnvThreshold) : -1;
+            FrameSlotChangeMonitor.setHashedEnvironment(getFrame().getFrameDescriptor(), threshold, initialSize);
         }
     }
 
@@ -275,6 +275,20 @@ public final class FrameSlotChangeMonitor {
         private Assumption enclosingFrameDescriptorAssumption;
         private final Assumption containsNoActiveBindingAssumption;
 
+        /**
+         * Number of auxiliary slots after which the descriptor of a hashed environment (see
+         * {@link FrameSlotChangeMonitor#setHashedEnvironment}) switches to the large environment
+         * layout, negative if this is not a hashed environment.
+         */
+        private int hashedEnvThreshold = -1;
+        /**
+         * In the large environment layout, auxiliary slots are reserved in the frame descriptor in
+         * batches under {@link ReservedAuxiliarySlot} keys and handed out to new identifiers in
+         * order. The auxiliary slots array of the frame then grows geometrically instead of by one
+         * element per new binding. Slots added in this layout do not get a stable value.
+         */
+        private boolean largeEnvLayout;
+
         private FrameDescriptorMetaData(String name, MaterializedFrame singletonFrame) {
             this.name = name;
             this.singletonFrame = singletonFrame == null ? null : new WeakReference<>(singletonFrame);
@@ -319,6 +333,13 @@ public final class FrameSlotChangeMonitor {
             return new ArrayList<>(indexes.keySet());
         }
 
+        boolean useLargeEnvLayout() {
+            if (!largeEnvLayout && hashedEnvThreshold >= 0 && auxSlotInfosElements >= hashedEnvThreshold) {
+                largeEnvLayout = true;
+            }
+            return largeEnvLayout;
+        }
+
         public Assumption getNotInFrameAssumption(Object identifier) {
             CompilerAsserts.neverPartOfCompilation();
             if (!notInFrameAssumptions.containsKey(identifier)) {
@@ -474,7 +495,8 @@ public final class FrameSlotChangeMonitor {
         CompilerAsserts.neverPartOfCompilation();
         FrameDescriptorMetaData metadata = getDescriptorMetadata(frameDescriptor);
         int normalSlotsCount = frameDescriptor.getNumberOfSlots();
-        int auxSlotsCount = frameDescriptor.getNumberOfAuxiliarySlots();
+        // reserved auxiliary slots of large environments are not in the metadata
+        int auxSlotsCount = metadata.auxSlotInfosElements;
         int totalSlotsCount = normalSlotsCount + auxSlotsCount;
         assert metadata.indexes.size() == totalSlotsCount;
         for (Map.Entry<Object, Integer> entry : metadata.indexes.entrySet()) {
@@ -507,11 +529,16 @@ public final class FrameSlotChangeMonitor {
         for (Map.Entry<Object, Integer> entry : frameDescriptor.getAuxiliarySlots().entrySet()) {
             Object identifier = entry.getKey();
             int auxSlotIdx = entry.getValue();
+            if (identifier instanceof ReservedAuxiliarySlot) {
+                assert metadata.largeEnvLayout;
+                continue;
+            }
             int auxSlotIdxFromMetata = FrameIndex.toAuxiliaryIndex(metadata.getIndex(identifier));
             assert auxSlotIdx == auxSlotIdxFromMetata;
         }
         // Check auxSlotInfos
-        assert metadata.auxSlotInfosElements == frameDescriptor.getNumberOfAuxiliarySlots();
+        assert metadata.largeEnvLayout ? metadata.auxSlotInfosElements <= frameDescriptor.getNumberOfAuxiliarySlots()
+                        : metadata.auxSlotInfosElements == frameDescriptor.getNumberOfAuxiliarySlots();
         for (int i = 0; i < metadata.auxSlotInfosElements; i++) {
             FrameSlotInfo slotInfo = metadata.auxSlotInfos[i];
             assert slotInfo.identifier != null;
@@ -611,10 +638,13 @@ public final class FrameSlotChangeMonitor {
             newMetadata.addIndex(identifier, i);
         }
         FrameDescriptor newDescriptor = newDescriptorBuilder.build();
-        // Copy auxiliary slots
-        for (Map.Entry<Object, Integer> entry : frameDescriptor.getAuxiliarySlots().entrySet()) {
-            // entry values may be different, but that would not matter.
-            findOrAddAuxiliaryFrameSlot(newDescriptor, entry.getKey());
+        // Copy auxiliary slots, the metadata (unlike the descriptor) does not contain the reserved
+        // slots of large environments
+        for (Map.Entry<Object, Integer> entry : metadata.indexes.entrySet()) {
+            if (FrameIndex.representsAuxiliaryIndex(entry.getValue())) {
+                // entry values may be different, but that would not matter.
+                findOrAddAuxiliaryFrameSlot(newDescriptor, entry.getKey());
+            }
         }
         assert assertValidFrameDescriptor(newDescriptor);
         return newDescriptor;
@@ -1023,7 +1053,9 @@ public final class FrameSlotChangeMonitor {
         }
 
         FrameSlotInfo(FrameDescriptorMetaData metaData, Object identifier) {
-            this(metaData.singletonFrame != null, "global".equals(metaData.name), identifier, metaData.name.startsWith("<new-env-"));
+            // Note: slots of large environments are treated as if they were not in a singleton
+            // frame, which means no stable value, that is never multi-slot for new environments
+            this(metaData.singletonFrame != null && !metaData.largeEnvLayout, "global".equals(metaData.name), identifier, metaData.name.startsWith("<new-env-"));
         }
 
         public boolean needsInvalidation() {
@@ -1261,26 +1293,75 @@ public final class FrameSlotChangeMonitor {
     public static synchronized int findOrAddAuxiliaryFrameSlot(FrameDescriptor frameDescriptor, Object identifier) {
         CompilerAsserts.neverPartOfCompilation();
         FrameDescriptorMetaData descriptorMetadata = getDescriptorMetadata(frameDescriptor);
-        int auxSlotIdx = frameDescriptor.findOrAddAuxiliarySlot(identifier);
-        int transformedAuxSlotIdx = FrameIndex.transformAuxiliaryIndex(auxSlotIdx);
         Integer frameIndex = descriptorMetadata.getIndex(identifier);
-        if (frameIndex == null) {
-            // The identifier was not in the frameDescriptor before, we have to put it there and
-            // invalidate all the related assumptions.
-            descriptorMetadata.addIndex(identifier, transformedAuxSlotIdx);
-            var slotInfo = new FrameSlotInfo(descriptorMetadata, identifier);
-            descriptorMetadata.addAuxSlotInfo(slotInfo);
-            invalidatePreviousLookups(descriptorMetadata, Collections.singletonList(identifier));
-            descriptorMetadata.tryInvalidateNotInFrameAssumption(identifier);
-        } else {
+        if (frameIndex != null) {
             if (FrameIndex.representsNormalIndex(frameIndex)) {
                 throw RInternalError.shouldNotReachHere("Frame index for '" + identifier + "' already present as normal frame index");
             }
+            return frameIndex;
         }
-        assert assertValidFrameDescriptor(frameDescriptor);
+        // The identifier was not in the frameDescriptor before, we have to put it there and
+        // invalidate all the related assumptions.
+        int auxSlotIdx;
+        if (descriptorMetadata.useLargeEnvLayout()) {
+            auxSlotIdx = descriptorMetadata.auxSlotInfosElements;
+            if (auxSlotIdx >= frameDescriptor.getNumberOfAuxiliarySlots()) {
+                reserveAuxiliarySlots(frameDescriptor, Math.max(auxSlotIdx, MIN_RESERVED_AUX_SLOTS));
+            }
+        } else {
+            auxSlotIdx = frameDescriptor.findOrAddAuxiliarySlot(identifier);
+        }
+        assert auxSlotIdx == descriptorMetadata.auxSlotInfosElements;
+        int transformedAuxSlotIdx = FrameIndex.transformAuxiliaryIndex(auxSlotIdx);
+        descriptorMetadata.addIndex(identifier, transformedAuxSlotIdx);
+        var slotInfo = new FrameSlotInfo(descriptorMetadata, identifier);
+        descriptorMetadata.addAuxSlotInfo(slotInfo);
+        invalidatePreviousLookups(descriptorMetadata, Collections.singletonList(identifier));
+        descriptorMetadata.tryInvalidateNotInFrameAssumption(identifier);
+        assert descriptorMetadata.largeEnvLayout || assertValidFrameDescriptor(frameDescriptor);
         return transformedAuxSlotIdx;
     }
 
+    /**
+     * Key of an auxiliary slot that is reserved in the frame descriptor of a large environment but
+     * not yet used by any identifier. The slot keeps this key in the frame descriptor even after it
+     * is handed out, the actual identifier is only in the {@link FrameDescriptorMetaData}.
+     */
+    private static final class ReservedAuxiliarySlot {
+        @Override
+        public String toString() {
+            return "<reserved>";
+        }
+    }
+
+    private static final int MIN_RESERVED_AUX_SLOTS = 64;
+
+    private static void reserveAuxiliarySlots(FrameDescriptor frameDescriptor, int count) {
+        for (int i = 0; i < count; i++) {
+            frameDescriptor.findOrAddAuxiliarySlot(new ReservedAuxiliarySlot());
+        }
+    }
+
+    /**
+     * Marks the given environment frame descriptor as belonging to a hashed environment, i.e.,
+     * created by {@code new.env(hash = TRUE)}. Once such environment has more than
+     * {@code threshold} bindings, it switches to a layout that avoids the costs that grow with the
+     * number of bindings, see {@link FrameDescriptorMetaData#largeEnvLayout}. If the
+     * {@code sizeHint} is already over the threshold, the switch happens immediately and
+     * {@code sizeHint} slots are reserved upfront.
+     */
+    public static synchronized void setHashedEnvironment(FrameDescriptor frameDescriptor, int threshold, int sizeHint) {
+        CompilerAsserts.neverPartOfCompilation();
+        FrameDescriptorMetaData descriptorMetadata = getDescriptorMetadata(frameDescriptor);
+        assert descriptorMetadata.singletonFrame != null : "only environments can be hashed";
+        descriptorMetadata.hashedEnvThreshold = threshold;
+        if (threshold >= 0 && sizeHint > threshold && !descriptorMetadata.largeEnvLayout) {
+            descriptorMetadata.largeEnvLayout = true;
+            int toReserve = sizeHint - (frameDescriptor.getNumberOfAuxiliarySlots() - descriptorMetadata.auxSlotInfosElements);
+            reserveAuxiliarySlots(frameDescriptor, Math.max(0, toReserve));
+        }
+    }
+
     // methods for changing frame slot contents
 
     /**
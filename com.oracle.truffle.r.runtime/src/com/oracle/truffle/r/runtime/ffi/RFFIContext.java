@@ -110,6 +110,11 @@ public abstract class RFFIContext extends RFFI {
         public MaterializedFrame currentDowncallFrame = null;
 
         public boolean primFunBeingDispatched;
+
+        /**
+         * The data collected by the RFFI profiler, {@code null} until it is switched on.
+         */
+        RFFIProfile profile;
     }
 
     /**
@@ -207,6 +212,11 @@ public abstract class RFFIContext extends RFFI {
         throw RInternalError.unimplemented("R Embedding not supported with " + this.getClass().getSimpleName() + " RFFI backend.");
     }
 
+    @Override
+    public void beforeFinalize(RContext context) {
+        RFFIProfile.dump(context);
+    }
+
     /**
      * @param frame the last FastR frame before the downcall or null if the this call is beyond the
      *            truffle boundary
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.ffi;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.context.RContext;
+
+/**
+ * Per-context profile of the native routines invoked via {@code .Call}/{@code .External} (down
+ * calls) and of the R API functions invoked by native code (up calls). For every routine the
+ * profile records the number of calls, the total and self wall time and the number of bytes of R
+ * vector data copied to native memory while the routine was the innermost active one.
+ *
+ * The profile is switched on with the {@code .fastr.ffi.profile} builtin or for the whole run with
+ * the {@link FastROptions#FFIProfile} option, which also names the file the profile is written to
+ * when the context exits. Until profiling is switched on in some context, the checks at the call
+ * sites fold away in compiled code.
+ */
+public final class RFFIProfile {
+
+    private static final Assumption noProfile = Truffle.getRuntime().createAssumption("no RFFI profile");
+
+    public static final String[] COLUMN_NAMES = {"name", "type", "calls", "total", "self", "bytes"};
+
+    private static final class Entry {
+        private final String name;
+        private final boolean upCall;
+        private long count;
+        private long totalNanos;
+        private long selfNanos;
+        private long bytes;
+
+        Entry(String name, boolean upCall) {
+            this.name = name;
+            this.upCall = upCall;
+        }
+    }
+
+    private final HashMap<String, Entry> downCalls = new HashMap<>();
+    private final HashMap<String, Entry> upCalls = new HashMap<>();
+
+    /*
+     * The stack of active calls: start times, time spent in nested calls and bytes transferred so
+     * far. The entry of a call is only known when it returns.
+     */
+    private long[] startTimes = new long[16];
+    private long[] childNanos = new long[16];
+    private long[] bytes = new long[16];
+    private int depth;
+    private boolean enabled;
+
+    /**
+     * Returns the profile of given context if profiling is switched on, {@code null} otherwise.
+     */
+    public static RFFIProfile get(RContext context) {
+        if (noProfile.isValid()) {
+            return null;
+        }
+        return getSlowPath(context);
+    }
+
+    /**
+     * Returns {@code false} until profiling was switched on in some context, callers should check
+     * it before calling {@link #addTransferredBytes} so that the check folds away in compiled code.
+     */
+    public static boolean isProfiling() {
+        return !noProfile.isValid();
+    }
+
+    @TruffleBoundary
+    private static RFFIProfile getSlowPath(RContext context) {
+        RFFIContext rffi = context.getStateRFFI();
+        RFFIProfile profile = rffi == null ? null : rffi.rffiContextState.profile;
+        return profile != null && profile.enabled ? profile : null;
+    }
+
+    /**
+     * Switches profiling on or off in given context, the data collected so far are kept.
+     */
+    @TruffleBoundary
+    public static void setEnabled(RContext context, boolean enabled) {
+        RFFIContext.RFFIContextState state = context.getStateRFFI().rffiContextState;
+        if (enabled) {
+            if (state.profile == null) {
+                state.profile = new RFFIProfile();
+            }
+            state.profile.enabled = true;
+            noProfile.invalidate();
+        } else if (state.profile != null) {
+            state.profile.enabled = false;
+        }
+    }
+
+    /**
+     * Returns the data collected in given context or {@code null} if profiling was never switched
+     * on.
+     */
+    @TruffleBoundary
+    public static RFFIProfile getCollected(RContext context) {
+        return context.getStateRFFI().rffiContextState.profile;
+    }
+
+    /**
+     * Discards the data collected in given context.
+     */
+    @TruffleBoundary
+    public static void reset(RContext context) {
+        RFFIContext.RFFIContextState state = context.getStateRFFI().rffiContextState;
+        if (state.profile != null) {
+            RFFIProfile profile = new RFFIProfile();
+            profile.enabled = state.profile.enabled;
+            state.profile = profile;
+        }
+    }
+
+    /**
+     * Must be paired with {@link #exitDownCall} or {@link #exitUpCall}, also when the call
+     * completes abruptly.
+     */
+    @TruffleBoundary
+    public void enter() {
+        if (depth == startTimes.length) {
+            startTimes = Arrays.copyOf(startTimes, depth * 2);
+            childNanos = Arrays.copyOf(childNanos, depth * 2);
+            bytes = Arrays.copyOf(bytes, depth * 2);
+        }
+        childNanos[depth] = 0;
+        bytes[depth] = 0;
+        startTimes[depth++] = System.nanoTime();
+    }
+
+    @TruffleBoundary
+    public void exitDownCall(NativeCallInfo nativeCallInfo) {
+        String name = nativeCallInfo.dllInfo == null ? nativeCallInfo.name : nativeCallInfo.dllInfo.name + "::" + nativeCallInfo.name;
+        exit(downCalls, name, false);
+    }
+
+    @TruffleBoundary
+    public void exitUpCall(String name) {
+        exit(upCalls, name, true);
+    }
+
+    private void exit(HashMap<String, Entry> entries, String name, boolean upCall) {
+        if (depth == 0) {
+            // profiling was switched on within the call
+            return;
+        }
+        depth--;
+        long elapsed = System.nanoTime() - startTimes[depth];
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            entry = new Entry(name, upCall);
+            entries.put(name, entry);
+        }
+        entry.count++;
+        entry.totalNanos += elapsed;
+        entry.selfNanos += elapsed - childNanos[depth];
+        entry.bytes += bytes[depth];
+        if (depth > 0) {
+            childNanos[depth - 1] += elapsed;
+        }
+    }
+
+    /**
+     * Attributes the bytes of R vector data copied to native memory to the innermost active call.
+     * Only to be called if {@link #isProfiling()}.
+     */
+    @TruffleBoundary
+    public static void addTransferredBytes(long count) {
+        RFFIProfile profile = getSlowPath(RContext.getInstance());
+        if (profile != null && profile.depth > 0) {
+            profile.bytes[profile.depth - 1] += count;
+        }
+    }
+
+    /**
+     * Returns the columns {@link #COLUMN_NAMES} of the profile: names, types ("call" or "upcall"),
+     * call counts, total and self time in seconds and transferred bytes, sorted by self time.
+     */
+    @TruffleBoundary
+    public Object[] getColumns() {
+        List<Entry> entries = sortedEntries();
+        int n = entries.size();
+        String[] names = new String[n];
+        String[] types = new String[n];
+        double[] counts = new double[n];
+        double[] total = new double[n];
+        double[] self = new double[n];
+        double[] transferred = new double[n];
+        for (int i = 0; i < n; i++) {
+            Entry entry = entries.get(i);
+            names[i] = entry.name;
+            types[i] = entry.upCall ? "upcall" : "call";
+            counts[i] = entry.count;
+            total[i] = entry.totalNanos / 1e9;
+            self[i] = entry.selfNanos / 1e9;
+            transferred[i] = entry.bytes;
+        }
+        return new Object[]{names, types, counts, total, self, transferred};
+    }
+
+    private List<Entry> sortedEntries() {
+        List<Entry> entries = new ArrayList<>(downCalls.size() + upCalls.size());
+        entries.addAll(downCalls.values());
+        entries.addAll(upCalls.values());
+        entries.sort((a, b) -> Long.compare(b.selfNanos, a.selfNanos));
+        return entries;
+    }
+
+    /**
+     * Writes the profile to the file given by {@link FastROptions#FFIProfile} when the context
+     * exits.
+     */
+    @TruffleBoundary
+    static void dump(RContext context) {
+        String fileName = context.getOption(FastROptions.FFIProfile);
+        RFFIProfile profile = getCollected(context);
+        if (fileName == null || fileName.isEmpty() || profile == null) {
+            return;
+        }
+        try (PrintStream out = new PrintStream(context.getSafeTruffleFile(fileName).newOutputStream())) {
+            out.printf("%-40s %-6s %12s %12s %12s %14s%n", "name", "type", "calls", "total(s)", "self(s)", "bytes");
+            for (Entry entry : profile.sortedEntries()) {
+                out.printf("%-40s %-6s %12d %12.6f %12.6f %14d%n", entry.name, entry.upCall ? "upcall" : "call", entry.count, entry.totalNanos / 1e9, entry.selfNanos / 1e9, entry.bytes);
+            }
+        } catch (IOException | SecurityException e) {
+            context.getConsole().printErrorln("cannot write the RFFI profile to " + fileName + ": " + e.getMessage());
+        }
+    }
+}
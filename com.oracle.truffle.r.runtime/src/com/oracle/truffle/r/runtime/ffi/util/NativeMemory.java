@@ -68,6 +68,10 @@ public abstract class NativeMemory {
             this.bytes = bytes;
             this.offset = offset;
         }
+
+        public int getSize() {
+            return bytes;
+        }
     }
 
     private static final Unsafe UNSAFE = initUnsafe();
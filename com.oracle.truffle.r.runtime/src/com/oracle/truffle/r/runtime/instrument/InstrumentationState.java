@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2023, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -25,10 +25,12 @@ package com.oracle.truffle.r.runtime.instrument;
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.instrumentation.EventBinding;
@@ -38,6 +40,7 @@ import com.oracle.truffle.api.source.SourceSection;
 import com.oracle.truffle.r.runtime.RCaller;
 import com.oracle.truffle.r.runtime.RCleanUp;
 import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
 
 /**
  * Collects together all the context-specific state related to profiling, instrumentation.
@@ -92,6 +95,18 @@ public final class InstrumentationState implements RContext.ContextState {
      */
     private boolean debugGloballyDisabled;
 
+    /**
+     * The {@code Rprof} sampling epoch in which the stack of this {@link RContext} was last sampled.
+     * The epochs only grow and are unique across all profiling sessions.
+     */
+    private long rprofSampledEpoch;
+
+    /**
+     * The listeners of the allocations in this {@link RContext}, see
+     * {@link RDataFactory#addListener(RDataFactory.Listener)}.
+     */
+    private final Deque<RDataFactory.Listener> allocationListeners = new ConcurrentLinkedDeque<>();
+
     public abstract static class RprofState implements CleanupHandler {
         private PrintStream out;
 
@@ -274,8 +289,23 @@ public final class InstrumentationState implements RContext.ContextState {
         return debugGloballyDisabled;
     }
 
+    public long getRprofSampledEpoch() {
+        return rprofSampledEpoch;
+    }
+
+    public void setRprofSampledEpoch(long epoch) {
+        this.rprofSampledEpoch = epoch;
+    }
+
+    public Deque<RDataFactory.Listener> getAllocationListeners() {
+        return allocationListeners;
+    }
+
     @Override
     public void beforeDispose(RContext context) {
+        for (RDataFactory.Listener l : allocationListeners) {
+            RDataFactory.removeListener(context, l);
+        }
         for (ExecutionEventListener l : getDebugListeners()) {
             if (l instanceof DisposableExecutionEventListener) {
                 ((DisposableExecutionEventListener) l).dispose();
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.instrument;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Builder of a <a href="https://github.com/google/pprof/blob/main/proto/profile.proto">pprof</a>
+ * profile. The profile is a single protocol buffer message, so it can be written only once all the
+ * samples are known. The functions and locations are interned, a location is identified by the
+ * function name, its source path and a line.
+ */
+public final class PProfWriter {
+
+    // ids are 1-based in pprof, 0 denotes "unset"
+    private final HashMap<String, Integer> strings = new HashMap<>();
+    private final List<String> stringTable = new ArrayList<>();
+    private final HashMap<String, Integer> locations = new HashMap<>();
+    private final HashMap<String, Integer> functions = new HashMap<>();
+    private final ProtoWriter sampleTypesMsg = new ProtoWriter();
+    private final ProtoWriter samplesMsg = new ProtoWriter();
+    private final ProtoWriter locationsMsg = new ProtoWriter();
+    private final ProtoWriter functionsMsg = new ProtoWriter();
+    private final int valueCount;
+    private int sampleTypeCount;
+
+    public PProfWriter(int valueCount) {
+        this.valueCount = valueCount;
+        string("");
+    }
+
+    /**
+     * Declares the type and unit of the next value of every sample, e.g. {@code "samples"} and
+     * {@code "count"}.
+     */
+    public void addSampleType(String type, String unit) {
+        assert sampleTypeCount < valueCount;
+        // sample_type = 1
+        sampleTypesMsg.writeMessage(1, valueType(type, unit));
+        sampleTypeCount++;
+    }
+
+    /**
+     * Returns the id of the location in the given function, {@code path} may be {@code null} and
+     * {@code line} may be {@code 0} if not known.
+     */
+    public int location(String name, String path, int line) {
+        String key = name + '\0' + path + '\0' + line;
+        Integer id = locations.get(key);
+        if (id == null) {
+            id = locations.size() + 1;
+            locations.put(key, id);
+            ProtoWriter lineMsg = new ProtoWriter();
+            lineMsg.writeVarint(1, function(name, path));
+            lineMsg.writeVarint(2, line);
+            ProtoWriter location = new ProtoWriter();
+            location.writeVarint(1, id);
+            location.writeMessage(4, lineMsg);
+            // location = 4
+            locationsMsg.writeMessage(4, location);
+        }
+        return id;
+    }
+
+    /**
+     * Adds a sample with the given locations (leaf first) and one value per sample type.
+     */
+    public void addSample(int[] locationIds, long... values) {
+        assert values.length == valueCount;
+        ProtoWriter sample = new ProtoWriter();
+        for (int id : locationIds) {
+            // location_id = 1
+            sample.writeVarint(1, id);
+        }
+        for (long value : values) {
+            // value = 2
+            sample.writeVarint(2, value);
+        }
+        // sample = 2
+        samplesMsg.writeMessage(2, sample);
+    }
+
+    /**
+     * Writes the profile, {@code periodType} may be {@code null} if the profile is not periodic.
+     */
+    public void writeTo(OutputStream out, long startNanos, long durationNanos, String periodType, String periodUnit, long period) throws IOException {
+        assert sampleTypeCount == valueCount;
+        ProtoWriter profile = new ProtoWriter();
+        profile.writeRaw(sampleTypesMsg);
+        profile.writeRaw(samplesMsg);
+        profile.writeRaw(locationsMsg);
+        profile.writeRaw(functionsMsg);
+        // time_nanos = 9, duration_nanos = 10
+        profile.writeVarint(9, startNanos);
+        profile.writeVarint(10, durationNanos);
+        if (periodType != null) {
+            // period_type = 11, period = 12
+            profile.writeMessage(11, valueType(periodType, periodUnit));
+            profile.writeVarint(12, period);
+        }
+        // string_table = 6 (the strings are complete only once everything else is written)
+        for (String s : stringTable) {
+            profile.writeString(6, s);
+        }
+        profile.bytes.writeTo(out);
+    }
+
+    private int function(String name, String path) {
+        String key = name + '\0' + path;
+        Integer id = functions.get(key);
+        if (id == null) {
+            id = functions.size() + 1;
+            functions.put(key, id);
+            ProtoWriter function = new ProtoWriter();
+            function.writeVarint(1, id);
+            function.writeVarint(2, string(name));
+            function.writeVarint(3, string(name));
+            if (path != null) {
+                function.writeVarint(4, string(path));
+            }
+            // function = 5
+            functionsMsg.writeMessage(5, function);
+        }
+        return id;
+    }
+
+    private ProtoWriter valueType(String type, String unit) {
+        ProtoWriter result = new ProtoWriter();
+        result.writeVarint(1, string(type));
+        result.writeVarint(2, string(unit));
+        return result;
+    }
+
+    private int string(String s) {
+        Integer index = strings.get(s);
+        if (index == null) {
+            index = stringTable.size();
+            strings.put(s, index);
+            stringTable.add(s);
+        }
+        return index;
+    }
+
+    /**
+     * Minimal protocol buffers encoder sufficient for the pprof format.
+     */
+    private static final class ProtoWriter {
+        private static final int VARINT = 0;
+        private static final int LENGTH_DELIMITED = 2;
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        void writeVarint(int field, long value) {
+            writeTag(field, VARINT);
+            writeRawVarint(value);
+        }
+
+        void writeString(int field, String value) {
+            byte[] data = value.getBytes(StandardCharsets.UTF_8);
+            writeTag(field, LENGTH_DELIMITED);
+            writeRawVarint(data.length);
+            bytes.write(data, 0, data.length);
+        }
+
+        void writeMessage(int field, ProtoWriter message) {
+            writeTag(field, LENGTH_DELIMITED);
+            writeRawVarint(message.bytes.size());
+            writeRaw(message);
+        }
+
+        void writeRaw(ProtoWriter other) {
+            byte[] data = other.bytes.toByteArray();
+            bytes.write(data, 0, data.length);
+        }
+
+        private void writeTag(int field, int wireType) {
+            writeRawVarint((field << 3) | wireType);
+        }
+
+        private void writeRawVarint(long value) {
+            long v = value;
+            while ((v & ~0x7FL) != 0) {
+                bytes.write((int) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            bytes.write((int) v);
+        }
+    }
+}
@@ -0,0 +1,423 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.instrument.memprof;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.Frame;
+import com.oracle.truffle.api.frame.FrameInstance.FrameAccess;
+import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.r.runtime.RArguments;
+import com.oracle.truffle.r.runtime.RCaller;
+import com.oracle.truffle.r.runtime.RError;
+import com.oracle.truffle.r.runtime.RInternalError;
+import com.oracle.truffle.r.runtime.RSource;
+import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.data.RBaseObject;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RFunction;
+import com.oracle.truffle.r.runtime.data.RObjectSize;
+import com.oracle.truffle.r.runtime.instrument.InstrumentationState;
+import com.oracle.truffle.r.runtime.instrument.PProfWriter;
+
+/**
+ * Sampling allocation profiler. Unlike {@link MemAllocProfilerInstrument}, which instruments every
+ * statement, it only counts the bytes allocated by each thread and, every time the count crosses
+ * the sampling interval, records the allocated object together with the R stack of the
+ * allocation. The sample stands for all the bytes allocated since the previous one.
+ *
+ * The sampled objects are referenced weakly, so that the bytes of the samples whose objects have
+ * been collected can be subtracted from the live bytes of their call site. The live numbers are
+ * therefore only as accurate as the last garbage collection.
+ *
+ * There is at most one sampling session per context, driven either by {@code Rprofmem} or by
+ * {@code .fastr.profmem.sample}.
+ */
+public final class MemAllocSampler extends InstrumentationState.RprofState implements RDataFactory.Listener {
+
+    private static final String STATE_NAME = "memsample";
+
+    public enum Format {
+        /**
+         * pprof heap profile with allocated and in use objects and bytes.
+         */
+        PPROF,
+        /**
+         * Collapsed stacks with the live bytes, as consumed by the FlameGraph tools.
+         */
+        COLLAPSED,
+        /**
+         * One line per call site with the live and allocated bytes and the stack in the
+         * {@code Rprofmem} notation, sorted by the live bytes.
+         */
+        TEXT;
+
+        public static Format fromString(String name) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * One function of an allocation stack with the location of its definition.
+     */
+    public static final class StackEntry {
+        public final String name;
+        public final String path;
+        public final int line;
+
+        StackEntry(String name, String path, int line) {
+            this.name = name;
+            this.path = path;
+            this.line = line;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof StackEntry)) {
+                return false;
+            }
+            StackEntry other = (StackEntry) obj;
+            return line == other.line && name.equals(other.name) && Objects.equals(path, other.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, path, line);
+        }
+    }
+
+    /**
+     * The allocations attributed to one stack.
+     */
+    public static final class Site {
+        /**
+         * The stack of the allocation, the allocating function first.
+         */
+        public final List<StackEntry> stack;
+        long allocatedBytes;
+        long allocatedObjects;
+        long liveBytes;
+        long liveObjects;
+
+        Site(List<StackEntry> stack) {
+            this.stack = stack;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public long getAllocatedObjects() {
+            return allocatedObjects;
+        }
+
+        public long getLiveBytes() {
+            return liveBytes;
+        }
+
+        public long getLiveObjects() {
+            return liveObjects;
+        }
+
+        /**
+         * The stack in the {@code Rprofmem} notation, e.g. {@code "rnorm" "f"}.
+         */
+        public String getStackString() {
+            StringBuilder str = new StringBuilder();
+            for (StackEntry entry : stack) {
+                if (str.length() > 0) {
+                    str.append(' ');
+                }
+                str.append('"').append(entry.name).append('"');
+            }
+            return str.toString();
+        }
+    }
+
+    private static final class SampleReference extends WeakReference<RBaseObject> {
+        private final Site site;
+        private final long bytes;
+        private final long objects;
+
+        SampleReference(RBaseObject referent, ReferenceQueue<RBaseObject> queue, Site site, long bytes, long objects) {
+            super(referent, queue);
+            this.site = site;
+            this.bytes = bytes;
+            this.objects = objects;
+        }
+    }
+
+    /**
+     * The data of one sampling session, replaced as a whole when a new session starts.
+     */
+    private static final class Session {
+        private final long intervalBytes;
+        private final PrintStream out;
+        private final Format format;
+        private final long startMillis = System.currentTimeMillis();
+        private final ThreadLocal<long[]> bytesSinceSample = ThreadLocal.withInitial(() -> new long[1]);
+        private final ReferenceQueue<RBaseObject> queue = new ReferenceQueue<>();
+        private final HashSet<SampleReference> references = new HashSet<>();
+        private final HashMap<List<StackEntry>, Site> sites = new HashMap<>();
+
+        Session(long intervalBytes, PrintStream out, Format format) {
+            this.intervalBytes = intervalBytes;
+            this.out = out;
+            this.format = format;
+        }
+    }
+
+    private volatile Session session;
+
+    private MemAllocSampler() {
+    }
+
+    /**
+     * Returns the sampler of the current context.
+     */
+    public static MemAllocSampler get() {
+        RContext context = RContext.getInstance();
+        MemAllocSampler sampler = (MemAllocSampler) context.stateInstrumentation.getRprofState(STATE_NAME);
+        if (sampler == null) {
+            sampler = new MemAllocSampler();
+            context.stateInstrumentation.setRprofState(STATE_NAME, sampler);
+        }
+        return sampler;
+    }
+
+    public boolean isActive() {
+        return session != null;
+    }
+
+    /**
+     * Starts a new session sampling every {@code intervalBytes} allocated bytes, any running
+     * session is stopped first. If {@code out} is not {@code null}, the profile is written there in
+     * the given format when the session stops.
+     */
+    @TruffleBoundary
+    public synchronized void start(long intervalBytes, PrintStream out, Format format) {
+        assert intervalBytes > 0;
+        stop();
+        setOut(out);
+        session = new Session(intervalBytes, out, format);
+        RDataFactory.addListener(this);
+    }
+
+    /**
+     * Stops the running session, if any, and writes its profile.
+     *
+     * @return the call sites of the session, or an empty list if there was none
+     */
+    @TruffleBoundary
+    public synchronized List<Site> stop() {
+        Session s = session;
+        if (s == null) {
+            return Collections.emptyList();
+        }
+        RDataFactory.removeListener(this);
+        session = null;
+        List<Site> sites = getSites(s);
+        if (s.out != null) {
+            try {
+                write(s, sites, s.out, s.format);
+            } finally {
+                closeAndResetOut();
+            }
+        }
+        return sites;
+    }
+
+    /**
+     * Returns the call sites of the running session sorted by the live bytes, the session goes on.
+     */
+    @TruffleBoundary
+    public List<Site> snapshot() {
+        Session s = session;
+        return s == null ? Collections.emptyList() : getSites(s);
+    }
+
+    /**
+     * Writes the current state of the running session in the given format.
+     */
+    @TruffleBoundary
+    public void writeSnapshot(PrintStream snapshotOut, Format snapshotFormat) {
+        Session s = session;
+        if (s != null) {
+            write(s, getSites(s), snapshotOut, snapshotFormat);
+        }
+    }
+
+    @Override
+    public void cleanup(int status) {
+        stop();
+    }
+
+    @Override
+    @TruffleBoundary
+    public void reportAllocation(RBaseObject data) {
+        Session s = session;
+        if (s == null) {
+            return;
+        }
+        long[] bytes = s.bytesSinceSample.get();
+        long size = RObjectSize.getObjectSize(data);
+        bytes[0] += size;
+        if (bytes[0] >= s.intervalBytes) {
+            long sampleBytes = bytes[0];
+            bytes[0] = 0;
+            recordSample(s, data, sampleBytes, Math.max(1, sampleBytes / Math.max(1, size)));
+        }
+    }
+
+    private static void recordSample(Session s, RBaseObject data, long bytes, long objects) {
+        List<StackEntry> stack = collectStack();
+        if (stack.isEmpty()) {
+            // allocated outside of any R function, e.g. at the top level, attributed to a root
+            // named after the thread as in MemAllocProfilerStacks
+            stack.add(new StackEntry("<" + Thread.currentThread().getName() + ">", null, 0));
+        }
+        synchronized (s) {
+            expungeCollected(s);
+            Site site = s.sites.get(stack);
+            if (site == null) {
+                site = new Site(stack);
+                s.sites.put(stack, site);
+            }
+            site.allocatedBytes += bytes;
+            site.allocatedObjects += objects;
+            site.liveBytes += bytes;
+            site.liveObjects += objects;
+            s.references.add(new SampleReference(data, s.queue, site, bytes, objects));
+        }
+    }
+
+    private static void expungeCollected(Session s) {
+        SampleReference ref;
+        while ((ref = (SampleReference) s.queue.poll()) != null) {
+            if (s.references.remove(ref)) {
+                ref.site.liveBytes -= ref.bytes;
+                ref.site.liveObjects -= ref.objects;
+            }
+        }
+    }
+
+    private static List<Site> getSites(Session s) {
+        ArrayList<Site> result;
+        synchronized (s) {
+            expungeCollected(s);
+            result = new ArrayList<>(s.sites.values());
+        }
+        result.sort((a, b) -> Long.compare(b.liveBytes, a.liveBytes));
+        return result;
+    }
+
+    /**
+     * Collects the functions on the R stack, the innermost first. The artificial frames of promise
+     * evaluation are skipped, the function that created the promise is on the stack anyway.
+     */
+    private static List<StackEntry> collectStack() {
+        ArrayList<StackEntry> stack = new ArrayList<>();
+        Truffle.getRuntime().iterateFrames(frameInstance -> {
+            Frame frame = RArguments.unwrap(frameInstance.getFrame(FrameAccess.READ_ONLY));
+            if (RArguments.isRFrame(frame)) {
+                RCaller call = RArguments.getCall(frame);
+                RFunction function = RArguments.getFunction(frame);
+                if (function != null && (call == null || !call.isPromise())) {
+                    SourceSection section = function.getRootNode().getSourceSection();
+                    String path = section == null ? null : RSource.getPath(section.getSource());
+                    int line = section == null || !section.isAvailable() ? 0 : section.getStartLine();
+                    stack.add(new StackEntry(function.getRootNode().getName(), path, line));
+                }
+            }
+            return null;
+        });
+        return stack;
+    }
+
+    private static void write(Session s, List<Site> sites, PrintStream out, Format format) {
+        switch (format) {
+            case PPROF:
+                writePProf(s, sites, out);
+                break;
+            case COLLAPSED:
+                for (Site site : sites) {
+                    if (site.liveBytes > 0) {
+                        StringBuilder str = new StringBuilder();
+                        for (int i = site.stack.size() - 1; i >= 0; i--) {
+                            str.append(site.stack.get(i).name.replace(';', ':').replace(' ', '_'));
+                            str.append(i > 0 ? ';' : ' ');
+                        }
+                        out.println(str.append(site.liveBytes));
+                    }
+                }
+                break;
+            case TEXT:
+                for (Site site : sites) {
+                    out.printf("%d %d :%s\n", site.liveBytes, site.allocatedBytes, site.getStackString());
+                }
+                break;
+            default:
+                throw RInternalError.shouldNotReachHere();
+        }
+        out.flush();
+    }
+
+    private static void writePProf(Session s, List<Site> sites, PrintStream out) {
+        PProfWriter writer = new PProfWriter(4);
+        writer.addSampleType("alloc_objects", "count");
+        writer.addSampleType("alloc_space", "bytes");
+        writer.addSampleType("inuse_objects", "count");
+        // the last sample type is the default one in pprof
+        writer.addSampleType("inuse_space", "bytes");
+        for (Site site : sites) {
+            int[] locationIds = new int[site.stack.size()];
+            for (int i = 0; i < locationIds.length; i++) {
+                StackEntry entry = site.stack.get(i);
+                locationIds[i] = writer.location(entry.name, entry.path, entry.line);
+            }
+            writer.addSample(locationIds, site.allocatedObjects, site.allocatedBytes, site.liveObjects, site.liveBytes);
+        }
+        long startNanos = s.startMillis * 1000000L;
+        try {
+            writer.writeTo(out, startNanos, System.currentTimeMillis() * 1000000L - startNanos, "space", "bytes", s.intervalBytes);
+        } catch (IOException ex) {
+            throw RError.error(RError.NO_CALLER, RError.Message.GENERIC, ex.getMessage());
+        }
+    }
+}
@@ -38,6 +38,17 @@ import com.oracle.truffle.r.runtime.rng.RandomNumberGenerator;
 public class RandomFunctions {
     public interface RandFunction3_DoubleBase {
         double execute(double a, double b, double c, RandomNumberProvider rand);
+
+        /**
+         * Fills the whole {@code result} array with random values for the given scalar parameters
+         * in one go. Returns {@code false} if this function does not support bulk generation or
+         * not for these parameters, the caller then falls back to {@link #execute} per element.
+         * Implementations must return {@code false} for parameters that would produce {@code NaN}
+         * so that the caller can report warnings.
+         */
+        default boolean executeBulk(double a, double b, double c, double[] result, RandomNumberProvider rand) {
+            return false;
+        }
     }
 
     public abstract static class RandFunction3_DoubleWithWarnings extends RBaseNodeWithWarnings implements RandFunction3_DoubleBase {
@@ -55,6 +66,16 @@ public class RandomFunctions {
         public final double execute(double a, double b, double c, RandomNumberProvider rand) {
             return execute(a, b, rand);
         }
+
+        @SuppressWarnings("unused")
+        public boolean executeBulk(double a, double b, double[] result, RandomNumberProvider rand) {
+            return false;
+        }
+
+        @Override
+        public final boolean executeBulk(double a, double b, double c, double[] result, RandomNumberProvider rand) {
+            return executeBulk(a, b, result, rand);
+        }
     }
 
     public abstract static class RandFunction1_Double extends RandFunction3_Double {
@@ -94,10 +115,18 @@ public class RandomFunctions {
             return generator.genrandDouble();
         }
 
+        public void unifRand(double[] dest, int offset, int length) {
+            generator.genrandDoubles(dest, offset, length);
+        }
+
         public double normRand() {
             return SNorm.normRand(generator, normKind);
         }
 
+        public void normRand(double[] dest, int offset, int length) {
+            SNorm.normRand(generator, normKind, dest, offset, length);
+        }
+
         public double expRand() {
             return SExp.expRand(generator);
         }
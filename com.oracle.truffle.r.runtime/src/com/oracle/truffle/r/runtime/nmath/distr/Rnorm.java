@@ -19,6 +19,8 @@
  */
 package com.oracle.truffle.r.runtime.nmath.distr;
 
+import java.util.Arrays;
+
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateUncached;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -51,6 +53,22 @@ public abstract class Rnorm extends RandFunction2_Double {
         }
     }
 
+    @Override
+    public boolean executeBulk(double mu, double sigma, double[] result, RandomNumberProvider rand) {
+        if (Double.isNaN(mu) || !Double.isFinite(sigma) || sigma < 0.) {
+            return false;
+        }
+        if (sigma == 0. || !Double.isFinite(mu)) {
+            Arrays.fill(result, mu);
+            return true;
+        }
+        rand.normRand(result, 0, result.length);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = mu + sigma * result[i];
+        }
+        return true;
+    }
+
     public static Rnorm create() {
         return RnormNodeGen.create();
     }
@@ -115,6 +115,8 @@ public final class SNorm {
 
     static double BMNormKeep = 0.0;
 
+    private static final int BULK_CHUNK_SIZE = 512;
+
     private SNorm() {
         // only static members
     }
@@ -364,4 +366,29 @@ public final class SNorm {
                 return 0d;
         }
     }
+
+    /**
+     * Fills {@code dest[offset..offset+length)} with the same values that {@code length}
+     * successive calls to {@link #normRand(RandomNumberGenerator, NormKind)} would produce. For
+     * {@link NormKind#INVERSION}, which consumes exactly two uniform values per variate, the
+     * uniform values are generated in chunks using
+     * {@link RandomNumberGenerator#genrandDoubles(double[], int, int)}.
+     */
+    public static void normRand(RandomNumberGenerator rand, NormKind normKind, double[] dest, int offset, int length) {
+        if (normKind != NormKind.INVERSION) {
+            for (int i = 0; i < length; i++) {
+                dest[offset + i] = normRand(rand, normKind);
+            }
+            return;
+        }
+        double[] u = new double[2 * Math.min(length, BULK_CHUNK_SIZE)];
+        for (int start = 0; start < length; start += BULK_CHUNK_SIZE) {
+            int count = Math.min(length - start, BULK_CHUNK_SIZE);
+            rand.genrandDoubles(u, 0, 2 * count);
+            for (int i = 0; i < count; i++) {
+                double u1 = (int) (BIG * u[2 * i]) + u[2 * i + 1];
+                dest[offset + start + i] = Qnorm.qnorm(u1 / BIG, 0.0, 1.0, true, false);
+            }
+        }
+    }
 }
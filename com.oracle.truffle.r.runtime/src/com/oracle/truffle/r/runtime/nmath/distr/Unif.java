@@ -19,6 +19,8 @@
  */
 package com.oracle.truffle.r.runtime.nmath.distr;
 
+import java.util.Arrays;
+
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateUncached;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -59,6 +61,23 @@ public final class Unif {
             return min + rand.unifRand() * (max - min);
         }
 
+        @Override
+        public boolean executeBulk(double min, double max, double[] result, RandomNumberProvider rand) {
+            if (!RRuntime.isFinite(min) || !RRuntime.isFinite(max) || max < min) {
+                return false;
+            }
+            if (min == max) {
+                Arrays.fill(result, min);
+                return true;
+            }
+            rand.unifRand(result, 0, result.length);
+            double range = max - min;
+            for (int i = 0; i < result.length; i++) {
+                result[i] = min + result[i] * range;
+            }
+            return true;
+        }
+
         public static Runif create() {
             return UnifFactory.RunifNodeGen.create();
         }
@@ -0,0 +1,752 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.nodes;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.frame.FrameSlotKind;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.r.runtime.RInternalError;
+import com.oracle.truffle.r.runtime.RParserFactory;
+import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.context.Engine.ParseException;
+import com.oracle.truffle.r.runtime.context.TruffleRLanguage;
+import com.oracle.truffle.r.runtime.data.RComplex;
+import com.oracle.truffle.r.runtime.data.RNull;
+import com.oracle.truffle.r.runtime.parsermetadata.FunctionScope;
+
+/**
+ * A compact binary image of the syntax trees of an R source file, used to avoid running the parser
+ * for the R code of the base package (and the builtin package overrides) in every new context.
+ *
+ * The image is not a serialization of the trees themselves: {@link Recorder} wraps the
+ * {@link RCodeBuilder} passed to the parser and records the sequence of builder calls together
+ * with the final state of the {@link FunctionScope function scopes}. {@link #replay} issues the
+ * same calls on a fresh builder, which creates the same trees as the parser would have. If the
+ * parser uses a feature that cannot be recorded, the image is not created and the source is simply
+ * parsed every time.
+ *
+ * Images are cached for the lifetime of the process and can also be stored in a file next to the
+ * base package sources, so that the first context of a process does not need to parse either. The
+ * file is only written when requested, which the build does, and is read-only at run time. The
+ * image contains a hash of the format, which covers the enums whose ordinals it stores, and the
+ * SHA-256 digest of the source, which is also the key in the cache. It is ignored if any of them
+ * does not match.
+ */
+public final class RSyntaxImage {
+
+    private static final int MAGIC = 0x46524249; // "FRBI"
+    private static final int VERSION = 3;
+
+    private static final byte OP_CALL = 1;
+    private static final byte OP_CONSTANT = 2;
+    private static final byte OP_LOOKUP = 3;
+    private static final byte OP_SPECIAL_LOOKUP = 4;
+    private static final byte OP_FUNCTION = 5;
+    private static final byte OP_TOKEN = 6;
+    private static final byte OP_MODIFY_LAST_TOKEN = 7;
+    private static final byte OP_MODIFY_LAST_TOKEN_IF = 8;
+
+    private static final byte CONST_NULL = 0;
+    private static final byte CONST_LOGICAL = 1;
+    private static final byte CONST_INT = 2;
+    private static final byte CONST_DOUBLE = 3;
+    private static final byte CONST_STRING = 4;
+    private static final byte CONST_STRING_NA = 5;
+    private static final byte CONST_COMPLEX = 6;
+
+    private static final int NO_SECTION = -1;
+    private static final int UNAVAILABLE_SECTION = -2;
+    private static final int NO_SCOPE = -1;
+    private static final int EMPTY_SCOPE = -2;
+
+    private static final FrameSlotKind[] SLOT_KINDS = FrameSlotKind.values();
+    private static final RCodeBuilder.RCodeToken[] TOKENS = RCodeBuilder.RCodeToken.values();
+    private static final int FORMAT = formatHash();
+    private static final int DIGEST_SIZE = 32;
+    private static final int HEADER_SIZE = 12 + DIGEST_SIZE;
+
+    private static final ConcurrentHashMap<String, byte[]> cache = new ConcurrentHashMap<>();
+
+    private RSyntaxImage() {
+        // only static members
+    }
+
+    /**
+     * The tokens and slot kinds are stored as ordinals, an image created by a build with different
+     * enums must not be replayed.
+     */
+    private static int formatHash() {
+        StringBuilder sb = new StringBuilder();
+        for (RCodeBuilder.RCodeToken token : TOKENS) {
+            sb.append(token.name()).append(',');
+        }
+        for (FrameSlotKind kind : SLOT_KINDS) {
+            sb.append(kind.name()).append(',');
+        }
+        return sb.toString().hashCode();
+    }
+
+    /**
+     * The SHA-256 digest of the characters of {@code source}, the images are independent of its
+     * name and location.
+     */
+    private static byte[] digest(Source source) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(source.getCharacters().toString().getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw RInternalError.shouldNotReachHere(e);
+        }
+    }
+
+    private static String getKey(byte[] digest) {
+        return HexFormat.of().formatHex(digest);
+    }
+
+    /**
+     * Returns the syntax trees of {@code source} rebuilt from its image (see
+     * {@link #load(Source, TruffleFile)}), or parses the source and creates the image if there is
+     * none. Each attempt uses a new builder from {@code builderFactory}. With {@code writeImage},
+     * the source is always parsed and the image is written to {@code imageFile}.
+     */
+    public static List<RSyntaxNode> parse(Source source, TruffleFile imageFile, boolean writeImage, Supplier<RCodeBuilder<RSyntaxNode>> builderFactory, TruffleRLanguage language)
+                    throws ParseException {
+        byte[] digest = digest(source);
+        byte[] image = writeImage ? null : load(digest, imageFile);
+        if (image != null) {
+            List<RSyntaxNode> result = replay(image, digest, source, builderFactory.get(), language);
+            if (result != null) {
+                return result;
+            }
+        }
+        Recorder<RSyntaxNode> recorder = new Recorder<>(source, builderFactory.get());
+        List<RSyntaxNode> result = RParserFactory.getParser().script(source, recorder, language);
+        image = recorder.finish(result, digest);
+        if (image != null) {
+            store(digest, writeImage ? imageFile : null, image);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the image for the source with given digest from the process-wide cache or from
+     * {@code imageFile}, or {@code null} if there is none. The file may be {@code null}.
+     */
+    private static byte[] load(byte[] digest, TruffleFile imageFile) {
+        String key = getKey(digest);
+        byte[] image = cache.get(key);
+        if (image == null && imageFile != null) {
+            try {
+                if (imageFile.exists()) {
+                    image = imageFile.readAllBytes();
+                    if (!matches(image, digest)) {
+                        return null;
+                    }
+                    cache.putIfAbsent(key, image);
+                }
+            } catch (IOException | SecurityException e) {
+                return null;
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Puts the image into the process-wide cache and, if {@code imageFile} is not {@code null},
+     * writes it to that file. The file is written by the build, see option
+     * {@code WriteSyntaxImage}, and never by a regular run, so that the installation does not
+     * have to be writable. Failures to write the file are silently ignored, the file is just an
+     * optimization.
+     */
+    private static void store(byte[] digest, TruffleFile imageFile, byte[] image) {
+        cache.put(getKey(digest), image);
+        if (imageFile != null) {
+            try {
+                TruffleFile parent = imageFile.getParent();
+                if (parent != null) {
+                    // other processes may be reading the image at the same time
+                    TruffleFile tmp = parent.resolve(imageFile.getName() + '.' + ProcessHandle.current().pid());
+                    tmp.write(image);
+                    tmp.move(imageFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (IOException | SecurityException e) {
+                // the source is parsed at run time
+            }
+        }
+    }
+
+    private static boolean matches(byte[] image, byte[] digest) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(image));
+        if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != FORMAT) {
+            return false;
+        }
+        byte[] imageDigest = new byte[DIGEST_SIZE];
+        in.readFully(imageDigest);
+        return Arrays.equals(imageDigest, digest);
+    }
+
+    /**
+     * Rebuilds the syntax trees of {@code source} from {@code image} using {@code builder}. Returns
+     * {@code null} if the image was not created for this source or cannot be replayed, in which
+     * case the image is dropped from the cache and the builder must not be used any more.
+     */
+    private static <T> List<T> replay(byte[] image, byte[] digest, Source source, RCodeBuilder<T> builder, TruffleRLanguage language) {
+        try {
+            if (!matches(image, digest)) {
+                return null;
+            }
+            return new Replayer<>(image, source, builder, language).run();
+        } catch (IOException | RuntimeException e) {
+            // a corrupt image or one the header check does not catch, the source is parsed
+            cache.remove(getKey(digest), image);
+            return null;
+        }
+    }
+
+    /**
+     * Decorates an {@link RCodeBuilder} and records all calls made to it by the parser.
+     */
+    public static final class Recorder<T> implements RCodeBuilder<T> {
+
+        private final RCodeBuilder<T> delegate;
+        private final Source source;
+        private final ByteArrayOutputStream opsBytes = new ByteArrayOutputStream();
+        private final DataOutputStream ops = new DataOutputStream(opsBytes);
+        private final IdentityHashMap<Object, Integer> nodes = new IdentityHashMap<>();
+        private final IdentityHashMap<FunctionScope, Integer> scopes = new IdentityHashMap<>();
+        private final List<FunctionScope> scopeList = new ArrayList<>();
+        /*
+         * The variables of the scopes at the time their functions were created: the replay uses
+         * the final state of the scopes, so it must not differ.
+         */
+        private final IdentityHashMap<FunctionScope, List<FrameSlotKind>> functionScopeSnapshots = new IdentityHashMap<>();
+        private final Map<String, Integer> strings = new HashMap<>();
+        private int nodeCount;
+        private int opCount;
+        private boolean valid = true;
+
+        public Recorder(Source source, RCodeBuilder<T> delegate) {
+            this.source = source;
+            this.delegate = delegate;
+        }
+
+        /**
+         * Creates the image for the parse result of the source with given digest or returns
+         * {@code null} if the builder was used in a way that cannot be recorded.
+         */
+        public byte[] finish(List<T> result, byte[] sourceDigest) {
+            try {
+                if (!valid) {
+                    return null;
+                }
+                int[] resultIds = new int[result.size()];
+                for (int i = 0; i < resultIds.length; i++) {
+                    resultIds[i] = nodeId(result.get(i));
+                }
+                for (Map.Entry<FunctionScope, List<FrameSlotKind>> entry : functionScopeSnapshots.entrySet()) {
+                    if (!entry.getValue().equals(slotKinds(entry.getKey()))) {
+                        return null;
+                    }
+                }
+                if (!valid) {
+                    return null;
+                }
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(opsBytes.size() + 1024);
+                DataOutputStream out = new DataOutputStream(bytes);
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(FORMAT);
+                out.write(sourceDigest);
+                // the scopes are written with their own string table
+                Map<String, Integer> scopeStrings = new HashMap<>();
+                out.writeInt(scopeList.size());
+                for (FunctionScope scope : scopeList) {
+                    RSyntaxImage.writeString(out, scopeStrings, scope.getFunctionName());
+                    int count = scope.getLocalVariableCount();
+                    out.writeInt(count);
+                    for (int i = 0; i < count; i++) {
+                        RSyntaxImage.writeString(out, scopeStrings, scope.getLocalVariableName(i));
+                        out.writeByte(scope.getLocalVariableKind(i).ordinal());
+                    }
+                }
+                out.writeInt(nodeCount);
+                out.writeInt(opCount);
+                ops.flush();
+                opsBytes.writeTo(out);
+                out.writeInt(resultIds.length);
+                for (int id : resultIds) {
+                    out.writeInt(id);
+                }
+                out.flush();
+                return bytes.toByteArray();
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        private static List<FrameSlotKind> slotKinds(FunctionScope scope) {
+            int count = scope.getLocalVariableCount();
+            List<FrameSlotKind> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(scope.getLocalVariableKind(i));
+            }
+            return result;
+        }
+
+        private T register(T node) {
+            nodes.put(node, nodeCount++);
+            return node;
+        }
+
+        private int nodeId(T node) {
+            if (node == null) {
+                return -1;
+            }
+            Integer id = nodes.get(node);
+            if (id == null) {
+                // not created by this builder
+                valid = false;
+                return -1;
+            }
+            return id;
+        }
+
+        private int scopeId(FunctionScope scope) {
+            if (scope == null) {
+                return NO_SCOPE;
+            } else if (scope == FunctionScope.EMPTY_SCOPE) {
+                return EMPTY_SCOPE;
+            }
+            Integer id = scopes.get(scope);
+            if (id == null) {
+                id = scopeList.size();
+                scopes.put(scope, id);
+                scopeList.add(scope);
+            }
+            return id;
+        }
+
+        private void writeSection(SourceSection section) throws IOException {
+            if (section == null) {
+                ops.writeInt(NO_SECTION);
+            } else if (!section.isAvailable()) {
+                ops.writeInt(UNAVAILABLE_SECTION);
+            } else {
+                if (section.getSource() != source) {
+                    valid = false;
+                }
+                ops.writeInt(section.getCharIndex());
+                ops.writeInt(section.getCharLength());
+            }
+        }
+
+        private void writeString(String value) throws IOException {
+            RSyntaxImage.writeString(ops, strings, value);
+        }
+
+        private void writeArguments(List<Argument<T>> arguments) throws IOException {
+            ops.writeInt(arguments.size());
+            for (Argument<T> arg : arguments) {
+                writeSection(arg.source);
+                writeString(arg.name);
+                ops.writeInt(nodeId(arg.value));
+            }
+        }
+
+        private void writeConstant(Object value) throws IOException {
+            if (value == RNull.instance) {
+                ops.writeByte(CONST_NULL);
+            } else if (value instanceof Byte) {
+                ops.writeByte(CONST_LOGICAL);
+                ops.writeByte((Byte) value);
+            } else if (value instanceof Integer) {
+                ops.writeByte(CONST_INT);
+                ops.writeInt((Integer) value);
+            } else if (value instanceof Double) {
+                ops.writeByte(CONST_DOUBLE);
+                ops.writeLong(Double.doubleToRawLongBits((Double) value));
+            } else if (value == RRuntime.STRING_NA) {
+                ops.writeByte(CONST_STRING_NA);
+            } else if (value instanceof String) {
+                ops.writeByte(CONST_STRING);
+                writeString((String) value);
+            } else if (value instanceof RComplex) {
+                RComplex complex = (RComplex) value;
+                ops.writeByte(CONST_COMPLEX);
+                ops.writeLong(Double.doubleToRawLongBits(complex.getRealPart()));
+                ops.writeLong(Double.doubleToRawLongBits(complex.getImaginaryPart()));
+            } else {
+                valid = false;
+            }
+        }
+
+        @Override
+        public void modifyLastToken(RCodeToken newToken) {
+            try {
+                ops.writeByte(OP_MODIFY_LAST_TOKEN);
+                opCount++;
+                ops.writeShort(newToken.ordinal());
+            } catch (IOException e) {
+                valid = false;
+            }
+            delegate.modifyLastToken(newToken);
+        }
+
+        @Override
+        public void modifyLastTokenIf(RCodeToken oldToken, RCodeToken newToken) {
+            try {
+                ops.writeByte(OP_MODIFY_LAST_TOKEN_IF);
+                opCount++;
+                ops.writeShort(oldToken.ordinal());
+                ops.writeShort(newToken.ordinal());
+            } catch (IOException e) {
+                valid = false;
+            }
+            delegate.modifyLastTokenIf(oldToken, newToken);
+        }
+
+        @Override
+        public void token(SourceSection section, RCodeToken token, String text) {
+            try {
+                ops.writeByte(OP_TOKEN);
+                opCount++;
+                writeSection(section);
+                ops.writeShort(token.ordinal());
+                writeString(text);
+            } catch (IOException e) {
+                valid = false;
+            }
+            delegate.token(section, token, text);
+        }
+
+        @Override
+        public T call(SourceSection section, T lhs, List<Argument<T>> arguments, DynamicObject attributes) {
+            if (attributes != null) {
+                valid = false;
+            }
+            try {
+                ops.writeByte(OP_CALL);
+                opCount++;
+                writeSection(section);
+                ops.writeInt(nodeId(lhs));
+                writeArguments(arguments);
+            } catch (IOException e) {
+                valid = false;
+            }
+            return register(delegate.call(section, lhs, arguments, attributes));
+        }
+
+        @Override
+        public T constant(SourceSection section, Object value) {
+            try {
+                ops.writeByte(OP_CONSTANT);
+                opCount++;
+                writeSection(section);
+                writeConstant(value);
+            } catch (IOException e) {
+                valid = false;
+            }
+            return register(delegate.constant(section, value));
+        }
+
+        private void writeLookup(byte op, SourceSection section, String symbol, boolean functionLookup, FunctionScope functionScope) {
+            try {
+                ops.writeByte(op);
+                opCount++;
+                writeSection(section);
+                writeString(symbol);
+                ops.writeBoolean(functionLookup);
+                // the scope only matters if it resolves the symbol at this point of the parsing
+                boolean resolved = functionScope != null && !functionLookup && functionScope.getLocalVariableFrameIndex(symbol) != null;
+                ops.writeInt(resolved ? scopeId(functionScope) : NO_SCOPE);
+            } catch (IOException e) {
+                valid = false;
+            }
+        }
+
+        @Override
+        public T specialLookup(SourceSection section, String symbol, boolean functionLookup, FunctionScope functionScope) {
+            writeLookup(OP_SPECIAL_LOOKUP, section, symbol, functionLookup, functionScope);
+            return register(delegate.specialLookup(section, symbol, functionLookup, functionScope));
+        }
+
+        @Override
+        public T lookup(SourceSection section, String symbol, boolean functionLookup, FunctionScope functionScope) {
+            writeLookup(OP_LOOKUP, section, symbol, functionLookup, functionScope);
+            return register(delegate.lookup(section, symbol, functionLookup, functionScope));
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T function(TruffleRLanguage language, SourceSection section, List<Argument<T>> arguments, T body, Object assignedTo, FunctionScope functionScope) {
+            try {
+                ops.writeByte(OP_FUNCTION);
+                opCount++;
+                writeSection(section);
+                writeArguments(arguments);
+                ops.writeInt(nodeId(body));
+                ops.writeInt(assignedTo == null ? -1 : nodeId((T) assignedTo));
+                ops.writeInt(scopeId(functionScope));
+                if (functionScope != null && functionScope != FunctionScope.EMPTY_SCOPE) {
+                    functionScopeSnapshots.put(functionScope, slotKinds(functionScope));
+                }
+            } catch (IOException e) {
+                valid = false;
+            }
+            return register(delegate.function(language, section, arguments, body, assignedTo, functionScope));
+        }
+
+        @Override
+        public RootCallTarget rootFunction(TruffleRLanguage language, SourceSection section, List<Argument<T>> arguments, T body, String name, FunctionScope functionScope) {
+            valid = false;
+            return delegate.rootFunction(language, section, arguments, body, name, functionScope);
+        }
+
+        @Override
+        public List<Argument<RSyntaxNode>> getFunctionExprArgs(Object args) {
+            valid = false;
+            return delegate.getFunctionExprArgs(args);
+        }
+
+        @Override
+        public void setContext(CodeBuilderContext context) {
+            valid = false;
+            delegate.setContext(context);
+        }
+
+        @Override
+        public CodeBuilderContext getContext() {
+            return delegate.getContext();
+        }
+    }
+
+    private static void writeString(DataOutputStream out, Map<String, Integer> table, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        Integer index = table.get(value);
+        if (index != null) {
+            out.writeInt(index);
+        } else {
+            out.writeInt(table.size());
+            table.put(value, table.size());
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream in, List<String> table) throws IOException {
+        int index = in.readInt();
+        if (index == -1) {
+            return null;
+        } else if (index < table.size()) {
+            return table.get(index);
+        }
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        table.add(value);
+        return value;
+    }
+
+    private static final class Replayer<T> {
+        private final DataInputStream in;
+        private final Source source;
+        private final RCodeBuilder<T> builder;
+        private final TruffleRLanguage language;
+        private final List<String> strings = new ArrayList<>();
+        private FunctionScope[] scopes;
+        private Object[] nodes;
+        private int nodeCount;
+
+        Replayer(byte[] image, Source source, RCodeBuilder<T> builder, TruffleRLanguage language) {
+            this.in = new DataInputStream(new ByteArrayInputStream(image));
+            this.source = source;
+            this.builder = builder;
+            this.language = language;
+        }
+
+        List<T> run() throws IOException {
+            in.skipBytes(HEADER_SIZE); // header checked by matches
+            scopes = new FunctionScope[in.readInt()];
+            List<String> scopeStrings = new ArrayList<>();
+            for (int i = 0; i < scopes.length; i++) {
+                FunctionScope scope = new FunctionScope(RSyntaxImage.readString(in, scopeStrings));
+                int count = in.readInt();
+                for (int j = 0; j < count; j++) {
+                    String name = RSyntaxImage.readString(in, scopeStrings);
+                    scope.addLocalVariable(name, SLOT_KINDS[in.readByte()]);
+                }
+                scopes[i] = scope;
+            }
+            nodes = new Object[in.readInt()];
+            int opCount = in.readInt();
+            for (int i = 0; i < opCount; i++) {
+                replayOp();
+            }
+            int resultCount = in.readInt();
+            List<T> result = new ArrayList<>(resultCount);
+            for (int i = 0; i < resultCount; i++) {
+                result.add(node(in.readInt()));
+            }
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T node(int id) {
+            return id == -1 ? null : (T) nodes[id];
+        }
+
+        private FunctionScope scope(int id) {
+            if (id == NO_SCOPE) {
+                return null;
+            } else if (id == EMPTY_SCOPE) {
+                return FunctionScope.EMPTY_SCOPE;
+            }
+            return scopes[id];
+        }
+
+        private SourceSection readSection() throws IOException {
+            int index = in.readInt();
+            if (index == NO_SECTION) {
+                return null;
+            } else if (index == UNAVAILABLE_SECTION) {
+                return source.createUnavailableSection();
+            }
+            return source.createSection(index, in.readInt());
+        }
+
+        private String readString() throws IOException {
+            return RSyntaxImage.readString(in, strings);
+        }
+
+        private List<RCodeBuilder.Argument<T>> readArguments() throws IOException {
+            int count = in.readInt();
+            List<RCodeBuilder.Argument<T>> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                SourceSection section = readSection();
+                String name = readString();
+                result.add(RCodeBuilder.argument(section, name, node(in.readInt())));
+            }
+            return result;
+        }
+
+        private Object readConstant() throws IOException {
+            byte tag = in.readByte();
+            switch (tag) {
+                case CONST_NULL:
+                    return RNull.instance;
+                case CONST_LOGICAL:
+                    return in.readByte();
+                case CONST_INT:
+                    return in.readInt();
+                case CONST_DOUBLE:
+                    return Double.longBitsToDouble(in.readLong());
+                case CONST_STRING:
+                    return readString();
+                case CONST_STRING_NA:
+                    return RRuntime.STRING_NA;
+                case CONST_COMPLEX:
+                    double real = Double.longBitsToDouble(in.readLong());
+                    return RComplex.valueOf(real, Double.longBitsToDouble(in.readLong()));
+                default:
+                    throw new IOException("invalid constant tag " + tag);
+            }
+        }
+
+        private void replayOp() throws IOException {
+            byte op = in.readByte();
+            switch (op) {
+                case OP_TOKEN: {
+                    SourceSection section = readSection();
+                    RCodeBuilder.RCodeToken token = TOKENS[in.readShort()];
+                    builder.token(section, token, readString());
+                    break;
+                }
+                case OP_MODIFY_LAST_TOKEN:
+                    builder.modifyLastToken(TOKENS[in.readShort()]);
+                    break;
+                case OP_MODIFY_LAST_TOKEN_IF:
+                    builder.modifyLastTokenIf(TOKENS[in.readShort()], TOKENS[in.readShort()]);
+                    break;
+                default:
+                    nodes[nodeCount++] = replayNode(op);
+            }
+        }
+
+        private T replayNode(byte op) throws IOException {
+            switch (op) {
+                case OP_CALL: {
+                    SourceSection section = readSection();
+                    T lhs = node(in.readInt());
+                    return builder.call(section, lhs, readArguments(), null);
+                }
+                case OP_CONSTANT: {
+                    SourceSection section = readSection();
+                    return builder.constant(section, readConstant());
+                }
+                case OP_LOOKUP:
+                case OP_SPECIAL_LOOKUP: {
+                    SourceSection section = readSection();
+                    String symbol = readString();
+                    boolean functionLookup = in.readBoolean();
+                    FunctionScope scope = scope(in.readInt());
+                    return op == OP_LOOKUP ? builder.lookup(section, symbol, functionLookup, scope) : builder.specialLookup(section, symbol, functionLookup, scope);
+                }
+                case OP_FUNCTION: {
+                    SourceSection section = readSection();
+                    List<RCodeBuilder.Argument<T>> arguments = readArguments();
+                    T body = node(in.readInt());
+                    T assignedTo = node(in.readInt());
+                    return builder.function(language, section, arguments, body, assignedTo, scope(in.readInt()));
+                }
+                default:
+                    throw new IOException("invalid operation " + op);
+            }
+        }
+    }
+}
@@ -43,14 +43,17 @@ import com.oracle.truffle.r.runtime.env.frame.ActiveBinding;
 import com.oracle.truffle.r.runtime.env.frame.FrameSlotChangeMonitor;
 import com.oracle.truffle.r.runtime.ffi.BaseRFFI;
 import com.oracle.truffle.r.runtime.nmath.RandomFunctions.RandomNumberProvider;
+import com.oracle.truffle.r.runtime.rng.lecuyer.LecuyerCMRG;
 import com.oracle.truffle.r.runtime.rng.mm.MarsagliaMulticarry;
 import com.oracle.truffle.r.runtime.rng.mt.MersenneTwister;
+import com.oracle.truffle.r.runtime.rng.sd.SuperDuper;
 import com.oracle.truffle.r.runtime.rng.user.UserRNG;
+import com.oracle.truffle.r.runtime.rng.wh.WichmannHill;
 
 /**
  * Facade class to the R random number generators, (see src/main/RNG.c in GnuR). The individual
- * generators are implemented in their own class. Currently there are only two implemented, the
- * default, {@link MersenneTwister} and {@link MarsagliaMulticarry}.
+ * generators are implemented in their own class. All the GnuR kinds except for the Knuth TAOCP ones
+ * are implemented, the default being {@link MersenneTwister}.
  *
  * The fact that the R programmer can set {@code .Random.seed} explicitly, as opposed to the
  * recommended approach of calling {@code set.seed}, is something of a pain as it changes the
@@ -72,14 +75,14 @@ public class RRNG {
      * {@link RRNG#doSetSeed}.
      */
     public enum Kind {
-        WICHMANN_HILL(),
+        WICHMANN_HILL(WichmannHill::new),
         MARSAGLIA_MULTICARRY(MarsagliaMulticarry::new),
-        SUPER_DUPER(),
+        SUPER_DUPER(SuperDuper::new),
         MERSENNE_TWISTER(MersenneTwister::new),
         KNUTH_TAOCP(),
         USER_UNIF(UserRNG::new),
         KNUTH_TAOCP2(),
-        LECUYER_CMRG();
+        LECUYER_CMRG(LecuyerCMRG::new);
 
         @CompilationFinal(dimensions = 1) static final Kind[] VALUES = values();
 
@@ -472,6 +475,15 @@ public class RRNG {
         getContextState().updateCurrentGenerator(rng, false);
     }
 
+    /**
+     * Initializes the seeds of given generator from the time, including the initial scrambling.
+     * Equivalent of {@code Randomize} in src/main/RNG.c, for use in
+     * {@link RandomNumberGenerator#fixupSeeds(boolean)}.
+     */
+    public static void randomize(RandomNumberGenerator generator) {
+        initGenerator(generator, timeToSeed());
+    }
+
     private static void handleInvalidSeed() {
         randomize(DEFAULT_KIND);
         getContextState().updateCurrentNormKind(DEFAULT_NORM_KIND, false);
@@ -37,6 +37,17 @@ public interface RandomNumberGenerator {
 
     double genrandDouble();
 
+    /**
+     * Fills {@code dest[offset..offset+length)} with the same values that {@code length}
+     * successive calls to {@link #genrandDouble()} would produce. Generators should override this
+     * when they can produce many values more efficiently than one by one.
+     */
+    default void genrandDoubles(double[] dest, int offset, int length) {
+        for (int i = 0; i < length; i++) {
+            dest[offset + i] = genrandDouble();
+        }
+    }
+
     Kind getKind();
 
     /**
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 1995-2012, The R Core Team
+ * Copyright (c) 2003, The R Foundation
+ * Copyright (c) 2026, Oracle and/or its affiliates
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, a copy is available at
+ * https://www.R-project.org/Licenses/
+ */
+package com.oracle.truffle.r.runtime.rng.lecuyer;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.r.runtime.rng.RNGInitAdapter;
+import com.oracle.truffle.r.runtime.rng.RRNG;
+import com.oracle.truffle.r.runtime.rng.RRNG.Kind;
+
+/**
+ * "L'Ecuyer-CMRG" RNG, the combined multiple-recursive generator MRG32k3a. Transcribed from GnuR
+ * RNG.c, the stream jumping ({@link #nextStream(int[])} and {@link #nextSubStream(int[])}) is
+ * transcribed from rngstream.c in the GnuR parallel package.
+ */
+public final class LecuyerCMRG extends RNGInitAdapter {
+
+    private static final long M1 = 4294967087L;
+    private static final long M2 = 4294944443L;
+    private static final double NORMC = 2.328306549295727688e-10;
+    private static final long A12 = 1403580;
+    private static final long A13N = 810728;
+    private static final long A21 = 527612;
+    private static final long A23N = 1370589;
+
+    private static final long[][] A1P76 = {
+                    {82758667L, 1871391091L, 4127413238L},
+                    {3672831523L, 69195019L, 1871391091L},
+                    {3672091415L, 3528743235L, 69195019L}
+    };
+
+    private static final long[][] A2P76 = {
+                    {1511326704L, 3759209742L, 1610795712L},
+                    {4292754251L, 1511326704L, 3889917532L},
+                    {3859662829L, 4292754251L, 3708466080L}
+    };
+
+    private static final long[][] A1P127 = {
+                    {2427906178L, 3580155704L, 949770784L},
+                    {226153695L, 1230515664L, 3580155704L},
+                    {1988835001L, 986791581L, 1230515664L}
+    };
+
+    private static final long[][] A2P127 = {
+                    {1464411153L, 277697599L, 1610723613L},
+                    {32183930L, 1464411153L, 1022607788L},
+                    {2824425944L, 32183930L, 2093834863L}
+    };
+
+    @Override
+    @TruffleBoundary
+    public void init(int seedParam) {
+        int seed = seedParam;
+        for (int i = 0; i < getNSeed(); i++) {
+            seed = (69069 * seed + 1);
+            while ((seed & 0xffffffffL) >= M2) {
+                seed = (69069 * seed + 1);
+            }
+            setISeedItem(i, seed);
+        }
+    }
+
+    @Override
+    @TruffleBoundary
+    public void fixupSeeds(boolean initial) {
+        /*
+         * first set: not all zero, in [0, m1), second set: not all zero, in [0, m2). Note: as in
+         * GnuR, the "not all zero" flag is shared by both sets.
+         */
+        boolean notAllZero = false;
+        boolean allOK = true;
+        for (int i = 0; i < 3; i++) {
+            long tmp = getISeedItem(i) & 0xffffffffL;
+            if (tmp != 0) {
+                notAllZero = true;
+            }
+            if (tmp >= M1) {
+                allOK = false;
+            }
+        }
+        if (!notAllZero || !allOK) {
+            RRNG.randomize(this);
+        }
+        for (int i = 3; i < 6; i++) {
+            long tmp = getISeedItem(i) & 0xffffffffL;
+            if (tmp != 0) {
+                notAllZero = true;
+            }
+            if (tmp >= M2) {
+                allOK = false;
+            }
+        }
+        if (!notAllZero || !allOK) {
+            RRNG.randomize(this);
+        }
+    }
+
+    @Override
+    public double genrandDouble() {
+        long s0 = getISeedItem(0) & 0xffffffffL;
+        long s1 = getISeedItem(1) & 0xffffffffL;
+        long s2 = getISeedItem(2) & 0xffffffffL;
+        long s3 = getISeedItem(3) & 0xffffffffL;
+        long s4 = getISeedItem(4) & 0xffffffffL;
+        long s5 = getISeedItem(5) & 0xffffffffL;
+
+        long p1 = component1(s0, s1);
+        long p2 = component2(s3, s5);
+
+        setISeedItem(0, (int) s1);
+        setISeedItem(1, (int) s2);
+        setISeedItem(2, (int) p1);
+        setISeedItem(3, (int) s4);
+        setISeedItem(4, (int) s5);
+        setISeedItem(5, (int) p2);
+        return combine(p1, p2);
+    }
+
+    /**
+     * Keeps the state in locals for the whole run and writes it back to the seeds array only once.
+     */
+    @Override
+    public void genrandDoubles(double[] dest, int offset, int length) {
+        long s0 = getISeedItem(0) & 0xffffffffL;
+        long s1 = getISeedItem(1) & 0xffffffffL;
+        long s2 = getISeedItem(2) & 0xffffffffL;
+        long s3 = getISeedItem(3) & 0xffffffffL;
+        long s4 = getISeedItem(4) & 0xffffffffL;
+        long s5 = getISeedItem(5) & 0xffffffffL;
+        for (int i = 0; i < length; i++) {
+            long p1 = component1(s0, s1);
+            long p2 = component2(s3, s5);
+            s0 = s1;
+            s1 = s2;
+            s2 = p1;
+            s3 = s4;
+            s4 = s5;
+            s5 = p2;
+            dest[offset + i] = combine(p1, p2);
+        }
+        setISeedItem(0, (int) s0);
+        setISeedItem(1, (int) s1);
+        setISeedItem(2, (int) s2);
+        setISeedItem(3, (int) s3);
+        setISeedItem(4, (int) s4);
+        setISeedItem(5, (int) s5);
+    }
+
+    private static long component1(long s0, long s1) {
+        long p1 = A12 * s1 - A13N * s0;
+        p1 -= (p1 / M1) * M1;
+        if (p1 < 0) {
+            p1 += M1;
+        }
+        return p1;
+    }
+
+    private static long component2(long s3, long s5) {
+        long p2 = A21 * s5 - A23N * s3;
+        p2 -= (p2 / M2) * M2;
+        if (p2 < 0) {
+            p2 += M2;
+        }
+        return p2;
+    }
+
+    private static double combine(long p1, long p2) {
+        return ((p1 > p2) ? (p1 - p2) : (p1 - p2 + M1)) * NORMC;
+    }
+
+    /**
+     * Advances the given {@code .Random.seed} of this generator by 2^127 steps, i.e. to the start of
+     * the next stream. Implements {@code nextRNGStream} from the parallel package.
+     */
+    public static int[] nextStream(int[] seed) {
+        return jump(seed, A1P127, A2P127);
+    }
+
+    /**
+     * Advances the given {@code .Random.seed} of this generator by 2^76 steps, i.e. to the start of
+     * the next sub-stream. Implements {@code nextRNGSubStream} from the parallel package.
+     */
+    public static int[] nextSubStream(int[] seed) {
+        return jump(seed, A1P76, A2P76);
+    }
+
+    private static int[] jump(int[] seed, long[][] a1, long[][] a2) {
+        assert seed.length >= 7;
+        int[] result = new int[7];
+        result[0] = seed[0];
+        // the arithmetic is unsigned 64-bit in GnuR, including the wrap-around
+        for (int i = 0; i < 3; i++) {
+            long tmp = 0;
+            for (int j = 0; j < 3; j++) {
+                tmp += a1[i][j] * (seed[j + 1] & 0xffffffffL);
+                tmp = Long.remainderUnsigned(tmp, M1);
+            }
+            result[i + 1] = (int) tmp;
+        }
+        for (int i = 0; i < 3; i++) {
+            long tmp = 0;
+            for (int j = 0; j < 3; j++) {
+                tmp += a2[i][j] * (seed[j + 4] & 0xffffffffL);
+                tmp = Long.remainderUnsigned(tmp, M2);
+            }
+            result[i + 4] = (int) tmp;
+        }
+        return result;
+    }
+
+    @Override
+    public Kind getKind() {
+        return Kind.LECUYER_CMRG;
+    }
+
+    @Override
+    public int getNSeed() {
+        return 6;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2015, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -1241,3 +1241,76 @@ SEXP test_setRRawVector2() {
     UNPROTECT(1);
     return raw_vec;
 }
+
+/**
+ * Reads the elements of a copy of the string vector x more times than needed to move them to
+ * native memory, then replaces every second element and reads all elements again. Returns the
+ * elements read before and after the replacement.
+ */
+SEXP test_stringEltCache(SEXP x) {
+    R_xlen_t n = XLENGTH(x);
+    SEXP v = PROTECT(duplicate(x));
+    SEXP result = PROTECT(allocVector(STRSXP, 2 * n));
+    for (int k = 0; k < 3; k++) {
+        for (R_xlen_t i = 0; i < n; i++) {
+            SET_STRING_ELT(result, i, STRING_ELT(v, i));
+        }
+    }
+    SEXP changed = PROTECT(mkChar("changed"));
+    for (R_xlen_t i = 0; i < n; i += 2) {
+        SET_STRING_ELT(v, i, changed);
+    }
+    for (R_xlen_t i = 0; i < n; i++) {
+        SET_STRING_ELT(result, n + i, STRING_ELT(v, i));
+    }
+    UNPROTECT(3);
+    return result;
+}
+
+/**
+ * Like test_stringEltCache, but for a list. Every second element is replaced by its index.
+ */
+SEXP test_vectorEltCache(SEXP x) {
+    R_xlen_t n = XLENGTH(x);
+    SEXP v = PROTECT(duplicate(x));
+    SEXP result = PROTECT(allocVector(VECSXP, 2 * n));
+    for (int k = 0; k < 3; k++) {
+        for (R_xlen_t i = 0; i < n; i++) {
+            SET_VECTOR_ELT(result, i, VECTOR_ELT(v, i));
+        }
+    }
+    for (R_xlen_t i = 0; i < n; i += 2) {
+        SET_VECTOR_ELT(v, i, ScalarInteger((int) i));
+    }
+    for (R_xlen_t i = 0; i < n; i++) {
+        SET_VECTOR_ELT(result, n + i, VECTOR_ELT(v, i));
+    }
+    UNPROTECT(2);
+    return result;
+}
+
+/**
+ * Reads all elements of a copy of the string vector x more times than needed to move them to
+ * native memory, shrinks it to newLength by SETLENGTH and returns the elements read afterwards.
+ */
+SEXP test_stringEltCacheSetLength(SEXP x, SEXP newLength) {
+    R_xlen_t n = XLENGTH(x);
+    int len = asInteger(newLength);
+    SEXP v = PROTECT(duplicate(x));
+    for (int k = 0; k < 3; k++) {
+        for (R_xlen_t i = 0; i < n; i++) {
+            STRING_ELT(v, i);
+        }
+    }
+    SET_TRUELENGTH(v, n);
+    SET_GROWABLE_BIT(v);
+    SETLENGTH(v, len);
+    SEXP result = PROTECT(allocVector(STRSXP, XLENGTH(v)));
+    for (int k = 0; k < 3; k++) {
+        for (R_xlen_t i = 0; i < XLENGTH(v); i++) {
+            SET_STRING_ELT(result, i, STRING_ELT(v, i));
+        }
+    }
+    UNPROTECT(2);
+    return result;
+}
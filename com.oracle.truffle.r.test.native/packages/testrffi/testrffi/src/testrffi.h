@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -188,3 +188,9 @@ extern SEXP test_mkCharDoesNotCollect();
 extern SEXP test_setRRawVector();
 
 extern SEXP test_setRRawVector2();
+
+extern SEXP test_stringEltCache(SEXP x);
+
+extern SEXP test_vectorEltCache(SEXP x);
+
+extern SEXP test_stringEltCacheSetLength(SEXP x, SEXP newLength);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2015, 2026, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -213,6 +213,35 @@ public class TestS4 extends TestRBase {
         assertEval("{ setClass('TestS4S31', representation(f = 'numeric')); p <- new('TestS4S31', f = 2); `$.TestS4S31` <- function(...) 42; p$field }");
     }
 
+    @Test
+    public void testMultipleArgumentDispatch() {
+        // the cached dispatch must compare all classes, not only the first one
+        assertEval("{ setGeneric('gen2', function(a, b) standardGeneric('gen2')); setMethod('gen2', signature('numeric', 'character'), function(a, b) 'numeric,character'); " +
+                        "setMethod('gen2', signature('numeric', 'numeric'), function(a, b) 'numeric,numeric'); res <- vapply(1:6, function(i) if (i %% 2 == 0) gen2(1, 'x') else gen2(1, 2), ''); removeGeneric('gen2'); res }");
+        assertEval("{ setGeneric('gen3', function(a, b, c) standardGeneric('gen3')); setMethod('gen3', signature('numeric', 'numeric', 'character'), function(a, b, c) 'character'); " +
+                        "setMethod('gen3', signature('numeric', 'numeric', 'logical'), function(a, b, c) 'logical'); res <- vapply(list('x', TRUE, 'y', FALSE), function(v) gen3(1, 2, v), ''); removeGeneric('gen3'); res }");
+    }
+
+    @Test
+    public void testDispatchCacheInvalidation() {
+        // redefining or removing a method must not leave the previously selected one in the cache
+        assertEval("{ setClass('TestS4CacheBase', representation(x = 'numeric')); setClass('TestS4CacheChild', contains = 'TestS4CacheBase'); " +
+                        "setGeneric('cacheGen', function(o) standardGeneric('cacheGen')); setMethod('cacheGen', 'TestS4CacheBase', function(o) 'base'); " +
+                        "setMethod('cacheGen', 'TestS4CacheChild', function(o) 'child'); o <- new('TestS4CacheChild', x = 1); res <- vapply(1:10, function(i) cacheGen(o), ''); " +
+                        "setMethod('cacheGen', 'TestS4CacheChild', function(o) 'child2'); res <- c(res, vapply(1:3, function(i) cacheGen(o), '')); " +
+                        "removeMethod('cacheGen', 'TestS4CacheChild'); res <- c(res, vapply(1:3, function(i) cacheGen(o), '')); removeGeneric('cacheGen'); res }");
+        // after a few redefinitions the method is no longer cached, every call must still see the latest one
+        assertEval("{ setGeneric('cacheGen2', function(o) standardGeneric('cacheGen2')); setMethod('cacheGen2', 'numeric', function(o) 'v0'); " +
+                        "res <- character(); for (v in 1:6) { res <- c(res, vapply(1:5, function(i) cacheGen2(1), '')); " +
+                        "setMethod('cacheGen2', 'numeric', eval(substitute(function(o) V, list(V = paste0('v', v))))) }; " +
+                        "res <- c(res, cacheGen2(1)); removeMethod('cacheGen2', 'numeric'); res <- c(res, tryCatch(cacheGen2(1), error = function(e) 'no method')); removeGeneric('cacheGen2'); res }");
+        // redefining a method of one generic leaves the cached methods of another generic intact
+        assertEval("{ setGeneric('cacheGen3', function(o) standardGeneric('cacheGen3')); setGeneric('cacheGen4', function(o) standardGeneric('cacheGen4')); " +
+                        "setMethod('cacheGen3', 'numeric', function(o) 'gen3'); setMethod('cacheGen4', 'numeric', function(o) 'gen4'); " +
+                        "res <- vapply(1:10, function(i) (if (i %% 2 == 0) cacheGen3 else cacheGen4)(1), ''); " +
+                        "setMethod('cacheGen4', 'numeric', function(o) 'gen4b'); res <- c(res, cacheGen3(1), cacheGen4(1)); removeGeneric('cacheGen3'); removeGeneric('cacheGen4'); res }");
+    }
+
     @Test
     public void testAs() {
         assertEval("{ my_as <- function(object, to) { class(object) <- to; object }; A12 <- setClass('A12', slots=c(data='numeric')); a <- A12(); x <- my_as(a, 'X'); class(a) }");
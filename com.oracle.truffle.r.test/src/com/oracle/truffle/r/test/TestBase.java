@@ -600,6 +600,24 @@ public class TestBase {
         return evalAndCompare(getAssertEvalFastR(gnuROutput, input), useREPL, USE_DEFAULT_TIMEOUT, true);
     }
 
+    /**
+     * Like {@link #assertEval}, but FastR evaluates the input in a new context created with the
+     * given options, e.g. {@code Map.of(FastROptions.getName(KernelThreads), "4")}. Meant for
+     * options that change how FastR computes a result but not the result, so that the expected
+     * output is that of GnuR.
+     */
+    protected void assertEvalWithOptions(Map<String, String> contextOptions, String... input) {
+        evalAndCompare(input, contextOptions, false, USE_DEFAULT_TIMEOUT, true);
+    }
+
+    /**
+     * Like {@link #assertEvalFastR}, but FastR evaluates the input in a new context created with
+     * the given options.
+     */
+    protected boolean assertEvalFastRWithOptions(Map<String, String> contextOptions, String input, String gnuROutput) {
+        return evalAndCompare(getAssertEvalFastR(gnuROutput, input), contextOptions, false, USE_DEFAULT_TIMEOUT, true);
+    }
+
     protected void assertEvalOneShot(String input) {
         evalAndCompare(new String[]{input}, true, USE_DEFAULT_TIMEOUT, false);
     }
@@ -753,6 +771,10 @@ public class TestBase {
     }
 
     private boolean evalAndCompare(String[] inputs, boolean useREPL, long timeout, boolean hasGeneratedOutput, TestTrait... traitsList) {
+        return evalAndCompare(inputs, null, useREPL, timeout, hasGeneratedOutput, traitsList);
+    }
+
+    private boolean evalAndCompare(String[] inputs, Map<String, String> contextOptions, boolean useREPL, long timeout, boolean hasGeneratedOutput, TestTrait... traitsList) {
         if (!hasGeneratedOutput && generatingExpected()) {
             return true;
         }
@@ -767,7 +789,7 @@ public class TestBase {
             if (skipFastREval) {
                 ignoredInputCount++;
             } else {
-                String result = fastREval(input, contextKind, timeout, !traits.context.contains(Context.NoJavaInterop), useREPL);
+                String result = fastREval(input, contextKind, contextOptions, timeout, !traits.context.contains(Context.NoJavaInterop), useREPL);
                 CheckResult checkResult = checkResult(includeLists, input, traits.preprocessOutput(expected), traits.preprocessOutput(result), traits);
 
                 result = checkResult.result;
@@ -1159,12 +1181,30 @@ public class TestBase {
     }
 
     protected String fastREval(String input, ContextKind contextKind, long timeout, boolean allowHostAccess, boolean useREPL) {
+        return fastREval(input, contextKind, null, timeout, allowHostAccess, useREPL);
+    }
+
+    /**
+     * Evaluate {@code input} in FastR in a new context created with given options, returning all
+     * (virtual) console output that was produced.
+     */
+    protected String fastREval(String input, Map<String, String> contextOptions) {
+        return fastREval(input, ContextKind.SHARE_NOTHING, contextOptions, USE_DEFAULT_TIMEOUT, true, false);
+    }
+
+    /**
+     * If {@code contextOptions} is not {@code null}, the input is evaluated in a new context
+     * created with these options and {@code contextKind} is ignored.
+     */
+    private String fastREval(String input, ContextKind contextKind, Map<String, String> contextOptions, long timeout, boolean allowHostAccess, boolean useREPL) {
         assert contextKind != null;
         microTestInfo.expression = input;
         String result;
         try {
             beforeEval();
-            if (useREPL) {
+            if (contextOptions != null) {
+                result = fastROutputManager.fastRSession.eval(this, input, contextOptions, timeout);
+            } else if (useREPL) {
                 result = fastROutputManager.fastRSession.evalInREPL(this, input, contextKind, timeout, allowHostAccess);
             } else {
                 result = fastROutputManager.fastRSession.eval(this, input, contextKind, timeout, allowHostAccess);
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.builtins;
+
+import static com.oracle.truffle.r.runtime.context.FastROptions.RprofFormat;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.test.TestBase;
+
+// Checkstyle: stop line length check
+public class TestBuiltin_Rprof extends TestBase {
+
+    private static final String BUSY = "rprofBusy <- function(n) { s <- 0; for (k in 1:n) s <- s + k; s }; ";
+
+    /**
+     * Profiles the main thread and the {@code EvalThread} of a SHARED cluster node running R code at
+     * the same time, the profile in {@code f} must contain the stacks of both.
+     */
+    private static final String THREADS = "f <- tempfile(); cl <- parallel::makeCluster(1, type = 'SHARED'); " + BUSY +
+                    "Rprof(f, interval = 0.005); parallel:::sendCall(cl[[1]], function() { rprofWorkerBusy <- function(n) { s <- 0; for (k in 1:n) s <- s + k; s }; rprofWorkerBusy(5e6) }, list()); " +
+                    "p <- rprofBusy(5e6); w <- parallel:::recvResult(cl[[1]]); Rprof(NULL); parallel::stopCluster(cl); ";
+
+    /**
+     * Reads the top-level fields of the pprof protocol buffer in {@code f} into {@code fields} and
+     * its string table into {@code strs}.
+     */
+    private static final String PPROF_FIELDS = "pb <- readBin(f, 'raw', file.size(f)); unlink(f); pos <- 1L; " +
+                    "varint <- function() { v <- 0; m <- 1; repeat { b <- as.integer(pb[pos]); pos <<- pos + 1L; v <- v + (b %% 128) * m; m <- m * 128; if (b < 128) break }; v }; " +
+                    "fields <- numeric(0); strs <- character(0); " +
+                    "while (pos <= length(pb)) { key <- varint(); field <- key %/% 8; wire <- key %% 8; if (wire == 0) { varint() } else if (wire == 2) { n <- varint(); " +
+                    "if (field == 6) strs <- c(strs, rawToChar(pb[pos + seq_len(n) - 1L])); pos <- pos + n } else stop('unexpected wire type'); fields <- c(fields, field) }; ";
+
+    @Test
+    public void testRprof() {
+        assertEval("{ f <- tempfile(); " + BUSY + "Rprof(f, interval = 0.005); r <- rprofBusy(3e6); Rprof(NULL); l <- readLines(f); unlink(f); s <- l[-1][nzchar(l[-1])]; " +
+                        "list(l[1], all(grepl('^(\"[^\"]+\" )+$', s)), any(grepl('\"rprofBusy\"', s)), r) }");
+    }
+
+    @Test
+    public void testRprofThreads() {
+        assertEvalFastR("{ " + THREADS + "l <- readLines(f); unlink(f); s <- l[-1][nzchar(l[-1])]; " +
+                        "list(all(grepl('^(\"[^\"]+\" )+$', s)), any(grepl('^\"rprofWorkerBusy\"', s)), any(grepl('^\"rprofBusy\"', s)), p == w) }", "list(TRUE, TRUE, TRUE, TRUE)");
+    }
+
+    @Test
+    public void testRprofCollapsed() {
+        Map<String, String> collapsed = Map.of(FastROptions.getName(RprofFormat), "collapsed");
+        // one line per stack, root first, with the number of samples
+        assertEvalFastRWithOptions(collapsed, "{ " + THREADS + "l <- readLines(f); unlink(f); stacks <- sub(' [0-9]+$', '', l); counts <- as.integer(sub('^.* ', '', l)); " +
+                        "list(length(l) > 0, all(grepl('^[^ ]+ [0-9]+$', l)), all(counts > 0), any(grepl('(^|;)rprofWorkerBusy$', stacks)), any(grepl('(^|;)rprofBusy$', stacks)), p == w) }",
+                        "list(TRUE, TRUE, TRUE, TRUE, TRUE, TRUE)");
+        Map<String, String> flushed = Map.of(FastROptions.getName(RprofFormat), "collapsed", FastROptions.getName(FastROptions.RprofFlushInterval), "0.05");
+        // the stacks sampled since the previous flush are appended, repeated stacks are summed
+        assertEvalFastRWithOptions(flushed, "{ f <- tempfile(); " + BUSY + "Rprof(f, interval = 0.005); r <- rprofBusy(5e6); Rprof(NULL); l <- readLines(f); unlink(f); " +
+                        "counts <- tapply(as.integer(sub('^.* ', '', l)), sub(' [0-9]+$', '', l), sum); list(all(grepl('^[^ ]+ [0-9]+$', l)), any(grepl('(^|;)rprofBusy$', names(counts))), all(counts > 0), r) }",
+                        "list(TRUE, TRUE, TRUE, 1.25000025e+13)");
+    }
+
+    @Test
+    public void testRprofPProf() {
+        Map<String, String> pprof = Map.of(FastROptions.getName(RprofFormat), "pprof");
+        // sample_type = 1, sample = 2, location = 4, function = 5, string_table = 6, period = 12
+        assertEvalFastRWithOptions(pprof, "{ " + THREADS + PPROF_FIELDS +
+                        "list(all(c(1, 2, 4, 5, 6, 12) %in% fields), strs[1] == '', all(c('samples', 'count', 'cpu', 'nanoseconds') %in% strs), 'rprofWorkerBusy' %in% strs, 'rprofBusy' %in% strs, p == w) }",
+                        "list(TRUE, TRUE, TRUE, TRUE, TRUE, TRUE)");
+    }
+}
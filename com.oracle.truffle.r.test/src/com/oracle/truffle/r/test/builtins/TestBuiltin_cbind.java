@@ -14,7 +14,7 @@
  * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
  *
  * Copyright (c) 2012-2014, Purdue University
- * Copyright (c) 2013, 2021, Oracle and/or its affiliates
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates
  *
  * All rights reserved.
  */
@@ -212,4 +212,46 @@ public class TestBuiltin_cbind extends TestBase {
         assertEval(Ignored.ImplementationError, "dput(cbind(substitute(graphics::par), list(as.symbol('a'))))");
         assertEval("typeof(cbind(substitute(graphics::par), list(as.symbol('a'))))");
     }
+
+    @Test
+    public void testBulkBind() {
+        // integer vectors and matrices of the same class are copied as whole regions
+        assertEval("cbind(1:3, 4:6)");
+        assertEval("cbind(matrix(1:6, 3, 2), 7:9)");
+        assertEval("cbind(c(1L, NA, 3L), 4:6, c(7L, 8L, 9L))");
+        assertEval("cbind(matrix(1:6, 3, 2), matrix(7:12, 3, 2))");
+        assertEval("cbind(c(1.5, 2, NA), c(3, 4, 5))");
+        assertEval("cbind(matrix(as.double(1:6), 3, 2), matrix(c(0.5, 1.5, 2.5), 3, 1))");
+        assertEval("cbind(c(NaN, -Inf, Inf), c(0, -0, 1e-300))");
+        assertEval("cbind(c(TRUE, NA), c(FALSE, TRUE))");
+        assertEval("cbind(matrix(c(TRUE, FALSE, NA, TRUE), 2), c(NA, FALSE))");
+        // mixed types are coerced to the result type
+        assertEval("cbind(1:2, c(1.5, 2.5))");
+        assertEval("cbind(c(TRUE, FALSE), 1:2)");
+        assertEval("cbind(c(TRUE, NA), c(1.5, 2))");
+        assertEval("cbind(1:2, c('a', 'b'))");
+        assertEval("cbind(matrix(1:4, 2), c(0.5, 1.5))");
+        assertEval("cbind(1:2, list(3, 4))");
+        // names and dimnames
+        assertEval("cbind(a = c(x = 1, y = 2), b = 3:4)");
+        assertEval("{ a <- 1:2; b <- 3:4; cbind(a, b) }");
+        assertEval("{ a <- c(TRUE, FALSE); cbind(a, c(FALSE, NA), deparse.level = 2) }");
+        assertEval("cbind(matrix(1:4, 2, dimnames = list(c('r1', 'r2'), c('c1', 'c2'))), x = 5:6)");
+        assertEval("cbind(matrix(c(1, 2, 3, 4), 2, dimnames = list(NULL, c('c1', 'c2'))), matrix(c(5, 6, 7, 8), 2, dimnames = list(c('r1', 'r2'), NULL)))");
+        assertEval("attributes(cbind(c(a = 1L, b = 2L), c(c = 3L, d = 4L)))");
+        // zero-extent arguments
+        assertEval("cbind(integer(0), 1:3)");
+        assertEval("cbind(matrix(integer(0), 3, 0), 1:3)");
+        assertEval("dim(cbind(matrix(double(0), 0, 2), matrix(double(0), 0, 1)))");
+        assertEval("cbind(matrix(1L, 2, 0), matrix(2L, 2, 0))");
+        assertEval("cbind(logical(0), c(TRUE, NA))");
+        assertEval("cbind(1:3, NULL, 4:6)");
+        // shorter arguments are recycled element-wise
+        assertEval("cbind(1:4, 1:2)");
+        assertEval("cbind(matrix(1:6, 3, 2), 1L)");
+        assertEval("cbind(c(1.5, 2.5, 3.5, 4.5), c(1, 2))");
+        assertEval("cbind(c(TRUE, FALSE, NA, TRUE), NA)");
+        assertEval(Output.IgnoreWarningContext, "cbind(1:3, 1:2)");
+        assertEval(Output.IgnoreWarningContext, "cbind(matrix(1:6, 3, 2), 1:2)");
+    }
 }
@@ -14,7 +14,7 @@
  * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
  *
  * Copyright (c) 2012-2014, Purdue University
- * Copyright (c) 2013, 2018, Oracle and/or its affiliates
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates
  *
  * All rights reserved.
  */
@@ -121,4 +121,24 @@ public class TestBuiltin_isunsorted extends TestBase {
         assertEval("{ is.unsorted(c(1+1i,2+1i,2+1i), strictly=TRUE) }");
         assertEval("{ is.unsorted(c(1,2,2), strictly=NA) }");
     }
+
+    @Test
+    public void testIsUnsortedSorted() {
+        // the result of sort is known to be sorted until it is modified
+        assertEval("{ is.unsorted(sort(c(3L, 1L, 3L, 2L))) }");
+        assertEval("{ is.unsorted(sort(c(3L, 1L, 3L, 2L)), strictly = TRUE) }");
+        assertEval("{ is.unsorted(sort(c(3, 1, 3, 2))) }");
+        assertEval("{ is.unsorted(sort(c('b', 'a', 'c', 'a'))) }");
+        assertEval("{ is.unsorted(sort(c(3L, 1L, 3L, 2L), decreasing = TRUE)) }");
+        assertEval("{ is.unsorted(sort(c(3, 1, 3, 2), decreasing = TRUE)) }");
+        assertEval("{ is.unsorted(sort(c('b', 'a', 'c'), decreasing = TRUE)) }");
+        assertEval("{ is.unsorted(sort(c(3, NA, 1, 2), na.last = TRUE)) }");
+        assertEval("{ is.unsorted(sort(c(3, NA, 1, 2), na.last = TRUE), na.rm = TRUE) }");
+        assertEval("{ is.unsorted(sort(c(3L, NA, 1L, 2L), na.last = FALSE)) }");
+        assertEval("{ x <- sort(c(3L, 1L, 2L)); x[1] <- 5L; is.unsorted(x) }");
+        assertEval("{ x <- sort(c(3, 1, 2)); x[3] <- 0; is.unsorted(x) }");
+        assertEval("{ x <- sort(c('b', 'a', 'c')); x[1] <- 'z'; is.unsorted(x) }");
+        assertEval("{ x <- sort(c(3, 1, 2)); x[2] <- NA; is.unsorted(x) }");
+        assertEval("{ x <- 1:10 + 0L; x[10] <- 0L; is.unsorted(x) }");
+    }
 }
@@ -14,7 +14,7 @@
  * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
  *
  * Copyright (c) 2014, Purdue University
- * Copyright (c) 2014, 2018, Oracle and/or its affiliates
+ * Copyright (c) 2014, 2026, Oracle and/or its affiliates
  *
  * All rights reserved.
  */
@@ -42,4 +42,19 @@ public class TestBuiltin_lazyLoadDBflush extends TestBase {
         // "argv <- list('/home/lzhao/hg/r-instrumented/library/stats4/R/stats4.rdb');
         // .Internal(lazyLoadDBflush(argv[[1]]))");
     }
+
+    @Test
+    public void testRewrittenDB() {
+        // the database is rewritten with a different content and size, after the flush its new
+        // content is read
+        String create = "f <- tempfile(); e <- new.env(); e$x <- 1:3; tools:::makeLazyLoadDB(e, f); l <- new.env(); lazyLoad(f, envir = l); a <- l$x; ";
+        String rewrite = "e$x <- c('a', 'b'); e$y <- list(42, 'z'); tools:::makeLazyLoadDB(e, f); ";
+        String cleanup = "unlink(paste0(f, c('.rdb', '.rdx'))); ";
+        assertEval("{ " + create + rewrite + ".Internal(lazyLoadDBflush(paste0(f, '.rdb'))); l2 <- new.env(); lazyLoad(f, envir = l2); r <- list(a, l2$x, l2$y); " + cleanup + "r }");
+        // the same size and possibly the same modification time
+        assertEval("{ " + create + "e$x <- 4:6; tools:::makeLazyLoadDB(e, f); .Internal(lazyLoadDBflush(paste0(f, '.rdb'))); l2 <- new.env(); lazyLoad(f, envir = l2); r <- list(a, l2$x); " + cleanup + "r }");
+        // repeatedly
+        assertEval("{ f <- tempfile(); e <- new.env(); r <- list(); for (i in 1:5) { e$x <- seq_len(i); tools:::makeLazyLoadDB(e, f); .Internal(lazyLoadDBflush(paste0(f, '.rdb'))); l <- new.env(); lazyLoad(f, envir = l); r[[i]] <- l$x }; " +
+                        cleanup + "r }");
+    }
 }
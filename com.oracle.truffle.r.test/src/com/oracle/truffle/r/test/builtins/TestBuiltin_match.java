@@ -14,7 +14,7 @@
  * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
  *
  * Copyright (c) 2012-2014, Purdue University
- * Copyright (c) 2013, 2020, Oracle and/or its affiliates
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates
  *
  * All rights reserved.
  */
@@ -472,4 +472,22 @@ public class TestBuiltin_match extends TestBase {
         table = String.format("paste('%1$s', seq(from=1, to=10, by=4), '%2$s', sep='')", preffix, suffix);
         assertEval("{ match(" + x + "," + table + ")}");
     }
+
+    @Test
+    public void testMatchSorted() {
+        // tables that remember being sorted are searched by bisection
+        assertEval("{ t <- sort(c(5L, 1L, 3L, 3L, 9L, 1L)); match(c(3L, 1L, 9L, 4L, 0L, 10L), t) }");
+        assertEval("{ t <- sort(c(5, 1, 3, 3, 9, 1)); match(c(3, 1, 9, 4, 0, 10), t) }");
+        assertEval("{ t <- sort(c(5L, 1L, 3L, 3L, 9L, 1L), decreasing = TRUE); match(c(3L, 1L, 9L, 4L, 0L, 10L), t) }");
+        assertEval("{ t <- sort(c(5, 1, 3, 3, 9, 1), decreasing = TRUE); match(c(3, 1, 9, 4, 0, 10), t) }");
+        assertEval("{ t <- sort(c(0.5, -1, 2.5, 2.5)); match(c(2.5, -1, NA, NaN, 0.5), t) }");
+        assertEval("{ t <- sort(c(5L, 1L, 3L)); match(c(NA, 3L, NA), t, nomatch = 0L) }");
+        assertEval("{ t <- sort(c(0, 1, 2)); match(c(-0, 0), t) }");
+        assertEval("{ t <- sort(c(5L, NA, 1L, 3L), na.last = TRUE); match(c(NA, 3L, 2L), t) }");
+        assertEval("{ t <- sort(c(5, NA, 1, NaN, 3), na.last = TRUE); match(c(NA, NaN, 3, 2), t) }");
+        assertEval("{ t <- sort(c(5L, 1L, 3L)); t[2] <- 10L; match(c(10L, 5L, 3L), t) }");
+        assertEval("{ t <- sort(c(5, 1, 3)); t[1] <- 10; match(c(10, 5, 1), t) }");
+        assertEval("{ t <- sort(c(5, 1, 3)); t[2] <- NA; match(c(NA, 5, 3), t) }");
+        assertEval("{ t <- seq(1, 10, 2) + 0; t[3] <- 0; match(c(0, 5, 9), t) }");
+    }
 }
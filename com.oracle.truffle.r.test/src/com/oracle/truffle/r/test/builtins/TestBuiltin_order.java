@@ -180,4 +180,33 @@ public class TestBuiltin_order extends TestBase {
         assertEval("order(NULL)");
         assertEval("order(c(NULL, c(1,2,0)))");
     }
+
+    @Test
+    public void testLargeOrder() {
+        // inputs of length 2^14 and more are ordered by radix sort, the order of ties must be stable
+        String x = "set.seed(42); x <- c(round(runif(20000) * 100) - 50, NA, NaN, -0.0, 0, Inf, -Inf, NA, NaN, -0.0); ";
+        String check = "c(length(o), head(o, 12), tail(o, 12), sum(as.double(o) * seq_along(o)))";
+        assertEval("{ " + x + "o <- order(x); " + check + " }");
+        assertEval("{ " + x + "o <- order(x, decreasing = TRUE); " + check + " }");
+        assertEval("{ " + x + "o <- order(x, na.last = FALSE); " + check + " }");
+        assertEval("{ " + x + "o <- order(x, na.last = NA); " + check + " }");
+        assertEval("{ " + x + "o <- order(x, method = 'radix'); " + check + " }");
+        assertEval("{ " + x + "o <- order(x, decreasing = TRUE, method = 'radix'); " + check + " }");
+        assertEval("{ set.seed(1); x <- sample(c(-25:25, NA), 20000, TRUE); o <- order(x); " + check + " }");
+        assertEval("{ set.seed(1); x <- sample(c(-25:25, NA), 20000, TRUE); o <- order(x, decreasing = TRUE, na.last = FALSE); " + check + " }");
+        assertEval("{ set.seed(2); a <- sample(10, 20000, TRUE); b <- round(runif(20000), 1); b[c(5, 50)] <- NA; o <- order(a, b); " + check + " }");
+        assertEval("{ set.seed(2); a <- sample(10, 20000, TRUE); b <- round(runif(20000), 1); o <- order(a, -b, decreasing = TRUE); " + check + " }");
+    }
+
+    @Test
+    public void testRadixOrder() {
+        String check = "c(length(o), head(o, 12), tail(o, 12), sum(as.double(o) * seq_along(o)))";
+        assertEval("{ set.seed(3); a <- sample(5, 20000, TRUE); b <- round(runif(20000) * 10); o <- order(a, b, decreasing = c(TRUE, FALSE), method = 'radix'); " + check + " }");
+        assertEval("{ set.seed(3); a <- sample(5, 20000, TRUE); b <- sample(c(letters, NA), 20000, TRUE); o <- order(a, b, decreasing = c(FALSE, TRUE), method = 'radix'); " + check + " }");
+        assertEval("{ a <- c(2, 1, 2, 1, NA, 2); b <- c('x', 'y', 'y', 'x', 'z', NA); order(a, b, decreasing = c(TRUE, FALSE), method = 'radix') }");
+        assertEval("{ a <- c(2, 1, 2, 1, NA, 2); b <- c('x', 'y', 'y', 'x', 'z', NA); order(a, b, decreasing = c(FALSE, TRUE), na.last = FALSE, method = 'radix') }");
+        // strings are ordered in the C locale, i.e., by code points
+        assertEval("{ x <- c('b', 'a', 'B', NA, 'c', '\\U0001F600', '\\uFFFD', '\\uE000', 'A'); order(x, method = 'radix') }");
+        assertEval("{ x <- c('b', 'a', 'B', NA, 'c', '\\U0001F600', '\\uFFFD', '\\uE000', 'A'); order(x, decreasing = TRUE, method = 'radix') }");
+    }
 }
@@ -64,4 +64,13 @@ public class TestBuiltin_radixsort extends TestBase {
         // at InternalNode$InternalCallWrapNode.prepareArgs(InternalNode.java:309)
         assertEval(Ignored.ImplementationError, "argv <- list(structure(integer(0), .Label = character(0), class = 'factor'), TRUE, FALSE); .Internal(radixsort(argv[[1]], argv[[2]], argv[[3]]))");
     }
+
+    @Test
+    public void testRetgrp() {
+        assertEval("{ x <- c(3, 1, 2, 1, 3, 3, NA); o <- .Internal(radixsort(TRUE, FALSE, TRUE, TRUE, x)); list(as.vector(o), attr(o, 'ends'), attr(o, 'maxgrpn')) }");
+        assertEval("{ x <- c(3, 1, 2, 1, 3, 3, NA); o <- .Internal(radixsort(NA, TRUE, TRUE, TRUE, x)); list(as.vector(o), attr(o, 'ends'), attr(o, 'maxgrpn')) }");
+        assertEval("{ x <- c('b', 'a', 'b', NA, 'c', 'a'); o <- .Internal(radixsort(FALSE, FALSE, TRUE, FALSE, x)); list(as.vector(o), attr(o, 'ends'), attr(o, 'maxgrpn')) }");
+        assertEval("{ a <- c(2L, 1L, 2L, 1L, 2L); b <- c(1, 1, 1, 2, 2); o <- .Internal(radixsort(TRUE, c(TRUE, FALSE), TRUE, TRUE, a, b)); list(as.vector(o), attr(o, 'ends'), attr(o, 'maxgrpn')) }");
+        assertEval("{ set.seed(3); x <- sample(c(1:100, NA), 20000, TRUE); o <- .Internal(radixsort(TRUE, FALSE, TRUE, TRUE, x)); e <- attr(o, 'ends'); c(length(e), attr(o, 'maxgrpn'), head(e), tail(e), sum(as.double(o) * seq_along(o))) }");
+    }
 }
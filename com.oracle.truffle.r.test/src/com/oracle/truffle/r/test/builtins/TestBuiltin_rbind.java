@@ -14,7 +14,7 @@
  * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
  *
  * Copyright (c) 2012-2014, Purdue University
- * Copyright (c) 2013, 2021, Oracle and/or its affiliates
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates
  *
  * All rights reserved.
  */
@@ -174,4 +174,46 @@ public class TestBuiltin_rbind extends TestBase {
         assertEval("dput(rbind(integer(0)))");
         assertEval("dput(rbind(integer(0), NULL, NULL))");
     }
+
+    @Test
+    public void testBulkBind() {
+        // integer vectors and matrices of the same class are copied as whole regions
+        assertEval("rbind(1:3, 4:6)");
+        assertEval("rbind(matrix(1:6, 2, 3), 7:9)");
+        assertEval("rbind(c(1L, NA, 3L), 4:6, c(7L, 8L, 9L))");
+        assertEval("rbind(matrix(1:6, 2, 3), matrix(7:12, 2, 3))");
+        assertEval("rbind(c(1.5, 2, NA), c(3, 4, 5))");
+        assertEval("rbind(matrix(as.double(1:6), 2, 3), matrix(c(0.5, 1.5, 2.5), 1, 3))");
+        assertEval("rbind(c(NaN, -Inf, Inf), c(0, -0, 1e-300))");
+        assertEval("rbind(c(TRUE, NA), c(FALSE, TRUE))");
+        assertEval("rbind(matrix(c(TRUE, FALSE, NA, TRUE), 2), c(NA, FALSE))");
+        // mixed types are coerced to the result type
+        assertEval("rbind(1:2, c(1.5, 2.5))");
+        assertEval("rbind(c(TRUE, FALSE), 1:2)");
+        assertEval("rbind(c(TRUE, NA), c(1.5, 2))");
+        assertEval("rbind(1:2, c('a', 'b'))");
+        assertEval("rbind(matrix(1:4, 2), c(0.5, 1.5))");
+        assertEval("rbind(1:2, list(3, 4))");
+        // names and dimnames
+        assertEval("rbind(a = c(x = 1, y = 2), b = 3:4)");
+        assertEval("{ a <- 1:2; b <- 3:4; rbind(a, b) }");
+        assertEval("{ a <- c(TRUE, FALSE); rbind(a, c(FALSE, NA), deparse.level = 2) }");
+        assertEval("rbind(matrix(1:4, 2, dimnames = list(c('r1', 'r2'), c('c1', 'c2'))), x = 5:6)");
+        assertEval("rbind(matrix(c(1, 2, 3, 4), 2, dimnames = list(NULL, c('c1', 'c2'))), matrix(c(5, 6, 7, 8), 2, dimnames = list(c('r1', 'r2'), NULL)))");
+        assertEval("attributes(rbind(c(a = 1L, b = 2L), c(c = 3L, d = 4L)))");
+        // zero-extent arguments
+        assertEval("rbind(integer(0), 1:3)");
+        assertEval("rbind(matrix(integer(0), 0, 3), 1:3)");
+        assertEval("dim(rbind(matrix(double(0), 2, 0), matrix(double(0), 1, 0)))");
+        assertEval("rbind(matrix(1L, 0, 2), matrix(2L, 0, 2))");
+        assertEval("rbind(logical(0), c(TRUE, NA))");
+        assertEval("rbind(1:3, NULL, 4:6)");
+        // shorter arguments are recycled element-wise
+        assertEval("rbind(1:4, 1:2)");
+        assertEval("rbind(matrix(1:6, 2, 3), 1L)");
+        assertEval("rbind(c(1.5, 2.5, 3.5, 4.5), c(1, 2))");
+        assertEval("rbind(c(TRUE, FALSE, NA, TRUE), NA)");
+        assertEval(Output.IgnoreWarningContext, "rbind(1:3, 1:2)");
+        assertEval(Output.IgnoreWarningContext, "rbind(matrix(1:6, 2, 3), 1:2)");
+    }
 }
@@ -85,6 +85,82 @@ public class TestBuiltin_scan extends TestBase {
                         "scan(con, nmax = 1, what = character(), quiet = TRUE))");
     }
 
+    @Test
+    public void testQuotes() {
+        assertEval("scan(text = 'a \"b c\" d', what = '')");
+        // with white space as the separator, the closing quote ends the field
+        assertEval("scan(text = \"'a b'c d\", what = '')");
+        assertEval("scan(text = 'x,\"a,b\",y', what = '', sep = ',')");
+        assertEval("scan(text = 'x,\"a\"\"b\",y', what = '', sep = ',')");
+        assertEval("scan(text = 'x,a\"b,c\"d', what = '', sep = ',')");
+        assertEval("scan(text = '\"a\\\\\"b\" c', what = '')");
+        assertEval("scan(text = 'x,\"a\\\\\"b\",y', what = '', sep = ',')");
+        assertEval("scan(text = c('x \"a', 'b\" y'), what = '')");
+        assertEval("scan(text = 'a \"b c', what = '')");
+        assertEval("scan(text = 'a,\"b,c', what = '', sep = ',')");
+        // quotes are only recognized in character fields
+        assertEval(Output.IgnoreErrorContext, "scan(text = '\"1\" \"2\"')");
+        assertEval("scan(text = '\"1\" 2', what = list('', 0))");
+    }
+
+    @Test
+    public void testSeparators() {
+        assertEval("scan(text = '1,2,', sep = ',')");
+        assertEval("scan(text = c('a,b,', 'c,d,'), what = '', sep = ',')");
+        assertEval("scan(text = c('a,,b', ',c,'), what = '', sep = ',')");
+        assertEval("scan(text = '1, 2 ,3', sep = ',')");
+        assertEval("scan(text = ' a , b ', what = '', sep = ',')");
+        assertEval("scan(text = '1;2;3', sep = ';')");
+        assertEval("scan(text = '1\\t2\\t\\t3', sep = '\\t')");
+        assertEval("scan(text = '  1   2\\t3  ')");
+        assertEval("scan(text = '1,5 2,25', dec = ',')");
+        assertEval("scan(text = '1 NA x 3', na.strings = c('NA', 'x'))");
+        assertEval("scan(text = 'a NA x', what = '', na.strings = 'x')");
+    }
+
+    @Test
+    public void testFillSkipNmax() {
+        assertEval("scan(text = c('1 2 3', '4 5', '6'), what = list(0, 0, 0), fill = TRUE)");
+        assertEval("scan(text = c('1,2,3', '4,5', '6'), what = list(0, 0, 0), sep = ',', fill = TRUE)");
+        assertEval("scan(text = c('1 2 3', '4 5', '6'), what = list(0, 0, 0))");
+        assertEval("scan(text = c('# header', 'skip me', '1 2', '3'), skip = 2)");
+        assertEval("scan(text = c('1 2', '3'), skip = 5)");
+        assertEval("scan(text = '1 2 3 4 5', nmax = 3)");
+        assertEval("scan(text = c('1 2', '3 4', '5 6'), what = list(0, 0), nmax = 2)");
+        assertEval("scan(text = c('1 2', '3 4', '5 6'), nlines = 2)");
+        assertEval("scan(text = c('1 2 x', '3 4 y'), what = list(0, 0), flush = TRUE)");
+    }
+
+    @Test
+    public void testComments() {
+        assertEval("scan(text = c('1 2 # three', '# full line', '4'), comment.char = '#')");
+        assertEval("scan(text = 'a \"b#c\" d # e', what = '', comment.char = '#')");
+        assertEval("scan(text = c('1,2 % x', '3'), sep = ',', comment.char = '%')");
+        assertEval("scan(text = '1 # 2', comment.char = '')");
+    }
+
+    @Test
+    public void testEscapes() {
+        assertEval("scan(text = 'a\\\\tb,c\\\\x41\\\\101', what = '', sep = ',', allowEscapes = TRUE)");
+        assertEval("scan(text = 'a\\\\tb,c\\\\x41\\\\101', what = '', sep = ',', allowEscapes = FALSE)");
+        assertEval("scan(text = '\"a\\\\\"b\" \\\\q', what = '', allowEscapes = TRUE)");
+    }
+
+    @Test
+    public void testFile() {
+        String write = "f <- '" + TEST_CVS_FILE + "'; ";
+        assertEval(write + "writeLines(c('x,\"a,b\",y', '1,2,', '# c', '', 'z'), f); scan(f, what = '', sep = ',', comment.char = '#')");
+        assertEval(write + "writeLines(c('x \"a', 'b\" y'), f); scan(f, what = '')");
+        assertEval(write + "writeLines(c('1 2 3', '4 5'), f); scan(f, what = list(0, 0, 0), fill = TRUE)");
+        assertEval(write + "writeLines(c('1 2', '3 4', '5 6'), f); con <- file(f, 'r'); a <- scan(con, nlines = 1, quiet = TRUE); b <- readLines(con, 1); c <- scan(con, quiet = TRUE); close(con); list(a, b, c)");
+        assertEval(write + "writeLines('a \"b c', f); scan(f, what = '')");
+        // a field is cut at an embedded nul
+        assertEval(write + "writeBin(as.raw(c(0x61, 0x00, 0x62, 0x20, 0x63, 0x0a)), f); scan(f, what = '')");
+        assertEval(write + "writeBin(as.raw(c(0x61, 0x00, 0x62, 0x20, 0x63, 0x0a)), f); scan(f, what = '', skipNul = TRUE)");
+        assertEval(write + "writeBin(as.raw(c(0x31, 0x00, 0x32, 0x20, 0x33, 0x0a)), f); scan(f)");
+        assertEval(write + "writeBin(as.raw(c(0x63, 0x61, 0x66, 0xe9, 0x0a)), f); x <- scan(f, what = '', encoding = 'latin1', quiet = TRUE); c(x, nchar(x))");
+    }
+
     @Test
     public void testReadCsv() {
         String testData = "n1,n2\nv1,\"v5, v5\"\n";
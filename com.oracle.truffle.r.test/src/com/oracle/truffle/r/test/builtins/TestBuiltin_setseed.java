@@ -31,12 +31,12 @@ public class TestBuiltin_setseed extends TestBase {
 
     @Test
     public void testsetseed1() {
-        assertEval(Ignored.Unimplemented, "argv <- list(1000, 0L, NULL); .Internal(set.seed(argv[[1]], argv[[2]], argv[[3]], NULL))");
+        assertEval("argv <- list(1000, 0L, NULL); .Internal(set.seed(argv[[1]], argv[[2]], argv[[3]], NULL))");
     }
 
     @Test
     public void testsetseed2() {
-        assertEval(Ignored.Unimplemented, "argv <- list(77, 2L, NULL); .Internal(set.seed(argv[[1]], argv[[2]], argv[[3]], NULL))");
+        assertEval("argv <- list(77, 2L, NULL); .Internal(set.seed(argv[[1]], argv[[2]], argv[[3]], NULL))");
     }
 
     @Test
@@ -61,7 +61,7 @@ public class TestBuiltin_setseed extends TestBase {
 
     @Test
     public void testsetseed7() {
-        assertEval(Ignored.Unimplemented, "argv <- list(123, 7L, NULL); .Internal(set.seed(argv[[1]], argv[[2]], argv[[3]], NULL))");
+        assertEval("argv <- list(123, 7L, NULL); .Internal(set.seed(argv[[1]], argv[[2]], argv[[3]], NULL))");
     }
 
     @Test
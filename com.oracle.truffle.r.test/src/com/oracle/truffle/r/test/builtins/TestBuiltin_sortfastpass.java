@@ -45,4 +45,24 @@ public class TestBuiltin_sortfastpass extends TestBase {
         assertEval("argv <- list(1:10, FALSE, FALSE); argv2 <- argv[[1]] + 1; .Internal(sorted_fpass(argv2[[1]], argv2[[2]], argv2[[3]]))");
         assertEval("argv <- list(c(1,2,3,4,5,6,7,8), FALSE, FALSE); argv2 <- argv[[1]] + 1; .Internal(sorted_fpass(argv2[[1]], argv2[[2]], argv2[[3]]))");
     }
+
+    @Test
+    public void testSortedFlag() {
+        // sort.int passes na.last = NA to sorted_fpass by default
+        assertEval(".Internal(sorted_fpass(1:5, FALSE, NA))");
+        assertEval(".Internal(sorted_fpass(5:1, TRUE, NA))");
+        assertEval("{ sort(1:10) }");
+        assertEval("{ sort(10:1) }");
+        assertEval("{ sort(seq(1.5, 5.5, 0.5), decreasing = TRUE) }");
+        assertEval("{ x <- c(3, 1, NA, 2, 7); sort(sort(x)) }");
+        assertEval("{ x <- c(3L, 1L, NA, 2L, 7L); sort(sort(x), na.last = TRUE) }");
+        assertEval("{ x <- c(3, 1, NaN, 2, 7); sort(sort(x, na.last = TRUE)) }");
+        assertEval("{ x <- sort(c(3, 1, 2)); x[2] <- 10; sort(x) }");
+        assertEval("{ x <- sort(c(3L, 1L, 2L)); x[3] <- NA; sort(x) }");
+        assertEval("{ x <- 1:10; x[5] <- 0L; sort(x) }");
+        assertEvalFastR("{ .Internal(sorted_fpass(sort(c(3, 1, 2)), FALSE, NA)) }", "TRUE");
+        assertEvalFastR("{ .Internal(sorted_fpass(sort(c(3L, 1L, 2L), decreasing = TRUE), TRUE, NA)) }", "TRUE");
+        assertEvalFastR("{ x <- sort(c(3, 1, 2)); x[2] <- 10; .Internal(sorted_fpass(x, FALSE, NA)) }", "FALSE");
+        assertEvalFastR("{ x <- sort(c(3, NA, 2), na.last = TRUE); .Internal(sorted_fpass(x, FALSE, NA)) }", "FALSE");
+    }
 }
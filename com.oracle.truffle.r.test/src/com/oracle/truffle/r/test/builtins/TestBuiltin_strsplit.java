@@ -20,8 +20,13 @@
  */
 package com.oracle.truffle.r.test.builtins;
 
+import static com.oracle.truffle.r.runtime.context.FastROptions.RegExpCacheSize;
+
+import java.util.Map;
+
 import org.junit.Test;
 
+import com.oracle.truffle.r.runtime.context.FastROptions;
 import com.oracle.truffle.r.test.TestBase;
 
 // Checkstyle: stop line length check
@@ -144,6 +149,10 @@ public class TestBuiltin_strsplit extends TestBase {
         assertEval("strsplit('oo bar baz', '[f z]', perl=TRUE)");
         assertEval("strsplit('foo \u1010ÄÄÄÄÄÄÄÄÄÄÄÄÄÄÄÄÄÄÄÄÄÄÄÄÄÄÄbar baz ', '[f z]', perl=TRUE)");
         assertEval("strsplit('Ä Ä', '[ ]', perl=TRUE)");
+        // compiled patterns are reused from the regexp cache
+        assertEval("{ for (i in 1:3) r <- strsplit(c('a1b2c', 'd3e'), '[0-9]', perl=TRUE); r }");
+        assertEval("{ strsplit(c('a,b;c', 'a,b;c'), c(',', ';'), perl=TRUE) }");
+        assertEval("{ r <- strsplit('a1b', '[0-9]', perl=TRUE); strsplit('a1b', '[0-9]', perl=FALSE) }");
 
         assertEval("strsplit('1', '1', fixed=TRUE)");
         assertEval("strsplit('11', '11', fixed=TRUE)");
@@ -179,4 +188,16 @@ public class TestBuiltin_strsplit extends TestBase {
         // replaced by an empty character vector, but in this case gnur does not do that.
         assertEval(Ignored.ImplementationError, "strsplit('/some/path/to/somewhere' , '^(?=/)(?!//)|(?<!^)(?<!^/)/', perl = TRUE)");
     }
+
+    // more split patterns than the regexp cache holds, all compiled before the first is used
+    private static final String MANY_PATTERNS = "{ n <- 100; x <- paste0('a-', 1:n, '-b-', 1:n, '-c'); p <- paste0('-', 1:n, '+-'); r <- strsplit(x, p, perl = TRUE); " +
+                    "list(length(r), r[c(1, 10, 64, 65, 99, 100)], all(vapply(r, identical, NA, c('a', 'b', 'c')))) }";
+
+    @Test
+    public void testManyPerlPatterns() {
+        assertEval(MANY_PATTERNS);
+        assertEval("{ p <- paste0('[', letters, ']+'); r1 <- strsplit(rep('abcxyz', 26), p, perl = TRUE); r2 <- strsplit(rep('abcxyz', 26), p, perl = FALSE); list(identical(r1, r2), r1[c(1, 24, 26)]) }");
+        assertEvalWithOptions(Map.of(FastROptions.getName(RegExpCacheSize), "2"), MANY_PATTERNS,
+                        "{ x <- c('a1b', 'c22d', 'e333f'); list(strsplit(x, c('[0-9]', '[0-9]+', '3+'), perl = TRUE), gsub('([0-9])', '<\\\\1>', x, perl = TRUE), regmatches(x, gregexpr('[0-9]{2}', x, perl = TRUE)), grepl('\\\\d{3}', x, perl = TRUE)) }");
+    }
 }
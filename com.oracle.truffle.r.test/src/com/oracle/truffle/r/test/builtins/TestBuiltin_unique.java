@@ -14,7 +14,7 @@
  * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
  *
  * Copyright (c) 2012-2014, Purdue University
- * Copyright (c) 2013, 2020, Oracle and/or its affiliates
+ * Copyright (c) 2013, 2026, Oracle and/or its affiliates
  *
  * All rights reserved.
  */
@@ -209,4 +209,22 @@ public class TestBuiltin_unique extends TestBase {
 
         assertEval("unique(list(list(1), 1, 1L))");
     }
+
+    @Test
+    public void testUniqueSorted() {
+        // sorted data have the duplicates next to each other
+        assertEval("{ unique(sort(c(3L, 1L, 3L, 2L, 1L, 1L))) }");
+        assertEval("{ unique(sort(c(3, 1, 3, 2, 1, 1))) }");
+        assertEval("{ unique(sort(c(3L, 1L, 3L, 2L, 1L, 1L), decreasing = TRUE)) }");
+        assertEval("{ unique(sort(c(3, 1, 3, 2, 1, 1), decreasing = TRUE)) }");
+        assertEval("{ unique(sort(c(0, -0, 1, 1))) }");
+        assertEval("{ unique(sort(c(3L, NA, 1L, 3L, NA), na.last = TRUE)) }");
+        assertEval("{ unique(sort(c(3, NaN, 1, NA, 3, NaN), na.last = TRUE)) }");
+        assertEval("{ unique(sort(c(3, NaN, 1, NA, 3), na.last = FALSE)) }");
+        assertEval("{ x <- sort(c(3L, 1L, 3L, 2L)); x[1] <- 3L; unique(x) }");
+        assertEval("{ x <- sort(c(3, 1, 3, 2)); x[4] <- 1; unique(x) }");
+        assertEval("{ x <- sort(c(3, 1, 3, 2)); x[2] <- NA; unique(x) }");
+        assertEval("{ x <- sort(c(3, 1, 3, 2)); u <- unique(x); u[1] <- 5; unique(c(u, 2, 5)) }");
+        assertEval("{ unique(sort(c(3, 1, 3, 2)), fromLast = TRUE) }");
+    }
 }
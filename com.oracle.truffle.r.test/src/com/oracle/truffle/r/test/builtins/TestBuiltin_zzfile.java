@@ -40,4 +40,16 @@ public class TestBuiltin_zzfile extends TestBase {
                         "{ f <- tempfile(); c <- %0zfile(f); writeLines(as.character(1:50), c); close(c); c <- %0zfile(f, \"a\"); writeLines(as.character(51:70), c); close(c); readLines(f) }",
                         CTYPES));
     }
+
+    @Test
+    public void testReadBack() {
+        assertEval(TestBase.template(
+                        "{ f <- tempfile(); c <- %0zfile(f, \"w\"); writeLines(as.character(1:20000), c); close(c); c <- %0zfile(f); x <- readLines(c); close(c); unlink(f); c(length(x), x[c(1, 12345, 20000)]) }",
+                        CTYPES));
+        assertEval(TestBase.template(
+                        "{ f <- tempfile(); c <- %0zfile(f, \"wb\"); writeBin(as.double(1:50000), c); close(c); c <- %0zfile(f, \"rb\"); x <- readBin(c, \"double\", 60000); close(c); unlink(f); identical(x, as.double(1:50000)) }",
+                        CTYPES));
+        assertEval("{ f <- tempfile(); x <- list(a = 1:1000, b = letters); save(x, file = f, compress = \"bzip2\"); rm(x); load(f); unlink(f); x$b[c(1, 26)] }");
+        assertEval("{ f <- tempfile(); c <- bzfile(f, \"w\"); writeLines(\"a\", c); close(c); c <- bzfile(f); x <- readLines(c, n = 1); close(c); c <- bzfile(f); y <- readLines(c); close(c); unlink(f); c(x, y) }");
+    }
 }
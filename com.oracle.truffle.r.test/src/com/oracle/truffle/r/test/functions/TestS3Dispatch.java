@@ -179,6 +179,53 @@ public class TestS3Dispatch extends TestRBase {
         assertEval("{ glob_flag <- FALSE; my_generic <- function(x) UseMethod('my_generic', x); my_generic.array <- function(x) glob_flag <<- TRUE; m <- 1:9; dim(m) <- c(3,3); my_generic(x); glob_flag }");
     }
 
+    /**
+     * More than three classes at one dispatch site make it megamorphic, its resolutions are then
+     * cached per context and must be invalidated by changes of the methods they found.
+     */
+    private static final String MEGAMORPHIC = "f <- function(x, ...) UseMethod('f'); f.default <- function(x, ...) 'default'; f.a <- function(x, ...) 'a'; f.b <- function(x, ...) 'b'; " +
+                    "f.c <- function(x, ...) 'c'; f.d <- function(x, ...) 'd'; objs <- lapply(list('a', 'b', 'c', 'd', 'z', c('y', 'a')), function(cl) structure(1, class = cl)); " +
+                    "disp <- function() vapply(objs, f, ''); ";
+
+    @Test
+    public void testMegamorphicRedefinition() {
+        assertEval("{ " + MEGAMORPHIC + "r1 <- disp(); r2 <- disp(); f.c <- function(x, ...) 'new c'; r3 <- disp(); f.z <- function(x, ...) 'z'; f.y <- function(x, ...) 'y'; list(r1, r2, r3, disp()) }");
+        assertEval("{ " + MEGAMORPHIC + "r1 <- disp(); r2 <- disp(); rm(f.b); rm(f.a); r3 <- disp(); f.b <- function(x, ...) 'b again'; list(r1, r2, r3, disp()) }");
+        assertEval("{ " + MEGAMORPHIC + "r1 <- disp(); r2 <- disp(); f.default <- function(x, ...) 'new default'; list(r1, r2, disp()) }");
+    }
+
+    @Test
+    public void testMegamorphicCallerEnvironment() {
+        // methods defined in the function calling the generic take precedence over global ones
+        assertEval("{ " + MEGAMORPHIC + "disp(); disp(); h <- function(o, local) { if (local) f.a <- function(x, ...) 'local a'; f(o) }; k <- function(o) { f.z <- function(x, ...) 'k z'; f(o) }; " +
+                        "c(h(objs[[1]], TRUE), h(objs[[1]], FALSE), h(objs[[1]], TRUE), k(objs[[5]]), k(objs[[5]]), f(objs[[5]]), k(objs[[1]]), h(objs[[6]], TRUE)) }");
+        assertEval("{ " + MEGAMORPHIC + "disp(); disp(); e <- new.env(); evalq({ f.a <- function(x, ...) 'env a'; g <- function(o) f(o) }, e); r1 <- c(e$g(objs[[1]]), e$g(objs[[1]]), f(objs[[1]])); " +
+                        "rm('f.a', envir = e); c(r1, e$g(objs[[1]])) }");
+    }
+
+    @Test
+    public void testMegamorphicMethodsTable() {
+        // methods registered for a generic of base are found in the methods table of base
+        assertEval("{ toString.a <- function(x, ...) 'a'; toString.b <- function(x, ...) 'b'; toString.c <- function(x, ...) 'c'; objs <- lapply(c('a', 'b', 'c', 'd', 's3cachetest'), function(cl) structure(1, class = cl)); " +
+                        "ts <- function() vapply(objs, toString, ''); r1 <- ts(); r2 <- ts(); registerS3method('toString', 's3cachetest', function(x, ...) 'registered'); r3 <- ts(); " +
+                        "registerS3method('toString', 's3cachetest', function(x, ...) 'registered again'); registerS3method('toString', 'a', function(x, ...) 'registered a'); r4 <- ts(); " +
+                        "rm('toString.s3cachetest', 'toString.a', envir = .BaseNamespaceEnv[['.__S3MethodsTable__.']]); list(r1, r2, r3, r4, ts()) }");
+    }
+
+    @Test
+    public void testMegamorphicNextMethod() {
+        assertEval("{ f <- function(x, ...) UseMethod('f'); f.default <- function(x, ...) 'default'; f.a <- function(x, ...) paste('a', NextMethod()); f.b <- function(x, ...) paste('b', NextMethod()); " +
+                        "f.c <- function(x, ...) paste('c', NextMethod()); f.d <- function(x, ...) paste('d', NextMethod()); objs <- lapply(list('a', 'b', c('a', 'b'), c('c', 'a', 'b'), c('d', 'b'), c('a', 'd')), function(cl) structure(1, class = cl)); " +
+                        "disp <- function() vapply(objs, f, ''); r1 <- disp(); r2 <- disp(); f.b <- function(x, ...) paste('new b', NextMethod()); r3 <- disp(); rm(f.a); f.default <- function(x, ...) 'new default'; list(r1, r2, r3, disp()) }");
+    }
+
+    @Test
+    public void testMegamorphicOpsGroup() {
+        assertEval("{ Ops.a <- function(e1, e2) paste('Ops.a', .Generic); Ops.b <- function(e1, e2) paste('Ops.b', .Generic); Ops.c <- function(e1, e2) paste('Ops.c', .Generic); Ops.d <- function(e1, e2) paste('Ops.d', .Generic); " +
+                        "objs <- lapply(c('a', 'b', 'c', 'd', 'e'), function(cl) structure(1, class = cl)); ops <- function() vapply(objs, function(o) paste(unclass(o + 1), unclass(o * 2)), ''); r1 <- ops(); r2 <- ops(); " +
+                        "Ops.c <- function(e1, e2) paste('new Ops.c', .Generic); `+.d` <- function(e1, e2) 'plus d'; r3 <- ops(); rm(Ops.a); Ops.e <- function(e1, e2) paste('Ops.e', .Generic); list(r1, r2, r3, ops()) }");
+    }
+
     @Override
     public String getTestDir() {
         return "S3";
@@ -110,7 +110,7 @@ public final class FastRSession implements RSession {
         if (contextKind == ContextKind.SHARE_PARENT_RW) {
             return sharedContext.newSession();
         } else if (contextKind == ContextKind.SHARE_NOTHING) {
-            return createVanillaContext(false);
+            return createVanillaContext(false, null);
         } else {
             throw new IllegalStateException("Unexpected: " + contextKind);
         }
@@ -148,7 +148,7 @@ public final class FastRSession implements RSession {
             }
         }
         try {
-            sharedContext = (SharedFastRContext) createVanillaContext(true);
+            sharedContext = (SharedFastRContext) createVanillaContext(true, null);
         } finally {
             if (sharedContext != null) {
                 try {
@@ -160,7 +160,7 @@ public final class FastRSession implements RSession {
         }
     }
 
-    private static FastRContext createVanillaContext(boolean isShared) {
+    private static FastRContext createVanillaContext(boolean isShared, Map<String, String> contextOptions) {
         RStartParams params = new RStartParams(RCmdOptions.parseArguments(new String[]{Client.R.argumentName(), "--vanilla", "--no-echo", "--silent", "--no-restore"}, false), false);
         ByteArrayOutputStream output = new ByteArrayOutputStream();
         TestByteArrayInputStream input = new TestByteArrayInputStream();
@@ -168,7 +168,11 @@ public final class FastRSession implements RSession {
         // TODO: do we need the config info in this case? -- we should eventually remove it
         // altogether
         RContext.childInfo = info;
-        Context truffleContext = getContextBuilder("R", "llvm").in(input).out(output).err(output).build();
+        Context.Builder builder = getContextBuilder("R", "llvm").in(input).out(output).err(output);
+        if (contextOptions != null) {
+            builder.options(contextOptions);
+        }
+        Context truffleContext = builder.build();
         if (isShared) {
             return new SharedFastRContext(truffleContext, input, output);
         } else {
@@ -222,8 +226,20 @@ public final class FastRSession implements RSession {
 
     public String eval(TestBase testClass, String expression, ContextKind contextKind, long timeout, boolean allowHostAccess) throws Throwable {
         assert contextKind != null;
+        return evalAndClose(getContext(contextKind, allowHostAccess), testClass, expression, timeout);
+    }
+
+    /**
+     * Evaluates {@code expression} in a new, non-shared context created with the given options in
+     * addition to the default ones, e.g. {@code --R.KernelThreads}.
+     */
+    public String eval(TestBase testClass, String expression, Map<String, String> contextOptions, long timeout) throws Throwable {
+        return evalAndClose(createVanillaContext(false, contextOptions), testClass, expression, timeout);
+    }
+
+    private String evalAndClose(FastRContext context, TestBase testClass, String expression, long timeout) throws Throwable {
         ByteArrayOutputStream output;
-        try (FastRContext evalContext = getContext(contextKind, allowHostAccess)) {
+        try (FastRContext evalContext = context) {
             output = evalContext.getOutput();
             eval(evalContext, testClass, expression, timeout);
         }
@@ -311,4 +311,31 @@ public class TestEnvironments extends TestBase {
         assertEval("{ e <- new.env(); e$vec <- c(1,2,3); vv <- e$vec; vv[[1]] <- 42; e$vec; }");
         assertEval("{ e <- new.env(); f <- new.env(); e$vec <- c(1,2,3); f$vec <- e$vec; e$vec[[1]] <- 42; list(f = f$vec, e = e$vec); }");
     }
+
+    private static final String LARGE_ENV = "e <- new.env(); for (i in 1:1100) assign(paste0('v', i), i, envir = e); ";
+
+    @Test
+    public void testLargeEnvironment() {
+        // 1100 bindings cross the threshold (--R.HashedEnvThreshold) of the large environment layout
+        assertEval("{ " + LARGE_ENV + "l <- ls(e); c(length(l), head(l), tail(l)) }");
+        assertEval("{ " + LARGE_ENV + "l <- ls(e, sorted = FALSE); c(length(l), identical(sort(l), ls(e))) }");
+        assertEval("{ " + LARGE_ENV + "assign('.hidden', 1, envir = e); c(length(ls(e, all.names = TRUE)), length(ls(e))) }");
+        assertEval("{ " + LARGE_ENV + "unlist(mget(c('v1', 'v1024', 'v1025', 'v1100'), envir = e)) }");
+        assertEval("{ " + LARGE_ENV + "mget(c('v1', 'v2000'), envir = e, ifnotfound = list(NA)) }");
+        assertEval("{ " + LARGE_ENV + "c(exists('v1', envir = e, inherits = FALSE), exists('v1100', envir = e, inherits = FALSE), exists('v1101', envir = e, inherits = FALSE)) }");
+        assertEval("{ " + LARGE_ENV + "rm(list = paste0('v', 1:600), envir = e); c(length(ls(e)), exists('v1', envir = e, inherits = FALSE), exists('v601', envir = e, inherits = FALSE)) }");
+        assertEval("{ " + LARGE_ENV + "rm('v1050', envir = e); e$v1050 <- 'new'; c(length(ls(e)), e$v1050) }");
+        assertEval("{ " + LARGE_ENV + "lockBinding('v1050', e); r <- tryCatch({ assign('v1050', 0, envir = e); 'assigned' }, error = function(c) 'locked'); " +
+                        "unlockBinding('v1050', e); assign('v1050', 0, envir = e); list(r, bindingIsLocked('v1', e), e$v1050) }");
+        assertEval("{ " + LARGE_ENV + "lockEnvironment(e); r <- tryCatch({ assign('new', 0, envir = e); 'assigned' }, error = function(c) 'locked'); e$v1 <- 0; list(r, e$v1) }");
+        assertEval("{ " + LARGE_ENV + "n <- 0; makeActiveBinding('ab', function() n <<- n + 1, e); e$ab; get('ab', envir = e); " +
+                        "c(n, bindingIsActive('ab', e), length(ls(e))) }");
+        assertEval("{ e <- new.env(); n <- 0; makeActiveBinding('ab', function() n <<- n + 1, e); for (i in 1:1100) assign(paste0('v', i), i, envir = e); " +
+                        "e$ab; eval(quote(ab), e); c(n, bindingIsActive('ab', e)) }");
+        // lookups from code evaluated in the environment must see updates of the bindings
+        assertEval("{ " + LARGE_ENV + "f <- function() v1100 + v1; environment(f) <- e; r <- f(); e$v1100 <- 0; c(r, f(), eval(quote(v1100), e)) }");
+        assertEval("{ " + LARGE_ENV + "r <- local(v1024 * 2, e); local(v1024 <- -1, e); c(r, e$v1024, with(e, v1024)) }");
+        assertEval("{ e <- new.env(size = 5000L); for (i in 1:1100) assign(paste0('v', i), i, envir = e); c(length(ls(e)), e$v1100, sum(unlist(mget(ls(e), envir = e)))) }");
+        assertEval("{ " + LARGE_ENV + "l <- as.list(e); c(length(l), sum(unlist(l)), l$v777) }");
+    }
 }
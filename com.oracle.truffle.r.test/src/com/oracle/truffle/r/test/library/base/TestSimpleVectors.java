@@ -2431,4 +2431,21 @@ public class TestSimpleVectors extends TestBase {
     public void testLargeNames() {
         assertEval("v <- runif(1000); names(v) <- paste0('a', 1:1000); v[paste0('a', 1:1000)] <- 42; length(v); sum(v)");
     }
+
+    @Test
+    public void testLargeNamesLookup() {
+        // names longer than RStringVector.NAME_INDEX_THRESHOLD are looked up in an index
+        assertEval("{ l <- as.list(1:100); names(l) <- paste0('n', 1:100); names(l)[c(10, 20)] <- NA; names(l)[50] <- 'n5'; list(l$n5, l[['n5']], l[['n99']], l$n10, l$n100, l[c('n5', 'n99', 'zz', NA)], l[['n5', exact = FALSE]]) }");
+        assertEval("{ l <- as.list(1:100); names(l) <- paste0('n', 1:100); l[['n50']]; l[[NA_character_]] }");
+        assertEval("{ x <- 1:100; names(x) <- paste0('n', 1:100); names(x)[30] <- 'NA'; names(x)[31] <- NA; list(x[['NA']], x['NA'], x[NA_character_], match(c('NA', NA), names(x))) }");
+        // the names changed after the index was built
+        assertEval("{ x <- 1:100; names(x) <- paste0('n', 1:100); a <- x[['n42']]; names(x)[42] <- 'm42'; names(x)[43] <- 'n42'; list(a, x[['n42']], x[['m42']], x['n42'], match('n42', names(x))) }");
+        assertEval("{ x <- 1:100; names(x) <- paste0('n', 1:100); a <- x[c('n1', 'n100')]; names(x) <- rev(names(x)); b <- x[c('n1', 'n100')]; attr(x, 'names')[1] <- 'n1'; list(a, b, x[['n1']], x[c('n1', 'n100')]) }");
+        assertEval("{ l <- setNames(as.list(1:100), paste0('n', 1:100)); a <- l$n9; l[['n7']] <- 'a'; l[['new']] <- 'b'; l$n8 <- NULL; list(a, length(l), l$n7, l$new, l[['n9']], names(l)[7:9], l$n100, l[['new']]) }");
+        assertEval("{ l <- setNames(as.list(1:100), paste0('n', 1:100)); a <- l[['n3']]; l[['n3']] <- NULL; l[['n3']] <- 3; names(l)[1] <- 'n2'; list(a, l[['n3']], which(names(l) == 'n3'), l[['n2']], l$n100) }");
+        assertEval("{ m <- matrix(1:200, 2, 100, dimnames = list(c('a', 'b'), paste0('c', 1:100))); a <- m['a', 'c77']; colnames(m)[77] <- 'x'; colnames(m)[78] <- 'c77'; list(a, m['a', 'c77'], m[, c('x', 'c100')], m[2, 'c5']) }");
+        // match and %in% on (indexed) names, with NA and duplicated names
+        assertEval("{ x <- setNames(1:100, paste0('n', 1:100)); names(x)[3] <- NA; names(x)[60] <- 'n2'; invisible(x[['n4']]); nm <- names(x); list(match(c('n2', 'n3', NA, 'n100', 'zz'), nm), c('n3', 'n4', NA, 'n60') %in% nm, match('n2', nm), match(NA, nm), nm %in% 'n2') }");
+        assertEval("{ x <- setNames(1:100, paste0('n', 1:100)); invisible(x[['n1']]); nm <- names(x); names(x)[1] <- 'z'; list(match('n1', nm), match('n1', names(x)), match('z', names(x)), 'n1' %in% names(x)) }");
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.library.fastr;
+
+import org.junit.Test;
+
+import com.oracle.truffle.r.test.TestBase;
+
+// Checkstyle: stop line length check
+public class TestChannels extends TestBase {
+
+    /**
+     * Spawns a context that receives {@code n} messages through the channel with key {@code key},
+     * replaces the first element of the received atomic vectors by the second one and sends the
+     * messages back once it received all of them.
+     */
+    private static String echo(int key, int n) {
+        return "ch <- .fastr.channel.create(" + key + "L); cx <- .fastr.context.spawn('ch <- .fastr.channel.get(" + key + "L); xs <- lapply(1:" + n +
+                        ", function(i) .fastr.channel.receive(ch)); for (x in xs) { if (is.atomic(x) && !is.character(x)) x[1] <- x[2]; .fastr.channel.send(ch, x) }; " +
+                        ".fastr.channel.send(ch, .fastr.channel.stats(ch))'); ";
+    }
+
+    private static final String SEND_ALL = "for (x in msgs) .fastr.channel.send(ch, x); r <- lapply(msgs, function(x) .fastr.channel.receive(ch)); ws <- .fastr.channel.receive(ch); " +
+                    ".fastr.context.join(cx); ";
+
+    private static final String ATOMIC = "msgs <- list(c(1L, 2L, 3L), c(1.5, 2.5), c(TRUE, FALSE, NA), as.raw(1:3), structure(1:3, call = quote(f(x))), structure(c(a = 1, b = 2), dim = 2L)); ";
+    private static final String ATOMIC_MODIFIED = "lapply(msgs, function(x) { x[1] <- x[2]; x })";
+
+    @Test
+    public void testSharedVectors() {
+        // the vectors modified by the receiver are copied, the sender's ones are unchanged
+        assertEvalFastR("{ " + echo(8001, 6) + ATOMIC + "orig <- unserialize(serialize(msgs, NULL)); " + SEND_ALL + ".fastr.channel.close(ch); list(identical(msgs, orig), r) }",
+                        "{ " + ATOMIC + "list(TRUE, " + ATOMIC_MODIFIED + ") }");
+        // the vectors modified by the sender after sending are copied, the receiver gets the
+        // original ones
+        assertEvalFastR("{ ch <- .fastr.channel.create(8002L); cx <- .fastr.context.spawn('ch <- .fastr.channel.get(8002L); x <- .fastr.channel.receive(ch); y <- .fastr.channel.receive(ch); .fastr.channel.send(ch, list(x, y))'); " +
+                        "v <- c(1, 2, 3); w <- structure(1:3, call = quote(f(x))); .fastr.channel.send(ch, v); .fastr.channel.send(ch, w); v[1] <- 0; w[1] <- 0L; " +
+                        "r <- .fastr.channel.receive(ch); .fastr.context.join(cx); .fastr.channel.close(ch); list(v, w, r) }",
+                        "list(c(0, 2, 3), structure(c(0L, 2L, 3L), call = quote(f(x))), list(c(1, 2, 3), structure(1:3, call = quote(f(x)))))");
+        // the elements of a list
+        assertEvalFastR("{ " + echo(8003, 1) + "l <- list(a = c(1, 2), b = 1:2, c = 'x'); .fastr.channel.send(ch, l); r <- .fastr.channel.receive(ch); r$a[1] <- 10; r$b[2] <- 10L; ws <- .fastr.channel.receive(ch); " +
+                        ".fastr.context.join(cx); .fastr.channel.close(ch); list(l, r) }",
+                        "list(list(a = c(1, 2), b = 1:2, c = 'x'), list(a = c(10, 2), b = c(1L, 10L), c = 'x'))");
+    }
+
+    @Test
+    public void testPooledBuffers() {
+        // language objects are serialized into pooled buffers, messages of different sizes are
+        // sent one after another so that the buffers are re-used
+        String msgs = "big <- as.call(c(as.name('sum'), as.list(1:5000))); msgs <- list(big, quote(f(x)), structure(quote(g(y, z)), srcref = 1:3), big, quote(h()), as.call(c(as.name('c'), as.list(letters))), quote(f(x))); ";
+        assertEvalFastR("{ " + echo(8004, 7) + msgs + SEND_ALL + ".fastr.channel.close(ch); identical(r, msgs) }", "TRUE");
+        assertEvalFastR("{ " + echo(8005, 7) + msgs + "msgs <- rev(msgs); " + SEND_ALL + ".fastr.channel.close(ch); identical(r, msgs) }", "TRUE");
+        // atomic vectors and serialized objects interleaved
+        assertEvalFastR("{ " + echo(8006, 6) + "msgs <- list(quote(f(x)), c(1, 2), as.call(c(as.name('sum'), as.list(1:5000))), c(3L, 4L), quote(g()), as.raw(c(5, 6))); " + SEND_ALL +
+                        ".fastr.channel.close(ch); list(r[c(1, 3, 5)], r[c(2, 4, 6)]) }",
+                        "list(list(quote(f(x)), as.call(c(as.name('sum'), as.list(1:5000))), quote(g())), list(c(2, 2), c(4L, 4L), as.raw(c(6, 6))))");
+    }
+
+    @Test
+    public void testStatistics() {
+        // 3 * 4 + 2 * 8 + 3 + 3 bytes of atomic vectors are shared in each direction, the worker
+        // sends its statistics after the echoed messages
+        assertEvalFastR("{ " + echo(8007, 4) + "msgs <- list(c(1L, 2L, 3L), c(1.5, 2.5), c(TRUE, FALSE, NA), as.raw(1:3)); " + SEND_ALL + "ps <- .fastr.channel.stats(ch); .fastr.channel.close(ch); list(ps, ws) }",
+                        "list(c(sent = 4, received = 5, serializedBytes = 0, sharedBytes = 34), c(sent = 4, received = 4, serializedBytes = 0, sharedBytes = 34))");
+        // serialized objects are counted separately
+        assertEvalFastR("{ " + echo(8008, 2) + "msgs <- list(quote(f(x)), as.call(c(as.name('sum'), as.list(1:100)))); " + SEND_ALL + "ps <- .fastr.channel.stats(ch); .fastr.channel.close(ch); " +
+                        "list(ps[['sent']], ps[['received']], ps[['serializedBytes']] > 100, ps[['sharedBytes']], ws[['serializedBytes']] == ps[['serializedBytes']]) }",
+                        "list(2, 3, TRUE, 0, TRUE)");
+    }
+}
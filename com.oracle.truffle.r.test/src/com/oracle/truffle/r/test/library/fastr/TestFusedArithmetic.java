@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.library.fastr;
+
+import static com.oracle.truffle.r.runtime.context.FastROptions.LazyArithmeticThreshold;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.test.TestBase;
+
+/**
+ * Deferred arithmetic on double vectors is off by default, these tests run in a separate context
+ * with {@code --R.LazyArithmeticThreshold} set and compare the results with those of GnuR and with
+ * element-wise scalar arithmetic, which is never deferred.
+ */
+public class TestFusedArithmetic extends TestBase {
+
+    private static final Map<String, String> OPTIONS = Map.of(FastROptions.getName(LazyArithmeticThreshold), "100");
+
+    @Test
+    public void testValues() {
+        assertEvalWithOptions(OPTIONS, "x <- as.double(1:10000); y <- x * 2 + 1 - x / 4; list(y[c(1, 2, 5000, 10000)], sum(y), identical(y, vapply(seq_along(x), function(i) x[[i]] * 2 + 1 - x[[i]] / 4, 0)))");
+        assertEvalWithOptions(OPTIONS, "x <- c(NA, NaN, Inf, -1, as.double(1:996)); z <- rev(x); y <- (x - z) * (x + 3) / z; list(y[c(1:6, 997:1000)], identical(y, vapply(seq_along(x), function(i) (x[[i]] - z[[i]]) * (x[[i]] + 3) / z[[i]], 0)))");
+        assertEvalWithOptions(OPTIONS, "x <- as.double(1:5000); y <- x; for (i in 1:100) y <- y * 1.01 + 1; z <- as.double(1:5000); for (i in 1:100) z <- vapply(z, function(v) v * 1.01 + 1, 0); list(y[c(1, 5000)], identical(y, z))");
+        assertEvalFastRWithOptions(OPTIONS, ".fastr.fused.arith.stats(TRUE); x <- as.double(1:1000); y <- (x + 1) * (x - 1); s <- .fastr.fused.arith.stats(); cat(sum(y), s[['operations']], s[['temporaries.avoided']], '\\n')",
+                        "cat(333832500, 3, 2, '\\n')");
+    }
+
+    @Test
+    public void testOperandUpdates() {
+        // an operand updated before the evaluation is copied
+        assertEvalWithOptions(OPTIONS, "x <- as.double(1:1000); y <- x + 1; x[1] <- 100; c(y[1:2], x[1:2])");
+        assertEvalWithOptions(OPTIONS, "x <- as.double(1:1000); y <- x + 1; z <- y * 2; y[2] <- 0; c(z[1:3], y[1:3])");
+        // after the evaluation the operand is no longer referenced and is updated in place
+        assertEvalFastRWithOptions(OPTIONS, "x <- as.double(1:1000); y <- x + 1; invisible(y[1]); id <- .fastr.identity(x); x[1] <- 100; cat(id == .fastr.identity(x), y[1], x[1], '\\n')", "cat(TRUE, 2, 100, '\\n')");
+    }
+
+    @Test
+    public void testSharedOperand() {
+        // a deferred expression used by two expressions is evaluated once
+        assertEvalFastRWithOptions(OPTIONS, ".fastr.fused.arith.stats(TRUE); x <- as.double(1:1000); t <- x * 2; a <- t + 1; b <- t + 2; r <- sum(a) + sum(b); s <- .fastr.fused.arith.stats(); cat(r, s[['evaluations']], '\\n')",
+                        "cat(2005000, 3, '\\n')");
+        assertEvalFastRWithOptions(OPTIONS, ".fastr.fused.arith.stats(TRUE); x <- as.double(1:1000); t <- x * 2; a <- t + t; r <- identical(a, x * 4); s <- .fastr.fused.arith.stats(); cat(r, s[['evaluations']], '\\n')",
+                        "cat(TRUE, 3, '\\n')");
+    }
+}
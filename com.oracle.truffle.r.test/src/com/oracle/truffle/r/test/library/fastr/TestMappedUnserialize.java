@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.library.fastr;
+
+import static com.oracle.truffle.r.runtime.context.FastROptions.MappedUnserializeThreshold;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.test.TestBase;
+
+/**
+ * Mapping of large vectors read from uncompressed files is off by default, these tests run in a
+ * separate context with {@code --R.MappedUnserializeThreshold} set to 1MB and compare the
+ * unserialized values with the saved ones.
+ */
+public class TestMappedUnserialize extends TestBase {
+
+    private static final Map<String, String> OPTIONS = Map.of(FastROptions.getName(MappedUnserializeThreshold), "1");
+
+    @Test
+    public void testThreshold() {
+        // 80 bytes, 1.6MB and 2.4MB, only the last two are mapped
+        assertEvalWithOptions(OPTIONS, "f <- tempfile(); x <- list(1:20, as.integer(1:400000), c(NA, as.double(1:299999))); saveRDS(x, f, compress = FALSE); y <- readRDS(f); unlink(f); " +
+                        "list(identical(x, y), lengths(y), y[[2]][c(1, 400000)], y[[3]][c(1, 2, 300000)])");
+        // exactly at and just below the threshold
+        assertEvalWithOptions(OPTIONS, "f <- tempfile(); x <- as.double(1:131072); saveRDS(x, f, compress = FALSE); y <- readRDS(f); unlink(f); list(identical(x, y), y[c(1, 131072)], sum(y))");
+        assertEvalWithOptions(OPTIONS, "f <- tempfile(); x <- as.double(1:131071); saveRDS(x, f, compress = FALSE); y <- readRDS(f); unlink(f); list(identical(x, y), y[c(1, 131071)], sum(y))");
+        assertEvalWithOptions(OPTIONS, "f <- tempfile(); x <- c(NA, as.integer(1:400000), NA); saveRDS(x, f, compress = FALSE); y <- readRDS(f); unlink(f); list(identical(x, y), sum(is.na(y)), sum(as.double(y), na.rm = TRUE), y[1:3])");
+        // compressed and ascii files are not mapped
+        assertEvalWithOptions(OPTIONS, "f <- tempfile(); x <- as.double(1:300000); saveRDS(x, f); y <- readRDS(f); saveRDS(x, f, ascii = TRUE, compress = FALSE); z <- readRDS(f); unlink(f); c(identical(x, y), identical(x, z))");
+    }
+
+    @Test
+    public void testOffsets() {
+        // mapped vectors following attributes, nested lists and other mapped vectors
+        assertEvalWithOptions(OPTIONS, "f <- tempfile(); m <- structure(as.double(1:300000), dim = c(1000L, 300L), foo = 'bar'); x <- list(a = list(b = 1:5, c = list(m, 'z')), d = as.integer(300000:1), e = m * 2, g = structure(1:3, class = 'baz')); " +
+                        "saveRDS(x, f, compress = FALSE); y <- readRDS(f); unlink(f); list(identical(x, y), attributes(y$a$c[[1]]), y$a$c[[1]][c(1, 300000)], y$d[c(1, 300000)], y$e[c(1, 300000)], unclass(y$g))");
+        assertEvalWithOptions(OPTIONS, "f <- tempfile(); x <- as.double(1:300000); y <- as.integer(1:300000); save(x, y, file = f, compress = FALSE); ox <- x; oy <- y; rm(x, y); load(f); unlink(f); " +
+                        "list(identical(x, ox), identical(y, oy), x[c(1, 300000)], y[c(1, 300000)])");
+        // a stream that does not start at the beginning of the file and little endian data
+        assertEvalWithOptions(OPTIONS, "f <- tempfile(); x <- as.double(1:300000); y <- as.integer(1:300000); con <- file(f, 'wb'); serialize(1:3, con); serialize(x, con, xdr = FALSE); serialize(y, con); close(con); " +
+                        "con <- file(f, 'rb'); a <- unserialize(con); b <- unserialize(con); c <- unserialize(con); close(con); unlink(f); list(a, identical(b, x), identical(c, y), b[c(1, 300000)], c[c(1, 300000)])");
+    }
+
+    @Test
+    public void testCopyOnWrite() {
+        assertEvalWithOptions(OPTIONS, "f <- tempfile(); x <- as.double(1:300000); saveRDS(x, f, compress = FALSE); y <- readRDS(f); y[1] <- 0; y[300000] <- 1; z <- readRDS(f); unlink(f); " +
+                        "list(y[c(1, 2, 299999, 300000)], identical(y[2:299999], x[2:299999]), identical(z, x))");
+        assertEvalWithOptions(OPTIONS, "f <- tempfile(); x <- list(as.integer(1:400000)); saveRDS(x, f, compress = FALSE); y <- readRDS(f); v <- y[[1]]; y[[1]][2] <- 0L; z <- readRDS(f); unlink(f); " +
+                        "list(y[[1]][1:3], v[1:3], identical(z, x))");
+        // the file can be overwritten while the read vector is still used
+        assertEvalWithOptions(OPTIONS, "f <- tempfile(); x <- as.double(1:300000); saveRDS(x, f, compress = FALSE); y <- readRDS(f); y[5] <- -1; saveRDS(y, f, compress = FALSE); z <- readRDS(f); unlink(f); " +
+                        "list(identical(y, z), z[4:6])");
+    }
+
+    @Test
+    public void testFileOverwritten() {
+        // an unmodified vector saved to the file it was read from
+        assertEvalWithOptions(OPTIONS, "f <- tempfile(); x <- as.double(1:300000); saveRDS(x, f, compress = FALSE); y <- readRDS(f); saveRDS(y, f, compress = FALSE); z <- readRDS(f); saveRDS(z, f, compress = FALSE); w <- readRDS(f); unlink(f); " +
+                        "list(identical(x, y), identical(x, z), identical(x, w), w[c(1, 300000)])");
+        assertEvalWithOptions(OPTIONS, "f <- tempfile(); x <- list(a = as.integer(1:400000), b = as.double(1:300000)); saveRDS(x, f, compress = FALSE); y <- readRDS(f); save(y, file = f, compress = FALSE); rm(y); load(f); unlink(f); " +
+                        "list(identical(x, y), y$a[c(1, 400000)], y$b[c(1, 300000)])");
+        // the file truncated and removed while the read vector is still used
+        assertEvalWithOptions(OPTIONS, "f <- tempfile(); x <- as.double(1:300000); saveRDS(x, f, compress = FALSE); y <- readRDS(f); writeBin(as.raw(1:10), f); r1 <- sum(y); unlink(f); list(r1, identical(x, y), y[c(1, 150000, 300000)])");
+    }
+
+    @Test
+    public void testElementAccess() {
+        // the elements are read in blocks of 4096
+        assertEvalWithOptions(OPTIONS, "f <- tempfile(); x <- c(NA, as.double(1:299999)); saveRDS(x, f, compress = FALSE); y <- readRDS(f); unlink(f); " +
+                        "s <- 0; for (i in 2:length(y)) s <- s + y[[i]]; list(s, y[c(4095, 4096, 4097, 8192, 8193, 299999, 300000)], sum(y[seq(300000, 1, by = -4097)]), rev(y)[1:3], anyNA(y))");
+        assertEvalWithOptions(OPTIONS, "f <- tempfile(); x <- as.integer(c(1:400000, NA)); saveRDS(x, f, compress = FALSE); y <- readRDS(f); unlink(f); " +
+                        "s <- 0; for (i in seq(1, 400000, by = 3)) s <- s + y[[i]]; list(s, y[c(4096, 4097, 400000, 400001)], sum(y[seq(400000, 1, by = -5001)]), which(is.na(y)), cumsum(as.double(y[1:5])))");
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.library.fastr;
+
+import static com.oracle.truffle.r.runtime.context.FastROptions.KernelThreads;
+import static com.oracle.truffle.r.runtime.context.FastROptions.KernelThreshold;
+import static com.oracle.truffle.r.runtime.context.FastROptions.LazyArithmeticThreshold;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.test.TestBase;
+
+/**
+ * The parallel kernels are off by default, these tests run in a separate context with
+ * {@code --R.KernelThreads} greater than one and a low {@code --R.KernelThreshold}, and compare the
+ * results with the serial ones computed after {@code .fastr.setThreads(1)}. Each check is named so
+ * that a failure shows which one differs.
+ */
+public class TestParallelKernels extends TestBase {
+
+    private static final Map<String, String> OPTIONS = Map.of(FastROptions.getName(KernelThreads), "4", FastROptions.getName(KernelThreshold), "1000");
+
+    // deferred arithmetic is forced by reading an element before the threads are restored
+    private static final String SERIAL = "serial <- function(expr) { old <- .fastr.setThreads(1); on.exit(.fastr.setThreads(old)); x <- expr; if (is.double(x) && length(x) > 0) x[[1L]]; x }; " +
+                    "same <- function(expr) { e <- substitute(expr); p <- parent.frame(); isTRUE(all.equal(eval(e, p), serial(eval(e, p)), tolerance = 1e-12)) }; " +
+                    "m <- matrix(as.double(1:200000) / 7, 400); m[c(3, 1000, 5000)] <- c(NA, NaN, Inf); ";
+
+    private void assertParallel(Map<String, String> options, String checks, String expected) {
+        assertEvalFastRWithOptions(options, SERIAL + checks, expected);
+    }
+
+    private void assertParallel(String checks, String expected) {
+        assertParallel(OPTIONS, checks, expected);
+    }
+
+    @Test
+    public void testBuiltins() {
+        assertParallel("c(colSums = same(colSums(m)), colSumsNaRm = same(colSums(m, na.rm = TRUE)), colMeans = same(colMeans(m, na.rm = TRUE)))", "c(colSums = TRUE, colSumsNaRm = TRUE, colMeans = TRUE)");
+        assertParallel("c(rowSums = same(rowSums(m)), rowSumsNaRm = same(rowSums(m, na.rm = TRUE)), rowMeans = same(rowMeans(m, na.rm = TRUE)))", "c(rowSums = TRUE, rowSumsNaRm = TRUE, rowMeans = TRUE)");
+        assertParallel("x <- m[, 1:20]; x[is.na(x) | is.infinite(x)] <- 0; c(matprod = same(t(m[1:50, ]) %*% x), cor = same(cor(x)), cov = same(cov(x)))", "c(matprod = TRUE, cor = TRUE, cov = TRUE)");
+        assertParallel("x <- as.double(1:1000000) / 3; c(sum = same(sum(x)), sumInt = identical(sum(1:1000000), serial(sum(1:1000000))))", "c(sum = TRUE, sumInt = TRUE)");
+    }
+
+    @Test
+    public void testArithmetic() {
+        assertParallel("x <- as.double(1:100000); c(arith = identical(x * 2 + x / 3, serial(x * 2 + x / 3)))", "c(arith = TRUE)");
+        Map<String, String> lazy = Map.of(FastROptions.getName(KernelThreads), "4", FastROptions.getName(KernelThreshold), "1000", FastROptions.getName(LazyArithmeticThreshold), "100");
+        assertParallel(lazy, "x <- c(NA, NaN, as.double(1:100000)); c(fused = identical((x - 1) * (x + 1) / x, serial((x - 1) * (x + 1) / x)))", "c(fused = TRUE)");
+    }
+
+    @Test
+    public void testSetThreads() {
+        assertParallel("expected <- serial(colSums(m)); vapply(c(2, 3, 1, 8, 4), function(n) { .fastr.setThreads(n); identical(colSums(m), expected) }, TRUE)", "rep(TRUE, 5)");
+        assertParallel("x <- as.double(1:100000); expected <- serial(x * 2 + 1); vapply(c(2, 1, 3), function(n) { .fastr.setThreads(n); identical(x * 2 + 1, expected) }, TRUE)", "rep(TRUE, 3)");
+    }
+}
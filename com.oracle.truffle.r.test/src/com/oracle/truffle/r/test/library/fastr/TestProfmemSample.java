@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.library.fastr;
+
+import static com.oracle.truffle.r.runtime.context.FastROptions.RprofFormat;
+import static com.oracle.truffle.r.runtime.context.FastROptions.RprofmemSampleInterval;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.test.TestBase;
+
+// Checkstyle: stop line length check
+public class TestProfmemSample extends TestBase {
+
+    /**
+     * Allocates 50 vectors of 80000 bytes in {@code alloc}, with a sampling interval of 16KB every
+     * one of them is sampled.
+     */
+    private static final String ALLOC = "alloc <- function(n) numeric(n); keep <- lapply(1:50, function(i) alloc(10000)); ";
+    private static final String LIVE = "live <- function(s) sum(s$live[startsWith(s$stack, '\"alloc\"')]); ";
+    private static final String TEXT_LINE = "'^[0-9]+ [0-9]+ :\"[^\"]+\"( \"[^\"]+\")*$'";
+
+    /**
+     * Reads the top-level fields of the pprof protocol buffer in {@code f} into {@code fields} and
+     * its string table into {@code strs}.
+     */
+    private static final String PPROF_FIELDS = "pb <- readBin(f, 'raw', file.size(f)); unlink(f); pos <- 1L; " +
+                    "varint <- function() { v <- 0; m <- 1; repeat { b <- as.integer(pb[pos]); pos <<- pos + 1L; v <- v + (b %% 128) * m; m <- m * 128; if (b < 128) break }; v }; " +
+                    "fields <- numeric(0); strs <- character(0); " +
+                    "while (pos <= length(pb)) { key <- varint(); field <- key %/% 8; wire <- key %% 8; if (wire == 0) { varint() } else if (wire == 2) { n <- varint(); " +
+                    "if (field == 6) strs <- c(strs, rawToChar(pb[pos + seq_len(n) - 1L])); pos <- pos + n } else stop('unexpected wire type'); fields <- c(fields, field) }; ";
+
+    @Test
+    public void testSession() {
+        // start, snapshot and stop
+        assertEvalFastR("{ .fastr.profmem.sample(16); " + ALLOC + LIVE + "s <- .fastr.profmem.sample(); r <- .fastr.profmem.sample(0); " +
+                        "list(names(s), live(s) >= 4e6, all(s$allocated >= s$live), !is.unsorted(rev(s$live)), names(r), live(r) >= live(s)) }",
+                        "list(c('stack', 'allocated', 'live'), TRUE, TRUE, TRUE, c('stack', 'allocated', 'live'), TRUE)");
+        assertEvalFastR("{ .fastr.profmem.sample(16); .fastr.profmem.sample(0); list(tryCatch(.fastr.profmem.sample(), error = function(e) conditionMessage(e)), length(.fastr.profmem.sample(0)$stack)) }",
+                        "list('allocation sampling is not running', 0L)");
+        // a new session starts from scratch
+        assertEvalFastR("{ .fastr.profmem.sample(16); " + ALLOC + LIVE + ".fastr.profmem.sample(16); s <- .fastr.profmem.sample(0); live(s) }", "0");
+        // the allocations outside of any function are attributed to a root named after the thread
+        assertEvalFastR("{ .fastr.profmem.sample(16); x <- numeric(1e5); s <- .fastr.profmem.sample(0); sum(s$live[grepl('^\"<.+>\"$', s$stack)]) >= 8e5 }", "TRUE");
+    }
+
+    @Test
+    public void testLiveBytes() {
+        assertEvalFastR("{ .fastr.profmem.sample(16); " + ALLOC + LIVE + "invisible(gc()); before <- .fastr.profmem.sample(); rm(keep); for (i in 1:5) { invisible(gc()); Sys.sleep(0.05) }; " +
+                        "after <- .fastr.profmem.sample(); .fastr.profmem.sample(0); list(live(before) >= 4e6, live(after) < live(before), sum(after$allocated[startsWith(after$stack, '\"alloc\"')]) >= 4e6) }",
+                        "list(TRUE, TRUE, TRUE)");
+    }
+
+    @Test
+    public void testOutput() {
+        // live and allocated bytes, and the stack in the Rprofmem notation, sorted by the live bytes
+        assertEvalFastR("{ f <- tempfile(); .fastr.profmem.sample(16, f, 'text'); " + ALLOC + ".fastr.profmem.sample(0); l <- readLines(f); unlink(f); live <- as.numeric(sub(' .*', '', l)); " +
+                        "list(length(l) > 0, all(grepl(" + TEXT_LINE + ", l)), any(grepl(':\"alloc\"( \"[^\"]+\")* \"lapply\"$', l)), !is.unsorted(rev(live))) }",
+                        "list(TRUE, TRUE, TRUE, TRUE)");
+        // the outermost function first and the live bytes
+        assertEvalFastR("{ f <- tempfile(); .fastr.profmem.sample(16, f, 'collapsed'); " + ALLOC + ".fastr.profmem.sample(0); l <- readLines(f); unlink(f); " +
+                        "list(length(l) > 0, all(grepl('^[^ ]+ [0-9]+$', l)), any(grepl('^lapply;([^ ]+;)?alloc [0-9]+$', l)), all(as.numeric(sub('^.* ', '', l)) > 0)) }",
+                        "list(TRUE, TRUE, TRUE, TRUE)");
+        // sample_type = 1, sample = 2, location = 4, function = 5, string_table = 6, period = 12
+        assertEvalFastR("{ f <- tempfile(); .fastr.profmem.sample(16, f, 'pprof'); " + ALLOC + ".fastr.profmem.sample(0); " + PPROF_FIELDS +
+                        "list(all(c(1, 2, 4, 5, 6, 12) %in% fields), strs[1] == '', all(c('alloc_objects', 'alloc_space', 'inuse_objects', 'inuse_space', 'count', 'bytes', 'space') %in% strs), all(c('alloc', 'lapply') %in% strs)) }",
+                        "list(TRUE, TRUE, TRUE, TRUE)");
+        // a snapshot written to a file while the session goes on
+        assertEvalFastR("{ f <- tempfile(); .fastr.profmem.sample(16); " + ALLOC + "s <- .fastr.profmem.sample(NULL, f, 'collapsed'); l <- readLines(f); unlink(f); " + ALLOC +
+                        "r <- .fastr.profmem.sample(0); list(any(grepl('^lapply;([^ ]+;)?alloc [0-9]+$', l)), length(s$stack) > 0, sum(r$allocated) > sum(s$allocated)) }",
+                        "list(TRUE, TRUE, TRUE)");
+    }
+
+    @Test
+    public void testRprofmem() {
+        // Rprofmem uses the sampler if the interval is set, rprof means the text format
+        Map<String, String> sample = Map.of(FastROptions.getName(RprofmemSampleInterval), "16");
+        assertEvalFastRWithOptions(sample, "{ f <- tempfile(); Rprofmem(f); " + ALLOC + "Rprofmem(NULL); l <- readLines(f); unlink(f); " +
+                        "list(length(l) > 0, all(grepl(" + TEXT_LINE + ", l)), any(grepl(':\"alloc\"( \"[^\"]+\")* \"lapply\"$', l))) }",
+                        "list(TRUE, TRUE, TRUE)");
+        Map<String, String> collapsed = Map.of(FastROptions.getName(RprofmemSampleInterval), "16", FastROptions.getName(RprofFormat), "collapsed");
+        assertEvalFastRWithOptions(collapsed, "{ f <- tempfile(); Rprofmem(f); " + ALLOC + "Rprofmem(NULL); l <- readLines(f); unlink(f); " +
+                        "list(length(l) > 0, all(grepl('^[^ ]+ [0-9]+$', l)), any(grepl('^lapply;([^ ]+;)?alloc [0-9]+$', l))) }",
+                        "list(TRUE, TRUE, TRUE)");
+    }
+}
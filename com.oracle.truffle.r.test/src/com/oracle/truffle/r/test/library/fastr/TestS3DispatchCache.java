@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.library.fastr;
+
+import static com.oracle.truffle.r.runtime.context.FastROptions.S3DispatchCacheSize;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.test.TestBase;
+
+/**
+ * Megamorphic S3 dispatch with the resolution cache disabled and with a cache of a single entry,
+ * which is evicted by every other resolution, run in separate contexts with
+ * {@code --R.S3DispatchCacheSize} set.
+ */
+public class TestS3DispatchCache extends TestBase {
+
+    private static final String DISPATCH = "f <- function(x) UseMethod('f'); f.default <- function(x) 'default'; f.a <- function(x) 'a'; f.b <- function(x) paste('b', NextMethod()); f.c <- function(x) 'c'; " +
+                    "f.d <- function(x) 'd'; objs <- lapply(list('a', 'b', 'c', 'd', 'z', c('b', 'a')), function(cl) structure(1, class = cl)); disp <- function() vapply(objs, f, ''); " +
+                    "r1 <- disp(); r2 <- disp(); f.c <- function(x) 'new c'; r3 <- disp(); rm(f.a); list(r1, r2, r3, disp())";
+
+    private static final String OPS = "Ops.a <- function(e1, e2) 'a'; Ops.b <- function(e1, e2) 'b'; Ops.c <- function(e1, e2) 'c'; Ops.d <- function(e1, e2) 'd'; " +
+                    "objs <- lapply(c('a', 'b', 'c', 'd', 'e'), function(cl) structure(1, class = cl)); ops <- function() vapply(objs, function(o) paste(unclass(o + 1)), ''); " +
+                    "r1 <- ops(); r2 <- ops(); Ops.c <- function(e1, e2) 'new c'; rm(Ops.a); list(r1, r2, ops())";
+
+    @Test
+    public void testDisabled() {
+        assertEvalWithOptions(Map.of(FastROptions.getName(S3DispatchCacheSize), "0"), DISPATCH, OPS);
+    }
+
+    @Test
+    public void testSingleEntry() {
+        assertEvalWithOptions(Map.of(FastROptions.getName(S3DispatchCacheSize), "1"), DISPATCH, OPS);
+    }
+}
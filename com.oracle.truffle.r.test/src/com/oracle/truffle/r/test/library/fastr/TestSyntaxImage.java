@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.library.fastr;
+
+import static com.oracle.truffle.r.runtime.context.FastROptions.SyntaxImage;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.test.TestBase;
+
+/**
+ * The syntax trees rebuilt from the syntax image must be the same as those created by the parser.
+ * The functions of the base package, of the packages with builtin overrides and of the
+ * recommended packages are compared by the hash of their deparsed code and of their srcref in
+ * contexts created with {@code --R.SyntaxImage} off and on.
+ */
+public class TestSyntaxImage extends TestBase {
+
+    // Checkstyle: stop line length check
+    private static final String FUNCTIONS = "{ fnHash <- function(f) { d <- paste(deparse(f), collapse = '\\n'); cp <- utf8ToInt(d); sr <- attr(f, 'srcref'); " +
+                    "c(nchar(d), sum(cp * (seq_along(cp) %% 1009)) %% 1000003, if (is.null(sr)) -1 else sum(as.integer(sr)), if (is.null(body(f))) -1 else length(body(f))) }; " +
+                    "pkgs <- c('base', 'stats', 'utils', 'methods', 'parallel', Filter(function(p) requireNamespace(p, quietly = TRUE), c('MASS', 'lattice', 'codetools'))); " +
+                    "for (p in pkgs) { ns <- asNamespace(p); for (n in sort(ls(ns, all.names = TRUE))) { f <- get(n, envir = ns); if (is.function(f) && !is.primitive(f)) cat(p, n, fnHash(f), '\\n') } } }";
+    // Checkstyle: resume line length check
+
+    @Test
+    public void testSameFunctions() {
+        String parsed = fastREval(FUNCTIONS, Map.of(FastROptions.getName(SyntaxImage), "false"));
+        // the first context may parse the sources to create the image, the second one replays it
+        String image1 = fastREval(FUNCTIONS, Map.of(FastROptions.getName(SyntaxImage), "true"));
+        String image2 = fastREval(FUNCTIONS, Map.of(FastROptions.getName(SyntaxImage), "true"));
+        assertTrue(parsed, parsed.startsWith("base "));
+        assertFalse(parsed, parsed.contains("Error in ") || parsed.contains("Error: "));
+        assertEquals(parsed, image1);
+        assertEquals(parsed, image2);
+    }
+}
@@ -53,4 +53,23 @@ public class TestBuiltin_mclapply extends TestBase {
         assertEval(Ignored.ImplementationError,
                         "parallel:::mclapply(1:3, function(i) { Sys.sleep(.1); parallel:::mclapply(1:3, function(i) { Sys.sleep(.1); parallel:::mclapply(1:3, function(i) {i}) }) })");
     }
+
+    @Test
+    public void testMCLapplyState() {
+        // every call sees the current state of the parent
+        assertEval("f <- function() { g <- 1; h <- function(i) g + i; a <- parallel::mclapply(1:4, h, mc.cores=2); g <- 10; b <- parallel::mclapply(1:4, h, mc.cores=2); c(unlist(a), unlist(b)) }; f()");
+        assertEval("f <- function() { g <- 1; h <- function(i) g + i; a <- parallel::mclapply(1:4, h, mc.cores=2, mc.preschedule=FALSE); g <- 10; b <- parallel::mclapply(1:4, h, mc.cores=2, mc.preschedule=FALSE); c(unlist(a), unlist(b)) }; f()");
+        // the workers do not keep the state of the previous calls
+        assertEval("{ invisible(parallel::mclapply(1:2, function(i) { assign('mcWorkerState', i, envir = globalenv()); i }, mc.cores=2)); unlist(parallel::mclapply(1:2, function(i) exists('mcWorkerState', envir = globalenv()), mc.cores=2)) }");
+        assertEval("{ set.seed(42); a <- parallel::mclapply(1:4, function(i) runif(1), mc.cores=2); set.seed(42); b <- parallel::mclapply(1:4, function(i) runif(1), mc.cores=2); identical(a, b) }");
+        // with L'Ecuyer-CMRG the random numbers do not depend on which worker evaluates an element
+        assertEval("{ RNGkind(\"L'Ecuyer-CMRG\"); f <- function(i) { if (i %% 7 == 0) Sys.sleep(0.01); runif(2) }; set.seed(1); a <- parallel::mclapply(1:200, f, mc.cores=4); " +
+                        "set.seed(1); b <- parallel::mclapply(1:200, f, mc.cores=4); RNGkind('default'); list(identical(a, b), length(a), anyDuplicated(unlist(a)) == 0) }");
+        assertEval("{ op <- options(fastr.mc.chunk.size = 1); RNGkind(\"L'Ecuyer-CMRG\"); f <- function(i) { if (i %% 3 == 0) Sys.sleep(0.01); runif(1) }; set.seed(2); a <- parallel::mclapply(1:100, f, mc.cores=3); " +
+                        "set.seed(2); b <- parallel::mclapply(1:100, f, mc.cores=3); RNGkind('default'); options(op); list(identical(a, b), anyDuplicated(unlist(a)) == 0) }");
+        assertEval("{ RNGkind(\"L'Ecuyer-CMRG\"); f <- function(i) { if (i %% 5 == 0) Sys.sleep(0.01); runif(1) }; set.seed(3); a <- parallel::mclapply(1:60, f, mc.cores=4, mc.preschedule=FALSE); " +
+                        "set.seed(3); b <- parallel::mclapply(1:60, f, mc.cores=4, mc.preschedule=FALSE); RNGkind('default'); list(identical(a, b), anyDuplicated(unlist(a)) == 0) }");
+        // the pooled workers see the values captured by FUN in every call
+        assertEval("{ op <- options(fastr.mc.pool = TRUE); f <- function() { g <- 1; h <- function(i) g + i; a <- parallel::mclapply(1:4, h, mc.cores=2); g <- 10; b <- parallel::mclapply(1:4, h, mc.cores=2); c(unlist(a), unlist(b)) }; res <- f(); options(op); res }");
+    }
 }
@@ -46,4 +46,17 @@ public class TestReadTable extends TestBase {
         assertEval("read.table(header = TRUE, blank.lines.skip=FALSE, text = 'a b c\\n\\n1 2 3\\n4 5 6')");
     }
 
+    @Test
+    public void testTokenizer() {
+        assertEval("read.table(header = TRUE, sep = ',', text = 'a,b,c\\n1,2,\\n4,,6')");
+        assertEval("read.table(header = TRUE, fill = TRUE, text = 'a b c\\n1 2\\n3 4 5')");
+        assertEval("read.table(header = TRUE, text = '# comment\\nx y\\n1 2 # trailing\\n3 4')");
+        assertEval("read.table(header = TRUE, skip = 1, nrows = 1, text = 'junk\\nx y\\n1 2\\n3 4')");
+        assertEval("read.csv(text = 'a,b\\n\"x, y\",1\\n\"say \"\"hi\"\"\",2')");
+        assertEval("read.csv(text = 'a,b\\n\"multi\\nline\",1\\nz,2')");
+        assertEval("read.csv(text = 'a;b\\n1,5;2', sep = ';', dec = ',')");
+        assertEval("read.table(header = TRUE, na.strings = c('NA', '-'), text = 'a b\\n1 -\\nNA 2')");
+        assertEval("read.table(header = TRUE, colClasses = c('character', 'numeric'), text = 'a b\\n\"01\" 2\\n\"02\" 3')");
+    }
+
 }
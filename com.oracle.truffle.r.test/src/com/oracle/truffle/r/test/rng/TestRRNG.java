@@ -43,6 +43,26 @@ public class TestRRNG extends TestBase {
         assertEval("RNGkind('Marsaglia-Multicarry'); RNGkind('Mersenne-Twister'); set.seed(2); runif(5);");
     }
 
+    @Test
+    public void testKinds() {
+        assertEval("{ RNGkind('Wichmann-Hill'); set.seed(42); r <- runif(5); list(r, .Random.seed) }");
+        assertEval("{ RNGkind('Super-Duper'); set.seed(42); r <- runif(5); list(r, .Random.seed) }");
+        assertEval("{ set.seed(42, kind = \"L'Ecuyer-CMRG\"); .Random.seed }");
+        assertEval("{ set.seed(42, kind = \"L'Ecuyer-CMRG\"); r <- runif(5); list(r, .Random.seed) }");
+        assertEval("{ set.seed(123, kind = \"L'Ecuyer-CMRG\"); rnorm(5) }");
+        assertEval("{ set.seed(1, kind = \"L'Ecuyer-CMRG\"); x <- runif(1000); c(sum(x), .Random.seed) }");
+        // the scrambled seeds must be below the moduli of the generator
+        assertEval("{ for (s in c(0, 1, 7, 123456, -1)) { set.seed(s, kind = \"L'Ecuyer-CMRG\"); print(.Random.seed) } }");
+    }
+
+    @Test
+    public void testLecuyerStreams() {
+        assertEval("{ set.seed(42, kind = \"L'Ecuyer-CMRG\"); parallel::nextRNGStream(.Random.seed) }");
+        assertEval("{ set.seed(42, kind = \"L'Ecuyer-CMRG\"); parallel::nextRNGSubStream(.Random.seed) }");
+        assertEval("{ set.seed(7, kind = \"L'Ecuyer-CMRG\"); s <- .Random.seed; for (i in 1:3) s <- parallel::nextRNGStream(s); s }");
+        assertEval("{ set.seed(7, kind = \"L'Ecuyer-CMRG\"); .Random.seed <- parallel::nextRNGStream(.Random.seed); runif(3) }");
+    }
+
     @Test
     public void testDirectReadingSeed() {
         assertEval("invisible(runif(1)); length(.Random.seed)");
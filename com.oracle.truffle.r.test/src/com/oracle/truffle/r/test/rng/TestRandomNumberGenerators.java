@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.rng;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.oracle.truffle.r.runtime.rng.RandomNumberGenerator;
+import com.oracle.truffle.r.runtime.rng.lecuyer.LecuyerCMRG;
+import com.oracle.truffle.r.runtime.rng.mm.MarsagliaMulticarry;
+import com.oracle.truffle.r.runtime.rng.mt.MersenneTwister;
+import com.oracle.truffle.r.runtime.rng.sd.SuperDuper;
+import com.oracle.truffle.r.runtime.rng.wh.WichmannHill;
+
+public class TestRandomNumberGenerators {
+    private static final int COUNT = 2000;
+
+    @Test
+    public void testBulkGenerationMatchesSingleValues() {
+        checkBulk(WichmannHill::new);
+        checkBulk(MarsagliaMulticarry::new);
+        checkBulk(SuperDuper::new);
+        checkBulk(MersenneTwister::new);
+        checkBulk(LecuyerCMRG::new);
+    }
+
+    private static void checkBulk(Supplier<RandomNumberGenerator> factory) {
+        RandomNumberGenerator single = factory.get();
+        RandomNumberGenerator bulk = factory.get();
+        single.init(42);
+        bulk.init(42);
+        double[] expected = new double[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            expected[i] = single.genrandDouble();
+            Assert.assertTrue(expected[i] > 0 && expected[i] < 1);
+        }
+        double[] actual = new double[COUNT];
+        // odd chunk sizes to cross the internal buffer boundaries of Mersenne-Twister
+        int pos = 0;
+        int chunk = 1;
+        while (pos < COUNT) {
+            int len = Math.min(chunk, COUNT - pos);
+            bulk.genrandDoubles(actual, pos, len);
+            pos += len;
+            chunk = chunk * 3 + 1;
+        }
+        Assert.assertArrayEquals(single.getKind().name(), expected, actual, 0);
+        Assert.assertEquals(single.genrandDouble(), bulk.genrandDouble(), 0);
+    }
+
+    @Test
+    public void testLecuyerStreams() {
+        LecuyerCMRG rng = new LecuyerCMRG();
+        rng.init(123);
+        int[] seed = rng.getSeeds().clone();
+        seed[0] = 10407;
+        int[] stream = LecuyerCMRG.nextStream(seed);
+        int[] subStream = LecuyerCMRG.nextSubStream(seed);
+        Assert.assertEquals(7, stream.length);
+        Assert.assertEquals(seed[0], stream[0]);
+        Assert.assertEquals(seed[0], subStream[0]);
+        for (int i = 1; i < 7; i++) {
+            long limit = i < 4 ? 4294967087L : 4294944443L;
+            Assert.assertTrue(Integer.toUnsignedLong(stream[i]) < limit);
+            Assert.assertTrue(Integer.toUnsignedLong(subStream[i]) < limit);
+        }
+        Assert.assertFalse(Arrays.equals(stream, subStream));
+        // the jump is a pure function of the seed
+        Assert.assertArrayEquals(stream, LecuyerCMRG.nextStream(seed));
+    }
+}
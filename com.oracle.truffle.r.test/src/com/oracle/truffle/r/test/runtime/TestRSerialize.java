@@ -31,10 +31,15 @@ import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.RSerialize;
 import com.oracle.truffle.r.runtime.context.RContext;
 import com.oracle.truffle.r.runtime.context.RContext.ContextKind;
+import com.oracle.truffle.r.runtime.data.RComplexVector;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RDoubleVector;
+import com.oracle.truffle.r.runtime.data.RIntVector;
+import com.oracle.truffle.r.runtime.data.RLogicalVector;
 import com.oracle.truffle.r.runtime.data.RStringVector;
 import com.oracle.truffle.r.test.TestBase;
 import com.oracle.truffle.r.test.generate.FastRContext;
@@ -151,4 +156,62 @@ public class TestRSerialize extends TestBase {
             return null;
         });
     }
+
+    // Atomic vectors larger than the read and write buffers
+
+    @Test
+    public void testRoundTripLongVectorsXdr() {
+        testRoundTripLongVectors(RSerialize.XDR);
+    }
+
+    @Test
+    public void testRoundTripLongVectorsBinary() {
+        testRoundTripLongVectors(RSerialize.BINARY);
+    }
+
+    private static void testRoundTripLongVectors(int format) {
+        FastRSession.execInContext(context, () -> {
+            int n = 100003;
+            int[] ints = new int[n];
+            byte[] logicals = new byte[n];
+            double[] doubles = new double[n];
+            double[] complexes = new double[2 * n];
+            for (int i = 0; i < n; i++) {
+                ints[i] = i % 1000 == 999 ? RRuntime.INT_NA : i - n / 2;
+                logicals[i] = i % 1000 == 999 ? RRuntime.LOGICAL_NA : (byte) (i & 1);
+                doubles[i] = i % 1000 == 999 ? RRuntime.DOUBLE_NA : i * 0.5;
+                complexes[2 * i] = i;
+                complexes[2 * i + 1] = -i;
+            }
+            complexes[2] = RRuntime.COMPLEX_NA_REAL_PART;
+            complexes[3] = RRuntime.COMPLEX_NA_IMAGINARY_PART;
+
+            RIntVector intVec = (RIntVector) roundTrip(RDataFactory.createIntVector(ints, false), format);
+            Assert.assertArrayEquals(ints, intVec.getReadonlyData());
+            Assert.assertFalse(intVec.isComplete());
+
+            RLogicalVector logicalVec = (RLogicalVector) roundTrip(RDataFactory.createLogicalVector(logicals, false), format);
+            Assert.assertArrayEquals(logicals, logicalVec.getReadonlyData());
+            Assert.assertFalse(logicalVec.isComplete());
+
+            RDoubleVector doubleVec = (RDoubleVector) roundTrip(RDataFactory.createDoubleVector(doubles, false), format);
+            Assert.assertArrayEquals(doubles, doubleVec.getReadonlyData(), 0);
+            Assert.assertTrue(RRuntime.isNA(doubleVec.getDataAt(999)));
+            Assert.assertFalse(doubleVec.isComplete());
+
+            RComplexVector complexVec = (RComplexVector) roundTrip(RDataFactory.createComplexVector(complexes, false), format);
+            Assert.assertArrayEquals(complexes, complexVec.getReadonlyData(), 0);
+            Assert.assertFalse(complexVec.isComplete());
+
+            RDoubleVector completeVec = (RDoubleVector) roundTrip(RDataFactory.createDoubleVector(new double[n], true), format);
+            Assert.assertTrue(completeVec.isComplete());
+            return null;
+        });
+    }
+
+    private static Object roundTrip(Object value, int format) {
+        byte[] serialized = RSerialize.serialize(rContext, value, format, RSerialize.DEFAULT_VERSION, null);
+        Assert.assertEquals(format == RSerialize.BINARY ? 'B' : 'X', serialized[0]);
+        return RSerialize.unserialize(RDataFactory.createRawVector(serialized));
+    }
 }
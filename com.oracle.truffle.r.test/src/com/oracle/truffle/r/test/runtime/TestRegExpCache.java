@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.runtime;
+
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.RegExpCache;
+
+public class TestRegExpCache {
+    @Test
+    public void testHitsAndMisses() {
+        RegExpCache cache = new RegExpCache(4, p -> Assert.fail("no PCRE2 patterns expected"));
+        Pattern p1 = cache.getJavaPattern("a+b", Pattern.DOTALL);
+        Pattern p2 = cache.getJavaPattern("a+b", Pattern.DOTALL);
+        Assert.assertSame(p1, p2);
+        Assert.assertNotSame(p1, cache.getJavaPattern("a+b", Pattern.LITERAL));
+        Assert.assertEquals(1, cache.getHits());
+        Assert.assertEquals(2, cache.getMisses());
+        Assert.assertEquals("[\\p{Alpha}]", cache.getTransformedPattern("[[:alpha:]]"));
+        Assert.assertEquals("[\\p{Alpha}]", cache.getTransformedPattern("[[:alpha:]]"));
+        Assert.assertEquals(2, cache.getHits());
+        Assert.assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        RegExpCache cache = new RegExpCache(2, p -> Assert.fail("no PCRE2 patterns expected"));
+        Pattern a = cache.getJavaPattern("a", 0);
+        cache.getJavaPattern("b", 0);
+        // touch "a" so that "b" becomes the eldest entry
+        Assert.assertSame(a, cache.getJavaPattern("a", 0));
+        cache.getJavaPattern("c", 0);
+        Assert.assertEquals(1, cache.getEvictions());
+        Assert.assertEquals(2, cache.size());
+        Assert.assertSame(a, cache.getJavaPattern("a", 0));
+        long misses = cache.getMisses();
+        cache.getJavaPattern("b", 0);
+        Assert.assertEquals(misses + 1, cache.getMisses());
+    }
+
+    @Test
+    public void testNAPattern() {
+        RegExpCache cache = new RegExpCache(2, p -> Assert.fail("no PCRE2 patterns expected"));
+        cache.getTransformedPattern("NA");
+        Assert.assertTrue(RRuntime.isNA(cache.getTransformedPattern(RRuntime.STRING_NA)));
+    }
+}
@@ -297,6 +297,23 @@ def rembed(args, nonZeroIsFatal=True, extraVmArgs=None):
     '''
     run_r(args, 'rembed')
 
+def rbench_jmh(args):
+    '''
+    Runs the JMH micro-benchmarks of the com.oracle.truffle.r.benchmarks project.
+    The arguments are passed to the JMH runner, e.g., "mx rbench-jmh VectorBuiltinsBenchmark.sum -p size=1000".
+    The project must be built first ("mx build --dependencies FASTR_BENCHMARKS").
+    '''
+    dists = ['FASTR_BENCHMARKS', 'FASTR', 'FASTR_COMMON']
+    if mx.suite("sulong", fatalIfMissing=False):
+        dists.append('SULONG_NATIVE')
+    jdk = get_default_jdk()
+    setREnvironment()
+    vmArgs = mx.get_runtime_jvm_args(dists, jdk=jdk)
+    vmArgs += set_graal_options()
+    vmArgs += _sulong_options()
+    vmArgs = _sanitize_vmArgs(jdk, vmArgs)
+    return mx.run_java(vmArgs + ['org.openjdk.jmh.Main'] + args, jdk=jdk)
+
 def rembedtest(args, nonZeroIsFatal=False, extraVmArgs=None):
     '''
     Runs simple R embedding API tests located in com.oracle.truffle.r.test.native/embedded.
@@ -1218,6 +1235,7 @@ _commands = {
     'rbcheck' : [rbcheck, '--filter [gnur-only,fastr-only,both,both-diff]'],
     'rbdiag' : [rbdiag, '(builtin)* [-v] [-n] [-m] [--sweep | --sweep=lite | --sweep=total] [--mnonly] [--noSelfTest] [--matchLevel=same | --matchLevel=error] [--maxSweeps=N] [--outMaxLev=N]'],
     'rembed' : [rembed, '[options]'],
+    'rbench-jmh' : [rbench_jmh, '[JMH options] [benchmark regexp]'],
     'rembedtest' : [rembedtest, '[options]'],
     'r-cp' : [r_classpath, '[options]'],
     'r-pkgtest' : [pkgtest, '[options] <--pkg-pattern PATTERN | --pkg-filelist FILE>'],
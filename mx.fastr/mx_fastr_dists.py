@@ -1,5 +1,5 @@
 #
-# Copyright (c) 2016, 2024, Oracle and/or its affiliates. All rights reserved.
+# Copyright (c) 2016, 2026, Oracle and/or its affiliates. All rights reserved.
 # DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
 #
 # This code is free software; you can redistribute it and/or modify it
@@ -76,6 +76,11 @@ class ReleaseBuildTask(mx.NativeBuildTask):
             targetFile.write(LauncherTemplate(open(source).read()).substitute(dictionary))
 
     def build(self):
+        # pre-parse the R code of the base package into library/base/R/base.image,
+        # FastR itself never writes the image at run time
+        import mx_fastr
+        mx_fastr.rscript(['-e', 'invisible(NULL)'], env=dict(os.environ, FASTR_OPTION_WriteSyntaxImage='true'))
+
         # copy the release directories
         output_dir = self.subject.dir
         fastr_dir = _fastr_suite.dir
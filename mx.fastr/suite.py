@@ -538,6 +538,22 @@ suite = {
       "buildDependencies" : ["FASTR"],
     },
 
+    "com.oracle.truffle.r.benchmarks" : {
+      "sourceDirs" : ["src"],
+      "dependencies" : [
+        "mx:JMH_1_21",
+        "sdk:GRAAL_SDK",
+      ],
+      "annotationProcessors" : [
+        "mx:JMH_1_21",
+      ],
+      "testProject": True,
+      "checkstyle" : "com.oracle.truffle.r.runtime",
+      "javaCompliance" : "17+",
+      "workingSets" : "FastR,Benchmarks",
+      "spotbugsIgnoresGenerated" : True,
+    },
+
     "com.oracle.truffle.r.test.tck" : {
       "sourceDirs" : ["src"],
       "dependencies" : [
@@ -738,6 +754,21 @@ suite = {
       "maven" : False
     },
 
+    "FASTR_BENCHMARKS" : {
+      "description" : "JMH micro-benchmarks of FastR builtins",
+      "dependencies" : [
+        "com.oracle.truffle.r.benchmarks",
+      ],
+      "exclude" : [
+        "mx:JMH_1_21",
+      ],
+      "distDependencies" : [
+        "FASTR",
+        "FASTR_COMMON",
+      ],
+      "maven" : False,
+    },
+
     # see mx_fastr_dists.mx_register_dynamic_suite_constituents for the definitions of some RFFI-dependent distributions
   },
 }